@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 import javax.naming.AuthenticationException;
 import java.security.MessageDigest;
 import java.security.Principal;
+import java.util.Set;
 
 /**
  * Authentication service that validates API keys.
@@ -41,6 +42,7 @@ public class ApiKeyAuthenticationService implements AuthenticationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeyAuthenticationService.class);
 
     private final String assertedApiKey;
+    private Set<String> effectivePermissions;
 
     /**
      * Given the specified ContainerRequest, the constructor retrieves a header
@@ -78,6 +80,29 @@ public class ApiKeyAuthenticationService implements AuthenticationService {
             throw new AuthenticationException();
         }
 
+        // The hash of the secret was verified when the entry was loaded,
+        // so a cached entry for the same public ID and hash is equally valid.
+        final AuthenticatedPrincipalCache.Entry entry = AuthenticatedPrincipalCache.getInstance().get(
+                "apikey:" + decodedApiKey.getPublicId() + ":" + decodedApiKey.getSecretHash(),
+                () -> loadEntry(decodedApiKey));
+        if (entry == null) {
+            throw new AuthenticationException();
+        }
+
+        this.effectivePermissions = entry.effectivePermissions();
+        return entry.principal();
+    }
+
+    /**
+     * Returns the effective permissions of the principal, if it was authenticated successfully.
+     * @return the effective permissions, or {@code null} if no principal was authenticated
+     * @since 5.1.0
+     */
+    public Set<String> getEffectivePermissions() {
+        return effectivePermissions;
+    }
+
+    private static AuthenticatedPrincipalCache.Entry loadEntry(final ApiKey decodedApiKey) throws AuthenticationException {
         try (final var qm = new AlpineQueryManager()) {
             final ApiKey apiKey = qm.getApiKeyByPublicId(decodedApiKey.getPublicId());
             if (apiKey == null) {
@@ -90,7 +115,10 @@ public class ApiKeyAuthenticationService implements AuthenticationService {
                 throw new AuthenticationException();
             }
 
-            return apiKey;
+            return new AuthenticatedPrincipalCache.Entry(
+                    qm.detach(apiKey),
+                    qm.getEffectivePermissions(apiKey),
+                    null);
         }
     }
 
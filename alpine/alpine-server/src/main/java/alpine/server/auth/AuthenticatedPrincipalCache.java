@@ -0,0 +1,250 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package alpine.server.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dependencytrack.common.datasource.DataSourceRegistry;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import javax.naming.AuthenticationException;
+import javax.sql.DataSource;
+import java.security.Principal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, in-memory cache of authenticated principals, and their effective permissions,
+ * keyed by hashes of the credentials they were authenticated with.
+ * <p>
+ * The database maintains a version counter in the {@code PRINCIPAL_VERSION} table,
+ * which is incremented by triggers whenever API keys, sessions, users, or their team
+ * memberships and permissions change. Every entry records the version it was loaded at,
+ * and is only used while the version is unchanged. The version is read at most once per
+ * version check interval, such that requests don't each require a database round trip.
+ * Revocations, logouts, and permission changes thus take effect on all instances
+ * within that interval.
+ * <p>
+ * Cached principals are detached from the persistence context, and shared by all
+ * requests authenticated with the same credentials, across threads. They must be
+ * treated as immutable. Modifications would not be persisted, but leak into
+ * concurrent requests.
+ * <p>
+ * Only successful authentications are cached. The cache is disabled by default.
+ *
+ * @since 5.1.0
+ */
+@NullMarked
+public final class AuthenticatedPrincipalCache {
+
+    /**
+     * A principal, as resolved during authentication.
+     * <p>
+     * Entries, including their {@link Principal}, are shared across threads,
+     * and must not be modified.
+     *
+     * @param principal            The authenticated {@link Principal}.
+     * @param effectivePermissions The effective permissions of {@code principal}.
+     * @param expiresAt            When the credentials expire, or {@code null} if they don't.
+     */
+    public record Entry(Principal principal, Set<String> effectivePermissions, @Nullable Instant expiresAt) {
+
+        public Entry {
+            requireNonNull(principal, "principal must not be null");
+            effectivePermissions = Set.copyOf(effectivePermissions);
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+
+        @Nullable Entry load() throws AuthenticationException;
+
+    }
+
+    private record VersionedEntry(Entry entry, long version) {
+    }
+
+    private record CheckedVersion(long version, long checkedAtNanos) {
+    }
+
+    private static final class InstanceHolder {
+        private static final AuthenticatedPrincipalCache INSTANCE = create(ConfigProvider.getConfig());
+    }
+
+    private final @Nullable Cache<String, VersionedEntry> cache;
+    private final LongSupplier versionReader;
+    private final long versionCheckIntervalNanos;
+    private volatile @Nullable CheckedVersion lastCheckedVersion;
+
+    AuthenticatedPrincipalCache(
+            @Nullable Duration ttl,
+            long maxSize,
+            Duration versionCheckInterval,
+            LongSupplier versionReader,
+            MeterRegistry meterRegistry) {
+        requireNonNull(versionCheckInterval, "versionCheckInterval must not be null");
+        this.versionReader = requireNonNull(versionReader, "versionReader must not be null");
+        this.versionCheckIntervalNanos = versionCheckInterval.toNanos();
+        if (ttl == null) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        new CaffeineCacheMetrics<>(this.cache, "AuthenticatedPrincipalCache", Tags.empty())
+                .bindTo(meterRegistry);
+    }
+
+    public static AuthenticatedPrincipalCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    static AuthenticatedPrincipalCache create(Config config) {
+        final boolean enabled = config
+                .getOptionalValue("dt.auth.principal-cache.enabled", boolean.class)
+                .orElse(false);
+        final Duration ttl = config
+                .getOptionalValue("dt.auth.principal-cache.ttl-ms", long.class)
+                .map(Duration::ofMillis)
+                .orElse(Duration.ofMinutes(5));
+        final long maxSize = config
+                .getOptionalValue("dt.auth.principal-cache.max-size", long.class)
+                .orElse(10_000L);
+        final Duration versionCheckInterval = config
+                .getOptionalValue("dt.auth.principal-cache.version-check-interval-ms", long.class)
+                .map(Duration::ofMillis)
+                .orElse(Duration.ofSeconds(1));
+
+        return new AuthenticatedPrincipalCache(
+                enabled ? ttl : null,
+                maxSize,
+                versionCheckInterval,
+                AuthenticatedPrincipalCache::readVersion,
+                Metrics.globalRegistry);
+    }
+
+    /**
+     * Get the principal authenticated with the given credentials, loading it if it's not cached.
+     * <p>
+     * Entries returned by {@code loader} are only cached when the version of principals
+     * didn't change in the meantime. When caching is disabled, {@code loader} is always invoked.
+     * <p>
+     * The returned {@link Entry} may be shared with other threads, and must not be modified.
+     *
+     * @param credentialsHash A hash of the credentials, prefixed with the type of credentials.
+     * @param loader          The {@link Loader} to authenticate the credentials with.
+     * @return The {@link Entry}, or {@code null} if authentication failed.
+     * @throws AuthenticationException When {@code loader} threw it.
+     */
+    public @Nullable Entry get(String credentialsHash, Loader loader) throws AuthenticationException {
+        requireNonNull(credentialsHash, "credentialsHash must not be null");
+        requireNonNull(loader, "loader must not be null");
+
+        if (cache == null) {
+            return loader.load();
+        }
+
+        // The version is read before loading. Principals modified in the meantime
+        // are thus cached with an outdated version, and reloaded on the next call.
+        final long version = getVersion();
+
+        final VersionedEntry cachedEntry = cache.getIfPresent(credentialsHash);
+        if (cachedEntry != null
+                && cachedEntry.version() == version
+                && !isExpired(cachedEntry.entry())) {
+            return cachedEntry.entry();
+        }
+
+        final Entry loadedEntry = loader.load();
+        if (loadedEntry == null || isExpired(loadedEntry)) {
+            cache.invalidate(credentialsHash);
+            return loadedEntry;
+        }
+
+        cache.put(credentialsHash, new VersionedEntry(loadedEntry, version));
+        return loadedEntry;
+    }
+
+    /**
+     * Discard all entries held by this instance.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        lastCheckedVersion = null;
+    }
+
+    private long getVersion() {
+        final long nowNanos = System.nanoTime();
+
+        // Concurrent callers may both find the checked version to be outdated,
+        // and read it again. That's cheaper than coordinating them.
+        final CheckedVersion checkedVersion = lastCheckedVersion;
+        if (checkedVersion != null && nowNanos - checkedVersion.checkedAtNanos() < versionCheckIntervalNanos) {
+            return checkedVersion.version();
+        }
+
+        final long version = versionReader.getAsLong();
+        lastCheckedVersion = new CheckedVersion(version, nowNanos);
+        return version;
+    }
+
+    private static boolean isExpired(Entry entry) {
+        final Instant expiresAt = entry.expiresAt();
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+
+    private static long readVersion() {
+        final DataSource dataSource = DataSourceRegistry.getInstance().getDefault();
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement ps = connection.prepareStatement("""
+                     SELECT "VERSION"
+                       FROM "PRINCIPAL_VERSION"
+                      WHERE "ID" = 1
+                     """);
+             final ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read principal version", e);
+        }
+    }
+
+}
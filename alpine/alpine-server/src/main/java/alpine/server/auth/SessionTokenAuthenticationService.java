@@ -19,6 +19,7 @@
 package alpine.server.auth;
 
 import alpine.model.ManagedUser;
+import alpine.model.User;
 import alpine.model.UserSession;
 import alpine.persistence.AlpineQueryManager;
 import jakarta.ws.rs.core.HttpHeaders;
@@ -31,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import javax.naming.AuthenticationException;
 import java.security.Principal;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @since 5.0.0
@@ -42,6 +44,7 @@ public final class SessionTokenAuthenticationService implements AuthenticationSe
 
     private final @Nullable String bearer;
     private @Nullable String tokenHash;
+    private @Nullable Set<String> effectivePermissions;
 
     public SessionTokenAuthenticationService(ContainerRequest request) {
         this.bearer = getAuthorizationToken(request);
@@ -60,6 +63,20 @@ public final class SessionTokenAuthenticationService implements AuthenticationSe
 
         final String hashedToken = SessionTokenService.sha256Hex(bearer);
 
+        final AuthenticatedPrincipalCache.Entry entry = AuthenticatedPrincipalCache.getInstance().get(
+                "session:" + hashedToken,
+                () -> loadEntry(hashedToken));
+        if (entry == null) {
+            return null;
+        }
+
+        this.tokenHash = hashedToken;
+        this.effectivePermissions = entry.effectivePermissions();
+
+        return entry.principal();
+    }
+
+    private static AuthenticatedPrincipalCache.@Nullable Entry loadEntry(String hashedToken) {
         try (final var qm = new AlpineQueryManager()) {
             final UserSession session = qm.getUserSessionByTokenHash(hashedToken);
             if (session == null) {
@@ -71,9 +88,11 @@ public final class SessionTokenAuthenticationService implements AuthenticationSe
                 return null;
             }
 
-            this.tokenHash = hashedToken;
-
-            return qm.detach(session.getUser());
+            final User user = qm.detach(session.getUser());
+            return new AuthenticatedPrincipalCache.Entry(
+                    user,
+                    qm.getEffectivePermissions(user),
+                    session.getExpiresAt().toInstant());
         }
     }
 
@@ -81,6 +100,15 @@ public final class SessionTokenAuthenticationService implements AuthenticationSe
         return tokenHash;
     }
 
+    /**
+     * @return The effective permissions of the authenticated principal,
+     * or {@code null} if no principal was authenticated.
+     * @since 5.1.0
+     */
+    public @Nullable Set<String> getEffectivePermissions() {
+        return effectivePermissions;
+    }
+
     private static @Nullable String getAuthorizationToken(HttpHeaders headers) {
         final List<String> header = headers.getRequestHeader("Authorization");
         if (header != null && !header.isEmpty()) {
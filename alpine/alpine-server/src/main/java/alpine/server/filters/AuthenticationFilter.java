@@ -39,6 +39,7 @@ import org.slf4j.MDC;
 import javax.naming.AuthenticationException;
 import java.io.IOException;
 import java.security.Principal;
+import java.util.Set;
 
 /**
  * A filter that ensures that all calls going through this filter are
@@ -64,11 +65,13 @@ public class AuthenticationFilter implements ContainerRequestFilter, ContainerRe
             }
 
             Principal principal = null;
+            Set<String> effectivePermissions = null;
 
             final var apiKeyAuthService = new ApiKeyAuthenticationService(request);
             if (apiKeyAuthService.isSpecified()) {
                 try {
                     principal = apiKeyAuthService.authenticate();
+                    effectivePermissions = apiKeyAuthService.getEffectivePermissions();
                     if (principal instanceof final ApiKey apiKey) {
                         ApiKeyUsageTracker.onApiKeyUsed(apiKey);
                     }
@@ -82,6 +85,7 @@ public class AuthenticationFilter implements ContainerRequestFilter, ContainerRe
             if (sessionAuthService.isSpecified()) {
                 try {
                     principal = sessionAuthService.authenticate();
+                    effectivePermissions = sessionAuthService.getEffectivePermissions();
                     if (principal != null && sessionAuthService.getTokenHash() != null) {
                         SessionUsageTracker.onSessionUsed(sessionAuthService.getTokenHash());
                     }
@@ -95,6 +99,10 @@ public class AuthenticationFilter implements ContainerRequestFilter, ContainerRe
                 throw new NotAuthorizedException(Response.status(Response.Status.UNAUTHORIZED).build());
             } else {
                 requestContext.setProperty("Principal", principal);
+                if (effectivePermissions != null) {
+                    // Resolved alongside the principal, so AuthorizationFilter doesn't have to query them again.
+                    requestContext.setProperty(AuthorizationFilter.EFFECTIVE_PERMISSIONS_PROPERTY, effectivePermissions);
+                }
                 MDC.put("principal", principal.getName());
             }
         }
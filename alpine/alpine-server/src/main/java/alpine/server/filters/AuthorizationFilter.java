@@ -72,10 +72,16 @@ public class AuthorizationFilter implements ContainerRequestFilter {
         }
 
         final Set<String> effectivePermissions;
-        try (final var qm = new AlpineQueryManager()) {
-            effectivePermissions = qm.getEffectivePermissions(principal);
+        if (requestContext.getProperty(EFFECTIVE_PERMISSIONS_PROPERTY) instanceof final Set<?> resolvedPermissions) {
+            @SuppressWarnings("unchecked")
+            final var permissions = (Set<String>) resolvedPermissions;
+            effectivePermissions = permissions;
+        } else {
+            try (final var qm = new AlpineQueryManager()) {
+                effectivePermissions = qm.getEffectivePermissions(principal);
+            }
+            requestContext.setProperty(EFFECTIVE_PERMISSIONS_PROPERTY, effectivePermissions);
         }
-        requestContext.setProperty(EFFECTIVE_PERMISSIONS_PROPERTY, effectivePermissions);
 
         final PermissionRequired annotation = resourceInfo.getResourceMethod().getDeclaredAnnotation(PermissionRequired.class);
         if (annotation == null) {
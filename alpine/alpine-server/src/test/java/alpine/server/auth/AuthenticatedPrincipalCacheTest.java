@@ -0,0 +1,147 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package alpine.server.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticatedPrincipalCacheTest {
+
+    private final AtomicLong version = new AtomicLong(1);
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() throws Exception {
+        final var cache = new AuthenticatedPrincipalCache(null, 10, Duration.ZERO, version::get, new SimpleMeterRegistry());
+
+        cache.get("apikey:foo", () -> load(null));
+        cache.get("apikey:foo", () -> load(null));
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void shouldReturnCachedEntryWhileVersionIsUnchanged() throws Exception {
+        final var cache = createCache();
+
+        final AuthenticatedPrincipalCache.Entry firstEntry = cache.get("apikey:foo", () -> load(null));
+        final AuthenticatedPrincipalCache.Entry secondEntry = cache.get("apikey:foo", () -> load(null));
+
+        assertThat(secondEntry).isSameAs(firstEntry);
+        assertThat(secondEntry.principal().getName()).isEqualTo("foo");
+        assertThat(secondEntry.effectivePermissions()).containsOnly("VIEW_PORTFOLIO");
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    void shouldReloadEntryWhenVersionChanged() throws Exception {
+        final var cache = createCache();
+
+        cache.get("apikey:foo", () -> load(null));
+        version.incrementAndGet();
+        cache.get("apikey:foo", () -> load(null));
+        cache.get("apikey:foo", () -> load(null));
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void shouldReadVersionAtMostOncePerVersionCheckInterval() throws Exception {
+        final var versionReadCount = new AtomicInteger();
+        final var cache = new AuthenticatedPrincipalCache(
+                Duration.ofMinutes(5),
+                10,
+                Duration.ofMinutes(1),
+                () -> {
+                    versionReadCount.incrementAndGet();
+                    return version.get();
+                },
+                new SimpleMeterRegistry());
+
+        cache.get("apikey:foo", () -> load(null));
+        version.incrementAndGet();
+        cache.get("apikey:foo", () -> load(null));
+
+        assertThat(versionReadCount).hasValue(1);
+        assertThat(loadCount).hasValue(1);
+
+        // Local invalidation forces the version to be read again.
+        cache.invalidateAll();
+        cache.get("apikey:foo", () -> load(null));
+        cache.get("apikey:foo", () -> load(null));
+
+        assertThat(versionReadCount).hasValue(2);
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheFailedAuthentication() throws Exception {
+        final var cache = createCache();
+
+        assertThat(cache.get("session:foo", () -> {
+            loadCount.incrementAndGet();
+            return null;
+        })).isNull();
+        cache.get("session:foo", () -> load(null));
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void shouldNotReturnExpiredEntry() throws Exception {
+        final var cache = createCache();
+
+        final Instant expiresAt = Instant.now().minusSeconds(1);
+        cache.get("session:foo", () -> load(expiresAt));
+        cache.get("session:foo", () -> load(expiresAt));
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void shouldReloadEntryAfterInvalidateAll() throws Exception {
+        final var cache = createCache();
+
+        cache.get("session:foo", () -> load(null));
+        cache.invalidateAll();
+        cache.get("session:foo", () -> load(null));
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    private AuthenticatedPrincipalCache createCache() {
+        return new AuthenticatedPrincipalCache(Duration.ofMinutes(5), 10, Duration.ZERO, version::get, new SimpleMeterRegistry());
+    }
+
+    private AuthenticatedPrincipalCache.Entry load(Instant expiresAt) {
+        loadCount.incrementAndGet();
+        final Principal principal = () -> "foo";
+        return new AuthenticatedPrincipalCache.Entry(principal, Set.of("VIEW_PORTFOLIO"), expiresAt);
+    }
+
+}
@@ -44,6 +44,15 @@ public interface ProjectLastAnalysisDao {
     @RegisterConstructorMapper(ProjectDueForAnalysis.class)
     List<ProjectDueForAnalysis> getProjectsDue(@Bind Instant dueBefore, @Bind int limit);
 
+    /// Make projects due for analysis immediately, ahead of all projects that are due by age.
+    @SqlUpdate("""
+            UPDATE "PROJECT_LAST_ANALYSIS"
+               SET "ATTEMPTED_AT" = 'epoch'
+             WHERE "PROJECT_ID" = ANY(:projectIds)
+               AND "ATTEMPTED_AT" > 'epoch'
+            """)
+    int markDue(@Bind long[] projectIds);
+
     @SqlUpdate("""
             UPDATE "PROJECT_LAST_ANALYSIS"
                SET "ATTEMPTED_AT" = GREATEST("ATTEMPTED_AT", :attemptedAt)
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.analysis;
+
+import com.github.packageurl.MalformedPackageURLException;
+import org.dependencytrack.analysis.VulnerableSoftwareChangeDao.Cursor;
+import org.dependencytrack.analysis.VulnerableSoftwareChangeDao.PurlCoordinates;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.github.packageurl.PackageURLBuilder.aPackageURL;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.inJdbiTransaction;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
+
+/// Makes projects due for analysis when matching criteria for any of their components changed,
+/// e.g. because vulnerability data was mirrored, or an internal vulnerability was edited.
+///
+/// Changes are read from the `VULNERABLESOFTWARE_CHANGE` log. Affected projects are not analyzed
+/// directly. Instead, they are moved to the front of the queue of [PortfolioAnalysisTask],
+/// which limits the number of analyses in flight.
+///
+/// @since 5.1.0
+public final class VulnDataChangeAnalysisTask implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VulnDataChangeAnalysisTask.class);
+    private static final String CURSOR_NAME = "project-analysis";
+
+    /// Maximum age of the cursor after which changes may have been pruned from the log already.
+    /// Must be shorter than the retention enforced by the vulnerability database maintenance task.
+    static final Duration MAX_CURSOR_AGE = Duration.ofHours(12);
+
+    private record Result(String snapshot, List<Long> projectIds) {
+    }
+
+    @Override
+    public void run() {
+        // Read changes and the new snapshot in the same transaction,
+        // such that the snapshot covers exactly the changes that were read.
+        final Result result = withJdbiHandle(handle -> handle.inTransaction(
+                TransactionIsolationLevel.REPEATABLE_READ,
+                transactionHandle -> {
+                    final var dao = transactionHandle.attach(VulnerableSoftwareChangeDao.class);
+                    final String currentSnapshot = dao.getCurrentSnapshot();
+
+                    final Cursor cursor = dao.getCursor(CURSOR_NAME);
+                    if (cursor == null) {
+                        return new Result(currentSnapshot, List.of());
+                    }
+                    if (cursor.updatedAt().isBefore(Instant.now().minus(MAX_CURSOR_AGE))) {
+                        LOGGER.warn("""
+                                Last check for vulnerability data changes was at {}; \
+                                Changes since then may have been pruned already, and \
+                                affected projects will be analyzed as per the regular schedule""",
+                                cursor.updatedAt());
+                        return new Result(currentSnapshot, List.of());
+                    }
+
+                    final Set<String> purlPrefixes = getPurlPrefixes(dao.getChangedPurlCoordinates(cursor.snapshot()));
+                    return new Result(currentSnapshot, dao.getAffectedProjectIds(cursor.snapshot(), purlPrefixes));
+                }));
+
+        final long[] projectIds = result.projectIds().stream().mapToLong(Long::longValue).toArray();
+
+        // Marking projects as due happens outside the snapshot transaction, since it would
+        // otherwise fail to serialize with concurrent updates of analysis attempts. Should
+        // this transaction fail, the cursor is not advanced, and the next run retries.
+        final int markedProjects = inJdbiTransaction(handle -> {
+            handle.attach(VulnerableSoftwareChangeDao.class).setCursor(CURSOR_NAME, result.snapshot());
+            return projectIds.length > 0
+                    ? handle.attach(ProjectLastAnalysisDao.class).markDue(projectIds)
+                    : 0;
+        });
+        if (markedProjects > 0) {
+            LOGGER.info("Vulnerability data changes made {} projects due for analysis", markedProjects);
+        } else {
+            LOGGER.debug("No projects affected by vulnerability data changes");
+        }
+    }
+
+    /// Encode changed coordinates with the same library that canonicalizes the PURLs
+    /// of components, such that both agree on type-specific normalization and percent-encoding.
+    private static Set<String> getPurlPrefixes(List<PurlCoordinates> changedCoordinates) {
+        final var purlPrefixes = new HashSet<String>(changedCoordinates.size());
+        for (final PurlCoordinates coordinates : changedCoordinates) {
+            try {
+                final String purlPrefix = aPackageURL()
+                        .withType(coordinates.type())
+                        .withNamespace(coordinates.namespace())
+                        .withName(coordinates.name())
+                        .build()
+                        .canonicalize();
+                purlPrefixes.add(purlPrefix.toLowerCase(Locale.ROOT));
+            } catch (MalformedPackageURLException e) {
+                LOGGER.debug("Ignoring change of invalid PURL coordinates {}", coordinates, e);
+            }
+        }
+
+        return purlPrefixes;
+    }
+
+}
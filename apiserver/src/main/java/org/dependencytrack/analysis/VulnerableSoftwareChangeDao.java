@@ -0,0 +1,123 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.analysis;
+
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/// Access to the `VULNERABLESOFTWARE_CHANGE` log, which records the coordinates
+/// of matching criteria that were associated with or removed from vulnerabilities.
+///
+/// Consumers track their position in the log with a cursor. A cursor is a transaction
+/// snapshot, such that changes of transactions that commit out of order are never missed.
+///
+/// @since 5.1.0
+public interface VulnerableSoftwareChangeDao {
+
+    record Cursor(String snapshot, Instant updatedAt) {
+    }
+
+    @SqlQuery("""
+            SELECT "SNAPSHOT"::TEXT AS "snapshot"
+                 , "UPDATED_AT" AS "updatedAt"
+              FROM "VULNERABLESOFTWARE_CHANGE_CURSOR"
+             WHERE "NAME" = :name
+            """)
+    @RegisterConstructorMapper(Cursor.class)
+    @Nullable Cursor getCursor(@Bind String name);
+
+    @SqlQuery("SELECT pg_current_snapshot()::TEXT")
+    String getCurrentSnapshot();
+
+    @SqlUpdate("""
+            INSERT INTO "VULNERABLESOFTWARE_CHANGE_CURSOR" ("NAME", "SNAPSHOT", "UPDATED_AT")
+            VALUES (:name, CAST(:snapshot AS PG_SNAPSHOT), now())
+            ON CONFLICT ("NAME") DO UPDATE
+            SET "SNAPSHOT" = EXCLUDED."SNAPSHOT"
+              , "UPDATED_AT" = EXCLUDED."UPDATED_AT"
+            """)
+    void setCursor(@Bind String name, @Bind String snapshot);
+
+    record PurlCoordinates(String type, @Nullable String namespace, String name) {
+    }
+
+    /// Get the distinct, lowercased PURL coordinates that were changed
+    /// by transactions that were not yet visible in `snapshot`.
+    @SqlQuery("""
+            SELECT DISTINCT lower(vsc."PURL_TYPE") AS "type"
+                          , lower(vsc."PURL_NAMESPACE") AS "namespace"
+                          , lower(vsc."PURL_NAME") AS "name"
+              FROM "VULNERABLESOFTWARE_CHANGE" AS vsc
+             WHERE vsc."TXID" >= pg_snapshot_xmin(CAST(:snapshot AS PG_SNAPSHOT))::TEXT::BIGINT
+               AND NOT pg_visible_in_snapshot(vsc."TXID"::TEXT::XID8, CAST(:snapshot AS PG_SNAPSHOT))
+               AND vsc."PURL_TYPE" IS NOT NULL
+               AND vsc."PURL_NAME" IS NOT NULL
+            """)
+    @RegisterConstructorMapper(PurlCoordinates.class)
+    List<PurlCoordinates> getChangedPurlCoordinates(@Bind String snapshot);
+
+    /// Get the IDs of projects with components whose coordinates were changed
+    /// by transactions that were not yet visible in `snapshot`.
+    ///
+    /// PURLs are matched on `purlPrefixes`, the lowercased canonical PURLs of the changed
+    /// coordinates as returned by [#getChangedPurlCoordinates(String)], without version.
+    /// CPEs are matched on part, vendor and product, but only for CPE 2.3 strings, and only
+    /// for changes that do not use wildcards. Components not covered by this are picked up
+    /// by the regular, age-based analysis schedule.
+    @SqlQuery("""
+            WITH
+            "CHANGE" AS (
+              SELECT DISTINCT lower(vsc."PART") AS "PART"
+                            , lower(vsc."VENDOR") AS "VENDOR"
+                            , lower(vsc."PRODUCT") AS "PRODUCT"
+                FROM "VULNERABLESOFTWARE_CHANGE" AS vsc
+               WHERE vsc."TXID" >= pg_snapshot_xmin(CAST(:snapshot AS PG_SNAPSHOT))::TEXT::BIGINT
+                 AND NOT pg_visible_in_snapshot(vsc."TXID"::TEXT::XID8, CAST(:snapshot AS PG_SNAPSHOT))
+                 AND vsc."PART" <> '*'
+                 AND vsc."VENDOR" <> '*'
+                 AND vsc."PRODUCT" <> '*'
+            )
+            -- Byte-wise range comparisons on the lowercased PURL are index-assisted
+            -- through COMPONENT_PURL_SEARCH_IDX. The range covers all versions of
+            -- the package, since '@' (0x40) directly precedes 'A' (0x41).
+            SELECT c."PROJECT_ID"
+              FROM UNNEST(CAST(:purlPrefixes AS TEXT[])) AS pp("PREFIX")
+             INNER JOIN "COMPONENT" AS c
+                ON c."PURL" IS NOT NULL
+               AND lower(c."PURL") ~>=~ (pp."PREFIX" || '@')
+               AND lower(c."PURL") ~<~ (pp."PREFIX" || 'A')
+             UNION
+            SELECT c."PROJECT_ID"
+              FROM "CHANGE" AS ch
+             INNER JOIN "COMPONENT" AS c
+                ON c."CPE" LIKE 'cpe:2.3:%'
+               AND split_part(lower(c."CPE"), ':', 4) = ch."VENDOR"
+               AND split_part(lower(c."CPE"), ':', 5) = ch."PRODUCT"
+               AND split_part(lower(c."CPE"), ':', 3) = ch."PART"
+            """)
+    List<Long> getAffectedProjectIds(@Bind String snapshot, @Bind Collection<String> purlPrefixes);
+
+}
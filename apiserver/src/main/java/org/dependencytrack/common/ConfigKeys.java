@@ -82,6 +82,9 @@ public final class ConfigKeys {
     public static final String NOTIFICATION_OUTBOX_RELAY_POLL_INTERVAL_MS = "dt.notification.outbox-relay.poll-interval-ms";
     public static final String NOTIFICATION_OUTBOX_RELAY_BATCH_SIZE = "dt.notification.outbox-relay.batch-size";
     public static final String NOTIFICATION_OUTBOX_RELAY_LARGE_NOTIFICATION_THRESHOLD_BYTES = "dt.notification.outbox-relay.large-notification-threshold-bytes";
+    public static final String NOTIFICATION_OUTBOX_RELAY_PARTITIONS = "dt.notification.outbox-relay.partitions";
+    public static final String NOTIFICATION_OUTBOX_RELAY_PUBLISH_BATCH_SIZE = "dt.notification.outbox-relay.publish-batch-size";
+    public static final String NOTIFICATION_ROUTER_RULE_CACHE_ENABLED = "dt.notification.router.rule-cache.enabled";
 
     public static final String TELEMETRY_SUBMISSION_DEFAULT_ENABLED = "dt.telemetry.submission.default-enabled";
 
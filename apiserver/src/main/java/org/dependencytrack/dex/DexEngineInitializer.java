@@ -52,6 +52,8 @@ import org.dependencytrack.metrics.UpdateProjectMetricsActivity;
 import org.dependencytrack.notification.ProcessScheduledNotificationRuleActivity;
 import org.dependencytrack.notification.ProcessScheduledNotificationsWorkflow;
 import org.dependencytrack.notification.PublishNotificationActivity;
+import org.dependencytrack.notification.PublishNotificationBatchActivity;
+import org.dependencytrack.notification.PublishNotificationBatchWorkflow;
 import org.dependencytrack.notification.PublishNotificationWorkflow;
 import org.dependencytrack.notification.api.templating.NotificationTemplateVariables;
 import org.dependencytrack.notification.templating.pebble.PebbleNotificationTemplateRendererFactory;
@@ -82,6 +84,7 @@ import org.dependencytrack.proto.internal.workflow.v1.PrepareVulnAnalysisRes;
 import org.dependencytrack.proto.internal.workflow.v1.ProcessScheduledNotificationRuleArg;
 import org.dependencytrack.proto.internal.workflow.v1.ProcessScheduledNotificationsWorkflowArg;
 import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationActivityArg;
+import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationBatchArg;
 import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationWorkflowArg;
 import org.dependencytrack.proto.internal.workflow.v1.ReconcileVulnAnalysisResultsArg;
 import org.dependencytrack.proto.internal.workflow.v1.ResolvePackageMetadataActivityArg;
@@ -213,6 +216,11 @@ public final class DexEngineInitializer implements ServletContextListener {
                 protoConverter(PublishNotificationWorkflowArg.class),
                 voidConverter(),
                 Duration.ofMinutes(1));
+        engine.registerWorkflow(
+                new PublishNotificationBatchWorkflow(),
+                protoConverter(PublishNotificationBatchArg.class),
+                voidConverter(),
+                Duration.ofMinutes(1));
         engine.registerWorkflow(
                 new ResolvePackageMetadataWorkflow(),
                 protoConverter(ResolvePackageMetadataWorkflowArg.class),
@@ -259,7 +267,8 @@ public final class DexEngineInitializer implements ServletContextListener {
                 voidConverter());
         registerActivity(
                 engine,
-                new EvalProjectPoliciesActivity(new CelPolicyEngine()),
+                new EvalProjectPoliciesActivity(new CelPolicyEngine(
+                        config.getOptionalValue("dt.policy-evaluation.parallelism", int.class).orElse(1))),
                 protoConverter(EvalProjectPoliciesArg.class),
                 voidConverter());
         registerActivity(
@@ -274,12 +283,20 @@ public final class DexEngineInitializer implements ServletContextListener {
                 protoConverter(FetchProjectMetricsUpdateCandidatesRes.class));
         registerActivity(
                 engine,
-                new InvokeVulnAnalyzerActivity(fileStorage, pluginManager),
+                new InvokeVulnAnalyzerActivity(
+                        fileStorage,
+                        pluginManager,
+                        cacheManager,
+                        config.getOptionalValue("dt.vuln-analysis.result-memoization.enabled", boolean.class).orElse(false)),
                 protoConverter(InvokeVulnAnalyzerArg.class),
                 protoConverter(InvokeVulnAnalyzerRes.class));
         registerActivity(
                 engine,
-                new MirrorVulnDataSourceActivity(pluginManager),
+                new MirrorVulnDataSourceActivity(
+                        pluginManager,
+                        meterRegistry,
+                        config.getOptionalValue("dt.vuln-data-source.mirror.batch-size", int.class).orElse(25),
+                        config.getOptionalValue("dt.vuln-data-source.mirror.bulk-sync.enabled", boolean.class).orElse(false)),
                 protoConverter(MirrorVulnDataSourceArg.class),
                 voidConverter());
         registerActivity(
@@ -309,6 +326,14 @@ public final class DexEngineInitializer implements ServletContextListener {
                         templateRendererFactory),
                 protoConverter(PublishNotificationActivityArg.class),
                 voidConverter());
+        registerActivity(
+                engine,
+                new PublishNotificationBatchActivity(
+                        pluginManager,
+                        secretManager::getSecretValue,
+                        templateRendererFactory),
+                protoConverter(PublishNotificationBatchArg.class),
+                voidConverter());
         registerActivity(
                 engine,
                 new ReconcileVulnAnalysisResultsActivity(
@@ -339,7 +364,8 @@ public final class DexEngineInitializer implements ServletContextListener {
                 voidConverter());
         registerActivity(
                 engine,
-                new UpdateProjectMetricsActivity(),
+                new UpdateProjectMetricsActivity(
+                        config.getOptionalValue("dt.metrics.incremental-updates.enabled", boolean.class).orElse(false)),
                 protoConverter(UpdateProjectMetricsArg.class),
                 voidConverter());
 
@@ -464,6 +490,10 @@ public final class DexEngineInitializer implements ServletContextListener {
         getBackoffFunction(config, "dt.dex-engine.activity-task-scheduler.poll-backoff")
                 .ifPresent(engineConfig.activityTaskScheduler()::setPollBackoffFunction);
 
+        // Wakeup notifications.
+        config.getOptionalValue("dt.dex-engine.wakeup-notifications.enabled", boolean.class)
+                .ifPresent(engineConfig::setWakeupNotificationsEnabled);
+
         // Task event buffer.
         config.getOptionalValue("dt.dex-engine.task-event-buffer.flush-interval-ms", long.class)
                 .map(Duration::ofMillis)
@@ -491,6 +521,17 @@ public final class DexEngineInitializer implements ServletContextListener {
                 .ifPresent(engineConfig.runHistoryCache()::setEvictAfterAccess);
         config.getOptionalValue("dt.dex-engine.run-history-cache.max-size", int.class)
                 .ifPresent(engineConfig.runHistoryCache()::setMaxSize);
+        config.getOptionalValue("dt.dex-engine.sticky-execution-timeout-ms", long.class)
+                .map(Duration::ofMillis)
+                .ifPresent(engineConfig::setStickyExecutionTimeout);
+
+        // Payload compression.
+        config.getOptionalValue("dt.dex-engine.payload-compression.enabled", boolean.class)
+                .ifPresent(engineConfig.payloadCompression()::setEnabled);
+        config.getOptionalValue("dt.dex-engine.payload-compression.threshold-bytes", int.class)
+                .ifPresent(engineConfig.payloadCompression()::setThreshold);
+        config.getOptionalValue("dt.dex-engine.payload-compression.level", int.class)
+                .ifPresent(engineConfig.payloadCompression()::setLevel);
 
         // Maintenance.
         config.getOptionalValue("dt.dex-engine.maintenance.worker-initial-delay-ms", long.class)
@@ -35,6 +35,10 @@ public final class RefreshGlobalPortfolioMetricsActivity implements Activity<Voi
     @Override
     public @Nullable Void execute(ActivityContext ctx, @Nullable Void argument) {
         useJdbiTransaction(handle -> handle.attach(MetricsDao.class).refreshGlobalPortfolioMetrics());
+
+        // Refreshed in a separate transaction, such that the global view
+        // becomes visible without waiting for the team view.
+        useJdbiTransaction(handle -> handle.attach(MetricsDao.class).refreshTeamPortfolioMetrics());
         return null;
     }
 
@@ -36,6 +36,21 @@ import static org.dependencytrack.persistence.jdbi.JdbiFactory.useJdbiTransactio
 @ActivitySpec(name = "update-project-metrics", defaultTaskQueue = "metrics-updates")
 public final class UpdateProjectMetricsActivity implements Activity<UpdateProjectMetricsArg, Void> {
 
+    private final boolean incrementalUpdatesEnabled;
+
+    public UpdateProjectMetricsActivity() {
+        this(false);
+    }
+
+    /**
+     * @param incrementalUpdatesEnabled Whether to only compute the metrics of components that changed
+     *                                  since the last update. See {@link MetricsDao#updateProjectMetricsIncrementally(UUID)}.
+     * @since 5.1.0
+     */
+    public UpdateProjectMetricsActivity(boolean incrementalUpdatesEnabled) {
+        this.incrementalUpdatesEnabled = incrementalUpdatesEnabled;
+    }
+
     @Override
     public @Nullable Void execute(ActivityContext ctx, @Nullable UpdateProjectMetricsArg argument) throws Exception {
         if (argument == null) {
@@ -43,7 +58,14 @@ public final class UpdateProjectMetricsActivity implements Activity<UpdateProjec
         }
 
         final UUID projectUuid = UUID.fromString(argument.getProjectUuid());
-        useJdbiTransaction(handle -> handle.attach(MetricsDao.class).updateProjectMetrics(projectUuid));
+        useJdbiTransaction(handle -> {
+            final var metricsDao = handle.attach(MetricsDao.class);
+            if (incrementalUpdatesEnabled) {
+                metricsDao.updateProjectMetricsIncrementally(projectUuid);
+            } else {
+                metricsDao.updateProjectMetrics(projectUuid);
+            }
+        });
 
         return null;
     }
@@ -29,6 +29,7 @@ import org.dependencytrack.notification.api.emission.NotificationEmitter;
 import org.dependencytrack.notification.proto.v1.Group;
 import org.dependencytrack.notification.proto.v1.Level;
 import org.dependencytrack.notification.proto.v1.Notification;
+import org.dependencytrack.notification.proto.v1.Project;
 import org.dependencytrack.notification.proto.v1.Scope;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -99,6 +100,7 @@ class JdbcNotificationEmitter implements NotificationEmitter {
         final var groups = new String[notifications.size()];
         final var levels = new String[notifications.size()];
         final var payloads = new byte[notifications.size()][];
+        final var orderingKeys = new String[notifications.size()];
 
         int index = 0;
         for (final Notification notification : notifications) {
@@ -117,20 +119,22 @@ class JdbcNotificationEmitter implements NotificationEmitter {
             groups[index] = convert(notification.getGroup()).name();
             levels[index] = convert(notification.getLevel()).name();
             payloads[index] = notification.toByteArray();
+            orderingKeys[index] = getOrderingKey(notification);
             index++;
         }
 
         final var emittedIds = new HashSet<String>();
         try (final PreparedStatement ps = connection.prepareStatement("""
-                INSERT INTO "NOTIFICATION_OUTBOX" ("ID", "TIMESTAMP", "SCOPE", "GROUP", "LEVEL", "PAYLOAD")
+                INSERT INTO "NOTIFICATION_OUTBOX" ("ID", "TIMESTAMP", "SCOPE", "GROUP", "LEVEL", "PAYLOAD", "ORDERING_KEY")
                 SELECT id
                      , timestamp
                      , scope
                      , "group"
                      , level
                      , payload
-                  FROM UNNEST(?, ?, ?, ?, ?, ?)
-                    AS t(id, timestamp, scope, "group", level, payload)
+                     , ordering_key
+                  FROM UNNEST(?, ?, ?, ?, ?, ?, ?)
+                    AS t(id, timestamp, scope, "group", level, payload, ordering_key)
                 -- Preliminary check if there even is a rule that could match
                 -- the notification. Note that more extensive matching is performed
                 -- during relay. This is just to avoid unnecessary inserts.
@@ -155,6 +159,7 @@ class JdbcNotificationEmitter implements NotificationEmitter {
             ps.setArray(4, connection.createArrayOf("TEXT", groups));
             ps.setArray(5, connection.createArrayOf("NOTIFICATION_LEVEL", levels));
             ps.setArray(6, connection.createArrayOf("BYTEA", payloads));
+            ps.setArray(7, connection.createArrayOf("TEXT", orderingKeys));
             ps.executeUpdate();
 
             final ResultSet rs = ps.getGeneratedKeys();
@@ -183,6 +188,21 @@ class JdbcNotificationEmitter implements NotificationEmitter {
                 TimeUnit.NANOSECONDS.toMillis(emitLatencyNanos));
     }
 
+    /**
+     * Notifications with the same ordering key are relayed in the order in which they were emitted.
+     * Notifications without ordering key are relayed in order with respect to each other.
+     *
+     * @see NotificationOutboxRelay
+     */
+    private static @Nullable String getOrderingKey(Notification notification) {
+        final Project project = NotificationSubjects.getProject(NotificationSubjects.unpack(notification));
+        if (project == null || project.getUuid().isEmpty()) {
+            return null;
+        }
+
+        return project.getUuid();
+    }
+
     private static void validateRequiredFields(Notification notification) {
         if (notification.getId().isEmpty()) {
             throw new IllegalArgumentException("Missing ID");
@@ -18,6 +18,7 @@
  */
 package org.dependencytrack.notification;
 
+import com.google.protobuf.util.Timestamps;
 import io.github.resilience4j.core.IntervalFunction;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
@@ -27,6 +28,7 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dependencytrack.common.concurrent.ConcurrentTasks;
 import org.dependencytrack.dex.engine.api.DexEngine;
 import org.dependencytrack.dex.engine.api.request.CreateWorkflowRunRequest;
 import org.dependencytrack.filestorage.api.FileStorage;
@@ -34,6 +36,7 @@ import org.dependencytrack.filestorage.proto.v1.FileMetadata;
 import org.dependencytrack.notification.proto.v1.Notification;
 import org.dependencytrack.persistence.jdbi.AdvisoryLocks;
 import org.dependencytrack.persistence.jdbi.NotificationOutboxDao;
+import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationBatchArg;
 import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationWorkflowArg;
 import org.jdbi.v3.core.Handle;
 import org.jspecify.annotations.Nullable;
@@ -45,16 +48,20 @@ import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import static io.github.resilience4j.core.IntervalFunction.ofExponentialRandomBackoff;
 import static java.util.Objects.requireNonNull;
@@ -64,6 +71,11 @@ import static org.dependencytrack.persistence.jdbi.JdbiFactory.inJdbiTransaction
 
 /**
  * Outbox relay of notifications.
+ * <p>
+ * The outbox is divided into a configurable number of partitions, based on the ordering key
+ * of notifications. Partitions are relayed concurrently, but each partition is relayed by
+ * at most one instance at a time. Notifications are relayed in the order in which they were
+ * emitted within a partition.
  *
  * @since 5.0.0
  */
@@ -82,12 +94,14 @@ final class NotificationOutboxRelay implements Closeable {
     private final long pollIntervalMillis;
     private final int batchSize;
     private final int largeNotificationThresholdBytes;
-    private final BlockingQueue<Notification> currentBatch;
+    private final int partitions;
+    private final int publishBatchSize;
     private final IntervalFunction backoffIntervalFunction;
     private final MeterProvider<Timer> cycleLatencyTimer;
     private final MeterProvider<Counter> cycleCounter;
     private final Timer pollLatencyTimer;
     private final Timer sendLatencyTimer;
+    private final MeterProvider<Timer> lagTimer;
     private final MeterProvider<DistributionSummary> sentDistribution;
     private @Nullable ScheduledExecutorService executorService;
 
@@ -99,6 +113,28 @@ final class NotificationOutboxRelay implements Closeable {
             long pollIntervalMillis,
             int batchSize,
             int largeNotificationThresholdBytes) {
+        this(
+                dexEngine,
+                fileStorage,
+                routerFactory,
+                meterRegistry,
+                pollIntervalMillis,
+                batchSize,
+                largeNotificationThresholdBytes,
+                /* partitions */ 1,
+                /* publishBatchSize */ 1);
+    }
+
+    public NotificationOutboxRelay(
+            DexEngine dexEngine,
+            FileStorage fileStorage,
+            Function<Handle, NotificationRouter> routerFactory,
+            MeterRegistry meterRegistry,
+            long pollIntervalMillis,
+            int batchSize,
+            int largeNotificationThresholdBytes,
+            int partitions,
+            int publishBatchSize) {
         this.dexEngine = requireNonNull(dexEngine, "dexEngine must not be null");
         this.fileStorage = requireNonNull(fileStorage, "fileStorage must not be null");
         this.routerFactory = requireNonNull(routerFactory, "routerFactory must not be null");
@@ -112,10 +148,17 @@ final class NotificationOutboxRelay implements Closeable {
         if (largeNotificationThresholdBytes <= 0) {
             throw new IllegalArgumentException("largeNotificationThresholdBytes must be greater than 0");
         }
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("partitions must be greater than 0");
+        }
+        if (publishBatchSize <= 0) {
+            throw new IllegalArgumentException("publishBatchSize must be greater than 0");
+        }
         this.pollIntervalMillis = pollIntervalMillis;
         this.batchSize = batchSize;
         this.largeNotificationThresholdBytes = largeNotificationThresholdBytes;
-        this.currentBatch = new ArrayBlockingQueue<>(batchSize);
+        this.partitions = partitions;
+        this.publishBatchSize = publishBatchSize;
         this.backoffIntervalFunction = ofExponentialRandomBackoff(
                 /* initialDelay */ pollIntervalMillis,
                 /* multiplier */ 1.5,
@@ -140,6 +183,11 @@ final class NotificationOutboxRelay implements Closeable {
                 .tags(COMMON_METER_TAGS)
                 .description("Latency of messages being sent")
                 .register(meterRegistry);
+        this.lagTimer = Timer
+                .builder("dt.outbox.relay.lag")
+                .tags(COMMON_METER_TAGS)
+                .description("Age of the oldest message polled from a partition")
+                .withRegistry(meterRegistry);
         this.sentDistribution = DistributionSummary
                 .builder("dt.outbox.relay.messages.sent")
                 .tags(COMMON_METER_TAGS)
@@ -196,6 +244,9 @@ final class NotificationOutboxRelay implements Closeable {
                     TimeUnit.MILLISECONDS);
         } catch (RejectedExecutionException e) {
             LOGGER.debug("Next poll could not be scheduled, likely because the executor was shut down", e);
+        } catch (InterruptedException e) {
+            LOGGER.debug("Interrupted while relaying messages, likely because the executor was shut down", e);
+            Thread.currentThread().interrupt();
         } catch (Throwable t) {
             cycleCounter.withTag(OUTCOME_METER_TAG_NAME, RelayCycleOutcome.FAILED.name()).increment();
             cycleLatencySample.stop(cycleLatencyTimer.withTag(OUTCOME_METER_TAG_NAME, RelayCycleOutcome.FAILED.name()));
@@ -207,8 +258,6 @@ final class NotificationOutboxRelay implements Closeable {
                     () -> run(failureBackoffCount + 1),
                     backoffDelayMillis,
                     TimeUnit.MILLISECONDS);
-        } finally {
-            currentBatch.clear();
         }
     }
 
@@ -218,35 +267,63 @@ final class NotificationOutboxRelay implements Closeable {
         SKIPPED
     }
 
-    private RelayCycleOutcome executeRelayCycle() {
+    private RelayCycleOutcome executeRelayCycle() throws InterruptedException {
+        if (partitions == 1) {
+            return executeRelayCycle(0);
+        }
+
+        final var outcomes = new ArrayList<RelayCycleOutcome>(partitions);
+        ConcurrentTasks.executeAll(
+                IntStream.range(0, partitions)
+                        .<Callable<RelayCycleOutcome>>mapToObj(partition -> () -> executeRelayCycle(partition))
+                        .toList(),
+                partitions,
+                outcomes::add);
+
+        return outcomes.contains(RelayCycleOutcome.COMPLETED)
+                ? RelayCycleOutcome.COMPLETED
+                : RelayCycleOutcome.SKIPPED;
+    }
+
+    private RelayCycleOutcome executeRelayCycle(int partition) {
         return inJdbiTransaction(handle -> {
-            // Acquire advisory lock to prevent concurrent relay from multiple instances.
+            // Acquire advisory lock to prevent concurrent relay of the partition from multiple instances.
             //
             // Ideally we want relays to happen in the order in which notifications were
             // emitted. Work-stealing polling with FOR UPDATE SKIP LOCKED would mess with ordering.
             //
-            // The lack of concurrency is in part mitigated by processing notifications in batches.
-            final boolean lockAcquired = AdvisoryLocks.tryAcquire(handle, ADVISORY_LOCK_ID);
+            // The lack of concurrency is in part mitigated by processing notifications in batches,
+            // and by relaying multiple partitions concurrently.
+            final boolean lockAcquired = AdvisoryLocks.tryAcquire(handle, ADVISORY_LOCK_ID + partition);
             if (!lockAcquired) {
-                LOGGER.debug("Lock already acquired by another instance");
+                LOGGER.debug("Lock for partition {} already acquired by another instance", partition);
                 return RelayCycleOutcome.SKIPPED;
             }
 
+            final List<Notification> batch;
             final Timer.Sample pollLatencySample = Timer.start();
             try {
                 final var outboxDao = handle.attach(NotificationOutboxDao.class);
-                currentBatch.addAll(outboxDao.poll(batchSize));
+                batch = outboxDao.poll(partition, partitions, batchSize);
             } finally {
                 pollLatencySample.stop(pollLatencyTimer);
             }
 
-            if (currentBatch.isEmpty()) {
+            if (batch.isEmpty()) {
                 return RelayCycleOutcome.COMPLETED;
             }
 
+            final Notification oldestNotification = batch.getFirst();
+            if (oldestNotification.hasTimestamp()) {
+                lagTimer
+                        .withTag("partition", String.valueOf(partition))
+                        .record(Duration.ofMillis(Math.max(0,
+                                System.currentTimeMillis() - Timestamps.toMillis(oldestNotification.getTimestamp()))));
+            }
+
             final NotificationRouter router = routerFactory.apply(handle);
-            final List<NotificationRouter.Result> routerResults = router.route(currentBatch);
-            LOGGER.debug("Router generated {} results", routerResults.size());
+            final List<NotificationRouter.Result> routerResults = router.route(batch);
+            LOGGER.debug("Router generated {} results for partition {}", routerResults.size(), partition);
             if (routerResults.isEmpty()) {
                 return RelayCycleOutcome.COMPLETED;
             }
@@ -258,7 +335,7 @@ final class NotificationOutboxRelay implements Closeable {
                 sendLatencySample.stop(sendLatencyTimer);
             }
 
-            for (final Notification notification : currentBatch) {
+            for (final Notification notification : batch) {
                 sentDistribution
                         .withTags(List.of(
                                 Tag.of("level", convert(notification.getLevel()).name()),
@@ -272,6 +349,87 @@ final class NotificationOutboxRelay implements Closeable {
     }
 
     private void sendAll(Collection<NotificationRouter.Result> routerResults) {
+        if (publishBatchSize == 1) {
+            dexEngine.createRuns(createRunRequests(routerResults));
+            return;
+        }
+
+        // Large notifications are offloaded to file storage, which is not supported for batches.
+        // Publish them individually, as if batching was disabled.
+        final var unbatchedResults = new ArrayList<NotificationRouter.Result>();
+        final var notificationsByRuleName = new TreeMap<String, List<Notification>>();
+        for (final var routerResult : routerResults) {
+            final Notification notification = routerResult.notification();
+            if (notification.getSerializedSize() > largeNotificationThresholdBytes) {
+                unbatchedResults.add(routerResult);
+                continue;
+            }
+
+            for (final String ruleName : routerResult.ruleNames()) {
+                notificationsByRuleName
+                        .computeIfAbsent(ruleName, ignored -> new ArrayList<>())
+                        .add(notification);
+            }
+        }
+
+        final var createRunRequests = new ArrayList<CreateWorkflowRunRequest<?>>(
+                createRunRequests(unbatchedResults));
+        for (final var entry : notificationsByRuleName.entrySet()) {
+            createRunRequests.addAll(createBatchRunRequests(entry.getKey(), entry.getValue()));
+        }
+
+        dexEngine.createRuns(createRunRequests);
+    }
+
+    /**
+     * Split the notifications of a rule into batches, such that each batch holds at most
+     * {@code publishBatchSize} notifications, and does not exceed the large notification
+     * threshold in total. Order of notifications is retained.
+     */
+    private List<CreateWorkflowRunRequest<?>> createBatchRunRequests(
+            String ruleName,
+            List<Notification> notifications) {
+        final var createRunRequests = new ArrayList<CreateWorkflowRunRequest<?>>();
+
+        var batchArgBuilder = PublishNotificationBatchArg.newBuilder().setNotificationRuleName(ruleName);
+        int batchSizeBytes = 0;
+        for (final Notification notification : notifications) {
+            if (batchArgBuilder.getNotificationsCount() > 0
+                && (batchArgBuilder.getNotificationsCount() == publishBatchSize
+                    || batchSizeBytes + notification.getSerializedSize() > largeNotificationThresholdBytes)) {
+                createRunRequests.add(createBatchRunRequest(batchArgBuilder.build()));
+                batchArgBuilder = PublishNotificationBatchArg.newBuilder().setNotificationRuleName(ruleName);
+                batchSizeBytes = 0;
+            }
+
+            batchArgBuilder.addNotifications(notification);
+            batchSizeBytes += notification.getSerializedSize();
+        }
+
+        if (batchArgBuilder.getNotificationsCount() > 0) {
+            createRunRequests.add(createBatchRunRequest(batchArgBuilder.build()));
+        }
+
+        return createRunRequests;
+    }
+
+    private static CreateWorkflowRunRequest<PublishNotificationBatchArg> createBatchRunRequest(
+            PublishNotificationBatchArg batchArg) {
+        // Derive the instance ID from the batch's content, such that a batch that is
+        // relayed again after a failed cycle is not published twice. A batch with different
+        // content is published, even if it partially overlaps with a previous batch.
+        final var instanceIdSource = new StringBuilder(batchArg.getNotificationRuleName());
+        for (final Notification notification : batchArg.getNotificationsList()) {
+            instanceIdSource.append(':').append(notification.getId());
+        }
+
+        return new CreateWorkflowRunRequest<>(PublishNotificationBatchWorkflow.class)
+                .withWorkflowInstanceId("publish-notification-batch:" + UUID.nameUUIDFromBytes(
+                        instanceIdSource.toString().getBytes(StandardCharsets.UTF_8)))
+                .withArgument(batchArg);
+    }
+
+    private List<CreateWorkflowRunRequest<?>> createRunRequests(Collection<NotificationRouter.Result> routerResults) {
         final var createRunRequests = new ArrayList<CreateWorkflowRunRequest<?>>(routerResults.size());
 
         for (final var routerResult : routerResults) {
@@ -317,7 +475,7 @@ final class NotificationOutboxRelay implements Closeable {
             }
         }
 
-        dexEngine.createRuns(createRunRequests);
+        return createRunRequests;
     }
 
 }
@@ -24,19 +24,8 @@ import io.micrometer.core.instrument.Meter.MeterProvider;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.dependencytrack.common.MdcScope;
-import org.dependencytrack.notification.proto.v1.BomConsumedOrProcessedSubject;
-import org.dependencytrack.notification.proto.v1.BomProcessingFailedSubject;
-import org.dependencytrack.notification.proto.v1.BomValidationFailedSubject;
-import org.dependencytrack.notification.proto.v1.NewVulnerabilitySubject;
-import org.dependencytrack.notification.proto.v1.NewVulnerableDependencySubject;
 import org.dependencytrack.notification.proto.v1.Notification;
-import org.dependencytrack.notification.proto.v1.PolicyViolationAnalysisDecisionChangeSubject;
-import org.dependencytrack.notification.proto.v1.PolicyViolationSubject;
 import org.dependencytrack.notification.proto.v1.Project;
-import org.dependencytrack.notification.proto.v1.UserSubject;
-import org.dependencytrack.notification.proto.v1.VexConsumedOrProcessedSubject;
-import org.dependencytrack.notification.proto.v1.VulnerabilityAnalysisDecisionChangeSubject;
-import org.dependencytrack.notification.proto.v1.VulnerabilityRetractedSubject;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.mapper.reflect.ConstructorMapper;
 import org.jdbi.v3.core.statement.Query;
@@ -45,12 +34,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -74,6 +63,7 @@ final class NotificationRouter {
     private static final Logger LOGGER = LoggerFactory.getLogger(NotificationRouter.class.getName());
 
     private final Handle jdbiHandle;
+    private final @Nullable NotificationRuleCache ruleCache;
     private final Timer ruleQueryLatency;
     private final Timer ruleFilterLatency;
     private final MeterProvider<Counter> rulesMatchedCounter;
@@ -81,7 +71,22 @@ final class NotificationRouter {
     NotificationRouter(
             Handle jdbiHandle,
             MeterRegistry meterRegistry) {
+        this(jdbiHandle, meterRegistry, null);
+    }
+
+    /**
+     * @param jdbiHandle    The {@link Handle} to use for database interactions.
+     * @param meterRegistry The {@link MeterRegistry} to record metrics with.
+     * @param ruleCache     An optional {@link NotificationRuleCache}. When provided,
+     *                      rules are looked up from the cache instead of being queried.
+     * @since 5.1.0
+     */
+    NotificationRouter(
+            Handle jdbiHandle,
+            MeterRegistry meterRegistry,
+            @Nullable NotificationRuleCache ruleCache) {
         this.jdbiHandle = requireNonNull(jdbiHandle, "jdbiHandle must not be null");
+        this.ruleCache = ruleCache;
         requireNonNull(meterRegistry, "meterRegistry must not be null");
         this.ruleQueryLatency = Timer
                 .builder("dt.notification.router.rule.query.latency")
@@ -104,9 +109,11 @@ final class NotificationRouter {
         }
 
         final Timer.Sample ruleQueryLatencySample = Timer.start();
-        final Map<Notification, List<RuleQueryResult>> rulesByNotification;
+        final Map<Notification, List<Rule>> rulesByNotification;
         try {
-            rulesByNotification = queryRules(notifications);
+            rulesByNotification = ruleCache != null
+                    ? lookupRules(ruleCache, notifications)
+                    : queryRules(notifications);
         } finally {
             ruleQueryLatencySample.stop(ruleQueryLatency);
         }
@@ -118,9 +125,9 @@ final class NotificationRouter {
 
         final var results = new ArrayList<Result>(rulesByNotification.size());
 
-        for (final Map.Entry<Notification, List<RuleQueryResult>> entry : rulesByNotification.entrySet()) {
+        for (final Map.Entry<Notification, List<Rule>> entry : rulesByNotification.entrySet()) {
             final Notification notification = entry.getKey();
-            final List<RuleQueryResult> rules = entry.getValue();
+            final List<Rule> rules = entry.getValue();
 
             try (var _ = new MdcScope(Map.ofEntries(
                     Map.entry(MDC_NOTIFICATION_ID, notification.getId()),
@@ -128,7 +135,7 @@ final class NotificationRouter {
                     Map.entry(MDC_NOTIFICATION_GROUP, convert(notification.getGroup()).name()),
                     Map.entry(MDC_NOTIFICATION_LEVEL, convert(notification.getLevel()).name())))) {
                 final Timer.Sample ruleFilterLatencySample = Timer.start();
-                final List<RuleQueryResult> applicableRules;
+                final List<Rule> applicableRules;
                 try {
                     applicableRules = maybeFilterRules(notification, rules);
                 } finally {
@@ -136,7 +143,7 @@ final class NotificationRouter {
                 }
 
                 final var applicableRuleNames = new HashSet<String>(applicableRules.size());
-                for (final RuleQueryResult rule : applicableRules) {
+                for (final Rule rule : applicableRules) {
                     rulesMatchedCounter.withTag("ruleName", rule.name()).increment();
                     applicableRuleNames.add(rule.name());
                 }
@@ -159,6 +166,35 @@ final class NotificationRouter {
             @Nullable Set<String> limitToTagNames,
             @Nullable String filterExpression) {
 
+        private Rule toRule() {
+            return new Rule(
+                    id,
+                    name,
+                    isNotifyChildProjects,
+                    limitToProjectUuids,
+                    limitToTagNames,
+                    filterExpression,
+                    /* filterProgram */ null);
+        }
+
+    }
+
+    /**
+     * A notification rule that is potentially applicable to a notification.
+     *
+     * @param filterProgram The compiled {@code filterExpression}, if available.
+     *                      Will be compiled on demand otherwise.
+     * @since 5.1.0
+     */
+    record Rule(
+            long id,
+            String name,
+            boolean isNotifyChildProjects,
+            @Nullable Set<String> limitToProjectUuids,
+            @Nullable Set<String> limitToTagNames,
+            @Nullable String filterExpression,
+            CelRuntime.@Nullable Program filterProgram) {
+
         private boolean isLimitedToProjects() {
             return limitToProjectUuids != null && !limitToProjectUuids.isEmpty();
         }
@@ -173,7 +209,26 @@ final class NotificationRouter {
 
     }
 
-    private Map<Notification, List<RuleQueryResult>> queryRules(Collection<Notification> notifications) {
+    private Map<Notification, List<Rule>> lookupRules(
+            NotificationRuleCache ruleCache,
+            Collection<Notification> notifications) {
+        final NotificationRuleCache.Snapshot snapshot = ruleCache.get(jdbiHandle);
+
+        final var rulesByNotification = new LinkedHashMap<Notification, List<Rule>>(notifications.size());
+        for (final Notification notification : notifications) {
+            final List<Rule> rules = snapshot.getRules(
+                    convert(notification.getScope()),
+                    convert(notification.getGroup()),
+                    convert(notification.getLevel()));
+            if (!rules.isEmpty()) {
+                rulesByNotification.put(notification, rules);
+            }
+        }
+
+        return rulesByNotification;
+    }
+
+    private Map<Notification, List<Rule>> queryRules(Collection<Notification> notifications) {
         // Copy notifications into a list so they're accessible by index.
         final var notificationsList = List.copyOf(notifications);
 
@@ -238,19 +293,22 @@ final class NotificationRouter {
                 .bind("levels", levels)
                 .map(ConstructorMapper.of(RuleQueryResult.class))
                 .stream()
+                // Sort by index so results are returned in the order notifications were provided in.
+                .sorted(Comparator.comparingInt(RuleQueryResult::notificationIndex))
                 .collect(Collectors.groupingBy(
                         rule -> notificationsList.get(rule.notificationIndex()),
-                        Collectors.toList()));
+                        LinkedHashMap::new,
+                        Collectors.mapping(RuleQueryResult::toRule, Collectors.toList())));
     }
 
-    private List<RuleQueryResult> maybeFilterRules(
+    private List<Rule> maybeFilterRules(
             Notification notification,
-            List<RuleQueryResult> ruleCandidates) {
-        final Object unpackedSubject = unpackSubject(notification);
-        final Project projectSubject = getProjectSubject(unpackedSubject);
+            List<Rule> ruleCandidates) {
+        final Object unpackedSubject = NotificationSubjects.unpack(notification);
+        final Project projectSubject = NotificationSubjects.getProject(unpackedSubject);
 
-        final var applicableRules = new ArrayList<RuleQueryResult>(ruleCandidates.size());
-        for (final RuleQueryResult rule : ruleCandidates) {
+        final var applicableRules = new ArrayList<Rule>(ruleCandidates.size());
+        for (final Rule rule : ruleCandidates) {
             try (var _ = MDC.putCloseable("notificationRuleName", rule.name())) {
                 if (isApplicable(rule, notification, projectSubject, unpackedSubject)) {
                     LOGGER.debug("Rule is applicable");
@@ -265,7 +323,7 @@ final class NotificationRouter {
     }
 
     private boolean isApplicable(
-            RuleQueryResult rule,
+            Rule rule,
             Notification notification,
             @Nullable Project project,
             @Nullable Object subject) {
@@ -281,7 +339,7 @@ final class NotificationRouter {
         return true;
     }
 
-    private boolean isApplicableByProjectOrTag(RuleQueryResult rule, @Nullable Project project) {
+    private boolean isApplicableByProjectOrTag(Rule rule, @Nullable Project project) {
         if (!rule.isLimitedToProjects() && !rule.isLimitedToTags()) {
             LOGGER.debug("Rule is not limited to projects or tags");
             return true;
@@ -334,7 +392,7 @@ final class NotificationRouter {
     }
 
     private boolean evaluateFilterExpression(
-            RuleQueryResult rule,
+            Rule rule,
             Notification notification,
             @Nullable Object subject) {
         final String filterExpression = rule.filterExpression();
@@ -345,7 +403,10 @@ final class NotificationRouter {
         final var expressionEnv = NotificationFilterExpressionEnv.getInstance();
 
         try {
-            final CelRuntime.Program program = expressionEnv.compile(filterExpression);
+            final CelRuntime.Program precompiledProgram = rule.filterProgram();
+            final CelRuntime.Program program = precompiledProgram != null
+                    ? precompiledProgram
+                    : expressionEnv.compile(filterExpression);
             final boolean result = expressionEnv.evaluate(program, notification, subject);
             LOGGER.debug("Filter expression evaluated to {}", result);
             return result;
@@ -355,66 +416,6 @@ final class NotificationRouter {
         }
     }
 
-    private @Nullable Project getProjectSubject(@Nullable Object subject) {
-        return switch (subject) {
-            case BomConsumedOrProcessedSubject it -> it.getProject();
-            case VulnerabilityRetractedSubject it -> it.getProject();
-            case BomProcessingFailedSubject it -> it.getProject();
-            case BomValidationFailedSubject it -> it.getProject();
-            case NewVulnerabilitySubject it -> it.getProject();
-            case NewVulnerableDependencySubject it -> it.getProject();
-            case PolicyViolationSubject it -> it.getProject();
-            case PolicyViolationAnalysisDecisionChangeSubject it -> it.getProject();
-            case VulnerabilityAnalysisDecisionChangeSubject it -> it.getProject();
-            case Project it -> it;
-            case VexConsumedOrProcessedSubject it -> it.getProject();
-            case null, default -> null;
-        };
-    }
-
-    private @Nullable Object unpackSubject(Notification notification) {
-        if (!notification.hasSubject()) {
-            return null;
-        }
-
-        try {
-            return switch (notification.getGroup()) {
-                case GROUP_BOM_CONSUMED, GROUP_BOM_PROCESSED -> notification.getSubject().unpack(
-                        BomConsumedOrProcessedSubject.class);
-                case GROUP_VULNERABILITY_RETRACTED -> notification.getSubject().unpack(
-                        VulnerabilityRetractedSubject.class);
-                case GROUP_BOM_PROCESSING_FAILED -> notification.getSubject().unpack(
-                        BomProcessingFailedSubject.class);
-                case GROUP_BOM_VALIDATION_FAILED -> notification.getSubject().unpack(
-                        BomValidationFailedSubject.class);
-                case GROUP_NEW_VULNERABILITY -> notification.getSubject().unpack(
-                        NewVulnerabilitySubject.class);
-                case GROUP_NEW_VULNERABLE_DEPENDENCY -> notification.getSubject().unpack(
-                        NewVulnerableDependencySubject.class);
-                case GROUP_POLICY_VIOLATION -> notification.getSubject().unpack(
-                        PolicyViolationSubject.class);
-                case GROUP_PROJECT_AUDIT_CHANGE -> {
-                    if (notification.getSubject().is(PolicyViolationAnalysisDecisionChangeSubject.class)) {
-                        yield notification.getSubject().unpack(PolicyViolationAnalysisDecisionChangeSubject.class);
-                    } else if (notification.getSubject().is(VulnerabilityAnalysisDecisionChangeSubject.class)) {
-                        yield notification.getSubject().unpack(VulnerabilityAnalysisDecisionChangeSubject.class);
-                    }
-                    throw new IllegalStateException(
-                            "Unexpected subject for group %s: %s".formatted(
-                                    notification.getGroup(), notification.getSubject().getTypeUrl()));
-                }
-                case GROUP_PROJECT_CREATED -> notification.getSubject().unpack(Project.class);
-                case GROUP_VEX_CONSUMED, GROUP_VEX_PROCESSED -> notification.getSubject().unpack(
-                        VexConsumedOrProcessedSubject.class);
-                case GROUP_USER_CREATED, GROUP_USER_DELETED -> notification.getSubject().unpack(
-                        UserSubject.class);
-                default -> null;
-            };
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to unpack subject", e);
-        }
-    }
-
     private boolean isChildOfAnyActiveParent(Collection<String> parentUuids, String childUuid) {
         final Query query = jdbiHandle.createQuery("""
                 SELECT EXISTS(
@@ -0,0 +1,289 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import dev.cel.runtime.CelRuntime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dependencytrack.notification.NotificationRouter.Rule;
+import org.jdbi.v3.core.Handle;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An in-memory copy of notification rules with trigger type {@code EVENT},
+ * indexed by the scope, group, and level of notifications they apply to.
+ * <p>
+ * The database maintains a version counter in the {@code NOTIFICATIONRULE_VERSION} table,
+ * which is incremented by triggers whenever rules, or their project and tag limitations, change.
+ * {@link #get(Handle)} compares the counter with the version of the cached rules,
+ * and reloads all rules when they differ. Checking the version must happen in the
+ * same transaction as routing, such that routing never uses rules that are older
+ * than what the transaction can see.
+ * <p>
+ * Filter expressions of rules are compiled once when rules are loaded.
+ *
+ * @since 5.1.0
+ */
+final class NotificationRuleCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationRuleCache.class);
+
+    private record Key(NotificationScope scope, NotificationGroup group, NotificationLevel level) {
+    }
+
+    /**
+     * An immutable set of rules, as of a given version.
+     */
+    static final class Snapshot {
+
+        private final long version;
+        private final Map<Key, List<Rule>> rulesByKey;
+
+        private Snapshot(long version, Map<Key, List<Rule>> rulesByKey) {
+            this.version = version;
+            this.rulesByKey = rulesByKey;
+        }
+
+        long version() {
+            return version;
+        }
+
+        List<Rule> getRules(NotificationScope scope, NotificationGroup group, NotificationLevel level) {
+            return rulesByKey.getOrDefault(new Key(scope, group, level), List.of());
+        }
+
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Timer loadLatencyTimer;
+    private final Counter loadCounter;
+    private volatile @Nullable Snapshot snapshot;
+
+    NotificationRuleCache(MeterRegistry meterRegistry) {
+        requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.loadLatencyTimer = Timer
+                .builder("dt.notification.router.rule.cache.load.latency")
+                .description("Latency of loading notification rules into the cache")
+                .register(meterRegistry);
+        this.loadCounter = Counter
+                .builder("dt.notification.router.rule.cache.loads")
+                .description("Number of times notification rules were loaded into the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the current set of rules, reloading it if rules were modified since it was loaded.
+     *
+     * @param jdbiHandle The {@link Handle} to use for database interactions.
+     * @return The current {@link Snapshot} of rules.
+     */
+    Snapshot get(Handle jdbiHandle) {
+        requireNonNull(jdbiHandle, "jdbiHandle must not be null");
+
+        final long version = getVersion(jdbiHandle);
+
+        final Snapshot currentSnapshot = this.snapshot;
+        if (currentSnapshot != null && currentSnapshot.version() == version) {
+            return currentSnapshot;
+        }
+
+        lock.lock();
+        try {
+            final Snapshot lockedSnapshot = this.snapshot;
+            if (lockedSnapshot != null && lockedSnapshot.version() == version) {
+                return lockedSnapshot;
+            }
+
+            // The version is read before the rules. Rules modified in the meantime
+            // are thus cached with an outdated version, and reloaded on the next call.
+            final Timer.Sample loadLatencySample = Timer.start();
+            final Snapshot loadedSnapshot;
+            try {
+                loadedSnapshot = new Snapshot(version, loadRules(jdbiHandle));
+            } finally {
+                loadLatencySample.stop(loadLatencyTimer);
+            }
+
+            loadCounter.increment();
+            LOGGER.debug("Loaded notification rules of version {}", version);
+
+            this.snapshot = loadedSnapshot;
+            return loadedSnapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long getVersion(Handle jdbiHandle) {
+        return jdbiHandle
+                .createQuery(/* language=SQL */ """
+                        SELECT "VERSION"
+                          FROM "NOTIFICATIONRULE_VERSION"
+                         WHERE "ID" = 1
+                        """)
+                .mapTo(long.class)
+                .findOne()
+                .orElse(0L);
+    }
+
+    private static Map<Key, List<Rule>> loadRules(Handle jdbiHandle) {
+        final List<LoadedRule> loadedRules = jdbiHandle
+                .createQuery(/* language=SQL */ """
+                        SELECT rule."ID"
+                             , rule."NAME"
+                             , rule."SCOPE"
+                             , rule."NOTIFICATION_LEVEL"
+                             , rule."NOTIFY_ON"
+                             , rule."NOTIFY_CHILDREN"
+                             , (
+                                 SELECT ARRAY_AGG("PROJECT"."UUID"::TEXT)
+                                   FROM "NOTIFICATIONRULE_PROJECTS"
+                                  INNER JOIN "PROJECT"
+                                     ON "PROJECT"."ID" = "NOTIFICATIONRULE_PROJECTS"."PROJECT_ID"
+                                  WHERE "NOTIFICATIONRULE_ID" = rule."ID"
+                               ) AS limit_to_project_uuids
+                             , (
+                                 SELECT ARRAY_AGG("TAG"."NAME")
+                                   FROM "NOTIFICATIONRULE_TAGS"
+                                  INNER JOIN "TAG"
+                                     ON "TAG"."ID" = "NOTIFICATIONRULE_TAGS"."TAG_ID"
+                                  WHERE "NOTIFICATIONRULE_ID" = rule."ID"
+                               ) AS limit_to_tag_names
+                             , rule."FILTER_EXPRESSION"
+                          FROM "NOTIFICATIONRULE" AS rule
+                         WHERE rule."ENABLED"
+                           AND rule."TRIGGER_TYPE" = 'EVENT'
+                           AND rule."NOTIFICATION_LEVEL" IS NOT NULL
+                        """)
+                .map((rs, ctx) -> mapRule(rs))
+                .list();
+
+        final var rulesByKey = new HashMap<Key, List<Rule>>();
+        for (final LoadedRule loadedRule : loadedRules) {
+            final NotificationScope scope;
+            final NotificationLevel minLevel;
+            try {
+                scope = NotificationScope.valueOf(loadedRule.scope());
+                minLevel = NotificationLevel.valueOf(loadedRule.level());
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Rule {} has an unknown scope or level; Skipping it", loadedRule.rule().name(), e);
+                continue;
+            }
+
+            for (final String groupName : loadedRule.groups()) {
+                final NotificationGroup group;
+                try {
+                    group = NotificationGroup.valueOf(groupName);
+                } catch (IllegalArgumentException e) {
+                    LOGGER.debug("Rule {} is subscribed to unknown group {}", loadedRule.rule().name(), groupName);
+                    continue;
+                }
+
+                // Rules apply to notifications of their level and above.
+                for (final NotificationLevel level : NotificationLevel.values()) {
+                    if (level.compareTo(minLevel) >= 0) {
+                        rulesByKey
+                                .computeIfAbsent(new Key(scope, group, level), ignored -> new ArrayList<>())
+                                .add(loadedRule.rule());
+                    }
+                }
+            }
+        }
+
+        rulesByKey.replaceAll((key, rules) -> List.copyOf(rules));
+        return Map.copyOf(rulesByKey);
+    }
+
+    private record LoadedRule(Rule rule, String scope, String level, List<String> groups) {
+    }
+
+    private static LoadedRule mapRule(ResultSet rs) throws SQLException {
+        final String name = rs.getString("NAME");
+        final String filterExpression = rs.getString("FILTER_EXPRESSION");
+
+        final var rule = new Rule(
+                rs.getLong("ID"),
+                name,
+                rs.getBoolean("NOTIFY_CHILDREN"),
+                getStringSet(rs, "limit_to_project_uuids"),
+                getStringSet(rs, "limit_to_tag_names"),
+                filterExpression,
+                maybeCompile(name, filterExpression));
+
+        final Set<String> groups = getStringSet(rs, "NOTIFY_ON");
+
+        return new LoadedRule(
+                rule,
+                rs.getString("SCOPE"),
+                rs.getString("NOTIFICATION_LEVEL"),
+                groups != null ? List.copyOf(groups) : List.of());
+    }
+
+    private static CelRuntime.@Nullable Program maybeCompile(String ruleName, @Nullable String filterExpression) {
+        if (filterExpression == null || filterExpression.isBlank()) {
+            return null;
+        }
+
+        try {
+            return NotificationFilterExpressionEnv.getInstance().compile(filterExpression);
+        } catch (RuntimeException e) {
+            // Compilation will be attempted again during routing,
+            // which will log the failure and fail open.
+            LOGGER.debug("Failed to compile filter expression of rule {}", ruleName, e);
+            return null;
+        }
+    }
+
+    private static @Nullable Set<String> getStringSet(ResultSet rs, String columnName) throws SQLException {
+        final Array array = rs.getArray(columnName);
+        if (array == null) {
+            return null;
+        }
+
+        try {
+            final var values = new HashSet<String>();
+            for (final Object value : (Object[]) array.getArray()) {
+                if (value != null) {
+                    values.add(value.toString());
+                }
+            }
+
+            return Set.copyOf(values);
+        } finally {
+            array.free();
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.dependencytrack.dex.api.failure.ApplicationFailureException;
+import org.dependencytrack.dex.api.failure.TerminalApplicationFailureException;
+import org.dependencytrack.notification.api.publishing.NotificationPublishContext;
+import org.dependencytrack.notification.api.publishing.NotificationPublisher;
+import org.dependencytrack.notification.api.publishing.NotificationPublisherFactory;
+import org.dependencytrack.notification.api.publishing.RetryablePublishException;
+import org.dependencytrack.notification.api.templating.NotificationTemplate;
+import org.dependencytrack.notification.proto.v1.Notification;
+import org.dependencytrack.notification.templating.pebble.PebbleNotificationTemplateRendererFactory;
+import org.dependencytrack.plugin.api.config.InvalidRuntimeConfigException;
+import org.dependencytrack.plugin.api.config.RuntimeConfig;
+import org.dependencytrack.plugin.api.config.RuntimeConfigSpec;
+import org.dependencytrack.plugin.config.RuntimeConfigMapper;
+import org.dependencytrack.plugin.config.UnresolvableSecretException;
+import org.dependencytrack.plugin.runtime.NoSuchExtensionException;
+import org.dependencytrack.plugin.runtime.PluginManager;
+import org.jdbi.v3.core.statement.Query;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
+
+/**
+ * Publishes notifications through the publisher of a notification rule.
+ * <p>
+ * Shared by {@link PublishNotificationActivity} and {@link PublishNotificationBatchActivity}.
+ *
+ * @since 5.1.0
+ */
+final class NotificationRulePublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationRulePublisher.class);
+
+    private final PluginManager pluginManager;
+    private final RuntimeConfigMapper configMapper;
+    private final Function<String, @Nullable String> secretResolver;
+    private final PebbleNotificationTemplateRendererFactory notificationTemplateRendererFactory;
+
+    NotificationRulePublisher(
+            PluginManager pluginManager,
+            Function<String, @Nullable String> secretResolver,
+            PebbleNotificationTemplateRendererFactory notificationTemplateRendererFactory) {
+        this.pluginManager = pluginManager;
+        this.configMapper = RuntimeConfigMapper.getInstance();
+        this.secretResolver = secretResolver;
+        this.notificationTemplateRendererFactory = notificationTemplateRendererFactory;
+    }
+
+    /**
+     * Publish notifications for a given rule.
+     * <p>
+     * Notifications are supplied lazily, such that they're only retrieved
+     * once the rule and its publisher were successfully resolved.
+     *
+     * @param ruleName              Name of the notification rule.
+     * @param notificationsSupplier Supplier of the notifications to publish.
+     * @param ruleTest              Whether the publishing is part of a rule test.
+     * @throws TerminalApplicationFailureException When publishing failed with a non-retryable cause.
+     * @throws ApplicationFailureException         When publishing failed with a retryable cause.
+     */
+    void publish(
+            String ruleName,
+            Supplier<List<Notification>> notificationsSupplier,
+            boolean ruleTest) {
+        final RuleMetadata ruleMetadata = getRuleMetadata(ruleName);
+        if (ruleMetadata == null) {
+            throw new TerminalApplicationFailureException(
+                    "Notification rule '%s' does not exist".formatted(ruleName));
+        }
+
+        final NotificationPublisherFactory publisherFactory;
+        try {
+            publisherFactory = pluginManager.getFactory(NotificationPublisher.class, ruleMetadata.extensionName());
+        } catch (NoSuchExtensionException e) {
+            throw new TerminalApplicationFailureException(e);
+        }
+
+        final List<Notification> notifications = notificationsSupplier.get();
+
+        final String templateContent = ruleMetadata.template();
+        final var template = templateContent != null
+                ? new NotificationTemplate(
+                        templateContent,
+                        requireNonNull(
+                                ruleMetadata.templateMimeType(),
+                                "templateMimeType must not be null when template is set"))
+                : null;
+
+        final var publishCtx = new NotificationPublishContext(
+                getRuleConfig(publisherFactory.ruleConfigSpec(), ruleMetadata.publisherConfig()),
+                new NotificationRuleContactsSupplier(ruleName),
+                notificationTemplateRendererFactory.createRenderer(template));
+
+        LOGGER.debug("Publishing {} notification(s)", notifications.size());
+        try (final NotificationPublisher publisher = publisherFactory.create()) {
+            if (notifications.size() == 1) {
+                publisher.publish(publishCtx, notifications.getFirst());
+            } else {
+                publisher.publishAll(publishCtx, notifications);
+            }
+
+            if (PublishNotificationActivity.shouldLogSuccessfulPublish(ruleMetadata.logSuccessfulPublish(), ruleTest)) {
+                if (notifications.size() == 1) {
+                    LOGGER.info("Notification published successfully");
+                } else {
+                    LOGGER.info("{} notifications published successfully", notifications.size());
+                }
+            }
+        } catch (RuntimeException | IOException e) {
+            if (e instanceof final RetryablePublishException rpe) {
+                throw new ApplicationFailureException(
+                        "Failed to publish notification with retryable cause", rpe, rpe.retryAfter());
+            }
+
+            throw new TerminalApplicationFailureException(
+                    "Failed to publish notification with non-retryable cause", e);
+        }
+    }
+
+    private record RuleMetadata(
+            String extensionName,
+            @Nullable String publisherConfig,
+            @Nullable String template,
+            @Nullable String templateMimeType,
+            boolean logSuccessfulPublish) {
+    }
+
+    private @Nullable RuleMetadata getRuleMetadata(String ruleName) {
+        return withJdbiHandle(handle -> {
+            final Query query = handle.createQuery("""
+                    SELECT p."EXTENSION_NAME"
+                         , r."PUBLISHER_CONFIG"
+                         , p."TEMPLATE"
+                         , p."TEMPLATE_MIME_TYPE"
+                         , r."LOG_SUCCESSFUL_PUBLISH"
+                      FROM "NOTIFICATIONRULE" AS r
+                     INNER JOIN "NOTIFICATIONPUBLISHER" AS p
+                        ON p."ID" = r."PUBLISHER"
+                     WHERE r."NAME" = :ruleName
+                    """);
+
+            return query
+                    .bind("ruleName", ruleName)
+                    .map((rs, ctx) -> new RuleMetadata(
+                            rs.getString(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getBoolean(5)))
+                    .findOne()
+                    .orElse(null);
+        });
+    }
+
+    private @Nullable RuntimeConfig getRuleConfig(
+            @Nullable RuntimeConfigSpec configSpec,
+            @Nullable String configJson) {
+        if (configSpec == null) {
+            // Publisher doesn't support rule-level configuration.
+            return null;
+        }
+        if (configJson == null) {
+            throw new TerminalApplicationFailureException("""
+                    Notification rule does not specify a publisher configuration, \
+                    but the publisher requires one""");
+        }
+
+        final RuntimeConfig config;
+        try {
+            final JsonNode configJsonNode = configMapper.validateJson(configJson, configSpec);
+
+            configMapper.resolveSecretRefs(configJsonNode, configSpec, secretResolver);
+
+            config = configMapper.convert(configJsonNode, configSpec.configClass());
+
+            if (configSpec.validator() != null) {
+                configSpec.validator().validate(config);
+            }
+        } catch (InvalidRuntimeConfigException e) {
+            throw new TerminalApplicationFailureException(
+                    "Publisher configuration of the notification rule is invalid", e);
+        } catch (UnresolvableSecretException e) {
+            throw new TerminalApplicationFailureException(
+                    "Publisher configuration references an unresolvable secret", e);
+        }
+
+        return config;
+    }
+
+}
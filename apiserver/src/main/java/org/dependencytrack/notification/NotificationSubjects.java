@@ -0,0 +1,109 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import org.dependencytrack.notification.proto.v1.BomConsumedOrProcessedSubject;
+import org.dependencytrack.notification.proto.v1.BomProcessingFailedSubject;
+import org.dependencytrack.notification.proto.v1.BomValidationFailedSubject;
+import org.dependencytrack.notification.proto.v1.NewVulnerabilitySubject;
+import org.dependencytrack.notification.proto.v1.NewVulnerableDependencySubject;
+import org.dependencytrack.notification.proto.v1.Notification;
+import org.dependencytrack.notification.proto.v1.PolicyViolationAnalysisDecisionChangeSubject;
+import org.dependencytrack.notification.proto.v1.PolicyViolationSubject;
+import org.dependencytrack.notification.proto.v1.Project;
+import org.dependencytrack.notification.proto.v1.UserSubject;
+import org.dependencytrack.notification.proto.v1.VexConsumedOrProcessedSubject;
+import org.dependencytrack.notification.proto.v1.VulnerabilityAnalysisDecisionChangeSubject;
+import org.dependencytrack.notification.proto.v1.VulnerabilityRetractedSubject;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Utilities for working with subjects of {@link Notification}s.
+ *
+ * @since 5.1.0
+ */
+final class NotificationSubjects {
+
+    private NotificationSubjects() {
+    }
+
+    static @Nullable Project getProject(@Nullable Object subject) {
+        return switch (subject) {
+            case BomConsumedOrProcessedSubject it -> it.getProject();
+            case VulnerabilityRetractedSubject it -> it.getProject();
+            case BomProcessingFailedSubject it -> it.getProject();
+            case BomValidationFailedSubject it -> it.getProject();
+            case NewVulnerabilitySubject it -> it.getProject();
+            case NewVulnerableDependencySubject it -> it.getProject();
+            case PolicyViolationSubject it -> it.getProject();
+            case PolicyViolationAnalysisDecisionChangeSubject it -> it.getProject();
+            case VulnerabilityAnalysisDecisionChangeSubject it -> it.getProject();
+            case Project it -> it;
+            case VexConsumedOrProcessedSubject it -> it.getProject();
+            case null, default -> null;
+        };
+    }
+
+    static @Nullable Object unpack(Notification notification) {
+        if (!notification.hasSubject()) {
+            return null;
+        }
+
+        try {
+            return switch (notification.getGroup()) {
+                case GROUP_BOM_CONSUMED, GROUP_BOM_PROCESSED -> notification.getSubject().unpack(
+                        BomConsumedOrProcessedSubject.class);
+                case GROUP_VULNERABILITY_RETRACTED -> notification.getSubject().unpack(
+                        VulnerabilityRetractedSubject.class);
+                case GROUP_BOM_PROCESSING_FAILED -> notification.getSubject().unpack(
+                        BomProcessingFailedSubject.class);
+                case GROUP_BOM_VALIDATION_FAILED -> notification.getSubject().unpack(
+                        BomValidationFailedSubject.class);
+                case GROUP_NEW_VULNERABILITY -> notification.getSubject().unpack(
+                        NewVulnerabilitySubject.class);
+                case GROUP_NEW_VULNERABLE_DEPENDENCY -> notification.getSubject().unpack(
+                        NewVulnerableDependencySubject.class);
+                case GROUP_POLICY_VIOLATION -> notification.getSubject().unpack(
+                        PolicyViolationSubject.class);
+                case GROUP_PROJECT_AUDIT_CHANGE -> {
+                    if (notification.getSubject().is(PolicyViolationAnalysisDecisionChangeSubject.class)) {
+                        yield notification.getSubject().unpack(PolicyViolationAnalysisDecisionChangeSubject.class);
+                    } else if (notification.getSubject().is(VulnerabilityAnalysisDecisionChangeSubject.class)) {
+                        yield notification.getSubject().unpack(VulnerabilityAnalysisDecisionChangeSubject.class);
+                    }
+                    throw new IllegalStateException(
+                            "Unexpected subject for group %s: %s".formatted(
+                                    notification.getGroup(), notification.getSubject().getTypeUrl()));
+                }
+                case GROUP_PROJECT_CREATED -> notification.getSubject().unpack(Project.class);
+                case GROUP_VEX_CONSUMED, GROUP_VEX_PROCESSED -> notification.getSubject().unpack(
+                        VexConsumedOrProcessedSubject.class);
+                case GROUP_USER_CREATED, GROUP_USER_DELETED -> notification.getSubject().unpack(
+                        UserSubject.class);
+                default -> null;
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to unpack subject", e);
+        }
+    }
+
+}
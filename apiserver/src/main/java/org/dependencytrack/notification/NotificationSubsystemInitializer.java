@@ -58,15 +58,22 @@ public final class NotificationSubsystemInitializer implements ServletContextLis
         final var dexEngine = (DexEngine) servletContext.getAttribute(DexEngine.class.getName());
         requireNonNull(dexEngine, "dexEngine has not been initialized");
 
+        final @Nullable NotificationRuleCache ruleCache =
+                config.getValue(ConfigKeys.NOTIFICATION_ROUTER_RULE_CACHE_ENABLED, boolean.class)
+                        ? new NotificationRuleCache(Metrics.globalRegistry)
+                        : null;
+
         LOGGER.info("Starting outbox relay");
         relay = new NotificationOutboxRelay(
                 dexEngine,
                 fileStorage,
-                handle -> new NotificationRouter(handle, Metrics.globalRegistry),
+                handle -> new NotificationRouter(handle, Metrics.globalRegistry, ruleCache),
                 Metrics.globalRegistry,
                 config.getValue(ConfigKeys.NOTIFICATION_OUTBOX_RELAY_POLL_INTERVAL_MS, long.class),
                 config.getValue(ConfigKeys.NOTIFICATION_OUTBOX_RELAY_BATCH_SIZE, int.class),
-                config.getValue(ConfigKeys.NOTIFICATION_OUTBOX_RELAY_LARGE_NOTIFICATION_THRESHOLD_BYTES, int.class));
+                config.getValue(ConfigKeys.NOTIFICATION_OUTBOX_RELAY_LARGE_NOTIFICATION_THRESHOLD_BYTES, int.class),
+                config.getValue(ConfigKeys.NOTIFICATION_OUTBOX_RELAY_PARTITIONS, int.class),
+                config.getValue(ConfigKeys.NOTIFICATION_OUTBOX_RELAY_PUBLISH_BATCH_SIZE, int.class));
         relay.start();
     }
 
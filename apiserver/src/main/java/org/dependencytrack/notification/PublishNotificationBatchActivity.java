@@ -0,0 +1,77 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import org.dependencytrack.dex.api.Activity;
+import org.dependencytrack.dex.api.ActivityContext;
+import org.dependencytrack.dex.api.ActivitySpec;
+import org.dependencytrack.dex.api.failure.TerminalApplicationFailureException;
+import org.dependencytrack.notification.templating.pebble.PebbleNotificationTemplateRendererFactory;
+import org.dependencytrack.plugin.runtime.PluginManager;
+import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationBatchArg;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.MDC;
+
+import java.util.function.Function;
+
+import static org.dependencytrack.common.MdcKeys.MDC_NOTIFICATION_RULE_NAME;
+
+/**
+ * Publishes a batch of notifications for a single notification rule,
+ * using a single instance of the rule's publisher.
+ *
+ * @since 5.1.0
+ */
+@ActivitySpec(name = "publish-notification-batch", defaultTaskQueue = "notifications")
+public final class PublishNotificationBatchActivity implements Activity<PublishNotificationBatchArg, Void> {
+
+    private final NotificationRulePublisher rulePublisher;
+
+    public PublishNotificationBatchActivity(
+            PluginManager pluginManager,
+            Function<String, @Nullable String> secretResolver,
+            PebbleNotificationTemplateRendererFactory notificationTemplateRendererFactory) {
+        this.rulePublisher = new NotificationRulePublisher(
+                pluginManager,
+                secretResolver,
+                notificationTemplateRendererFactory);
+    }
+
+    @Override
+    public @Nullable Void execute(
+            ActivityContext ctx,
+            @Nullable PublishNotificationBatchArg argument) {
+        if (argument == null) {
+            throw new TerminalApplicationFailureException("No argument provided");
+        }
+        if (argument.getNotificationsCount() == 0) {
+            throw new TerminalApplicationFailureException("No notifications provided");
+        }
+
+        try (var _ = MDC.putCloseable(MDC_NOTIFICATION_RULE_NAME, argument.getNotificationRuleName())) {
+            rulePublisher.publish(
+                    argument.getNotificationRuleName(),
+                    argument::getNotificationsList,
+                    /* ruleTest */ false);
+        }
+
+        return null;
+    }
+
+}
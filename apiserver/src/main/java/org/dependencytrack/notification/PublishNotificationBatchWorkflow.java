@@ -0,0 +1,72 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import org.dependencytrack.dex.api.ActivityCallOptions;
+import org.dependencytrack.dex.api.Workflow;
+import org.dependencytrack.dex.api.WorkflowContext;
+import org.dependencytrack.dex.api.WorkflowSpec;
+import org.dependencytrack.dex.api.failure.ActivityFailureException;
+import org.dependencytrack.dex.api.failure.TerminalApplicationFailureException;
+import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationBatchArg;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.MDC;
+
+import static org.dependencytrack.common.MdcKeys.MDC_NOTIFICATION_RULE_NAME;
+
+/**
+ * Publishes a batch of notifications for a single notification rule.
+ * <p>
+ * Used by the outbox relay when batched publishing is enabled, in place of
+ * one {@link PublishNotificationWorkflow} run per notification.
+ *
+ * @since 5.1.0
+ */
+@WorkflowSpec(name = "publish-notification-batch")
+public final class PublishNotificationBatchWorkflow implements Workflow<PublishNotificationBatchArg, Void> {
+
+    @Override
+    public @Nullable Void execute(
+            WorkflowContext<PublishNotificationBatchArg> ctx,
+            @Nullable PublishNotificationBatchArg arg) {
+        if (arg == null) {
+            throw new TerminalApplicationFailureException("No argument provided");
+        }
+        if (arg.getNotificationsCount() == 0) {
+            throw new TerminalApplicationFailureException("No notifications provided");
+        }
+
+        try (var _ = MDC.putCloseable(MDC_NOTIFICATION_RULE_NAME, arg.getNotificationRuleName())) {
+            ctx.logger().debug("Scheduling publish of {} notifications", arg.getNotificationsCount());
+
+            try {
+                ctx.activity(PublishNotificationBatchActivity.class).call(
+                        new ActivityCallOptions<PublishNotificationBatchArg>()
+                                .withArgument(arg)).await();
+            } catch (ActivityFailureException e) {
+                ctx.logger().warn("Failed to publish notifications", e.getCause());
+                throw new TerminalApplicationFailureException(
+                        "Publishing failed for rule '%s'".formatted(arg.getNotificationRuleName()));
+            }
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,874 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import alpine.persistence.ScopedCustomization;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Dependency;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.ServiceComponent;
+import org.dependencytrack.model.Vulnerability;
+import org.dependencytrack.parser.cyclonedx.util.ModelConverter;
+import org.dependencytrack.persistence.QueryManager;
+import org.jdbi.v3.core.Handle;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import javax.jdo.FetchGroup;
+import javax.jdo.Query;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
+
+/**
+ * An exporter for CycloneDX BOMs of projects, which writes BOMs incrementally.
+ * <p>
+ * Unlike {@link CycloneDXExporter}, this exporter never materializes the entire BOM in memory.
+ * Components, services, dependencies, and vulnerabilities are fetched in pages of at most
+ * {@value #PAGE_SIZE} records, using keyset pagination. Each page is converted using
+ * {@link ModelConverter}, serialized using the generators of {@code cyclonedx-core-java},
+ * and written to the output before the next page is fetched. Peak memory usage is thus bounded
+ * by the size of a page, rather than by the size of the project.
+ * <p>
+ * The output is equivalent to that of {@link CycloneDXExporter}. Like there, components
+ * and services are ordered by their name, with ties broken by their ID.
+ * <p>
+ * Exports are performed in two steps. {@link #prepare(Project)} fetches the first page of
+ * components, such that the project and database can be verified to be accessible before
+ * a response is committed. {@link PreparedExport#writeTo(CycloneDXExporter.Format, Version, OutputStream)}
+ * then writes the BOM.
+ *
+ * @since 5.1.0
+ */
+@NullMarked
+public final class CycloneDxStreamingExporter {
+
+    static final int PAGE_SIZE = 500;
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final byte[] XML_DECLARATION =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Key for pagination in name order. Names are never {@code null}, and the empty string
+     * sorts before any other string in every collation, thus the initial key is {@code ("", 0)}.
+     */
+    private record NameKey(String name, long id) {
+
+        private static final NameKey INITIAL = new NameKey("", 0);
+
+    }
+
+    private record FindingKey(long componentId, long vulnerabilityId) {
+    }
+
+    private record DependencyRow(NameKey key, String uuid, List<String> directDependencyUuids) {
+    }
+
+    private final CycloneDXExporter.Variant variant;
+    private final QueryManager qm;
+
+    public CycloneDxStreamingExporter(final CycloneDXExporter.Variant variant, final QueryManager qm) {
+        if (variant == CycloneDXExporter.Variant.VEX) {
+            throw new IllegalArgumentException("Streaming export is not supported for variant " + variant);
+        }
+
+        this.variant = variant;
+        this.qm = qm;
+    }
+
+    /**
+     * Export a given {@link Project} to a given {@link OutputStream}.
+     * <p>
+     * The stream is not closed by this method.
+     *
+     * @param project      The {@link Project} to export.
+     * @param format       The {@link CycloneDXExporter.Format} to export in.
+     * @param version      The CycloneDX {@link Version} to export in.
+     * @param outputStream The {@link OutputStream} to write the BOM to.
+     * @throws IOException When generating the BOM, or writing to {@code outputStream} failed.
+     */
+    public void export(
+            final Project project,
+            final CycloneDXExporter.Format format,
+            final Version version,
+            final OutputStream outputStream) throws IOException {
+        prepare(project).writeTo(format, version, outputStream);
+    }
+
+    /**
+     * Prepare the export of a given {@link Project}.
+     * <p>
+     * Fetches the first page of components, such that failures to access the database
+     * surface before anything is written.
+     *
+     * @param project The {@link Project} to export.
+     * @return The {@link PreparedExport}.
+     */
+    public PreparedExport prepare(final Project project) {
+        final List<NameKey> firstComponentPage = withJdbiHandle(
+                handle -> getComponentKeysPage(handle, project.getId(), NameKey.INITIAL));
+        return new PreparedExport(project, firstComponentPage);
+    }
+
+    /**
+     * An export for which the first page of components was already fetched.
+     *
+     * @since 5.1.0
+     */
+    public final class PreparedExport {
+
+        private final Project project;
+        private final List<NameKey> firstComponentPage;
+
+        private PreparedExport(final Project project, final List<NameKey> firstComponentPage) {
+            this.project = project;
+            this.firstComponentPage = firstComponentPage;
+        }
+
+        /**
+         * Write the BOM to a given {@link OutputStream}.
+         * <p>
+         * The stream is not closed by this method. When this method fails, the BOM
+         * written so far is incomplete, and the stream must be discarded.
+         *
+         * @param format       The {@link CycloneDXExporter.Format} to export in.
+         * @param version      The CycloneDX {@link Version} to export in.
+         * @param outputStream The {@link OutputStream} to write the BOM to.
+         * @throws IOException When generating the BOM, or writing to {@code outputStream} failed.
+         */
+        public void writeTo(
+                final CycloneDXExporter.Format format,
+                final Version version,
+                final OutputStream outputStream) throws IOException {
+            final long projectId = project.getId();
+
+            final var bom = new Bom();
+            bom.setSerialNumber("urn:uuid:" + UUID.randomUUID());
+            bom.setVersion(1);
+            bom.setMetadata(ModelConverter.createMetadata(project, version));
+
+            final BomWriter bomWriter = format == CycloneDXExporter.Format.JSON
+                    ? new JsonBomWriter(outputStream, version)
+                    : new XmlBomWriter(outputStream, version);
+            bomWriter.writeStart(bom);
+            writeComponents(bomWriter, projectId, firstComponentPage);
+            writeServices(bomWriter, projectId);
+            writeDependencies(bomWriter, projectId, project.getUuid().toString());
+            if (variant != CycloneDXExporter.Variant.INVENTORY) {
+                writeVulnerabilities(bomWriter, projectId);
+            }
+            bomWriter.writeEnd();
+        }
+
+    }
+
+    private void writeComponents(
+            final BomWriter bomWriter,
+            final long projectId,
+            final List<NameKey> firstPage) throws IOException {
+        List<NameKey> keys = firstPage;
+        while (!keys.isEmpty()) {
+            final var page = new Bom();
+            page.setComponents(getObjectsInKeyOrder(Component.class, keys, Component::getId).stream()
+                    .map(component -> ModelConverter.convert(component))
+                    .collect(Collectors.toList()));
+            bomWriter.writeSection("components", page);
+
+            // Drop the page's objects from the L1 cache, such that they can be collected.
+            qm.getPersistenceManager().evictAll();
+            if (keys.size() < PAGE_SIZE) {
+                return;
+            }
+
+            final NameKey afterKey = keys.getLast();
+            keys = withJdbiHandle(handle -> getComponentKeysPage(handle, projectId, afterKey));
+        }
+    }
+
+    private void writeServices(final BomWriter bomWriter, final long projectId) throws IOException {
+        var lastKey = NameKey.INITIAL;
+        while (true) {
+            final NameKey afterKey = lastKey;
+            final List<NameKey> keys = withJdbiHandle(handle -> getServiceKeysPage(handle, projectId, afterKey));
+            if (keys.isEmpty()) {
+                return;
+            }
+
+            final var page = new Bom();
+            page.setServices(getObjectsInKeyOrder(ServiceComponent.class, keys, ServiceComponent::getId).stream()
+                    .map(service -> ModelConverter.convert(qm, service))
+                    .collect(Collectors.toList()));
+            bomWriter.writeSection("services", page);
+
+            qm.getPersistenceManager().evictAll();
+            if (keys.size() < PAGE_SIZE) {
+                return;
+            }
+            lastKey = keys.getLast();
+        }
+    }
+
+    private void writeDependencies(
+            final BomWriter bomWriter,
+            final long projectId,
+            final String projectUuid) throws IOException {
+        final var rootPage = new Bom();
+        rootPage.setDependencies(withJdbiHandle(handle -> {
+            final List<String> directDependencyUuids = getProjectDirectDependencyUuids(handle, projectId);
+            final Set<String> exportedUuids = getExportedComponentUuids(handle, projectId, directDependencyUuids);
+            return List.of(createDependency(projectUuid, directDependencyUuids, exportedUuids));
+        }));
+        bomWriter.writeSection("dependencies", rootPage);
+
+        var lastKey = NameKey.INITIAL;
+        while (true) {
+            final NameKey afterKey = lastKey;
+            final List<DependencyRow> rows = withJdbiHandle(handle -> getDependencyRowsPage(handle, projectId, afterKey));
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            final Set<String> exportedUuids = withJdbiHandle(handle -> getExportedComponentUuids(handle, projectId,
+                    rows.stream()
+                            .map(DependencyRow::directDependencyUuids)
+                            .flatMap(Collection::stream)
+                            .distinct()
+                            .toList()));
+
+            final var page = new Bom();
+            page.setDependencies(rows.stream()
+                    .map(row -> createDependency(row.uuid(), row.directDependencyUuids(), exportedUuids))
+                    .collect(Collectors.toList()));
+            bomWriter.writeSection("dependencies", page);
+
+            if (rows.size() < PAGE_SIZE) {
+                return;
+            }
+            lastKey = rows.getLast().key();
+        }
+    }
+
+    private void writeVulnerabilities(final BomWriter bomWriter, final long projectId) throws IOException {
+        var lastKey = new FindingKey(0, 0);
+        while (true) {
+            final FindingKey afterKey = lastKey;
+            final List<FindingKey> keys = withJdbiHandle(handle -> getFindingKeysPage(handle, projectId, afterKey));
+            if (keys.isEmpty()) {
+                return;
+            }
+
+            final Map<Long, Component> componentById = getObjectsById(Component.class,
+                    keys.stream().map(FindingKey::componentId).distinct().toList()).stream()
+                    .collect(Collectors.toMap(Component::getId, Function.identity()));
+            final Map<Long, Vulnerability> vulnById = getObjectsById(Vulnerability.class,
+                    keys.stream().map(FindingKey::vulnerabilityId).distinct().toList()).stream()
+                    .collect(Collectors.toMap(Vulnerability::getId, Function.identity()));
+
+            final var cdxVulns = new ArrayList<org.cyclonedx.model.vulnerability.Vulnerability>(keys.size());
+            for (final FindingKey key : keys) {
+                final Component component = componentById.get(key.componentId());
+                final Vulnerability vuln = vulnById.get(key.vulnerabilityId());
+                if (component != null && vuln != null) {
+                    cdxVulns.add(ModelConverter.convert(qm, variant, component, vuln));
+                }
+            }
+
+            final var page = new Bom();
+            page.setVulnerabilities(cdxVulns);
+            bomWriter.writeSection("vulnerabilities", page);
+
+            qm.getPersistenceManager().evictAll();
+            if (keys.size() < PAGE_SIZE) {
+                return;
+            }
+            lastKey = keys.getLast();
+        }
+    }
+
+    private <T> List<T> getObjectsInKeyOrder(
+            final Class<T> clazz,
+            final List<NameKey> keys,
+            final Function<T, Long> idFunction) {
+        final Map<Long, T> objectById = getObjectsById(clazz, keys.stream().map(NameKey::id).toList()).stream()
+                .collect(Collectors.toMap(idFunction, Function.identity()));
+        return keys.stream()
+                .map(key -> objectById.get(key.id()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getObjectsById(final Class<T> clazz, final List<Long> ids) {
+        try (var _ = new ScopedCustomization(qm.getPersistenceManager())
+                .withFetchGroup(FetchGroup.ALL)) {
+            final Query<T> query = qm.getPersistenceManager().newQuery(clazz, ":ids.contains(id)");
+            query.getFetchPlan().setMaxFetchDepth(2);
+            query.setOrdering("id asc");
+            return (List<T>) query.execute(ids);
+        }
+    }
+
+    private List<NameKey> getComponentKeysPage(final Handle handle, final long projectId, final NameKey afterKey) {
+        return handle
+                .createQuery(/* language=InjectedFreeMarker */ """
+                        <#-- @ftlvariable name="vulnerableOnly" type="boolean" -->
+                        SELECT c."NAME"
+                             , c."ID"
+                          FROM "COMPONENT" AS c
+                         WHERE c."PROJECT_ID" = :projectId
+                           AND (c."NAME", c."ID") > (:afterName, :afterId)
+                        <#if vulnerableOnly>
+                           AND EXISTS(
+                                 SELECT 1
+                                   FROM "COMPONENTS_VULNERABILITIES" AS cv
+                                  INNER JOIN "FINDINGATTRIBUTION" AS fa
+                                     ON fa."COMPONENT_ID" = cv."COMPONENT_ID"
+                                    AND fa."VULNERABILITY_ID" = cv."VULNERABILITY_ID"
+                                  WHERE cv."COMPONENT_ID" = c."ID"
+                                    AND fa."DELETED_AT" IS NULL
+                               )
+                        </#if>
+                         ORDER BY c."NAME"
+                                , c."ID"
+                         LIMIT :limit
+                        """)
+                .define("vulnerableOnly", variant == CycloneDXExporter.Variant.VDR)
+                .bind("projectId", projectId)
+                .bind("afterName", afterKey.name())
+                .bind("afterId", afterKey.id())
+                .bind("limit", PAGE_SIZE)
+                .map((rs, ctx) -> new NameKey(rs.getString(1), rs.getLong(2)))
+                .list();
+    }
+
+    private static List<NameKey> getServiceKeysPage(final Handle handle, final long projectId, final NameKey afterKey) {
+        return handle
+                .createQuery(/* language=SQL */ """
+                        SELECT "NAME"
+                             , "ID"
+                          FROM "SERVICECOMPONENT"
+                         WHERE "PROJECT_ID" = :projectId
+                           AND ("NAME", "ID") > (:afterName, :afterId)
+                         ORDER BY "NAME"
+                                , "ID"
+                         LIMIT :limit
+                        """)
+                .bind("projectId", projectId)
+                .bind("afterName", afterKey.name())
+                .bind("afterId", afterKey.id())
+                .bind("limit", PAGE_SIZE)
+                .map((rs, ctx) -> new NameKey(rs.getString(1), rs.getLong(2)))
+                .list();
+    }
+
+    private static List<String> getProjectDirectDependencyUuids(final Handle handle, final long projectId) {
+        return handle
+                .createQuery(/* language=SQL */ """
+                        SELECT ARRAY(
+                                 SELECT dependency ->> 'uuid'
+                                   FROM JSONB_ARRAY_ELEMENTS(
+                                          CASE
+                                            WHEN JSONB_TYPEOF(p."DIRECT_DEPENDENCIES") = 'array'
+                                            THEN p."DIRECT_DEPENDENCIES"
+                                            ELSE '[]'::JSONB
+                                          END
+                                        ) AS dependency
+                               )
+                          FROM "PROJECT" AS p
+                         WHERE p."ID" = :projectId
+                        """)
+                .bind("projectId", projectId)
+                .map((rs, ctx) -> toNonNullList(rs.getArray(1)))
+                .one();
+    }
+
+    private List<DependencyRow> getDependencyRowsPage(
+            final Handle handle,
+            final long projectId,
+            final NameKey afterKey) {
+        return handle
+                .createQuery(/* language=InjectedFreeMarker */ """
+                        <#-- @ftlvariable name="vulnerableOnly" type="boolean" -->
+                        SELECT c."NAME"
+                             , c."ID"
+                             , c."UUID"::TEXT AS "UUID"
+                             , ARRAY(
+                                 SELECT dependency ->> 'uuid'
+                                   FROM JSONB_ARRAY_ELEMENTS(
+                                          CASE
+                                            WHEN JSONB_TYPEOF(c."DIRECT_DEPENDENCIES") = 'array'
+                                            THEN c."DIRECT_DEPENDENCIES"
+                                            ELSE '[]'::JSONB
+                                          END
+                                        ) AS dependency
+                               ) AS "DIRECT_DEPENDENCY_UUIDS"
+                          FROM "COMPONENT" AS c
+                         WHERE c."PROJECT_ID" = :projectId
+                           AND (c."NAME", c."ID") > (:afterName, :afterId)
+                        <#if vulnerableOnly>
+                           AND EXISTS(
+                                 SELECT 1
+                                   FROM "COMPONENTS_VULNERABILITIES" AS cv
+                                  INNER JOIN "FINDINGATTRIBUTION" AS fa
+                                     ON fa."COMPONENT_ID" = cv."COMPONENT_ID"
+                                    AND fa."VULNERABILITY_ID" = cv."VULNERABILITY_ID"
+                                  WHERE cv."COMPONENT_ID" = c."ID"
+                                    AND fa."DELETED_AT" IS NULL
+                               )
+                        </#if>
+                         ORDER BY c."NAME"
+                                , c."ID"
+                         LIMIT :limit
+                        """)
+                .define("vulnerableOnly", variant == CycloneDXExporter.Variant.VDR)
+                .bind("projectId", projectId)
+                .bind("afterName", afterKey.name())
+                .bind("afterId", afterKey.id())
+                .bind("limit", PAGE_SIZE)
+                .map((rs, ctx) -> new DependencyRow(
+                        new NameKey(rs.getString("NAME"), rs.getLong("ID")),
+                        rs.getString("UUID"),
+                        toNonNullList(rs.getArray("DIRECT_DEPENDENCY_UUIDS"))))
+                .list();
+    }
+
+    /**
+     * Determine which of the given UUIDs refer to components that are part of the export.
+     * <p>
+     * Dependencies on components that are not part of the export are omitted,
+     * consistent with {@link ModelConverter#generateDependencies(Project, List)}.
+     */
+    private Set<String> getExportedComponentUuids(
+            final Handle handle,
+            final long projectId,
+            final Collection<String> uuidCandidates) {
+        final var uuids = new ArrayList<UUID>(uuidCandidates.size());
+        for (final String uuidCandidate : uuidCandidates) {
+            try {
+                uuids.add(UUID.fromString(uuidCandidate));
+            } catch (IllegalArgumentException e) {
+                // Can't possibly refer to a component.
+            }
+        }
+        if (uuids.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(handle
+                .createQuery(/* language=InjectedFreeMarker */ """
+                        <#-- @ftlvariable name="vulnerableOnly" type="boolean" -->
+                        SELECT c."UUID"::TEXT
+                          FROM "COMPONENT" AS c
+                         WHERE c."PROJECT_ID" = :projectId
+                           AND c."UUID" = ANY(:uuids)
+                        <#if vulnerableOnly>
+                           AND EXISTS(
+                                 SELECT 1
+                                   FROM "COMPONENTS_VULNERABILITIES" AS cv
+                                  INNER JOIN "FINDINGATTRIBUTION" AS fa
+                                     ON fa."COMPONENT_ID" = cv."COMPONENT_ID"
+                                    AND fa."VULNERABILITY_ID" = cv."VULNERABILITY_ID"
+                                  WHERE cv."COMPONENT_ID" = c."ID"
+                                    AND fa."DELETED_AT" IS NULL
+                               )
+                        </#if>
+                        """)
+                .define("vulnerableOnly", variant == CycloneDXExporter.Variant.VDR)
+                .bind("projectId", projectId)
+                .bindArray("uuids", UUID.class, uuids)
+                .mapTo(String.class)
+                .list());
+    }
+
+    private static List<FindingKey> getFindingKeysPage(
+            final Handle handle,
+            final long projectId,
+            final FindingKey afterKey) {
+        // NB: Must yield the same findings as FindingDao#getFindings,
+        // including suppressed ones.
+        return handle
+                .createQuery(/* language=SQL */ """
+                        SELECT cv."COMPONENT_ID"
+                             , cv."VULNERABILITY_ID"
+                          FROM "COMPONENT" AS c
+                         INNER JOIN "COMPONENTS_VULNERABILITIES" AS cv
+                            ON cv."COMPONENT_ID" = c."ID"
+                         WHERE c."PROJECT_ID" = :projectId
+                           AND (cv."COMPONENT_ID", cv."VULNERABILITY_ID") > (:afterComponentId, :afterVulnerabilityId)
+                           AND EXISTS(
+                                 SELECT 1
+                                   FROM "FINDINGATTRIBUTION" AS fa
+                                  WHERE fa."COMPONENT_ID" = cv."COMPONENT_ID"
+                                    AND fa."VULNERABILITY_ID" = cv."VULNERABILITY_ID"
+                                    AND fa."DELETED_AT" IS NULL
+                               )
+                         ORDER BY cv."COMPONENT_ID"
+                                , cv."VULNERABILITY_ID"
+                         LIMIT :limit
+                        """)
+                .bind("projectId", projectId)
+                .bind("afterComponentId", afterKey.componentId())
+                .bind("afterVulnerabilityId", afterKey.vulnerabilityId())
+                .bind("limit", PAGE_SIZE)
+                .map((rs, ctx) -> new FindingKey(rs.getLong(1), rs.getLong(2)))
+                .list();
+    }
+
+    private static Dependency createDependency(
+            final String ref,
+            final List<String> directDependencyUuids,
+            final Set<String> exportedUuids) {
+        final var dependency = new Dependency(ref);
+        dependency.setDependencies(directDependencyUuids.stream()
+                .filter(exportedUuids::contains)
+                .map(Dependency::new)
+                .collect(Collectors.toList()));
+        return dependency;
+    }
+
+    private static List<String> toNonNullList(final Array array) throws SQLException {
+        return Arrays.stream((String[]) array.getArray())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Writes a BOM in sections, where each section is a top-level array of the BOM.
+     * <p>
+     * Sections are opened lazily with their first page, such that empty sections are omitted.
+     */
+    private abstract static class BomWriter {
+
+        private @Nullable String currentSection;
+
+        abstract void writeStart(Bom bom) throws IOException;
+
+        void writeSection(final String name, final Bom page) throws IOException {
+            if (!name.equals(currentSection)) {
+                if (currentSection != null) {
+                    endSection();
+                }
+                startSection(name);
+                currentSection = name;
+            }
+            writeSectionItems(name, page);
+        }
+
+        void writeEnd() throws IOException {
+            if (currentSection != null) {
+                endSection();
+                currentSection = null;
+            }
+            writeDocumentEnd();
+        }
+
+        abstract void startSection(String name) throws IOException;
+
+        abstract void writeSectionItems(String name, Bom page) throws IOException;
+
+        abstract void endSection() throws IOException;
+
+        abstract void writeDocumentEnd() throws IOException;
+
+    }
+
+    private static final class JsonBomWriter extends BomWriter {
+
+        private final JsonGenerator generator;
+        private final Version version;
+
+        private JsonBomWriter(final OutputStream outputStream, final Version version) throws IOException {
+            this.generator = JSON_MAPPER.createGenerator(outputStream).useDefaultPrettyPrinter();
+            this.version = version;
+        }
+
+        @Override
+        void writeStart(final Bom bom) throws IOException {
+            generator.writeStartObject();
+            for (final Map.Entry<String, JsonNode> field : toJsonNode(bom).properties()) {
+                generator.writeFieldName(field.getKey());
+                generator.writeTree(field.getValue());
+            }
+        }
+
+        @Override
+        void startSection(final String name) throws IOException {
+            generator.writeArrayFieldStart(name);
+        }
+
+        @Override
+        void writeSectionItems(final String name, final Bom page) throws IOException {
+            for (final JsonNode item : toJsonNode(page).path(name)) {
+                generator.writeTree(item);
+            }
+        }
+
+        @Override
+        void endSection() throws IOException {
+            generator.writeEndArray();
+        }
+
+        @Override
+        void writeDocumentEnd() throws IOException {
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        private JsonNode toJsonNode(final Bom bom) throws IOException {
+            try {
+                return generateJsonNode(bom, version);
+            } catch (GeneratorException e) {
+                throw new IOException("Failed to generate JSON", e);
+            }
+        }
+
+    }
+
+    private static final class XmlBomWriter extends BomWriter {
+
+        private final OutputStream outputStream;
+        private final Version version;
+        private @Nullable XMLStreamWriter xmlWriter;
+        private @Nullable String namespaceUri;
+
+        private XmlBomWriter(final OutputStream outputStream, final Version version) {
+            this.outputStream = outputStream;
+            this.version = version;
+        }
+
+        @Override
+        void writeStart(final Bom bom) throws IOException {
+            // Written manually to retain the exact declaration emitted by cyclonedx-core-java.
+            outputStream.write(XML_DECLARATION);
+
+            try {
+                final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+                xmlWriter = writer;
+
+                final XMLStreamReader reader = createReader(bom);
+                try {
+                    reader.nextTag();
+                    namespaceUri = reader.getNamespaceURI();
+                    copyStartElement(reader, writer);
+                    copyChildren(reader, writer);
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to write XML", e);
+            }
+        }
+
+        @Override
+        void startSection(final String name) throws IOException {
+            try {
+                requireWriter().writeStartElement("", name, Objects.requireNonNullElse(namespaceUri, ""));
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to write XML", e);
+            }
+        }
+
+        @Override
+        void writeSectionItems(final String name, final Bom page) throws IOException {
+            try {
+                final XMLStreamReader reader = createReader(page);
+                try {
+                    reader.nextTag();
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        if (name.equals(reader.getLocalName())) {
+                            copyChildren(reader, requireWriter());
+                        } else {
+                            skipElement(reader);
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to write XML", e);
+            }
+        }
+
+        @Override
+        void endSection() throws IOException {
+            try {
+                requireWriter().writeEndElement();
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to write XML", e);
+            }
+        }
+
+        @Override
+        void writeDocumentEnd() throws IOException {
+            try {
+                final XMLStreamWriter writer = requireWriter();
+                writer.writeEndElement();
+                writer.writeEndDocument();
+                writer.flush();
+                writer.close();
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to write XML", e);
+            }
+            outputStream.flush();
+        }
+
+        private XMLStreamWriter requireWriter() {
+            return Objects.requireNonNull(xmlWriter, "BOM start has not been written");
+        }
+
+        private XMLStreamReader createReader(final Bom bom) throws IOException, XMLStreamException {
+            final String xml;
+            try {
+                xml = generateXmlString(bom, version);
+            } catch (GeneratorException e) {
+                throw new IOException("Failed to generate XML", e);
+            }
+            return XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+        }
+
+        /**
+         * Copy all children of the element at the current position of {@code reader}.
+         * Leaves {@code reader} positioned at the end of the element.
+         */
+        private static void copyChildren(
+                final XMLStreamReader reader,
+                final XMLStreamWriter writer) throws XMLStreamException {
+            int depth = 0;
+            while (true) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        copyStartElement(reader, writer);
+                        depth++;
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (depth == 0) {
+                            return;
+                        }
+                        writer.writeEndElement();
+                        depth--;
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE -> writer.writeCharacters(
+                            reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    case XMLStreamConstants.CDATA -> writer.writeCData(reader.getText());
+                    case XMLStreamConstants.COMMENT -> writer.writeComment(reader.getText());
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        private static void copyStartElement(
+                final XMLStreamReader reader,
+                final XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement(
+                    Objects.requireNonNullElse(reader.getPrefix(), ""),
+                    reader.getLocalName(),
+                    Objects.requireNonNullElse(reader.getNamespaceURI(), ""));
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                final String attributeNamespace = reader.getAttributeNamespace(i);
+                if (attributeNamespace == null || attributeNamespace.isEmpty()) {
+                    writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                } else {
+                    writer.writeAttribute(
+                            Objects.requireNonNullElse(reader.getAttributePrefix(i), ""),
+                            attributeNamespace,
+                            reader.getAttributeLocalName(i),
+                            reader.getAttributeValue(i));
+                }
+            }
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                final String prefix = reader.getNamespacePrefix(i);
+                if (prefix == null || prefix.isEmpty()) {
+                    writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+                } else {
+                    writer.writeNamespace(prefix, reader.getNamespaceURI(i));
+                }
+            }
+        }
+
+        private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+            int depth = 0;
+            while (true) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == 0) {
+                        return;
+                    }
+                    depth--;
+                }
+            }
+        }
+
+    }
+
+    private static JsonNode generateJsonNode(final Bom bom, final Version version) throws GeneratorException {
+        return BomGeneratorFactory.createJson(version, bom).toJsonNode();
+    }
+
+    private static String generateXmlString(final Bom bom, final Version version) throws GeneratorException {
+        return BomGeneratorFactory.createXml(version, bom).toXmlString();
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        final var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Metadata;
+import org.cyclonedx.model.Service;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * A pull parser for CycloneDX BOMs.
+ * <p>
+ * Unlike the parsers of {@code cyclonedx-core-java}, this parser never materializes
+ * the entire BOM in memory. Instead, it binds top-level components, services, and
+ * dependencies one at a time, and hands them over to a {@link Handler}.
+ * Peak memory usage is thus bounded by the size of the largest single element,
+ * rather than by the size of the BOM.
+ * <p>
+ * JSON BOMs are read using Jackson's streaming API, XML BOMs using StAX.
+ * Binding of individual elements is delegated to Jackson, using the same
+ * annotations of the {@code cyclonedx-core-java} model that its own parsers rely on.
+ * <p>
+ * This parser does not perform schema validation. BOMs are expected to have been
+ * validated using {@link CycloneDxValidator} before.
+ *
+ * @since 5.1.0
+ */
+@NullMarked
+public final class CycloneDxStreamingParser {
+
+    /**
+     * Receives elements of a BOM in the order in which they appear in the document.
+     */
+    public interface Handler {
+
+        void handleMetadata(Metadata metadata);
+
+        void handleComponent(Component component);
+
+        void handleService(Service service);
+
+        void handleDependency(Dependency dependency);
+
+    }
+
+    /**
+     * Document-level properties of a BOM.
+     *
+     * @param specVersion  The spec version, or {@code null} if it could not be determined.
+     * @param serialNumber The serial number, or {@code null} if the BOM doesn't have one.
+     * @param version      The version of the BOM.
+     */
+    public record BomHeader(
+            @Nullable String specVersion,
+            @Nullable String serialNumber,
+            int version) {
+    }
+
+    private static final String XML_NAMESPACE_PREFIX = "http://cyclonedx.org/schema/bom/";
+    private static final int FORMAT_DETECTION_READ_LIMIT = 1024;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final XmlMapper xmlMapper = XmlMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    /**
+     * Parse a BOM from a given {@link InputStream}.
+     * <p>
+     * The stream is not closed by this method.
+     *
+     * @param inputStream The {@link InputStream} to read the BOM from.
+     * @param handler     The {@link Handler} to hand over elements of the BOM to.
+     * @return The {@link BomHeader} of the BOM.
+     * @throws InvalidBomException When the BOM is neither valid JSON nor XML,
+     *                             or could not be bound to the CycloneDX model.
+     * @throws IOException         When reading from {@code inputStream} failed.
+     */
+    public BomHeader parse(InputStream inputStream, Handler handler) throws IOException {
+        final var bufferedInputStream = new BufferedInputStream(inputStream);
+        return switch (detectFormat(bufferedInputStream)) {
+            case '{' -> parseJson(bufferedInputStream, handler);
+            case '<' -> parseXml(bufferedInputStream, handler);
+            default -> throw new InvalidBomException("BOM is neither JSON nor XML");
+        };
+    }
+
+    private BomHeader parseJson(InputStream inputStream, Handler handler) throws IOException {
+        String specVersion = null;
+        String serialNumber = null;
+        int version = 1;
+
+        try (final JsonParser jsonParser = jsonMapper.createParser(inputStream)) {
+            if (jsonParser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidBomException("Expected BOM to be a JSON object");
+            }
+
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = jsonParser.currentName();
+                if (jsonParser.nextToken() == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+
+                switch (fieldName) {
+                    case "specVersion" -> specVersion = jsonParser.getValueAsString();
+                    case "serialNumber" -> serialNumber = jsonParser.getValueAsString();
+                    case "version" -> version = jsonParser.getValueAsInt(1);
+                    case "metadata" -> handler.handleMetadata(jsonMapper.readValue(jsonParser, Metadata.class));
+                    case "components" -> parseJsonArray(jsonParser, Component.class, handler::handleComponent);
+                    case "services" -> parseJsonArray(jsonParser, Service.class, handler::handleService);
+                    case "dependencies" -> parseJsonArray(jsonParser, Dependency.class, handler::handleDependency);
+                    default -> jsonParser.skipChildren();
+                }
+            }
+
+            if (jsonParser.currentToken() != JsonToken.END_OBJECT) {
+                throw new InvalidBomException("Unexpected end of BOM");
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidBomException("Failed to parse BOM as JSON", e);
+        }
+
+        return new BomHeader(specVersion, serialNumber, version);
+    }
+
+    private <T> void parseJsonArray(
+            JsonParser jsonParser,
+            Class<T> elementClass,
+            Consumer<T> elementConsumer) throws IOException {
+        if (jsonParser.currentToken() != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+            return;
+        }
+
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            if (jsonParser.currentToken() == null) {
+                throw new InvalidBomException("Unexpected end of BOM");
+            }
+            if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            elementConsumer.accept(jsonMapper.readValue(jsonParser, elementClass));
+        }
+    }
+
+    private BomHeader parseXml(InputStream inputStream, Handler handler) throws IOException {
+        String specVersion = null;
+        String serialNumber = null;
+        int version = 1;
+
+        try {
+            final XMLStreamReader xmlReader = xmlInputFactory.createXMLStreamReader(inputStream);
+            try {
+                if (xmlReader.nextTag() != XMLStreamConstants.START_ELEMENT
+                    || !"bom".equals(xmlReader.getLocalName())) {
+                    throw new InvalidBomException("Expected BOM to have a root element named bom");
+                }
+
+                final String namespaceUri = xmlReader.getNamespaceURI();
+                if (namespaceUri != null && namespaceUri.startsWith(XML_NAMESPACE_PREFIX)) {
+                    specVersion = namespaceUri.substring(XML_NAMESPACE_PREFIX.length());
+                }
+                serialNumber = xmlReader.getAttributeValue(null, "serialNumber");
+                final String versionAttribute = xmlReader.getAttributeValue(null, "version");
+                if (versionAttribute != null) {
+                    try {
+                        version = Integer.parseInt(versionAttribute.trim());
+                    } catch (NumberFormatException e) {
+                        throw new InvalidBomException("Invalid BOM version: " + versionAttribute, e);
+                    }
+                }
+
+                while (xmlReader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    switch (xmlReader.getLocalName()) {
+                        case "metadata" -> handler.handleMetadata(xmlMapper.readValue(xmlReader, Metadata.class));
+                        case "components" -> parseXmlList(xmlReader, "component", Component.class, handler::handleComponent);
+                        case "services" -> parseXmlList(xmlReader, "service", Service.class, handler::handleService);
+                        case "dependencies" -> parseXmlList(xmlReader, "dependency", Dependency.class, handler::handleDependency);
+                        default -> skipXmlElement(xmlReader);
+                    }
+                }
+            } finally {
+                xmlReader.close();
+            }
+        } catch (XMLStreamException | JsonProcessingException e) {
+            throw new InvalidBomException("Failed to parse BOM as XML", e);
+        }
+
+        return new BomHeader(specVersion, serialNumber, version);
+    }
+
+    private <T> void parseXmlList(
+            XMLStreamReader xmlReader,
+            String elementName,
+            Class<T> elementClass,
+            Consumer<T> elementConsumer) throws XMLStreamException, IOException {
+        while (xmlReader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!elementName.equals(xmlReader.getLocalName())) {
+                skipXmlElement(xmlReader);
+                continue;
+            }
+
+            elementConsumer.accept(xmlMapper.readValue(xmlReader, elementClass));
+        }
+    }
+
+    private static void skipXmlElement(XMLStreamReader xmlReader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            switch (xmlReader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.END_DOCUMENT -> throw new InvalidBomException("Unexpected end of BOM");
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static int detectFormat(BufferedInputStream inputStream) throws IOException {
+        // The format is determined by the first character that is neither
+        // whitespace nor part of a UTF-8 byte order mark.
+        inputStream.mark(FORMAT_DETECTION_READ_LIMIT);
+        try {
+            for (int i = 0; i < FORMAT_DETECTION_READ_LIMIT; i++) {
+                final int nextByte = inputStream.read();
+                if (nextByte == -1) {
+                    break;
+                }
+                if (!Character.isWhitespace(nextByte) && nextByte != 0xEF && nextByte != 0xBB && nextByte != 0xBF) {
+                    return nextByte;
+                }
+            }
+
+            return -1;
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        final var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+}
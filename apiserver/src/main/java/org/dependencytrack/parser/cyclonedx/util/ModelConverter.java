@@ -970,12 +970,17 @@ public class ModelConverter {
         if (component == null) {
             return null;
         }
-        final Project project = component.getProject();
         final Vulnerability vulnerability = qm.getObjectByUuid(Vulnerability.class, finding.getVulnerability().get("uuid").toString());
         if (vulnerability == null) {
             return null;
         }
 
+        return convert(qm, variant, component, vulnerability);
+    }
+
+    public static org.cyclonedx.model.vulnerability.Vulnerability convert(final QueryManager qm, final CycloneDXExporter.Variant variant,
+                                                                          final Component component, final Vulnerability vulnerability) {
+        final Project project = component.getProject();
         final org.cyclonedx.model.vulnerability.Vulnerability cdxVulnerability = new org.cyclonedx.model.vulnerability.Vulnerability();
         cdxVulnerability.setBomRef(vulnerability.getUuid().toString());
         cdxVulnerability.setId(vulnerability.getVulnId());
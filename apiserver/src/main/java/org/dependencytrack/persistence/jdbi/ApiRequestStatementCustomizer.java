@@ -44,6 +44,7 @@ import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_API_
 import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_API_PAGINATE;
 import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_API_ORDER_BY_CLAUSE;
 import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_API_PROJECT_ACL_CONDITION;
+import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_API_PROJECT_ACL_TEAM_IDS_QUERY;
 
 /**
  * A {@link StatementCustomizer} that enriches the {@link StatementContext}
@@ -52,7 +53,8 @@ import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_API_
  *     <li>filtering: {@value JdbiAttributes#ATTRIBUTE_API_FILTER_PARAMETER}</li>
  *     <li>pagination: {@value JdbiAttributes#ATTRIBUTE_API_OFFSET_LIMIT_CLAUSE}</li>
  *     <li>ordering: {@value JdbiAttributes#ATTRIBUTE_API_ORDER_BY_CLAUSE}</li>
- *     <li>portfolio access control: {@value JdbiAttributes#ATTRIBUTE_API_PROJECT_ACL_CONDITION}</li>
+ *     <li>portfolio access control: {@value JdbiAttributes#ATTRIBUTE_API_PROJECT_ACL_CONDITION},
+ *     and {@value JdbiAttributes#ATTRIBUTE_API_PROJECT_ACL_TEAM_IDS_QUERY} if access control is enforced</li>
  * </ul>
  * based on a {@link AlpineRequest} carried by {@link ApiRequestConfig}.
  * <p>
@@ -90,6 +92,16 @@ class ApiRequestStatementCustomizer implements StatementCustomizer {
                  AND pau."USER_ID" = :projectAclUserId
             )
             """;
+    static final String API_KEY_PROJECT_ACL_TEAM_IDS_QUERY = /* language=SQL */ """
+            SELECT akt."TEAM_ID"
+              FROM "APIKEYS_TEAMS" AS akt
+             WHERE akt."APIKEY_ID" = :projectAclApiKeyId
+            """;
+    static final String USER_PROJECT_ACL_TEAM_IDS_QUERY = /* language=SQL */ """
+            SELECT ut."TEAM_ID"
+              FROM "USERS_TEAMS" AS ut
+             WHERE ut."USER_ID" = :projectAclUserId
+            """;
 
     @Override
     public void beforeTemplating(final PreparedStatement stmt, final StatementContext ctx) throws SQLException {
@@ -194,15 +206,18 @@ class ApiRequestStatementCustomizer implements StatementCustomizer {
             case User user -> {
                 ctx.define(ATTRIBUTE_API_PROJECT_ACL_CONDITION,
                         TEMPLATE_USER_PROJECT_ACL_CONDITION.formatted(config.projectAclProjectIdColumn()));
+                ctx.define(ATTRIBUTE_API_PROJECT_ACL_TEAM_IDS_QUERY, USER_PROJECT_ACL_TEAM_IDS_QUERY);
                 ctx.getBinding().addNamed(PARAMETER_PROJECT_ACL_USER_ID, user.getId(), QualifiedType.of(Long.class));
             }
             case ApiKey apiKey -> {
                 ctx.define(ATTRIBUTE_API_PROJECT_ACL_CONDITION,
                         TEMPLATE_API_KEY_PROJECT_ACL_CONDITION.formatted(config.projectAclProjectIdColumn()));
+                ctx.define(ATTRIBUTE_API_PROJECT_ACL_TEAM_IDS_QUERY, API_KEY_PROJECT_ACL_TEAM_IDS_QUERY);
                 ctx.getBinding().addNamed(PARAMETER_PROJECT_ACL_API_KEY_ID, apiKey.getId(), QualifiedType.of(Long.class));
             }
             default -> {
                 ctx.define(ATTRIBUTE_API_PROJECT_ACL_CONDITION, "FALSE");
+                ctx.define(ATTRIBUTE_API_PROJECT_ACL_TEAM_IDS_QUERY, "SELECT CAST(NULL AS BIGINT) WHERE FALSE");
             }
         }
     }
@@ -21,10 +21,16 @@ package org.dependencytrack.persistence.jdbi;
 import org.dependencytrack.model.Epss;
 import org.jdbi.v3.core.statement.Update;
 import org.jdbi.v3.sqlobject.SqlObject;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * @since 5.0.0
@@ -60,4 +66,78 @@ public interface EpssDao extends SqlObject {
                 .execute();
     }
 
+    /**
+     * Create or update EPSS records in bulk.
+     * <p>
+     * Records are streamed into a temporary staging table using {@code COPY},
+     * which is then merged into the {@code EPSS} table with a single statement.
+     * Must be called within a transaction.
+     *
+     * @param epssRecords The EPSS records to create or update.
+     * @return Number of records that were created or modified.
+     * @since 5.1.0
+     */
+    default int createOrUpdateAllViaCopy(final Iterator<Epss> epssRecords) throws SQLException {
+        getHandle().execute("""
+                CREATE TEMPORARY TABLE "EPSS_STAGING" (
+                  "CVE" TEXT NOT NULL
+                , "SCORE" NUMERIC
+                , "PERCENTILE" NUMERIC
+                ) ON COMMIT DROP
+                """);
+
+        final CopyIn copyIn = getHandle().getConnection().unwrap(PGConnection.class).getCopyAPI().copyIn("""
+                COPY "EPSS_STAGING" ("CVE", "SCORE", "PERCENTILE") FROM STDIN (FORMAT CSV, NULL '\\N')
+                """);
+        try {
+            final var rowsBuilder = new StringBuilder();
+            while (epssRecords.hasNext()) {
+                final Epss epssRecord = epssRecords.next();
+                rowsBuilder
+                        .append(epssRecord.getCve()).append(',')
+                        .append(toCopyValue(epssRecord.getScore())).append(',')
+                        .append(toCopyValue(epssRecord.getPercentile())).append('\n');
+
+                // Flush in chunks to avoid buffering the entire feed in memory.
+                if (rowsBuilder.length() >= 64 * 1024) {
+                    final byte[] rowsBytes = rowsBuilder.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(rowsBytes, 0, rowsBytes.length);
+                    rowsBuilder.setLength(0);
+                }
+            }
+
+            if (!rowsBuilder.isEmpty()) {
+                final byte[] rowsBytes = rowsBuilder.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(rowsBytes, 0, rowsBytes.length);
+            }
+
+            copyIn.endCopy();
+        } finally {
+            // The connection can't be used for anything else until the COPY is
+            // completed or cancelled, including rolling back the transaction.
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        // NB: DISTINCT ON guards against duplicate CVEs in the feed, which would
+        // otherwise fail the statement. Ordering by CVE acquires row locks in a
+        // consistent order.
+        return getHandle().createUpdate("""
+                INSERT INTO "EPSS" ("CVE", "SCORE", "PERCENTILE")
+                SELECT DISTINCT ON ("CVE") "CVE", "SCORE", "PERCENTILE"
+                  FROM "EPSS_STAGING"
+                 ORDER BY "CVE"
+                ON CONFLICT ("CVE") DO UPDATE
+                SET "SCORE" = EXCLUDED."SCORE"
+                  , "PERCENTILE" = EXCLUDED."PERCENTILE"
+                WHERE "EPSS"."SCORE" IS DISTINCT FROM EXCLUDED."SCORE"
+                   OR "EPSS"."PERCENTILE" IS DISTINCT FROM EXCLUDED."PERCENTILE"
+                """).execute();
+    }
+
+    private static String toCopyValue(final @Nullable BigDecimal value) {
+        return value != null ? value.toPlainString() : "\\N";
+    }
+
 }
@@ -30,6 +30,7 @@ public final class JdbiAttributes {
     static final String ATTRIBUTE_API_PAGINATE = "apiPaginate";
     static final String ATTRIBUTE_API_ORDER_BY_CLAUSE = "apiOrderByClause";
     static final String ATTRIBUTE_API_PROJECT_ACL_CONDITION = "apiProjectAclCondition";
+    static final String ATTRIBUTE_API_PROJECT_ACL_TEAM_IDS_QUERY = "apiProjectAclTeamIdsQuery";
     public static final String ATTRIBUTE_QUERY_NAME = "queryName";
 
     private JdbiAttributes() {
@@ -68,6 +68,12 @@ public interface MetricsDao extends SqlObject {
      * would need aggregations to be performed over a large set of projects, which is
      * not feasible.
      * <p>
+     * Otherwise, metrics of days that were already over when the {@code PORTFOLIOMETRICS_TEAM}
+     * materialized view was last refreshed are combined from the rows of the principal's teams.
+     * This is only possible when no project is accessible through more than one of these teams,
+     * since projects would be counted multiple times otherwise. Days that can't be served from
+     * the materialized view, e.g. the current day, are aggregated ad-hoc.
+     * <p>
      * Note that <code>generate_series</code> is invoked with integers rather
      * than <code>date</code>s, because the query planner tends to overestimate
      * rows with the latter approach.
@@ -81,6 +87,7 @@ public interface MetricsDao extends SqlObject {
              WHERE "LAST_OCCURRENCE" >= CAST(CURRENT_TIMESTAMP AT TIME ZONE 'UTC' AS date) - (INTERVAL '1 day' * (:days - 1))
              ORDER BY "LAST_OCCURRENCE";
             <#else>
+            <#-- @ftlvariable name="apiProjectAclTeamIdsQuery" type="String" -->
             WITH
             date_range AS(
               SELECT DATE_TRUNC('day', CAST(CURRENT_TIMESTAMP AT TIME ZONE 'UTC' AS date) - (INTERVAL '1 day' * day)) AS metrics_date
@@ -93,6 +100,68 @@ public interface MetricsDao extends SqlObject {
                  AND "COLLECTION_LOGIC" IS NULL
                  AND ${apiProjectAclCondition}
             ),
+            principal_teams AS(
+              SELECT DISTINCT pat."TEAM_ID"
+                FROM "PROJECT_ACCESS_TEAMS" AS pat
+               WHERE pat."TEAM_ID" IN (${apiProjectAclTeamIdsQuery})
+            ),
+            principal_teams_disjoint AS(
+              SELECT COUNT(*) = COUNT(DISTINCT team_project.project_id) AS value
+                FROM (
+                  SELECT DISTINCT pat."TEAM_ID"
+                       , ph."CHILD_PROJECT_ID" AS project_id
+                    FROM principal_teams
+                   INNER JOIN "PROJECT_ACCESS_TEAMS" AS pat
+                      ON pat."TEAM_ID" = principal_teams."TEAM_ID"
+                   INNER JOIN "PROJECT_HIERARCHY" AS ph
+                      ON ph."PARENT_PROJECT_ID" = pat."PROJECT_ID"
+                   WHERE ph."CHILD_PROJECT_ID" IN (SELECT "ID" FROM projects_in_scope)
+                ) AS team_project
+            ),
+            rolled_up_daily_metrics AS(
+              SELECT SUM(ptm."PROJECTS")::BIGINT AS projects
+                   , SUM(ptm."COMPONENTS")::BIGINT AS components
+                   , SUM(ptm."CRITICAL")::BIGINT AS critical
+                   , ptm."LAST_OCCURRENCE" AS metrics_date
+                   , SUM(ptm."FINDINGS_AUDITED")::BIGINT AS findings_audited
+                   , SUM(ptm."FINDINGS_TOTAL")::BIGINT AS findings_total
+                   , SUM(ptm."FINDINGS_UNAUDITED")::BIGINT AS findings_unaudited
+                   , SUM(ptm."HIGH")::BIGINT AS high
+                   , SUM(ptm."KEV")::BIGINT AS kev
+                   , SUM(ptm."INHERITED_RISK_SCORE") AS inherited_risk_score
+                   , SUM(ptm."LOW")::BIGINT AS low
+                   , SUM(ptm."MEDIUM")::BIGINT AS medium
+                   , SUM(ptm."POLICY_VIOLATIONS_AUDITED")::BIGINT AS policy_violations_audited
+                   , SUM(ptm."POLICY_VIOLATIONS_FAIL")::BIGINT AS policy_violations_fail
+                   , SUM(ptm."POLICY_VIOLATIONS_INFO")::BIGINT AS policy_violations_info
+                   , SUM(ptm."POLICY_VIOLATIONS_LICENSE_AUDITED")::BIGINT AS policy_violations_license_audited
+                   , SUM(ptm."POLICY_VIOLATIONS_LICENSE_TOTAL")::BIGINT AS policy_violations_license_total
+                   , SUM(ptm."POLICY_VIOLATIONS_LICENSE_UNAUDITED")::BIGINT AS policy_violations_license_unaudited
+                   , SUM(ptm."POLICY_VIOLATIONS_OPERATIONAL_AUDITED")::BIGINT AS policy_violations_operational_audited
+                   , SUM(ptm."POLICY_VIOLATIONS_OPERATIONAL_TOTAL")::BIGINT AS policy_violations_operational_total
+                   , SUM(ptm."POLICY_VIOLATIONS_OPERATIONAL_UNAUDITED")::BIGINT AS policy_violations_operational_unaudited
+                   , SUM(ptm."POLICY_VIOLATIONS_SECURITY_AUDITED")::BIGINT AS policy_violations_security_audited
+                   , SUM(ptm."POLICY_VIOLATIONS_SECURITY_TOTAL")::BIGINT AS policy_violations_security_total
+                   , SUM(ptm."POLICY_VIOLATIONS_SECURITY_UNAUDITED")::BIGINT AS policy_violations_security_unaudited
+                   , SUM(ptm."POLICY_VIOLATIONS_TOTAL")::BIGINT AS policy_violations_total
+                   , SUM(ptm."POLICY_VIOLATIONS_UNAUDITED")::BIGINT AS policy_violations_unaudited
+                   , SUM(ptm."POLICY_VIOLATIONS_WARN")::BIGINT AS policy_violations_warn
+                   , SUM(ptm."SUPPRESSED")::BIGINT AS suppressed
+                   , SUM(ptm."UNASSIGNED")::BIGINT AS unassigned
+                   , SUM(ptm."VULNERABILITIES")::BIGINT AS vulnerabilities
+                   , SUM(ptm."VULNERABLE_COMPONENTS")::BIGINT AS vulnerable_components
+                   , SUM(ptm."VULNERABLE_PROJECTS")::BIGINT AS vulnerable_projects
+                FROM "PORTFOLIOMETRICS_TEAM" AS ptm
+               INNER JOIN principal_teams
+                  ON principal_teams."TEAM_ID" = ptm."TEAM_ID"
+               WHERE (SELECT value FROM principal_teams_disjoint)
+                 AND ptm."LAST_OCCURRENCE" IN (SELECT metrics_date FROM date_range)
+                 -- Only consider days that were over at the time of the refresh.
+                 AND (ptm."LAST_OCCURRENCE" + INTERVAL '1 day') AT TIME ZONE 'UTC' <= ptm."REFRESHED_AT"
+               GROUP BY ptm."LAST_OCCURRENCE"
+              -- Teams that were granted access after the refresh have no rows yet.
+              HAVING COUNT(*) = (SELECT COUNT(*) FROM principal_teams)
+            ),
             latest_daily_project_metrics AS(
               SELECT date_range.metrics_date
                    , latest_metrics.*
@@ -108,6 +177,7 @@ public interface MetricsDao extends SqlObject {
                     AND pm."LAST_OCCURRENCE" >= (date_range.metrics_date - INTERVAL '1 day') AT TIME ZONE 'UTC'
                   ORDER BY pm."PROJECT_ID", pm."LAST_OCCURRENCE" DESC
                ) AS latest_metrics ON TRUE
+              WHERE date_range.metrics_date NOT IN (SELECT metrics_date FROM rolled_up_daily_metrics)
             ),
             daily_metrics AS(
               SELECT COUNT(DISTINCT "PROJECT_ID") AS projects
@@ -144,6 +214,9 @@ public interface MetricsDao extends SqlObject {
                    , SUM(CASE WHEN "VULNERABLECOMPONENTS" > 0 THEN 1 ELSE 0 END) AS vulnerable_projects
                 FROM latest_daily_project_metrics
                GROUP BY metrics_date
+              UNION ALL
+              SELECT *
+                FROM rolled_up_daily_metrics
             )
             SELECT COALESCE(dm.components, 0) AS components
                  , COALESCE(dm.critical, 0) AS critical
@@ -193,6 +266,15 @@ public interface MetricsDao extends SqlObject {
     @QueryTimeOut(0) // Exempt from global query timeout b/c refreshes may legitimately run longer.
     void refreshGlobalPortfolioMetrics();
 
+    /**
+     * @since 5.1.0
+     */
+    @SqlUpdate("""
+            REFRESH MATERIALIZED VIEW CONCURRENTLY "PORTFOLIOMETRICS_TEAM"
+            """)
+    @QueryTimeOut(0) // Exempt from global query timeout b/c refreshes may legitimately run longer.
+    void refreshTeamPortfolioMetrics();
+
     default void refreshVulnerabilityMetrics() {
         if (!getHandle().isInTransaction()) {
             // Required so SET LOCAL doesn't silently no-op.
@@ -440,16 +522,41 @@ public interface MetricsDao extends SqlObject {
         return !metrics.isEmpty() ? metrics.getFirst() : null;
     }
 
+    /**
+     * Get the most recent metrics of collection projects, aggregated over the
+     * most recent metrics of their leaf descendants.
+     * <p>
+     * Metrics are read from the {@code COLLECTION_PROJECT_METRICS} table, which the
+     * {@code UPDATE_PROJECT_METRICS} procedure maintains incrementally. Rows that were
+     * marked as stale, e.g. because tags, latest versions, or the hierarchy changed,
+     * are re-computed from the metrics of leaf descendants, and written back.
+     * A row written back is only considered fresh if no change happened in the meantime.
+     * <p>
+     * Collections without any leaf descendants are omitted from the result.
+     *
+     * @since 5.1.0
+     */
     @SqlQuery("""
             WITH RECURSIVE
+            requested AS(
+              SELECT DISTINCT p."ID" AS project_id
+                   , cpm."REVISION" AS revision
+                   , COALESCE(cpm."COMPUTED_REVISION" = cpm."REVISION", FALSE) AS is_fresh
+                FROM UNNEST(:projectIds) AS input(id)
+               INNER JOIN "PROJECT" AS p
+                  ON p."ID" = input.id
+                 AND p."COLLECTION_LOGIC" IS NOT NULL
+                LEFT JOIN "COLLECTION_PROJECT_METRICS" AS cpm
+                  ON cpm."PROJECT_ID" = p."ID"
+            ),
             collection_descendants AS(
               SELECT parent."ID" AS root_id
                    , child."ID" AS project_id
                    , child."COLLECTION_LOGIC"
                    , child."COLLECTION_TAG_ID"
-                FROM UNNEST(:projectIds) AS input(id)
+                FROM requested
                INNER JOIN "PROJECT" parent
-                  ON parent."ID" = input.id
+                  ON parent."ID" = requested.project_id
                INNER JOIN "PROJECT_HIERARCHY" ph
                   ON ph."PARENT_PROJECT_ID" = parent."ID"
                  AND ph."DEPTH" = 1
@@ -469,6 +576,7 @@ public interface MetricsDao extends SqlObject {
                    parent."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
                    OR child."IS_LATEST"
                  )
+               WHERE NOT requested.is_fresh
               UNION ALL
               SELECT cd.root_id
                    , child."ID"
@@ -496,49 +604,273 @@ public interface MetricsDao extends SqlObject {
                    OR child."IS_LATEST"
                  )
             )
-            CYCLE project_id SET is_cycle USING path
-            SELECT cd.root_id AS "projectId"
-                 , COALESCE(SUM(pm."COMPONENTS"), 0) AS components
-                 , COALESCE(SUM(pm."CRITICAL"), 0) AS critical
-                 , COALESCE(SUM(pm."HIGH"), 0) AS high
-                 , COALESCE(SUM(pm."KEV"), 0) AS kev
-                 , COALESCE(SUM(pm."LOW"), 0) AS low
-                 , COALESCE(SUM(pm."MEDIUM"), 0) AS medium
-                 , COALESCE(SUM(pm."UNASSIGNED_SEVERITY"), 0) AS unassigned
-                 , COALESCE(SUM(pm."VULNERABILITIES"), 0) AS vulnerabilities
-                 , COALESCE(SUM(pm."VULNERABLECOMPONENTS"), 0) AS "vulnerableComponents"
-                 , COALESCE(SUM(pm."FINDINGS_TOTAL"), 0) AS "findingsTotal"
-                 , COALESCE(SUM(pm."FINDINGS_AUDITED"), 0) AS "findingsAudited"
-                 , COALESCE(SUM(pm."FINDINGS_UNAUDITED"), 0) AS "findingsUnaudited"
-                 , COALESCE(SUM(pm."SUPPRESSED"), 0) AS suppressed
-                 , COALESCE(SUM(pm."RISKSCORE"), 0) AS "inheritedRiskScore"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_TOTAL"), 0) AS "policyViolationsTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_FAIL"), 0) AS "policyViolationsFail"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_WARN"), 0) AS "policyViolationsWarn"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_INFO"), 0) AS "policyViolationsInfo"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_AUDITED"), 0) AS "policyViolationsAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_UNAUDITED"), 0) AS "policyViolationsUnaudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_TOTAL"), 0) AS "policyViolationsSecurityTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_AUDITED"), 0) AS "policyViolationsSecurityAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_UNAUDITED"), 0) AS "policyViolationsSecurityUnaudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_TOTAL"), 0) AS "policyViolationsLicenseTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_AUDITED"), 0) AS "policyViolationsLicenseAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_UNAUDITED"), 0) AS "policyViolationsLicenseUnaudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_TOTAL"), 0) AS "policyViolationsOperationalTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_AUDITED"), 0) AS "policyViolationsOperationalAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"), 0) AS "policyViolationsOperationalUnaudited"
-                 , MIN(pm."FIRST_OCCURRENCE") AS "firstOccurrence"
-                 , MAX(pm."LAST_OCCURRENCE") AS "lastOccurrence"
-              FROM collection_descendants cd
-              LEFT JOIN LATERAL (
-               SELECT *
-                 FROM "PROJECTMETRICS"
-                WHERE "PROJECT_ID" = cd.project_id
-                ORDER BY "LAST_OCCURRENCE" DESC
-                LIMIT 1
-             ) pm ON TRUE
-             WHERE cd."COLLECTION_LOGIC" IS NULL
-             GROUP BY cd.root_id
+            CYCLE project_id SET is_cycle USING path,
+            computed AS(
+              SELECT requested.project_id AS "PROJECT_ID"
+                   , requested.revision
+                   , COUNT(cd.project_id) AS "LEAF_DESCENDANTS"
+                   , COALESCE(SUM(pm."COMPONENTS"), 0) AS "COMPONENTS"
+                   , COALESCE(SUM(pm."CRITICAL"), 0) AS "CRITICAL"
+                   , COALESCE(SUM(pm."HIGH"), 0) AS "HIGH"
+                   , COALESCE(SUM(pm."KEV"), 0) AS "KEV"
+                   , COALESCE(SUM(pm."LOW"), 0) AS "LOW"
+                   , COALESCE(SUM(pm."MEDIUM"), 0) AS "MEDIUM"
+                   , COALESCE(SUM(pm."UNASSIGNED_SEVERITY"), 0) AS "UNASSIGNED_SEVERITY"
+                   , COALESCE(SUM(pm."VULNERABILITIES"), 0) AS "VULNERABILITIES"
+                   , COALESCE(SUM(pm."VULNERABLECOMPONENTS"), 0) AS "VULNERABLECOMPONENTS"
+                   , COALESCE(SUM(pm."FINDINGS_TOTAL"), 0) AS "FINDINGS_TOTAL"
+                   , COALESCE(SUM(pm."FINDINGS_AUDITED"), 0) AS "FINDINGS_AUDITED"
+                   , COALESCE(SUM(pm."FINDINGS_UNAUDITED"), 0) AS "FINDINGS_UNAUDITED"
+                   , COALESCE(SUM(pm."SUPPRESSED"), 0) AS "SUPPRESSED"
+                   , COALESCE(SUM(pm."RISKSCORE"), 0) AS "RISKSCORE"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_TOTAL"), 0) AS "POLICYVIOLATIONS_TOTAL"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_FAIL"), 0) AS "POLICYVIOLATIONS_FAIL"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_WARN"), 0) AS "POLICYVIOLATIONS_WARN"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_INFO"), 0) AS "POLICYVIOLATIONS_INFO"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_AUDITED"), 0) AS "POLICYVIOLATIONS_AUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_UNAUDITED"), 0) AS "POLICYVIOLATIONS_UNAUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_TOTAL"), 0) AS "POLICYVIOLATIONS_SECURITY_TOTAL"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_AUDITED"), 0) AS "POLICYVIOLATIONS_SECURITY_AUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_UNAUDITED"), 0) AS "POLICYVIOLATIONS_SECURITY_UNAUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_TOTAL"), 0) AS "POLICYVIOLATIONS_LICENSE_TOTAL"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_AUDITED"), 0) AS "POLICYVIOLATIONS_LICENSE_AUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_UNAUDITED"), 0) AS "POLICYVIOLATIONS_LICENSE_UNAUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_TOTAL"), 0) AS "POLICYVIOLATIONS_OPERATIONAL_TOTAL"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_AUDITED"), 0) AS "POLICYVIOLATIONS_OPERATIONAL_AUDITED"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"), 0) AS "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"
+                   , MIN(pm."FIRST_OCCURRENCE") AS "FIRST_OCCURRENCE"
+                   , MAX(pm."LAST_OCCURRENCE") AS "LAST_OCCURRENCE"
+                FROM requested
+                LEFT JOIN collection_descendants cd
+                  ON cd.root_id = requested.project_id
+                 AND cd."COLLECTION_LOGIC" IS NULL
+                LEFT JOIN LATERAL (
+                  SELECT *
+                    FROM "PROJECTMETRICS"
+                   WHERE "PROJECT_ID" = cd.project_id
+                   ORDER BY "LAST_OCCURRENCE" DESC
+                   LIMIT 1
+                ) pm ON TRUE
+               WHERE NOT requested.is_fresh
+               GROUP BY requested.project_id
+                      , requested.revision
+            ),
+            stored AS(
+              INSERT INTO "COLLECTION_PROJECT_METRICS" (
+                "PROJECT_ID"
+              , "COMPUTED_REVISION"
+              , "LEAF_DESCENDANTS"
+              , "COMPONENTS"
+              , "CRITICAL"
+              , "HIGH"
+              , "KEV"
+              , "LOW"
+              , "MEDIUM"
+              , "UNASSIGNED_SEVERITY"
+              , "VULNERABILITIES"
+              , "VULNERABLECOMPONENTS"
+              , "FINDINGS_TOTAL"
+              , "FINDINGS_AUDITED"
+              , "FINDINGS_UNAUDITED"
+              , "SUPPRESSED"
+              , "RISKSCORE"
+              , "POLICYVIOLATIONS_TOTAL"
+              , "POLICYVIOLATIONS_FAIL"
+              , "POLICYVIOLATIONS_WARN"
+              , "POLICYVIOLATIONS_INFO"
+              , "POLICYVIOLATIONS_AUDITED"
+              , "POLICYVIOLATIONS_UNAUDITED"
+              , "POLICYVIOLATIONS_SECURITY_TOTAL"
+              , "POLICYVIOLATIONS_SECURITY_AUDITED"
+              , "POLICYVIOLATIONS_SECURITY_UNAUDITED"
+              , "POLICYVIOLATIONS_LICENSE_TOTAL"
+              , "POLICYVIOLATIONS_LICENSE_AUDITED"
+              , "POLICYVIOLATIONS_LICENSE_UNAUDITED"
+              , "POLICYVIOLATIONS_OPERATIONAL_TOTAL"
+              , "POLICYVIOLATIONS_OPERATIONAL_AUDITED"
+              , "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"
+              , "FIRST_OCCURRENCE"
+              , "LAST_OCCURRENCE"
+              )
+              SELECT "PROJECT_ID"
+                   , COALESCE(revision, 0)
+                   , "LEAF_DESCENDANTS"
+                   , "COMPONENTS"
+                   , "CRITICAL"
+                   , "HIGH"
+                   , "KEV"
+                   , "LOW"
+                   , "MEDIUM"
+                   , "UNASSIGNED_SEVERITY"
+                   , "VULNERABILITIES"
+                   , "VULNERABLECOMPONENTS"
+                   , "FINDINGS_TOTAL"
+                   , "FINDINGS_AUDITED"
+                   , "FINDINGS_UNAUDITED"
+                   , "SUPPRESSED"
+                   , "RISKSCORE"
+                   , "POLICYVIOLATIONS_TOTAL"
+                   , "POLICYVIOLATIONS_FAIL"
+                   , "POLICYVIOLATIONS_WARN"
+                   , "POLICYVIOLATIONS_INFO"
+                   , "POLICYVIOLATIONS_AUDITED"
+                   , "POLICYVIOLATIONS_UNAUDITED"
+                   , "POLICYVIOLATIONS_SECURITY_TOTAL"
+                   , "POLICYVIOLATIONS_SECURITY_AUDITED"
+                   , "POLICYVIOLATIONS_SECURITY_UNAUDITED"
+                   , "POLICYVIOLATIONS_LICENSE_TOTAL"
+                   , "POLICYVIOLATIONS_LICENSE_AUDITED"
+                   , "POLICYVIOLATIONS_LICENSE_UNAUDITED"
+                   , "POLICYVIOLATIONS_OPERATIONAL_TOTAL"
+                   , "POLICYVIOLATIONS_OPERATIONAL_AUDITED"
+                   , "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"
+                   , "FIRST_OCCURRENCE"
+                   , "LAST_OCCURRENCE"
+                FROM computed
+               ORDER BY "PROJECT_ID"
+              ON CONFLICT ("PROJECT_ID") DO UPDATE
+              SET "COMPUTED_REVISION" = EXCLUDED."COMPUTED_REVISION"
+                , "LEAF_DESCENDANTS" = EXCLUDED."LEAF_DESCENDANTS"
+                , "COMPONENTS" = EXCLUDED."COMPONENTS"
+                , "CRITICAL" = EXCLUDED."CRITICAL"
+                , "HIGH" = EXCLUDED."HIGH"
+                , "KEV" = EXCLUDED."KEV"
+                , "LOW" = EXCLUDED."LOW"
+                , "MEDIUM" = EXCLUDED."MEDIUM"
+                , "UNASSIGNED_SEVERITY" = EXCLUDED."UNASSIGNED_SEVERITY"
+                , "VULNERABILITIES" = EXCLUDED."VULNERABILITIES"
+                , "VULNERABLECOMPONENTS" = EXCLUDED."VULNERABLECOMPONENTS"
+                , "FINDINGS_TOTAL" = EXCLUDED."FINDINGS_TOTAL"
+                , "FINDINGS_AUDITED" = EXCLUDED."FINDINGS_AUDITED"
+                , "FINDINGS_UNAUDITED" = EXCLUDED."FINDINGS_UNAUDITED"
+                , "SUPPRESSED" = EXCLUDED."SUPPRESSED"
+                , "RISKSCORE" = EXCLUDED."RISKSCORE"
+                , "POLICYVIOLATIONS_TOTAL" = EXCLUDED."POLICYVIOLATIONS_TOTAL"
+                , "POLICYVIOLATIONS_FAIL" = EXCLUDED."POLICYVIOLATIONS_FAIL"
+                , "POLICYVIOLATIONS_WARN" = EXCLUDED."POLICYVIOLATIONS_WARN"
+                , "POLICYVIOLATIONS_INFO" = EXCLUDED."POLICYVIOLATIONS_INFO"
+                , "POLICYVIOLATIONS_AUDITED" = EXCLUDED."POLICYVIOLATIONS_AUDITED"
+                , "POLICYVIOLATIONS_UNAUDITED" = EXCLUDED."POLICYVIOLATIONS_UNAUDITED"
+                , "POLICYVIOLATIONS_SECURITY_TOTAL" = EXCLUDED."POLICYVIOLATIONS_SECURITY_TOTAL"
+                , "POLICYVIOLATIONS_SECURITY_AUDITED" = EXCLUDED."POLICYVIOLATIONS_SECURITY_AUDITED"
+                , "POLICYVIOLATIONS_SECURITY_UNAUDITED" = EXCLUDED."POLICYVIOLATIONS_SECURITY_UNAUDITED"
+                , "POLICYVIOLATIONS_LICENSE_TOTAL" = EXCLUDED."POLICYVIOLATIONS_LICENSE_TOTAL"
+                , "POLICYVIOLATIONS_LICENSE_AUDITED" = EXCLUDED."POLICYVIOLATIONS_LICENSE_AUDITED"
+                , "POLICYVIOLATIONS_LICENSE_UNAUDITED" = EXCLUDED."POLICYVIOLATIONS_LICENSE_UNAUDITED"
+                , "POLICYVIOLATIONS_OPERATIONAL_TOTAL" = EXCLUDED."POLICYVIOLATIONS_OPERATIONAL_TOTAL"
+                , "POLICYVIOLATIONS_OPERATIONAL_AUDITED" = EXCLUDED."POLICYVIOLATIONS_OPERATIONAL_AUDITED"
+                , "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" = EXCLUDED."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"
+                , "FIRST_OCCURRENCE" = EXCLUDED."FIRST_OCCURRENCE"
+                , "LAST_OCCURRENCE" = EXCLUDED."LAST_OCCURRENCE"
+            ),
+            results AS(
+              SELECT cpm."PROJECT_ID"
+                   , cpm."LEAF_DESCENDANTS"
+                   , cpm."COMPONENTS"
+                   , cpm."CRITICAL"
+                   , cpm."HIGH"
+                   , cpm."KEV"
+                   , cpm."LOW"
+                   , cpm."MEDIUM"
+                   , cpm."UNASSIGNED_SEVERITY"
+                   , cpm."VULNERABILITIES"
+                   , cpm."VULNERABLECOMPONENTS"
+                   , cpm."FINDINGS_TOTAL"
+                   , cpm."FINDINGS_AUDITED"
+                   , cpm."FINDINGS_UNAUDITED"
+                   , cpm."SUPPRESSED"
+                   , cpm."RISKSCORE"
+                   , cpm."POLICYVIOLATIONS_TOTAL"
+                   , cpm."POLICYVIOLATIONS_FAIL"
+                   , cpm."POLICYVIOLATIONS_WARN"
+                   , cpm."POLICYVIOLATIONS_INFO"
+                   , cpm."POLICYVIOLATIONS_AUDITED"
+                   , cpm."POLICYVIOLATIONS_UNAUDITED"
+                   , cpm."POLICYVIOLATIONS_SECURITY_TOTAL"
+                   , cpm."POLICYVIOLATIONS_SECURITY_AUDITED"
+                   , cpm."POLICYVIOLATIONS_SECURITY_UNAUDITED"
+                   , cpm."POLICYVIOLATIONS_LICENSE_TOTAL"
+                   , cpm."POLICYVIOLATIONS_LICENSE_AUDITED"
+                   , cpm."POLICYVIOLATIONS_LICENSE_UNAUDITED"
+                   , cpm."POLICYVIOLATIONS_OPERATIONAL_TOTAL"
+                   , cpm."POLICYVIOLATIONS_OPERATIONAL_AUDITED"
+                   , cpm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"
+                   , cpm."FIRST_OCCURRENCE"
+                   , cpm."LAST_OCCURRENCE"
+                FROM requested
+               INNER JOIN "COLLECTION_PROJECT_METRICS" AS cpm
+                  ON cpm."PROJECT_ID" = requested.project_id
+               WHERE requested.is_fresh
+              UNION ALL
+              SELECT computed."PROJECT_ID"
+                   , computed."LEAF_DESCENDANTS"
+                   , computed."COMPONENTS"
+                   , computed."CRITICAL"
+                   , computed."HIGH"
+                   , computed."KEV"
+                   , computed."LOW"
+                   , computed."MEDIUM"
+                   , computed."UNASSIGNED_SEVERITY"
+                   , computed."VULNERABILITIES"
+                   , computed."VULNERABLECOMPONENTS"
+                   , computed."FINDINGS_TOTAL"
+                   , computed."FINDINGS_AUDITED"
+                   , computed."FINDINGS_UNAUDITED"
+                   , computed."SUPPRESSED"
+                   , computed."RISKSCORE"
+                   , computed."POLICYVIOLATIONS_TOTAL"
+                   , computed."POLICYVIOLATIONS_FAIL"
+                   , computed."POLICYVIOLATIONS_WARN"
+                   , computed."POLICYVIOLATIONS_INFO"
+                   , computed."POLICYVIOLATIONS_AUDITED"
+                   , computed."POLICYVIOLATIONS_UNAUDITED"
+                   , computed."POLICYVIOLATIONS_SECURITY_TOTAL"
+                   , computed."POLICYVIOLATIONS_SECURITY_AUDITED"
+                   , computed."POLICYVIOLATIONS_SECURITY_UNAUDITED"
+                   , computed."POLICYVIOLATIONS_LICENSE_TOTAL"
+                   , computed."POLICYVIOLATIONS_LICENSE_AUDITED"
+                   , computed."POLICYVIOLATIONS_LICENSE_UNAUDITED"
+                   , computed."POLICYVIOLATIONS_OPERATIONAL_TOTAL"
+                   , computed."POLICYVIOLATIONS_OPERATIONAL_AUDITED"
+                   , computed."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"
+                   , computed."FIRST_OCCURRENCE"
+                   , computed."LAST_OCCURRENCE"
+                FROM computed
+            )
+            SELECT "PROJECT_ID" AS "projectId"
+                 , "COMPONENTS" AS components
+                 , "CRITICAL" AS critical
+                 , "HIGH" AS high
+                 , "KEV" AS kev
+                 , "LOW" AS low
+                 , "MEDIUM" AS medium
+                 , "UNASSIGNED_SEVERITY" AS unassigned
+                 , "VULNERABILITIES" AS vulnerabilities
+                 , "VULNERABLECOMPONENTS" AS "vulnerableComponents"
+                 , "FINDINGS_TOTAL" AS "findingsTotal"
+                 , "FINDINGS_AUDITED" AS "findingsAudited"
+                 , "FINDINGS_UNAUDITED" AS "findingsUnaudited"
+                 , "SUPPRESSED" AS suppressed
+                 , "RISKSCORE" AS "inheritedRiskScore"
+                 , "POLICYVIOLATIONS_TOTAL" AS "policyViolationsTotal"
+                 , "POLICYVIOLATIONS_FAIL" AS "policyViolationsFail"
+                 , "POLICYVIOLATIONS_WARN" AS "policyViolationsWarn"
+                 , "POLICYVIOLATIONS_INFO" AS "policyViolationsInfo"
+                 , "POLICYVIOLATIONS_AUDITED" AS "policyViolationsAudited"
+                 , "POLICYVIOLATIONS_UNAUDITED" AS "policyViolationsUnaudited"
+                 , "POLICYVIOLATIONS_SECURITY_TOTAL" AS "policyViolationsSecurityTotal"
+                 , "POLICYVIOLATIONS_SECURITY_AUDITED" AS "policyViolationsSecurityAudited"
+                 , "POLICYVIOLATIONS_SECURITY_UNAUDITED" AS "policyViolationsSecurityUnaudited"
+                 , "POLICYVIOLATIONS_LICENSE_TOTAL" AS "policyViolationsLicenseTotal"
+                 , "POLICYVIOLATIONS_LICENSE_AUDITED" AS "policyViolationsLicenseAudited"
+                 , "POLICYVIOLATIONS_LICENSE_UNAUDITED" AS "policyViolationsLicenseUnaudited"
+                 , "POLICYVIOLATIONS_OPERATIONAL_TOTAL" AS "policyViolationsOperationalTotal"
+                 , "POLICYVIOLATIONS_OPERATIONAL_AUDITED" AS "policyViolationsOperationalAudited"
+                 , "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" AS "policyViolationsOperationalUnaudited"
+                 , "FIRST_OCCURRENCE" AS "firstOccurrence"
+                 , "LAST_OCCURRENCE" AS "lastOccurrence"
+              FROM results
+             WHERE "LEAF_DESCENDANTS" > 0
             """)
     @RegisterBeanMapper(ProjectMetrics.class)
     List<ProjectMetrics> getMostRecentCollectionProjectMetrics(@Bind Collection<Long> projectIds);
@@ -548,6 +880,17 @@ public interface MetricsDao extends SqlObject {
             """)
     void updateProjectMetrics(@Bind UUID uuid);
 
+    /**
+     * Update the metrics of a project, computing only the metrics of components
+     * that changed since the last update, or that have no metrics of the current day yet.
+     *
+     * @since 5.1.0
+     */
+    @SqlCall("""
+            CALL "UPDATE_PROJECT_METRICS"(:uuid, TRUE)
+            """)
+    void updateProjectMetricsIncrementally(@Bind UUID uuid);
+
     @SqlCall("""
             CALL "UPDATE_COMPONENT_METRICS"(:uuid)
             """)
@@ -650,12 +993,51 @@ public interface MetricsDao extends SqlObject {
             """)
     List<String> getExpiredPartitions(@Bind String parentTable, @Bind int retentionDays);
 
+    @SqlUpdate("""
+            DELETE
+              FROM "COMPONENT_METRICS_CHANGE"
+             WHERE "CHANGED_AT" < :cutoff
+            """)
+    int deleteComponentMetricsChangesBefore(@Bind Instant cutoff);
+
+    /**
+     * Enable or disable recording of changes in the {@code COMPONENT_METRICS_CHANGE} table.
+     * <p>
+     * The triggers recording changes are only installed while recording is enabled.
+     * When already enabled, the time since which recording is enabled is retained.
+     * When disabled, the triggers are dropped, and previously recorded changes are discarded.
+     *
+     * @since 5.1.0
+     */
+    @SqlCall("""
+            CALL "SET_COMPONENT_METRICS_CHANGE_RECORDING_ENABLED"(:enabled)
+            """)
+    void setComponentMetricsChangeRecordingEnabled(@Bind boolean enabled);
+
     default int deleteProjectMetricsForRetentionDuration(Duration retentionDuration) {
         final List<String> expired = getExpiredPartitions(
                 "\"PROJECTMETRICS\"", (int) retentionDuration.toDays());
-        return dropPartitions("\"PROJECTMETRICS\"", expired);
+        final int deletedCount = dropPartitions("\"PROJECTMETRICS\"", expired);
+        if (deletedCount > 0) {
+            // Dropped partitions may have held the latest metrics of leaf projects
+            // that haven't been updated since, which collection metrics still include.
+            invalidateCollectionProjectMetrics();
+        }
+        return deletedCount;
     }
 
+    /**
+     * Mark the metrics of all collection projects as stale, such that they are
+     * re-computed on the next read.
+     *
+     * @since 5.1.0
+     */
+    @SqlUpdate("""
+            UPDATE "COLLECTION_PROJECT_METRICS"
+               SET "REVISION" = "REVISION" + 1
+            """)
+    int invalidateCollectionProjectMetrics();
+
     default int deleteComponentMetricsForRetentionDuration(Duration retentionDuration) {
         final List<String> expired = getExpiredPartitions(
                 "\"DEPENDENCYMETRICS\"", (int) retentionDuration.toDays());
@@ -32,10 +32,30 @@ import java.util.List;
 public interface NotificationOutboxDao extends SqlObject {
 
     default List<Notification> poll(final int limit) {
-        final Query query = getHandle().createQuery("""
+        return poll(/* partition */ 0, /* partitions */ 1, limit);
+    }
+
+    /**
+     * Poll notifications of a given partition from the outbox, in the order in which they were emitted.
+     * <p>
+     * Notifications are assigned to partitions based on the hash of their ordering key.
+     * Notifications without ordering key are assigned to partition {@code 0}.
+     *
+     * @param partition  The partition to poll from.
+     * @param partitions The total number of partitions.
+     * @param limit      The maximum number of notifications to poll.
+     * @return The polled notifications.
+     * @since 5.1.0
+     */
+    default List<Notification> poll(final int partition, final int partitions, final int limit) {
+        final Query query = getHandle().createQuery(/* language=InjectedFreeMarker */ """
+                <#-- @ftlvariable name="partitioned" type="boolean" -->
                 WITH polled AS (
                   SELECT "ID"
                     FROM "NOTIFICATION_OUTBOX"
+                <#if partitioned>
+                   WHERE MOD("ORDERING_KEY_HASH", :partitions) = :partition
+                </#if>
                    ORDER BY "ID"
                    LIMIT :limit
                 )
@@ -46,6 +66,9 @@ public interface NotificationOutboxDao extends SqlObject {
                 """);
 
         return query
+                .define("partitioned", partitions > 1)
+                .bind("partition", partition)
+                .bind("partitions", partitions)
                 .bind("limit", limit)
                 .mapTo(byte[].class)
                 .stream()
@@ -67,9 +67,13 @@ import static org.dependencytrack.util.PersistenceUtil.escapeLikePattern;
 @RegisterConstructorMapper(ProjectDao.ConciseProjectListRow.class)
 public interface ProjectDao extends SqlObject, PaginationSupport {
 
-    /// Aggregates `PROJECTMETRICS` rows of a single collection project's
-    /// descendants into one row. Intended to be embedded as the body of a
-    /// correlated LATERAL subquery.
+    /// Selects the metrics of a single collection project, aggregated over the
+    /// `PROJECTMETRICS` rows of its descendants, as one row. Intended to be embedded
+    /// as the body of a correlated LATERAL subquery.
+    ///
+    /// Fresh rows of `COLLECTION_PROJECT_METRICS` are used when available.
+    /// Otherwise, metrics are aggregated on the fly. Stale rows are only refreshed
+    /// by [MetricsDao#getMostRecentCollectionProjectMetrics], since this query must not write.
     ///
     /// The outer query must alias the source project as `"PROJECT"` and is
     /// responsible for the `LEFT JOIN LATERAL (...)` wrapper, as well as
@@ -82,98 +86,138 @@ public interface ProjectDao extends SqlObject, PaginationSupport {
     /// Conceptually similar to [MetricsDao#getMostRecentCollectionProjectMetrics].
     /// Keep them in sync when the recursion rules change.
     String COLLECTION_METRICS_SUBQUERY = /* language=SQL */ """
-            WITH RECURSIVE collection_descendants AS (
-              SELECT "PROJECT"."ID" AS root_id
-                   , child."ID" AS project_id
-                   , child."COLLECTION_LOGIC"
-                   , child."COLLECTION_TAG_ID"
-                FROM "PROJECT_HIERARCHY" AS ph
-               INNER JOIN "PROJECT" AS child
-                  ON child."ID" = ph."CHILD_PROJECT_ID"
-                 AND child."INACTIVE_SINCE" IS NULL
-                 AND (
-                   "PROJECT"."COLLECTION_LOGIC" != 'AGGREGATE_DIRECT_CHILDREN_WITH_TAG'
-                   OR EXISTS (
-                     SELECT 1
-                       FROM "PROJECTS_TAGS" AS pt
-                      WHERE pt."PROJECT_ID" = child."ID"
-                        AND pt."TAG_ID" = "PROJECT"."COLLECTION_TAG_ID"
+            (
+              SELECT cpm."COMPONENTS" AS components
+                   , cpm."VULNERABLECOMPONENTS" AS "vulnerableComponents"
+                   , cpm."VULNERABILITIES" AS vulnerabilities
+                   , cpm."CRITICAL" AS critical
+                   , cpm."HIGH" AS high
+                   , cpm."MEDIUM" AS medium
+                   , cpm."LOW" AS low
+                   , cpm."UNASSIGNED_SEVERITY" AS unassigned
+                   , cpm."KEV" AS kev
+                   , cpm."RISKSCORE" AS "inheritedRiskScore"
+                   , cpm."FINDINGS_TOTAL" AS "findingsTotal"
+                   , cpm."FINDINGS_AUDITED" AS "findingsAudited"
+                   , cpm."FINDINGS_UNAUDITED" AS "findingsUnaudited"
+                   , cpm."SUPPRESSED" AS suppressed
+                   , cpm."POLICYVIOLATIONS_TOTAL" AS "policyViolationsTotal"
+                   , cpm."POLICYVIOLATIONS_FAIL" AS "policyViolationsFail"
+                   , cpm."POLICYVIOLATIONS_WARN" AS "policyViolationsWarn"
+                   , cpm."POLICYVIOLATIONS_INFO" AS "policyViolationsInfo"
+                   , cpm."POLICYVIOLATIONS_AUDITED" AS "policyViolationsAudited"
+                   , cpm."POLICYVIOLATIONS_UNAUDITED" AS "policyViolationsUnaudited"
+                   , cpm."POLICYVIOLATIONS_SECURITY_TOTAL" AS "policyViolationsSecurityTotal"
+                   , cpm."POLICYVIOLATIONS_SECURITY_AUDITED" AS "policyViolationsSecurityAudited"
+                   , cpm."POLICYVIOLATIONS_SECURITY_UNAUDITED" AS "policyViolationsSecurityUnaudited"
+                   , cpm."POLICYVIOLATIONS_LICENSE_TOTAL" AS "policyViolationsLicenseTotal"
+                   , cpm."POLICYVIOLATIONS_LICENSE_AUDITED" AS "policyViolationsLicenseAudited"
+                   , cpm."POLICYVIOLATIONS_LICENSE_UNAUDITED" AS "policyViolationsLicenseUnaudited"
+                   , cpm."POLICYVIOLATIONS_OPERATIONAL_TOTAL" AS "policyViolationsOperationalTotal"
+                   , cpm."POLICYVIOLATIONS_OPERATIONAL_AUDITED" AS "policyViolationsOperationalAudited"
+                   , cpm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" AS "policyViolationsOperationalUnaudited"
+                   , cpm."FIRST_OCCURRENCE" AS "firstOccurrence"
+                   , cpm."LAST_OCCURRENCE" AS "lastOccurrence"
+                FROM "COLLECTION_PROJECT_METRICS" AS cpm
+               WHERE cpm."PROJECT_ID" = "PROJECT"."ID"
+                 AND cpm."COMPUTED_REVISION" = cpm."REVISION"
+            )
+            UNION ALL
+            (
+              WITH RECURSIVE collection_descendants AS (
+                SELECT "PROJECT"."ID" AS root_id
+                     , child."ID" AS project_id
+                     , child."COLLECTION_LOGIC"
+                     , child."COLLECTION_TAG_ID"
+                  FROM "PROJECT_HIERARCHY" AS ph
+                 INNER JOIN "PROJECT" AS child
+                    ON child."ID" = ph."CHILD_PROJECT_ID"
+                   AND child."INACTIVE_SINCE" IS NULL
+                   AND (
+                     "PROJECT"."COLLECTION_LOGIC" != 'AGGREGATE_DIRECT_CHILDREN_WITH_TAG'
+                     OR EXISTS (
+                       SELECT 1
+                         FROM "PROJECTS_TAGS" AS pt
+                        WHERE pt."PROJECT_ID" = child."ID"
+                          AND pt."TAG_ID" = "PROJECT"."COLLECTION_TAG_ID"
+                     )
                    )
-                 )
-                 AND (
-                   "PROJECT"."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
-                   OR child."IS_LATEST"
-                 )
-               WHERE "PROJECT"."COLLECTION_LOGIC" IS NOT NULL
-                 AND ph."PARENT_PROJECT_ID" = "PROJECT"."ID"
-                 AND ph."DEPTH" = 1
-               UNION ALL
-              SELECT cd.root_id
-                   , child."ID"
-                   , child."COLLECTION_LOGIC"
-                   , child."COLLECTION_TAG_ID"
-                FROM collection_descendants cd
-               INNER JOIN "PROJECT_HIERARCHY" AS ph
-                  ON ph."PARENT_PROJECT_ID" = cd.project_id
-                 AND ph."DEPTH" = 1
-               INNER JOIN "PROJECT" AS child
-                  ON child."ID" = ph."CHILD_PROJECT_ID"
-               WHERE cd."COLLECTION_LOGIC" IS NOT NULL
-                 AND child."INACTIVE_SINCE" IS NULL
-                 AND (
-                   cd."COLLECTION_LOGIC" != 'AGGREGATE_DIRECT_CHILDREN_WITH_TAG'
-                   OR EXISTS (
-                     SELECT 1
-                       FROM "PROJECTS_TAGS" AS pt
-                      WHERE pt."PROJECT_ID" = child."ID"
-                        AND pt."TAG_ID" = cd."COLLECTION_TAG_ID"
+                   AND (
+                     "PROJECT"."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
+                     OR child."IS_LATEST"
                    )
-                 )
-                 AND (
-                   cd."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
-                   OR child."IS_LATEST"
-                 )
-            ) CYCLE project_id SET is_cycle USING path
-            SELECT COALESCE(SUM(pm."COMPONENTS"), 0) AS components
-                 , COALESCE(SUM(pm."VULNERABLECOMPONENTS"), 0) AS "vulnerableComponents"
-                 , COALESCE(SUM(pm."VULNERABILITIES"), 0) AS vulnerabilities
-                 , COALESCE(SUM(pm."CRITICAL"), 0) AS critical
-                 , COALESCE(SUM(pm."HIGH"), 0) AS high
-                 , COALESCE(SUM(pm."MEDIUM"), 0) AS medium
-                 , COALESCE(SUM(pm."LOW"), 0) AS low
-                 , COALESCE(SUM(pm."UNASSIGNED_SEVERITY"), 0) AS unassigned
-                 , COALESCE(SUM(pm."KEV"), 0) AS kev
-                 , COALESCE(SUM(pm."RISKSCORE"), 0) AS "inheritedRiskScore"
-                 , COALESCE(SUM(pm."FINDINGS_TOTAL"), 0) AS "findingsTotal"
-                 , COALESCE(SUM(pm."FINDINGS_AUDITED"), 0) AS "findingsAudited"
-                 , COALESCE(SUM(pm."FINDINGS_UNAUDITED"), 0) AS "findingsUnaudited"
-                 , COALESCE(SUM(pm."SUPPRESSED"), 0) AS suppressed
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_TOTAL"), 0) AS "policyViolationsTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_FAIL"), 0) AS "policyViolationsFail"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_WARN"), 0) AS "policyViolationsWarn"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_INFO"), 0) AS "policyViolationsInfo"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_AUDITED"), 0) AS "policyViolationsAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_UNAUDITED"), 0) AS "policyViolationsUnaudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_TOTAL"), 0) AS "policyViolationsSecurityTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_AUDITED"), 0) AS "policyViolationsSecurityAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_UNAUDITED"), 0) AS "policyViolationsSecurityUnaudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_TOTAL"), 0) AS "policyViolationsLicenseTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_AUDITED"), 0) AS "policyViolationsLicenseAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_UNAUDITED"), 0) AS "policyViolationsLicenseUnaudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_TOTAL"), 0) AS "policyViolationsOperationalTotal"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_AUDITED"), 0) AS "policyViolationsOperationalAudited"
-                 , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"), 0) AS "policyViolationsOperationalUnaudited"
-                 , MIN(pm."FIRST_OCCURRENCE") AS "firstOccurrence"
-                 , MAX(pm."LAST_OCCURRENCE") AS "lastOccurrence"
-              FROM collection_descendants cd
-              LEFT JOIN LATERAL (
-                SELECT *
-                  FROM "PROJECTMETRICS"
-                 WHERE "PROJECT_ID" = cd.project_id
-                 ORDER BY "LAST_OCCURRENCE" DESC
-                 LIMIT 1
-              ) pm ON TRUE
-             WHERE cd."COLLECTION_LOGIC" IS NULL
+                 WHERE "PROJECT"."COLLECTION_LOGIC" IS NOT NULL
+                   AND ph."PARENT_PROJECT_ID" = "PROJECT"."ID"
+                   AND ph."DEPTH" = 1
+                 UNION ALL
+                SELECT cd.root_id
+                     , child."ID"
+                     , child."COLLECTION_LOGIC"
+                     , child."COLLECTION_TAG_ID"
+                  FROM collection_descendants cd
+                 INNER JOIN "PROJECT_HIERARCHY" AS ph
+                    ON ph."PARENT_PROJECT_ID" = cd.project_id
+                   AND ph."DEPTH" = 1
+                 INNER JOIN "PROJECT" AS child
+                    ON child."ID" = ph."CHILD_PROJECT_ID"
+                 WHERE cd."COLLECTION_LOGIC" IS NOT NULL
+                   AND child."INACTIVE_SINCE" IS NULL
+                   AND (
+                     cd."COLLECTION_LOGIC" != 'AGGREGATE_DIRECT_CHILDREN_WITH_TAG'
+                     OR EXISTS (
+                       SELECT 1
+                         FROM "PROJECTS_TAGS" AS pt
+                        WHERE pt."PROJECT_ID" = child."ID"
+                          AND pt."TAG_ID" = cd."COLLECTION_TAG_ID"
+                     )
+                   )
+                   AND (
+                     cd."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
+                     OR child."IS_LATEST"
+                   )
+              ) CYCLE project_id SET is_cycle USING path
+              SELECT COALESCE(SUM(pm."COMPONENTS"), 0) AS components
+                   , COALESCE(SUM(pm."VULNERABLECOMPONENTS"), 0) AS "vulnerableComponents"
+                   , COALESCE(SUM(pm."VULNERABILITIES"), 0) AS vulnerabilities
+                   , COALESCE(SUM(pm."CRITICAL"), 0) AS critical
+                   , COALESCE(SUM(pm."HIGH"), 0) AS high
+                   , COALESCE(SUM(pm."MEDIUM"), 0) AS medium
+                   , COALESCE(SUM(pm."LOW"), 0) AS low
+                   , COALESCE(SUM(pm."UNASSIGNED_SEVERITY"), 0) AS unassigned
+                   , COALESCE(SUM(pm."KEV"), 0) AS kev
+                   , COALESCE(SUM(pm."RISKSCORE"), 0) AS "inheritedRiskScore"
+                   , COALESCE(SUM(pm."FINDINGS_TOTAL"), 0) AS "findingsTotal"
+                   , COALESCE(SUM(pm."FINDINGS_AUDITED"), 0) AS "findingsAudited"
+                   , COALESCE(SUM(pm."FINDINGS_UNAUDITED"), 0) AS "findingsUnaudited"
+                   , COALESCE(SUM(pm."SUPPRESSED"), 0) AS suppressed
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_TOTAL"), 0) AS "policyViolationsTotal"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_FAIL"), 0) AS "policyViolationsFail"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_WARN"), 0) AS "policyViolationsWarn"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_INFO"), 0) AS "policyViolationsInfo"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_AUDITED"), 0) AS "policyViolationsAudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_UNAUDITED"), 0) AS "policyViolationsUnaudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_TOTAL"), 0) AS "policyViolationsSecurityTotal"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_AUDITED"), 0) AS "policyViolationsSecurityAudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_SECURITY_UNAUDITED"), 0) AS "policyViolationsSecurityUnaudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_TOTAL"), 0) AS "policyViolationsLicenseTotal"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_AUDITED"), 0) AS "policyViolationsLicenseAudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_LICENSE_UNAUDITED"), 0) AS "policyViolationsLicenseUnaudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_TOTAL"), 0) AS "policyViolationsOperationalTotal"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_AUDITED"), 0) AS "policyViolationsOperationalAudited"
+                   , COALESCE(SUM(pm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED"), 0) AS "policyViolationsOperationalUnaudited"
+                   , MIN(pm."FIRST_OCCURRENCE") AS "firstOccurrence"
+                   , MAX(pm."LAST_OCCURRENCE") AS "lastOccurrence"
+                FROM collection_descendants cd
+                LEFT JOIN LATERAL (
+                  SELECT *
+                    FROM "PROJECTMETRICS"
+                   WHERE "PROJECT_ID" = cd.project_id
+                   ORDER BY "LAST_OCCURRENCE" DESC
+                   LIMIT 1
+                ) pm ON TRUE
+               WHERE cd."COLLECTION_LOGIC" IS NULL
+            )
+            LIMIT 1
             """;
 
     /// Selects the most recent `PROJECTMETRICS` row for a single non-collection project.
@@ -610,6 +610,18 @@ public interface VulnerabilityDao {
             """)
     int deleteOrphanVulnerableSoftware(@Bind int batchSize);
 
+    @SqlUpdate("""
+            DELETE
+              FROM "VULNERABLESOFTWARE_CHANGE"
+             WHERE "ID" IN (
+               SELECT "ID"
+                 FROM "VULNERABLESOFTWARE_CHANGE"
+                WHERE "CHANGED_AT" < :cutoff
+                LIMIT :batchSize
+             )
+            """)
+    int deleteVulnerableSoftwareChangesBefore(@Bind Instant cutoff, @Bind int batchSize);
+
     @SqlQuery("""
             SELECT "ID" FROM "VULNERABILITY" WHERE "UUID" = :vulnUuid
             """)
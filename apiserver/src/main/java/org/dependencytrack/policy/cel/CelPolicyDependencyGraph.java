@@ -0,0 +1,401 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.policy.cel;
+
+import org.dependencytrack.policy.cel.CelPolicyFunctions.CompositeDependencyNodeFilter;
+import org.dependencytrack.policy.cel.CelPolicyFunctions.DependencyNode;
+import org.dependencytrack.policy.cel.persistence.CelPolicyDao;
+import org.dependencytrack.policy.cel.persistence.CelPolicyDao.DependencyGraphNode;
+import org.dependencytrack.proto.policy.v1.Component;
+import org.dependencytrack.proto.policy.v1.Project;
+import org.jdbi.v3.core.mapper.reflect.ConstructorMapper;
+import org.jspecify.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import static org.dependencytrack.persistence.jdbi.JdbiAttributes.ATTRIBUTE_QUERY_NAME;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
+
+/**
+ * An in-memory index of the dependency graph of a single project.
+ * <p>
+ * Answers the dependency graph functions of {@link CelPolicyLibrary} for the duration of
+ * a single policy evaluation, without issuing recursive queries for every component.
+ * The graph is loaded once, on first use. Components matching a given component template
+ * are queried once per template, and answers for all components are derived from that.
+ * <p>
+ * Nodes are identified by their index in the order they were loaded.
+ * Edges are stored in compressed form, i.e. the parents of node {@code i} are
+ * {@code parents[parentOffsets[i]]} to {@code parents[parentOffsets[i + 1] - 1]}.
+ *
+ * @since 5.1.0
+ */
+final class CelPolicyDependencyGraph {
+
+    /**
+     * The graph of the project currently being evaluated, if any.
+     */
+    static final ScopedValue<CelPolicyDependencyGraph> CURRENT = ScopedValue.newInstance();
+
+    private record Graph(
+            Map<String, Integer> indexByUuid,
+            Map<Long, Integer> indexById,
+            int[] parentOffsets,
+            int[] parents,
+            int[] childOffsets,
+            int[] children,
+            BitSet projectDirectDependencies,
+            int @Nullable [] topologicalOrder) {
+
+        private int size() {
+            return parentOffsets.length - 1;
+        }
+
+        private boolean hasParents(int node) {
+            return parentOffsets[node + 1] > parentOffsets[node];
+        }
+
+    }
+
+    /**
+     * Nodes matching a component template, and what can be derived from them.
+     *
+     * @param matches     Nodes matching the template.
+     * @param descendants Nodes that are transitive dependencies of at least one match.
+     * @param escapes     Nodes with a path to the top of the graph that does not contain a match,
+     *                    or {@code null} when the graph contains cycles.
+     */
+    private record TemplateMatches(BitSet matches, BitSet descendants, @Nullable BitSet escapes) {
+    }
+
+    private final long projectId;
+    private final String projectUuid;
+    private final ReentrantLock graphLock = new ReentrantLock();
+    private final Map<Component, TemplateMatches> matchesByTemplate = new ConcurrentHashMap<>();
+    private volatile @Nullable Graph graph;
+
+    CelPolicyDependencyGraph(long projectId, UUID projectUuid) {
+        this.projectId = projectId;
+        this.projectUuid = projectUuid.toString();
+    }
+
+    static @Nullable CelPolicyDependencyGraph current() {
+        return CURRENT.isBound() ? CURRENT.get() : null;
+    }
+
+    boolean isProject(Project project) {
+        return projectUuid.equals(project.getUuid());
+    }
+
+    boolean contains(Component component) {
+        return getGraph().indexByUuid().containsKey(component.getUuid());
+    }
+
+    /**
+     * @see CelPolicyFunctions#dependsOn(Project, Component)
+     */
+    boolean dependsOn(Component template, CompositeDependencyNodeFilter filter) {
+        return !getMatches(template, filter).matches().isEmpty();
+    }
+
+    /**
+     * @see CelPolicyFunctions#isDependencyOf(Component, Component)
+     */
+    boolean isDependencyOf(Component leaf, Component template, CompositeDependencyNodeFilter filter) {
+        final Graph graph = getGraph();
+        final int leafIndex = graph.indexByUuid().get(leaf.getUuid());
+        return getMatches(template, filter).descendants().get(leafIndex);
+    }
+
+    /**
+     * @return Whether every path from {@code leaf} to the top of the graph contains
+     * a node matching {@code template}, or {@code null} when this can't be answered
+     * from memory because the graph contains cycles.
+     * @see CelPolicyFunctions#isExclusiveDependencyOf(Component, Component)
+     */
+    @Nullable
+    Boolean isExclusiveDependencyOf(Component leaf, Component template, CompositeDependencyNodeFilter filter) {
+        final Graph graph = getGraph();
+        final int leafIndex = graph.indexByUuid().get(leaf.getUuid());
+        if (graph.projectDirectDependencies().get(leafIndex) || !graph.hasParents(leafIndex)) {
+            return false;
+        }
+
+        final TemplateMatches templateMatches = getMatches(template, filter);
+        final BitSet escapes = templateMatches.escapes();
+        if (escapes == null) {
+            return null;
+        }
+
+        for (int i = graph.parentOffsets()[leafIndex]; i < graph.parentOffsets()[leafIndex + 1]; i++) {
+            if (escapes.get(graph.parents()[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @see CelPolicyFunctions#isDirectDependencyOf(Component, Component)
+     */
+    boolean isDirectDependencyOf(Component child, Component template, CompositeDependencyNodeFilter filter) {
+        final Graph graph = getGraph();
+        final int childIndex = graph.indexByUuid().get(child.getUuid());
+        final BitSet matches = getMatches(template, filter).matches();
+        for (int i = graph.parentOffsets()[childIndex]; i < graph.parentOffsets()[childIndex + 1]; i++) {
+            if (matches.get(graph.parents()[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Graph getGraph() {
+        Graph graph = this.graph;
+        if (graph != null) {
+            return graph;
+        }
+
+        graphLock.lock();
+        try {
+            graph = this.graph;
+            if (graph == null) {
+                graph = loadGraph();
+                this.graph = graph;
+            }
+
+            return graph;
+        } finally {
+            graphLock.unlock();
+        }
+    }
+
+    private Graph loadGraph() {
+        final List<DependencyGraphNode> nodes = withJdbiHandle(
+                handle -> new CelPolicyDao(handle).fetchAllDependencyGraphNodes(projectId));
+        final List<String> projectDirectDependencyUuids = withJdbiHandle(
+                handle -> new CelPolicyDao(handle).fetchProjectDirectDependencyUuids(projectId));
+
+        final var indexByUuid = new HashMap<String, Integer>(nodes.size());
+        final var indexById = new HashMap<Long, Integer>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            indexByUuid.put(nodes.get(i).uuid(), i);
+            indexById.put(nodes.get(i).id(), i);
+        }
+
+        // Count edges first, so they can be stored in flat arrays.
+        final int[] parentCounts = new int[nodes.size()];
+        final int[] childCounts = new int[nodes.size()];
+        for (int parent = 0; parent < nodes.size(); parent++) {
+            for (final String childUuid : nodes.get(parent).directDependencyUuids()) {
+                final Integer child = indexByUuid.get(childUuid);
+                if (child != null) {
+                    parentCounts[child]++;
+                    childCounts[parent]++;
+                }
+            }
+        }
+
+        final int[] parentOffsets = toOffsets(parentCounts);
+        final int[] childOffsets = toOffsets(childCounts);
+        final int[] parents = new int[parentOffsets[nodes.size()]];
+        final int[] children = new int[childOffsets[nodes.size()]];
+        final int[] parentPositions = new int[nodes.size()];
+        final int[] childPositions = new int[nodes.size()];
+        for (int parent = 0; parent < nodes.size(); parent++) {
+            for (final String childUuid : nodes.get(parent).directDependencyUuids()) {
+                final Integer child = indexByUuid.get(childUuid);
+                if (child != null) {
+                    parents[parentOffsets[child] + parentPositions[child]++] = parent;
+                    children[childOffsets[parent] + childPositions[parent]++] = child;
+                }
+            }
+        }
+
+        final var projectDirectDependencies = new BitSet(nodes.size());
+        for (final String uuid : projectDirectDependencyUuids) {
+            final Integer index = indexByUuid.get(uuid);
+            if (index != null) {
+                projectDirectDependencies.set(index);
+            }
+        }
+
+        return new Graph(
+                indexByUuid,
+                indexById,
+                parentOffsets,
+                parents,
+                childOffsets,
+                children,
+                projectDirectDependencies,
+                sortTopologically(parentCounts, childOffsets, children));
+    }
+
+    private TemplateMatches getMatches(Component template, CompositeDependencyNodeFilter filter) {
+        final TemplateMatches cachedMatches = matchesByTemplate.get(template);
+        if (cachedMatches != null) {
+            return cachedMatches;
+        }
+
+        final Graph graph = getGraph();
+        final BitSet matches = queryMatches(graph, filter);
+        final var templateMatches = new TemplateMatches(
+                matches,
+                findDescendants(graph, matches),
+                findEscapes(graph, matches));
+
+        final TemplateMatches existingMatches = matchesByTemplate.putIfAbsent(template, templateMatches);
+        return existingMatches != null ? existingMatches : templateMatches;
+    }
+
+    private BitSet queryMatches(Graph graph, CompositeDependencyNodeFilter filter) {
+        final Predicate<DependencyNode> inMemoryFilter = filter.inMemoryFiltersConjunctive();
+        final List<DependencyNode> nodes = withJdbiHandle(handle -> handle
+                .createQuery("""
+                        SELECT "ID"
+                             <#list selectColumnNames as columnName>
+                             , ${columnName}
+                             </#list>
+                          FROM "COMPONENT"
+                         WHERE "PROJECT_ID" = :projectId
+                           AND ${filters}
+                        """)
+                .define(ATTRIBUTE_QUERY_NAME, "%s#queryMatches".formatted(getClass().getSimpleName()))
+                .define("filters", filter.sqlFiltersConjunctive())
+                .define("selectColumnNames", filter.sqlSelectColumns())
+                .bind("projectId", projectId)
+                .bindMap(filter.sqlFilterParams())
+                .map(ConstructorMapper.of(DependencyNode.class))
+                .list());
+
+        final var matches = new BitSet(graph.size());
+        for (final DependencyNode node : nodes) {
+            final Integer index = graph.indexById().get(node.id());
+            if (index != null && inMemoryFilter.test(node)) {
+                matches.set(index);
+            }
+        }
+
+        return matches;
+    }
+
+    private static BitSet findDescendants(Graph graph, BitSet matches) {
+        final var descendants = new BitSet(graph.size());
+        final int[] queue = new int[graph.size()];
+        int queueHead = 0;
+        int queueTail = 0;
+
+        for (int node = matches.nextSetBit(0); node >= 0; node = matches.nextSetBit(node + 1)) {
+            for (int i = graph.childOffsets()[node]; i < graph.childOffsets()[node + 1]; i++) {
+                final int child = graph.children()[i];
+                if (!descendants.get(child)) {
+                    descendants.set(child);
+                    queue[queueTail++] = child;
+                }
+            }
+        }
+
+        while (queueHead < queueTail) {
+            final int node = queue[queueHead++];
+            for (int i = graph.childOffsets()[node]; i < graph.childOffsets()[node + 1]; i++) {
+                final int child = graph.children()[i];
+                if (!descendants.get(child)) {
+                    descendants.set(child);
+                    queue[queueTail++] = child;
+                }
+            }
+        }
+
+        return descendants;
+    }
+
+    private static @Nullable BitSet findEscapes(Graph graph, BitSet matches) {
+        final int[] topologicalOrder = graph.topologicalOrder();
+        if (topologicalOrder == null) {
+            return null;
+        }
+
+        // Parents are visited before their children. A node escapes when it is not
+        // a match itself, and either is at the top of the graph, or has a parent that escapes.
+        final var escapes = new BitSet(graph.size());
+        for (final int node : topologicalOrder) {
+            if (matches.get(node)) {
+                continue;
+            }
+
+            boolean escaping = !graph.hasParents(node);
+            for (int i = graph.parentOffsets()[node]; !escaping && i < graph.parentOffsets()[node + 1]; i++) {
+                escaping = escapes.get(graph.parents()[i]);
+            }
+            if (escaping) {
+                escapes.set(node);
+            }
+        }
+
+        return escapes;
+    }
+
+    /**
+     * @return Nodes ordered such that parents precede their children,
+     * or {@code null} when the graph contains cycles.
+     */
+    private static int @Nullable [] sortTopologically(int[] parentCounts, int[] childOffsets, int[] children) {
+        final int size = parentCounts.length;
+        final int[] remainingParents = parentCounts.clone();
+        final int[] order = new int[size];
+        int orderHead = 0;
+        int orderTail = 0;
+
+        for (int node = 0; node < size; node++) {
+            if (remainingParents[node] == 0) {
+                order[orderTail++] = node;
+            }
+        }
+
+        while (orderHead < orderTail) {
+            final int node = order[orderHead++];
+            for (int i = childOffsets[node]; i < childOffsets[node + 1]; i++) {
+                if (--remainingParents[children[i]] == 0) {
+                    order[orderTail++] = children[i];
+                }
+            }
+        }
+
+        return orderTail == size ? order : null;
+    }
+
+    private static int[] toOffsets(int[] counts) {
+        final int[] offsets = new int[counts.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            offsets[i + 1] = offsets[i] + counts[i];
+        }
+
+        return offsets;
+    }
+
+}
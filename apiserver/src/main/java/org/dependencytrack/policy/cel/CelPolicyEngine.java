@@ -26,6 +26,7 @@ import dev.cel.runtime.CelEvaluationException;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
+import org.dependencytrack.common.concurrent.ConcurrentTasks;
 import org.dependencytrack.model.Policy;
 import org.dependencytrack.model.PolicyCondition;
 import org.dependencytrack.model.PolicyCondition.Subject;
@@ -70,6 +71,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.collections4.MultiMapUtils.emptyMultiValuedMap;
@@ -105,14 +107,33 @@ public final class CelPolicyEngine {
             Map.entry(Subject.VERSION_DISTANCE, new VersionDistanceCelScriptBuilder()),
             Map.entry(Subject.VULNERABILITY_ID, new VulnerabilityIdCelPolicyScriptSourceBuilder()));
 
+    /**
+     * Minimum number of components evaluated by a single thread.
+     * Smaller chunks are not worth the coordination overhead.
+     */
+    static final int MIN_COMPONENTS_PER_CHUNK = 500;
+
     private final CelPolicyCompiler scriptHost;
+    private final int parallelism;
 
     public CelPolicyEngine() {
-        this(CelPolicyCompiler.getInstance(CelPolicyType.COMPONENT));
+        this(1);
+    }
+
+    /**
+     * @param parallelism Maximum number of threads to evaluate components of a single project with.
+     */
+    public CelPolicyEngine(final int parallelism) {
+        this(CelPolicyCompiler.getInstance(CelPolicyType.COMPONENT), parallelism);
     }
 
-    CelPolicyEngine(final CelPolicyCompiler scriptHost) {
+    CelPolicyEngine(final CelPolicyCompiler scriptHost, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, but was " + parallelism);
+        }
+
         this.scriptHost = scriptHost;
+        this.parallelism = parallelism;
     }
 
     public void evaluateProject(UUID uuid) throws InterruptedException {
@@ -247,37 +268,35 @@ public final class CelPolicyEngine {
             vulnIdsByComponentId = Map.of();
         }
 
-        final var violationsByComponentId = new ArrayListValuedHashMap<Long, PolicyViolation>();
         final Timestamp protoNow = Timestamps.now();
 
-        for (final Map.Entry<Long, Component> entry : componentsById.entrySet()) {
-            if (Thread.interrupted()) {
-                throw new InterruptedException("Interrupted before policies could be evaluated for all components");
-            }
-
-            final long componentId = entry.getKey();
-            final Component protoComponent = entry.getValue();
-
-            final List<Vulnerability> protoVulns;
-            if (requirements.containsKey(TYPE_VULNERABILITY)) {
-                protoVulns = vulnIdsByComponentId.getOrDefault(componentId, Set.of()).stream()
-                        .map(protoVulnById::get)
-                        .filter(Objects::nonNull)
-                        .toList();
-            } else {
-                protoVulns = List.of();
-            }
+        // Dependency graph functions are answered from memory for the duration of the
+        // evaluation. The graph is only loaded once a script actually calls one of them.
+        final var dependencyGraph = new CelPolicyDependencyGraph(projectId, uuid);
+        final MultiValuedMap<Long, PolicyViolation> violationsByComponentId = evaluateComponents(
+                componentsById,
+                dependencyGraph,
+                (componentId, protoComponent, violations) -> {
+                    final List<Vulnerability> protoVulns;
+                    if (requirements.containsKey(TYPE_VULNERABILITY)) {
+                        protoVulns = vulnIdsByComponentId.getOrDefault(componentId, Set.of()).stream()
+                                .map(protoVulnById::get)
+                                .filter(Objects::nonNull)
+                                .toList();
+                    } else {
+                        protoVulns = List.of();
+                    }
 
-            evaluateComponentAgainstPolicies(
-                    policiesWithScripts,
-                    componentId,
-                    Map.ofEntries(
-                            Map.entry(CelPolicyVariable.COMPONENT.variableName(), protoComponent),
-                            Map.entry(CelPolicyVariable.PROJECT.variableName(), protoProject),
-                            Map.entry(CelPolicyVariable.VULNS.variableName(), protoVulns),
-                            Map.entry(CelPolicyVariable.NOW.variableName(), protoNow)),
-                    violationsByComponentId);
-        }
+                    evaluateComponentAgainstPolicies(
+                            policiesWithScripts,
+                            componentId,
+                            Map.ofEntries(
+                                    Map.entry(CelPolicyVariable.COMPONENT.variableName(), protoComponent),
+                                    Map.entry(CelPolicyVariable.PROJECT.variableName(), protoProject),
+                                    Map.entry(CelPolicyVariable.VULNS.variableName(), protoVulns),
+                                    Map.entry(CelPolicyVariable.NOW.variableName(), protoNow)),
+                            violations);
+                });
 
         final Set<Long> newViolationIds = inJdbiTransaction(handle ->
                 new CelPolicyDao(handle).reconcileViolations(
@@ -307,6 +326,65 @@ public final class CelPolicyEngine {
         }
     }
 
+    @FunctionalInterface
+    private interface ComponentEvaluator {
+
+        void evaluate(long componentId, Component component, MultiValuedMap<Long, PolicyViolation> violationsByComponentId);
+
+    }
+
+    /**
+     * Evaluate all components, in chunks of at least {@value #MIN_COMPONENTS_PER_CHUNK} components,
+     * using up to {@link #parallelism} virtual threads.
+     * <p>
+     * Compiled scripts are immutable and can safely be executed concurrently.
+     * Each chunk collects its violations separately, and violations are merged once all chunks completed.
+     */
+    private MultiValuedMap<Long, PolicyViolation> evaluateComponents(
+            Map<Long, Component> componentsById,
+            CelPolicyDependencyGraph dependencyGraph,
+            ComponentEvaluator evaluator) throws InterruptedException {
+        final List<Map.Entry<Long, Component>> components = List.copyOf(componentsById.entrySet());
+        final int chunkCount = Math.min(parallelism, Math.ceilDiv(components.size(), MIN_COMPONENTS_PER_CHUNK));
+        if (chunkCount <= 1) {
+            return evaluateComponentsChunk(components, dependencyGraph, evaluator);
+        }
+
+        LOGGER.debug("Evaluating {} components in {} chunks", components.size(), chunkCount);
+        final int chunkSize = Math.ceilDiv(components.size(), chunkCount);
+        final var violationsByComponentId = new ArrayListValuedHashMap<Long, PolicyViolation>();
+
+        final var tasks = new ArrayList<Callable<MultiValuedMap<Long, PolicyViolation>>>(chunkCount);
+        for (int i = 0; i < components.size(); i += chunkSize) {
+            final List<Map.Entry<Long, Component>> chunk =
+                    components.subList(i, Math.min(i + chunkSize, components.size()));
+            tasks.add(() -> evaluateComponentsChunk(chunk, dependencyGraph, evaluator));
+        }
+
+        ConcurrentTasks.executeAll(tasks, chunkCount, violationsByComponentId::putAll);
+
+        return violationsByComponentId;
+    }
+
+    private static MultiValuedMap<Long, PolicyViolation> evaluateComponentsChunk(
+            List<Map.Entry<Long, Component>> components,
+            CelPolicyDependencyGraph dependencyGraph,
+            ComponentEvaluator evaluator) throws InterruptedException {
+        // Scoped values are not inherited by executor threads, so bind the graph for every chunk.
+        return ScopedValue.where(CelPolicyDependencyGraph.CURRENT, dependencyGraph).call(() -> {
+            final var violationsByComponentId = new ArrayListValuedHashMap<Long, PolicyViolation>();
+            for (final Map.Entry<Long, Component> entry : components) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Interrupted before policies could be evaluated for all components");
+                }
+
+                evaluator.evaluate(entry.getKey(), entry.getValue(), violationsByComponentId);
+            }
+
+            return violationsByComponentId;
+        });
+    }
+
     record ConditionScript(PolicyCondition condition, CelPolicyProgram script) {
     }
 
@@ -85,6 +85,11 @@ final class CelPolicyFunctions {
             return false;
         }
 
+        final CelPolicyDependencyGraph dependencyGraph = CelPolicyDependencyGraph.current();
+        if (dependencyGraph != null && dependencyGraph.isProject(project)) {
+            return dependencyGraph.dependsOn(component, compositeNodeFilter);
+        }
+
         try (final Handle jdbiHandle = openJdbiHandle()) {
             if (!compositeNodeFilter.hasInMemoryFilters()) {
                 final Query query = jdbiHandle.createQuery("""
@@ -145,6 +150,11 @@ final class CelPolicyFunctions {
             return false;
         }
 
+        final CelPolicyDependencyGraph dependencyGraph = CelPolicyDependencyGraph.current();
+        if (dependencyGraph != null && dependencyGraph.contains(leafComponent)) {
+            return dependencyGraph.isDependencyOf(leafComponent, rootComponent, compositeNodeFilter);
+        }
+
         try (final Handle jdbiHandle = openJdbiHandle()) {
             if (!compositeNodeFilter.hasInMemoryFilters()) {
                 final Query query = jdbiHandle.createQuery("""
@@ -271,6 +281,15 @@ final class CelPolicyFunctions {
             return false;
         }
 
+        final CelPolicyDependencyGraph dependencyGraph = CelPolicyDependencyGraph.current();
+        if (dependencyGraph != null && dependencyGraph.contains(leafComponent)) {
+            final Boolean isExclusiveDependency =
+                    dependencyGraph.isExclusiveDependencyOf(leafComponent, rootComponent, compositeNodeFilter);
+            if (isExclusiveDependency != null) {
+                return isExclusiveDependency;
+            }
+        }
+
         try (final Handle jdbiHandle = openJdbiHandle()) {
             if (new CelPolicyDao(jdbiHandle).isDirectDependency(leafComponent)) {
                 return false;
@@ -371,6 +390,11 @@ final class CelPolicyFunctions {
             return false;
         }
 
+        final CelPolicyDependencyGraph dependencyGraph = CelPolicyDependencyGraph.current();
+        if (dependencyGraph != null && dependencyGraph.contains(childComponent)) {
+            return dependencyGraph.isDirectDependencyOf(childComponent, parentTemplate, compositeNodeFilter);
+        }
+
         try (final Handle jdbiHandle = openJdbiHandle()) {
             if (!compositeNodeFilter.hasInMemoryFilters()) {
                 final Query query = jdbiHandle.createQuery("""
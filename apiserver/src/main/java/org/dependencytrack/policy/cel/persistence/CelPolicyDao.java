@@ -386,6 +386,75 @@ public final class CelPolicyDao {
                 .one();
     }
 
+    public record DependencyGraphNode(
+            long id,
+            String uuid,
+            List<String> directDependencyUuids) {
+    }
+
+    /**
+     * Fetch all components of a project, along with the UUIDs of their direct dependencies.
+     */
+    public List<DependencyGraphNode> fetchAllDependencyGraphNodes(long projectId) {
+        return jdbiHandle
+                .createQuery("""
+                        SELECT c."ID" AS id
+                             , c."UUID"::TEXT AS uuid
+                             , ARRAY(
+                                 SELECT dependency ->> 'uuid'
+                                   FROM JSONB_ARRAY_ELEMENTS(
+                                          CASE
+                                            WHEN JSONB_TYPEOF(c."DIRECT_DEPENDENCIES") = 'array'
+                                            THEN c."DIRECT_DEPENDENCIES"
+                                            ELSE '[]'::JSONB
+                                          END) AS dependency
+                               ) AS direct_dependency_uuids
+                          FROM "COMPONENT" AS c
+                         WHERE c."PROJECT_ID" = :projectId
+                        """)
+                .bind("projectId", projectId)
+                .map((rs, ctx) -> new DependencyGraphNode(
+                        rs.getLong("id"),
+                        rs.getString("uuid"),
+                        toNonNullList((String[]) rs.getArray("direct_dependency_uuids").getArray())))
+                .list();
+    }
+
+    /**
+     * Fetch the UUIDs of the direct dependencies of a project.
+     */
+    public List<String> fetchProjectDirectDependencyUuids(long projectId) {
+        return jdbiHandle
+                .createQuery("""
+                        SELECT ARRAY(
+                                 SELECT dependency ->> 'uuid'
+                                   FROM JSONB_ARRAY_ELEMENTS(
+                                          CASE
+                                            WHEN JSONB_TYPEOF(p."DIRECT_DEPENDENCIES") = 'array'
+                                            THEN p."DIRECT_DEPENDENCIES"
+                                            ELSE '[]'::JSONB
+                                          END) AS dependency
+                               ) AS direct_dependency_uuids
+                          FROM "PROJECT" AS p
+                         WHERE p."ID" = :projectId
+                        """)
+                .bind("projectId", projectId)
+                .map((rs, ctx) -> toNonNullList((String[]) rs.getArray("direct_dependency_uuids").getArray()))
+                .findOne()
+                .orElseGet(List::of);
+    }
+
+    private static List<String> toNonNullList(@Nullable String[] values) {
+        final var result = new ArrayList<String>(values.length);
+        for (final String value : values) {
+            if (value != null) {
+                result.add(value);
+            }
+        }
+
+        return result;
+    }
+
     public List<Policy> getApplicablePolicies(long projectId) {
         return jdbiHandle
                 .createQuery("""
@@ -40,6 +40,7 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -49,6 +50,7 @@ import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.commons.lang3.StringUtils;
@@ -73,6 +75,7 @@ import org.dependencytrack.notification.JdbiNotificationEmitter;
 import org.dependencytrack.notification.JdoNotificationEmitter;
 import org.dependencytrack.notification.NotificationModelConverter;
 import org.dependencytrack.parser.cyclonedx.CycloneDXExporter;
+import org.dependencytrack.parser.cyclonedx.CycloneDxStreamingExporter;
 import org.dependencytrack.parser.cyclonedx.CycloneDxValidator;
 import org.dependencytrack.parser.cyclonedx.InvalidBomException;
 import org.dependencytrack.persistence.QueryManager;
@@ -206,9 +209,9 @@ public class BomResource extends AbstractApiResource {
             }
             requireAccess(qm, project);
 
-            final CycloneDXExporter exporter;
+            final CycloneDXExporter.Variant exportVariant;
             if (StringUtils.trimToNull(variant) == null || variant.equalsIgnoreCase("inventory")) {
-                exporter = new CycloneDXExporter(CycloneDXExporter.Variant.INVENTORY, qm);
+                exportVariant = CycloneDXExporter.Variant.INVENTORY;
             } else if (variant.equalsIgnoreCase("withVulnerabilities")) {
                 if (Collections.disjoint(super.getEffectivePermissions(), Set.of(
                         Permissions.Constants.VIEW_VULNERABILITY,
@@ -216,7 +219,7 @@ public class BomResource extends AbstractApiResource {
                         Permissions.Constants.VULNERABILITY_ANALYSIS_READ))) {
                     throw new ForbiddenException();
                 }
-                exporter = new CycloneDXExporter(CycloneDXExporter.Variant.INVENTORY_WITH_VULNERABILITIES, qm);
+                exportVariant = CycloneDXExporter.Variant.INVENTORY_WITH_VULNERABILITIES;
             } else if (variant.equalsIgnoreCase("vdr")) {
                 if (Collections.disjoint(super.getEffectivePermissions(), Set.of(
                         Permissions.Constants.VIEW_VULNERABILITY,
@@ -224,35 +227,59 @@ public class BomResource extends AbstractApiResource {
                         Permissions.Constants.VULNERABILITY_ANALYSIS_READ))) {
                     throw new ForbiddenException();
                 }
-                exporter = new CycloneDXExporter(CycloneDXExporter.Variant.VDR, qm);
+                exportVariant = CycloneDXExporter.Variant.VDR;
             } else {
                 return Response.status(Response.Status.BAD_REQUEST).entity("Invalid BOM variant specified.").build();
             }
 
-            try {
-                if (StringUtils.trimToNull(format) == null || format.equalsIgnoreCase("JSON")) {
-                    if (download) {
-                        return Response.ok(exporter.export(exporter.create(project, cdxOutputVersion), CycloneDXExporter.Format.JSON, cdxOutputVersion), MediaType.APPLICATION_OCTET_STREAM)
-                                .header("content-disposition", "attachment; filename=\"" + project.getUuid() + "-" + variant + ".cdx.json\"").build();
-                    } else {
-                        return Response.ok(exporter.export(exporter.create(project, cdxOutputVersion), CycloneDXExporter.Format.JSON, cdxOutputVersion),
-                                CycloneDxMediaType.APPLICATION_CYCLONEDX_JSON).build();
+            final CycloneDXExporter.Format exportFormat;
+            final String mediaType;
+            final String fileExtension;
+            if (StringUtils.trimToNull(format) == null || format.equalsIgnoreCase("JSON")) {
+                exportFormat = CycloneDXExporter.Format.JSON;
+                mediaType = CycloneDxMediaType.APPLICATION_CYCLONEDX_JSON;
+                fileExtension = "json";
+            } else if (format.equalsIgnoreCase("XML")) {
+                exportFormat = CycloneDXExporter.Format.XML;
+                mediaType = CycloneDxMediaType.APPLICATION_CYCLONEDX_XML;
+                fileExtension = "xml";
+            } else {
+                return Response.status(Response.Status.BAD_REQUEST).entity("Invalid BOM format specified.").build();
+            }
+
+            // The BOM is written after this method returned, and thus after the
+            // QueryManager of the request was closed. Use a dedicated one instead,
+            // which is only opened once the entity is written, such that it can't leak
+            // when writing never happens, e.g. because the client disconnected.
+            // The project and the first page of components are resolved before anything
+            // is written, such that failures still yield a proper status.
+            final UUID projectUuid = project.getUuid();
+            final StreamingOutput bomOutput = outputStream -> {
+                try (final var exportQm = new QueryManager()) {
+                    final Project exportProject = exportQm.getObjectByUuid(Project.class, projectUuid);
+                    if (exportProject == null) {
+                        throw new NotFoundException("The project could not be found.");
                     }
-                } else if (format.equalsIgnoreCase("XML")) {
-                    if (download) {
-                        return Response.ok(exporter.export(exporter.create(project, cdxOutputVersion), CycloneDXExporter.Format.XML, cdxOutputVersion), MediaType.APPLICATION_OCTET_STREAM)
-                                .header("content-disposition", "attachment; filename=\"" + project.getUuid() + "-" + variant + ".cdx.xml\"").build();
-                    } else {
-                        return Response.ok(exporter.export(exporter.create(project, cdxOutputVersion), CycloneDXExporter.Format.XML, cdxOutputVersion),
-                                CycloneDxMediaType.APPLICATION_CYCLONEDX_XML).build();
+
+                    final CycloneDxStreamingExporter.PreparedExport export =
+                            new CycloneDxStreamingExporter(exportVariant, exportQm).prepare(exportProject);
+                    try {
+                        export.writeTo(exportFormat, cdxOutputVersion, outputStream);
+                    } catch (IOException | RuntimeException e) {
+                        // The response may already be committed at this point. Propagating the exception
+                        // makes the container abort the connection, rather than completing the response,
+                        // such that clients can tell that the BOM is incomplete.
+                        LOGGER.error("Failed to stream CycloneDX document of project {}; Aborting response", projectUuid, e);
+                        throw e;
                     }
-                } else {
-                    return Response.status(Response.Status.BAD_REQUEST).entity("Invalid BOM format specified.").build();
                 }
-            } catch (GeneratorException e) {
-                LOGGER.error("An error occurred while building a CycloneDX document for export", e);
-                return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+            };
+
+            if (download) {
+                return Response.ok(bomOutput, MediaType.APPLICATION_OCTET_STREAM)
+                        .header("content-disposition", "attachment; filename=\"" + projectUuid + "-" + variant + ".cdx." + fileExtension + "\"").build();
             }
+            return Response.ok(bomOutput, mediaType).build();
         }
     }
 
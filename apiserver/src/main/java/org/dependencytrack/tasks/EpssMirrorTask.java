@@ -37,9 +37,10 @@ import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_EPSS_ENABLED;
@@ -50,7 +51,6 @@ import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
 public final class EpssMirrorTask implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EpssMirrorTask.class);
-    private static final int BATCH_SIZE = 1000;
     private static final Duration HEARTBEAT_LOG_INTERVAL = Duration.ofSeconds(30);
 
     private final HttpClient httpClient;
@@ -102,60 +102,61 @@ public final class EpssMirrorTask implements Runnable {
     }
 
     private int processFeedFile(final Path feedFilePath) throws IOException {
-        int recordsRead = 0;
-        int recordsModified = 0;
-        long lastHeartbeatNs = System.nanoTime();
-
         try (final var fileInputStream = Files.newInputStream(feedFilePath, StandardOpenOption.DELETE_ON_CLOSE);
              final var bufferedInputStream = new BufferedInputStream(fileInputStream);
              final var gzipInputStream = new GZIPInputStream(bufferedInputStream);
              final var inputStreamReader = new InputStreamReader(gzipInputStream);
-             final var bufferedReader = new BufferedReader(inputStreamReader)) {
-            final var recordBatch = new ArrayList<Epss>(BATCH_SIZE);
-
-            String csvLine;
-            boolean isFirstLine = true;
-            while ((csvLine = bufferedReader.readLine()) != null) {
-                if (csvLine.startsWith("#")) {
-                    // Skip comments.
-                    continue;
-                }
-                if (isFirstLine) {
-                    // First line is headers.
-                    isFirstLine = false;
-                    continue;
-                }
-
-                final Epss record = parseEpssRecord(csvLine);
-                recordBatch.add(record);
-
-                if (recordBatch.size() == BATCH_SIZE) {
-                    recordsModified += processBatch(recordBatch);
-                    recordsRead += recordBatch.size();
-                    recordBatch.clear();
-                    if (System.nanoTime() - lastHeartbeatNs >= HEARTBEAT_LOG_INTERVAL.toNanos()) {
-                        LOGGER.info(
-                                "Read {} records so far ({} modified)",
-                                recordsRead, recordsModified);
-                        lastHeartbeatNs = System.nanoTime();
-                    }
-                }
-            }
+             final var bufferedReader = new BufferedReader(inputStreamReader);
+             final Stream<Epss> records = bufferedReader.lines()
+                     // Skip comments.
+                     .filter(csvLine -> !csvLine.startsWith("#"))
+                     // First line is headers.
+                     .skip(1)
+                     .map(EpssMirrorTask::parseEpssRecord)) {
+            // Records are streamed into the database as they are read,
+            // and merged with existing records in a single transaction.
+            final var recordsIterator = new HeartbeatIterator(records.iterator());
+            final int recordsModified = inJdbiTransaction(
+                    handle -> handle.attach(EpssDao.class).createOrUpdateAllViaCopy(recordsIterator));
+            LOGGER.debug("Read {} records", recordsIterator.recordsRead);
+            return recordsModified;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to ingest EPSS feed", e);
+        }
+    }
 
-            if (!recordBatch.isEmpty()) {
-                recordsModified += processBatch(recordBatch);
-                recordBatch.clear();
-            }
+    /**
+     * Counts records as they are consumed, and periodically logs progress.
+     */
+    private static final class HeartbeatIterator implements Iterator<Epss> {
+
+        private final Iterator<Epss> delegate;
+        private int recordsRead;
+        private long lastHeartbeatNs = System.nanoTime();
+
+        private HeartbeatIterator(final Iterator<Epss> delegate) {
+            this.delegate = delegate;
         }
 
-        return recordsModified;
-    }
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Epss next() {
+            final Epss record = delegate.next();
+            recordsRead++;
 
-    private int processBatch(final List<Epss> records) {
-        LOGGER.debug("Processing batch of {} records", records.size());
+            final long nowNs = System.nanoTime();
+            if (nowNs - lastHeartbeatNs >= HEARTBEAT_LOG_INTERVAL.toNanos()) {
+                LOGGER.info("Read {} records so far", recordsRead);
+                lastHeartbeatNs = nowNs;
+            }
+
+            return record;
+        }
 
-        return inJdbiTransaction(
-                handle -> handle.attach(EpssDao.class).createOrUpdateAll(records));
     }
 
     private static Epss parseEpssRecord(final String csvLine) {
@@ -21,9 +21,7 @@ package org.dependencytrack.tasks;
 import alpine.persistence.ScopedCustomization;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
-import org.cyclonedx.exception.ParseException;
-import org.cyclonedx.parsers.BomParserFactory;
-import org.cyclonedx.parsers.Parser;
+import org.cyclonedx.model.Dependency;
 import org.datanucleus.flush.FlushMode;
 import org.dependencytrack.analysis.AnalyzeProjectWorkflow;
 import org.dependencytrack.common.Mappers;
@@ -44,6 +42,8 @@ import org.dependencytrack.model.ProjectMetadata;
 import org.dependencytrack.model.ServiceComponent;
 import org.dependencytrack.notification.JdoNotificationEmitter;
 import org.dependencytrack.notification.NotificationModelConverter;
+import org.dependencytrack.parser.cyclonedx.CycloneDxStreamingParser;
+import org.dependencytrack.parser.cyclonedx.CycloneDxStreamingParser.BomHeader;
 import org.dependencytrack.analysis.ProjectLastAnalysisDao;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.pkgmetadata.ResolvePackageMetadataWorkflow;
@@ -61,6 +61,7 @@ import javax.jdo.FetchGroup;
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
@@ -104,9 +105,10 @@ import static org.dependencytrack.dex.DexWorkflowLabels.WF_LABEL_PROJECT_UUID;
 import static org.dependencytrack.notification.api.NotificationFactory.createBomConsumedNotification;
 import static org.dependencytrack.notification.api.NotificationFactory.createBomProcessedNotification;
 import static org.dependencytrack.notification.api.NotificationFactory.createBomProcessingFailedNotification;
+import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertComponent;
 import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertComponents;
 import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertDependencyGraph;
-import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertServices;
+import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertService;
 import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertToProject;
 import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertToProjectMetadata;
 import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.flatten;
@@ -143,7 +145,9 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ImportBomActivity.class);
+    private static final int FLUSH_THRESHOLD = 1000;
 
+    private final CycloneDxStreamingParser bomParser = new CycloneDxStreamingParser();
     private final DexEngine dexEngine;
     private final FileStorage fileStorage;
     private final boolean delayBomProcessedNotification;
@@ -174,41 +178,22 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
              var _ = MDC.putCloseable(MDC_PROJECT_NAME, arg.getProjectName());
              var _ = MDC.putCloseable(MDC_PROJECT_VERSION, arg.getProjectVersion());
              var _ = MDC.putCloseable(MDC_BOM_UPLOAD_TOKEN, arg.getBomUploadToken())) {
-            final byte[] cdxBomBytes;
+            // The BOM is parsed straight from storage, without buffering it in memory first.
+            // Only the converted components, services, and dependency graph are retained.
+            final ConsumedBom consumedBom;
             try (final InputStream cdxBomStream = fileStorage.get(arg.getBomFileMetadata())) {
-                cdxBomBytes = cdxBomStream.readAllBytes();
+                consumedBom = consumeBom(processCtx, cdxBomStream);
             } catch (NoSuchFileException e) {
                 throw new TerminalApplicationFailureException(e);
             }
 
-            processEvent(processCtx, cdxBomBytes);
+            processEvent(processCtx, consumedBom);
         }
 
         return null;
     }
 
-    private void processEvent(final ProcessingContext ctx, final byte[] cdxBomBytes) throws InterruptedException {
-        final ConsumedBom consumedBom;
-        try {
-            final Parser parser = BomParserFactory.createParser(cdxBomBytes);
-            final var cdxBom = parser.parse(cdxBomBytes);
-            ctx.bomSpecVersion = cdxBom.getSpecVersion();
-            if (cdxBom.getSerialNumber() != null) {
-                ctx.bomSerialNumber = cdxBom.getSerialNumber().replaceFirst("urn:uuid:", "");
-            }
-            if (cdxBom.getMetadata() != null && cdxBom.getMetadata().getTimestamp() != null) {
-                ctx.bomTimestamp = cdxBom.getMetadata().getTimestamp();
-            }
-            ctx.bomVersion = cdxBom.getVersion();
-            consumedBom = consumeBom(cdxBom);
-        } catch (ParseException | RuntimeException e) {
-            LOGGER.error("Failed to consume BOM", e);
-            try (final var qm = new QueryManager()) {
-                dispatchBomProcessingFailedNotification(qm, ctx, e);
-            }
-            throw new TerminalApplicationFailureException("Failed to consume BOM", e);
-        }
-
+    private void processEvent(final ProcessingContext ctx, final ConsumedBom consumedBom) throws InterruptedException {
         if (Thread.interrupted()) {
             throw new InterruptedException("Interrupted before the BOM could be processed");
         }
@@ -278,7 +263,7 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
 
     }
 
-    private record ConsumedBom(
+    record ConsumedBom(
             Project project,
             ProjectMetadata projectMetadata,
             List<Component> components,
@@ -289,11 +274,49 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
     ) {
     }
 
-    private ConsumedBom consumeBom(final org.cyclonedx.model.Bom cdxBom) {
+    private ConsumedBom consumeBom(
+            final ProcessingContext ctx,
+            final InputStream cdxBomStream) throws IOException, InterruptedException {
+        final var bomConsumer = new BomConsumer();
+        try {
+            final BomHeader bomHeader = bomParser.parse(cdxBomStream, bomConsumer);
+
+            // Only populate the context once the BOM was parsed successfully,
+            // such that failure notifications don't carry partial information.
+            ctx.bomSpecVersion = bomHeader.specVersion();
+            final String serialNumber = bomHeader.serialNumber();
+            if (serialNumber != null) {
+                ctx.bomSerialNumber = serialNumber.replaceFirst("urn:uuid:", "");
+            }
+            if (bomConsumer.metadata != null && bomConsumer.metadata.getTimestamp() != null) {
+                ctx.bomTimestamp = bomConsumer.metadata.getTimestamp();
+            }
+            ctx.bomVersion = bomHeader.version();
+
+            return bomConsumer.toConsumedBom();
+        } catch (CancellationException e) {
+            final var interruptedException = new InterruptedException("BOM consumption was interrupted");
+            interruptedException.initCause(e);
+            throw interruptedException;
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to consume BOM", e);
+            try (final var qm = new QueryManager()) {
+                dispatchBomProcessingFailedNotification(qm, ctx, e);
+            }
+            throw new TerminalApplicationFailureException("Failed to consume BOM", e);
+        }
+    }
+
+    /**
+     * Converts and de-duplicates elements of a BOM as they are being parsed,
+     * such that the {@code cyclonedx-core-java} model is never materialized in its entirety.
+     */
+    static final class BomConsumer implements CycloneDxStreamingParser.Handler {
+
         // Keep track of which BOM ref points to which component identity.
         // During component and service de-duplication, we'll potentially drop
         // some BOM refs, which can break the dependency graph.
-        final var identitiesByBomRef = new HashMap<String, ComponentIdentity>();
+        private final Map<String, ComponentIdentity> identitiesByBomRef = new HashMap<>();
 
         // Component identities will change once components are persisted to the database.
         // This means we'll eventually have to update identities in "identitiesByBomRef"
@@ -301,42 +324,79 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
         // We avoid having to iterate over, and compare, all values of "identitiesByBomRef"
         // by keeping a secondary index on identities to BOM refs.
         // Note: One identity can point to multiple BOM refs, due to component and service de-duplication.
-        final var bomRefsByIdentity = new HashSetValuedHashMap<ComponentIdentity, String>();
+        private final MultiValuedMap<ComponentIdentity, String> bomRefsByIdentity = new HashSetValuedHashMap<>();
+
+        private final Predicate<Component> distinctComponentsFilter =
+                distinctComponentsByIdentity(identitiesByBomRef, bomRefsByIdentity);
+        private final List<Component> components = new ArrayList<>();
+        private final List<ServiceComponent> services = new ArrayList<>();
+        private final MultiValuedMap<String, String> dependencyGraph = new HashSetValuedHashMap<>();
+        private org.cyclonedx.model.@Nullable Metadata metadata;
+        private int numComponentsTotal;
+
+        @Override
+        public void handleMetadata(final org.cyclonedx.model.Metadata metadata) {
+            this.metadata = metadata;
+
+            // Components nested under metadata.component are treated as if they were top-level components.
+            // Metadata usually precedes components in a BOM, in which case they also take
+            // precedence during de-duplication.
+            if (metadata.getComponent() != null) {
+                addComponents(convertComponents(metadata.getComponent().getComponents()));
+            }
+        }
 
-        final ProjectMetadata projectMetadata = convertToProjectMetadata(cdxBom.getMetadata());
-        final Project project = convertToProject(cdxBom.getMetadata());
-        List<Component> components = new ArrayList<>();
-        if (cdxBom.getMetadata() != null && cdxBom.getMetadata().getComponent() != null) {
-            components.addAll(convertComponents(cdxBom.getMetadata().getComponent().getComponents()));
+        @Override
+        public void handleComponent(final org.cyclonedx.model.Component cdxComponent) {
+            addComponents(List.of(convertComponent(cdxComponent)));
+        }
+
+        @Override
+        public void handleService(final org.cyclonedx.model.Service cdxService) {
+            // Services are only de-duplicated after all components have been consumed,
+            // because components take precedence when a BOM ref is (illegally) shared between the two.
+            services.addAll(flatten(List.of(convertService(cdxService)),
+                    ServiceComponent::getChildren, ServiceComponent::setChildren));
+        }
+
+        @Override
+        public void handleDependency(final Dependency cdxDependency) {
+            dependencyGraph.putAll(convertDependencyGraph(List.of(cdxDependency)));
+        }
+
+        private void addComponents(final List<Component> componentsToAdd) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Interrupted before all components could be consumed");
+            }
+
+            for (final Component component : flatten(componentsToAdd, Component::getChildren, Component::setChildren)) {
+                numComponentsTotal++;
+                if (distinctComponentsFilter.test(component)) {
+                    components.add(component);
+                }
+            }
+        }
+
+        ConsumedBom toConsumedBom() {
+            final List<ServiceComponent> distinctServices = services.stream()
+                    .filter(distinctServicesByIdentity(identitiesByBomRef, bomRefsByIdentity))
+                    .toList();
+            LOGGER.info("""
+                    Consumed %d components (%d before de-duplication), %d services (%d before de-duplication), \
+                    and %d dependency graph entries""".formatted(components.size(), numComponentsTotal,
+                    distinctServices.size(), services.size(), dependencyGraph.asMap().size()));
+
+            return new ConsumedBom(
+                    convertToProject(metadata),
+                    convertToProjectMetadata(metadata),
+                    components,
+                    distinctServices,
+                    dependencyGraph,
+                    identitiesByBomRef,
+                    bomRefsByIdentity
+            );
         }
 
-        components.addAll(convertComponents(cdxBom.getComponents()));
-        components = flatten(components, Component::getChildren, Component::setChildren);
-        final int numComponentsTotal = components.size();
-
-        List<ServiceComponent> services = convertServices(cdxBom.getServices());
-        services = flatten(services, ServiceComponent::getChildren, ServiceComponent::setChildren);
-        final int numServicesTotal = services.size();
-
-        final MultiValuedMap<String, String> dependencyGraph = convertDependencyGraph(cdxBom.getDependencies());
-        final int numDependencyGraphEntries = dependencyGraph.asMap().size();
-
-        components = components.stream().filter(distinctComponentsByIdentity(identitiesByBomRef, bomRefsByIdentity)).toList();
-        services = services.stream().filter(distinctServicesByIdentity(identitiesByBomRef, bomRefsByIdentity)).toList();
-        LOGGER.info("""
-                Consumed %d components (%d before de-duplication), %d services (%d before de-duplication), \
-                and %d dependency graph entries""".formatted(components.size(), numComponentsTotal,
-                services.size(), numServicesTotal, numDependencyGraphEntries));
-
-        return new ConsumedBom(
-                project,
-                projectMetadata,
-                components,
-                services,
-                dependencyGraph,
-                identitiesByBomRef,
-                bomRefsByIdentity
-        );
     }
 
     record ProcessedBom(
@@ -515,6 +575,7 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
                 .map(Component::getId)
                 .collect(Collectors.toSet());
 
+        int componentsProcessed = 0;
         for (final Component component : components) {
             if (Thread.currentThread().isInterrupted()) {
                 throw new CancellationException("Interrupted before all components could be processed");
@@ -579,6 +640,11 @@ public final class ImportBomActivity implements Activity<ImportBomArg, Void> {
             }
 
             persistentComponentByIdentity.put(newIdentity, persistentComponent);
+
+            // Flush in chunks, such that pending write operations don't pile up for large BOMs.
+            if (++componentsProcessed % FLUSH_THRESHOLD == 0) {
+                qm.getPersistenceManager().flush();
+            }
         }
 
         persistentComponentByIdentity.entrySet().removeIf(entry -> {
@@ -34,6 +34,7 @@ import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 import org.dependencytrack.analysis.PortfolioAnalysisTask;
+import org.dependencytrack.analysis.VulnDataChangeAnalysisTask;
 import org.dependencytrack.common.ConfigKeys;
 import org.dependencytrack.common.HttpClient;
 import org.dependencytrack.common.datasource.DataSourceRegistry;
@@ -252,6 +253,10 @@ public final class TaskSchedulerInitializer implements ServletContextListener {
                                 Duration.ofMillis(config.getValue(
                                         ConfigKeys.TASK_PORTFOLIO_ANALYSIS_MAX_ANALYSIS_AGE_MS,
                                         long.class)))),
+                recurringTask(
+                        "Vulnerability Data Change Analysis",
+                        FixedDelay.of(Duration.ofSeconds(60)),
+                        new VulnDataChangeAnalysisTask()),
                 recurringTask(
                         "Project Maintenance",
                         getCronScheduleFromConfig(config, ConfigKeys.TASK_PROJECT_MAINTENANCE_CRON),
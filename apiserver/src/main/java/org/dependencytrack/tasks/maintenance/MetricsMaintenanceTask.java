@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.time.Instant;
 
 import static org.dependencytrack.model.ConfigPropertyConstants.MAINTENANCE_METRICS_RETENTION_DAYS;
 import static org.dependencytrack.persistence.jdbi.JdbiFactory.useJdbiHandle;
@@ -36,6 +37,13 @@ public final class MetricsMaintenanceTask implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsMaintenanceTask.class);
 
+    /**
+     * Retention of records in the {@code COMPONENT_METRICS_CHANGE} table.
+     * Older changes are covered by the first metrics update of each day,
+     * which computes the metrics of all components.
+     */
+    private static final Duration CHANGE_RETENTION = Duration.ofDays(1);
+
     @Override
     public void run() {
         useJdbiHandle(this::runMaintenance);
@@ -60,6 +68,12 @@ public final class MetricsMaintenanceTask implements Runnable {
         if (numDeletedProject > 0) {
             LOGGER.info("Dropped {} project metrics partition(s)", numDeletedProject);
         }
+
+        final int numDeletedChanges = metricsDao.deleteComponentMetricsChangesBefore(
+                Instant.now().minus(CHANGE_RETENTION));
+        if (numDeletedChanges > 0) {
+            LOGGER.info("Deleted {} component metrics change(s) older than {}", numDeletedChanges, CHANGE_RETENTION);
+        }
     }
 
 }
@@ -22,6 +22,9 @@ import org.dependencytrack.persistence.jdbi.VulnerabilityDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * @since 5.0.0
  */
@@ -31,6 +34,12 @@ public final class VulnerabilityDatabaseMaintenanceTask extends AbstractBatching
     private static final int BATCH_SIZE = 1000;
     private static final int MAX_ITERATIONS = 1000;
 
+    /**
+     * Retention of records in the {@code VULNERABLESOFTWARE_CHANGE} table.
+     * Consumers of the table must refresh more frequently than this.
+     */
+    private static final Duration CHANGE_RETENTION = Duration.ofDays(1);
+
     public VulnerabilityDatabaseMaintenanceTask() {
         super(MAX_ITERATIONS);
     }
@@ -45,6 +54,16 @@ public final class VulnerabilityDatabaseMaintenanceTask extends AbstractBatching
         if (deleted > 0) {
             LOGGER.info("Deleted {} orphan VulnerableSoftware row(s)", deleted);
         }
+
+        final Instant changeCutoff = Instant.now().minus(CHANGE_RETENTION);
+        final int deletedChanges = runBatched(
+                BATCH_SIZE,
+                handle -> handle
+                        .attach(VulnerabilityDao.class)
+                        .deleteVulnerableSoftwareChangesBefore(changeCutoff, BATCH_SIZE));
+        if (deletedChanges > 0) {
+            LOGGER.info("Deleted {} VulnerableSoftware change row(s) older than {}", deletedChanges, CHANGE_RETENTION);
+        }
     }
 
 }
@@ -18,7 +18,15 @@
  */
 package org.dependencytrack.vulnanalysis;
 
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.cyclonedx.proto.v1_7.Bom;
+import org.cyclonedx.proto.v1_7.Component;
+import org.cyclonedx.proto.v1_7.Property;
+import org.cyclonedx.proto.v1_7.Vulnerability;
+import org.cyclonedx.proto.v1_7.VulnerabilityAffects;
+import org.dependencytrack.cache.api.Cache;
+import org.dependencytrack.cache.api.CacheManager;
 import org.dependencytrack.common.MdcScope;
 import org.dependencytrack.dex.api.Activity;
 import org.dependencytrack.dex.api.ActivityContext;
@@ -28,6 +36,7 @@ import org.dependencytrack.dex.api.failure.TerminalApplicationFailureException;
 import org.dependencytrack.filestorage.api.FileStorage;
 import org.dependencytrack.filestorage.proto.v1.FileMetadata;
 import org.dependencytrack.plugin.runtime.NoSuchExtensionException;
+import org.dependencytrack.plugin.config.RuntimeConfigMapper;
 import org.dependencytrack.plugin.runtime.PluginManager;
 import org.dependencytrack.proto.internal.workflow.v1.InvokeVulnAnalyzerArg;
 import org.dependencytrack.proto.internal.workflow.v1.InvokeVulnAnalyzerRes;
@@ -41,25 +50,57 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.dependencytrack.common.MdcKeys.MDC_PROJECT_UUID;
 import static org.dependencytrack.common.MdcKeys.MDC_VULN_ANALYZER_NAME;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
 
 /**
+ * Invokes a single {@link VulnAnalyzer} for the BOM assembled by {@link PrepareVulnAnalysisActivity}.
+ * <p>
+ * Projects frequently contain the same component more than once, e.g. when the same library
+ * is bundled at different paths. Components that only differ in their BOM ref yield identical
+ * analysis results, so only one of them is passed to the analyzer. The results are fanned
+ * out to all of its duplicates before the VDR is stored.
+ * <p>
+ * When enabled, results are further memoized per analyzer and component across the entire
+ * portfolio, such that components shared by many projects are not re-analyzed on every run.
+ * Memoized results are keyed on the analyzer's runtime config, and on the vulnerability data
+ * generation, which is incremented whenever matching criteria in {@code VULNERABLESOFTWARE}
+ * change, e.g. as part of a mirror run. Results of analyzers that do not depend on local
+ * vulnerability data are retained for the TTL of the {@value #RESULT_CACHE_NAME} cache.
+ *
  * @since 5.0.0
  */
 @ActivitySpec(name = "invoke-vuln-analyzer", defaultTaskQueue = "vuln-analyses")
 public final class InvokeVulnAnalyzerActivity implements Activity<InvokeVulnAnalyzerArg, InvokeVulnAnalyzerRes> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InvokeVulnAnalyzerActivity.class);
+    static final String RESULT_CACHE_NAME = "vuln-analysis.results";
+    private static final Comparator<Property> PROPERTY_COMPARATOR =
+            Comparator.comparing(Property::getName).thenComparing(Property::getValue);
 
     private final FileStorage fileStorage;
     private final PluginManager pluginManager;
+    private final @Nullable Cache resultCache;
 
-    public InvokeVulnAnalyzerActivity(FileStorage fileStorage, PluginManager pluginManager) {
+    public InvokeVulnAnalyzerActivity(
+            FileStorage fileStorage,
+            PluginManager pluginManager,
+            CacheManager cacheManager,
+            boolean resultMemoizationEnabled) {
         this.fileStorage = fileStorage;
         this.pluginManager = pluginManager;
+        this.resultCache = resultMemoizationEnabled
+                ? cacheManager.getCache(RESULT_CACHE_NAME)
+                : null;
     }
 
     @Override
@@ -76,11 +117,53 @@ public final class InvokeVulnAnalyzerActivity implements Activity<InvokeVulnAnal
             LOGGER.debug("Retrieving BOM from {}", arg.getBomFileMetadata().getLocation());
             final Bom bom = getBom(arg.getBomFileMetadata());
 
-            LOGGER.debug("Invoking analyzer");
-            final Bom vdr = performAnalysis(arg.getAnalyzerName(), bom);
-            if (vdr == null) {
-                throw new TerminalApplicationFailureException("Analyzer did not return any result");
+            final var duplicateRefsByRef = new HashMap<String, List<String>>();
+            final Bom dedupedBom = deduplicateComponents(bom, duplicateRefsByRef);
+            if (!duplicateRefsByRef.isEmpty()) {
+                LOGGER.debug(
+                        "Deduplicated {} components to {}",
+                        bom.getComponentsCount(),
+                        dedupedBom.getComponentsCount());
+            }
+
+            final Map<String, String> cacheKeyByRef;
+            if (resultCache != null) {
+                // The generation must be read before the analysis, such that results
+                // are never memoized for a generation that did not exist yet at the time.
+                final long generation = getVulnDataGeneration();
+                final String configFingerprint = getAnalyzerConfigFingerprint(arg.getAnalyzerName());
+                cacheKeyByRef = getCacheKeys(arg.getAnalyzerName(), configFingerprint, generation, dedupedBom);
+            } else {
+                cacheKeyByRef = Map.of();
+            }
+            final Map<String, Bom> memoizedVdrByRef = getMemoizedVdrs(cacheKeyByRef);
+
+            final Bom analyzerVdr;
+            if (memoizedVdrByRef.size() == dedupedBom.getComponentsCount()) {
+                LOGGER.debug("Results of all {} components are memoized", memoizedVdrByRef.size());
+                analyzerVdr = Bom.getDefaultInstance();
+            } else {
+                final Bom analyzerBom = memoizedVdrByRef.isEmpty()
+                        ? dedupedBom
+                        : removeComponents(dedupedBom, memoizedVdrByRef.keySet());
+                LOGGER.debug(
+                        "Invoking analyzer for {} components; Results of {} components are memoized",
+                        analyzerBom.getComponentsCount(),
+                        memoizedVdrByRef.size());
+                analyzerVdr = performAnalysis(arg.getAnalyzerName(), analyzerBom);
+                if (analyzerVdr == null) {
+                    throw new TerminalApplicationFailureException("Analyzer did not return any result");
+                }
+
+                memoizeVdrs(cacheKeyByRef, analyzerBom, analyzerVdr);
             }
+
+            final Bom mergedVdr = memoizedVdrByRef.isEmpty()
+                    ? analyzerVdr
+                    : mergeMemoizedVdrs(analyzerVdr, memoizedVdrByRef);
+            final Bom vdr = duplicateRefsByRef.isEmpty()
+                    ? mergedVdr
+                    : fanOutAffects(mergedVdr, duplicateRefsByRef);
             LOGGER.debug("Analyzer identified {} vulnerabilities", vdr.getVulnerabilitiesCount());
 
             // Minor optimization: Do not bother file storage with files that are
@@ -109,6 +192,224 @@ public final class InvokeVulnAnalyzerActivity implements Activity<InvokeVulnAnal
         }
     }
 
+    private static long getVulnDataGeneration() {
+        // Wait for transactions that are committing a new generation, such that
+        // the generation read is never ahead of the data visible to the analysis.
+        // See V202610171700__use_sequence_for_vuln_data_generation.sql.
+        return withJdbiHandle(handle -> handle.inTransaction(transactionHandle -> {
+            transactionHandle.execute("SELECT pg_advisory_xact_lock(hashtext('VULN_DATA_GENERATION'))");
+            return transactionHandle
+                    .createQuery("""
+                            SELECT CASE WHEN "is_called" THEN "last_value" ELSE 0 END
+                              FROM "VULN_DATA_GENERATION_SEQ"
+                            """)
+                    .mapTo(Long.class)
+                    .one();
+        }));
+    }
+
+    private String getAnalyzerConfigFingerprint(String analyzerName) {
+        try {
+            final String configJson = pluginManager
+                    .getConfigRegistry(VulnAnalyzer.class, analyzerName)
+                    .getOptionalRuntimeConfig()
+                    .map(RuntimeConfigMapper.getInstance()::serialize)
+                    .orElse("");
+            return DigestUtils.sha256Hex(configJson);
+        } catch (NoSuchExtensionException e) {
+            throw new TerminalApplicationFailureException(e);
+        }
+    }
+
+    /**
+     * Compute cache keys for the memoized results of all components in a BOM.
+     * <p>
+     * Components are identified by their {@link #getIdentity(Component) identity},
+     * since that covers exactly the inputs an analyzer bases its results on: The
+     * normalized PURL and CPE, but also properties and other analyzer requirements.
+     *
+     * @param analyzerName      The name of the analyzer.
+     * @param configFingerprint Fingerprint of the analyzer's runtime config.
+     * @param generation        The vulnerability data generation.
+     * @param bom               The BOM to compute cache keys for.
+     * @return The cache keys, keyed by BOM ref.
+     */
+    static Map<String, String> getCacheKeys(String analyzerName, String configFingerprint, long generation, Bom bom) {
+        final var cacheKeyByRef = new HashMap<String, String>(bom.getComponentsCount());
+        for (final Component component : bom.getComponentsList()) {
+            cacheKeyByRef.put(
+                    component.getBomRef(),
+                    "%s:%s:%d:%s".formatted(
+                            analyzerName,
+                            configFingerprint,
+                            generation,
+                            DigestUtils.sha256Hex(getIdentity(component).toByteArray())));
+        }
+
+        return cacheKeyByRef;
+    }
+
+    /**
+     * Get the identity of a component, i.e. all its fields except the BOM ref.
+     * <p>
+     * Properties are sorted, such that components that only differ
+     * in the order of their properties share the same identity.
+     *
+     * @param component The component to get the identity of.
+     * @return The identity of the component.
+     */
+    static Component getIdentity(Component component) {
+        final Component.Builder identityBuilder = component.toBuilder().clearBomRef();
+        if (identityBuilder.getPropertiesCount() > 1) {
+            final var properties = new ArrayList<>(identityBuilder.getPropertiesList());
+            properties.sort(PROPERTY_COMPARATOR);
+            identityBuilder.clearProperties().addAllProperties(properties);
+        }
+
+        return identityBuilder.build();
+    }
+
+    private Map<String, Bom> getMemoizedVdrs(Map<String, String> cacheKeyByRef) {
+        if (resultCache == null || cacheKeyByRef.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<String, byte @Nullable []> valueByCacheKey =
+                resultCache.getMany(Set.copyOf(cacheKeyByRef.values()));
+        if (valueByCacheKey.isEmpty()) {
+            return Map.of();
+        }
+
+        final var memoizedVdrByRef = new HashMap<String, Bom>(valueByCacheKey.size());
+        for (final Map.Entry<String, String> entry : cacheKeyByRef.entrySet()) {
+            final byte[] value = valueByCacheKey.get(entry.getValue());
+            if (value == null) {
+                continue;
+            }
+
+            try {
+                memoizedVdrByRef.put(entry.getKey(), Bom.parseFrom(value));
+            } catch (InvalidProtocolBufferException e) {
+                LOGGER.warn("Failed to parse memoized result for component {}; Analyzing it again", entry.getKey(), e);
+            }
+        }
+
+        return memoizedVdrByRef;
+    }
+
+    private void memoizeVdrs(Map<String, String> cacheKeyByRef, Bom analyzedBom, Bom analyzerVdr) {
+        if (resultCache == null) {
+            return;
+        }
+
+        final Map<String, Bom> vdrByRef = splitVdr(analyzedBom, analyzerVdr);
+
+        final var valueByCacheKey = new HashMap<String, byte @Nullable []>(vdrByRef.size());
+        for (final Map.Entry<String, Bom> entry : vdrByRef.entrySet()) {
+            valueByCacheKey.put(cacheKeyByRef.get(entry.getKey()), entry.getValue().toByteArray());
+        }
+
+        try {
+            resultCache.putMany(valueByCacheKey);
+        } catch (RuntimeException e) {
+            // Memoization is an optimization; Failing to populate
+            // the cache must not fail an otherwise successful analysis.
+            LOGGER.warn("Failed to memoize analysis results", e);
+        }
+    }
+
+    /**
+     * Split a VDR into one VDR per analyzed component.
+     * <p>
+     * The affects entries of the resulting VDRs have their BOM ref cleared,
+     * such that they can be applied to any component with the same identity.
+     *
+     * @param analyzedBom The BOM that was passed to the analyzer.
+     * @param vdr         The VDR as returned by the analyzer.
+     * @return One VDR per component of {@code analyzedBom}, keyed by BOM ref.
+     * Components without vulnerabilities are mapped to an empty VDR.
+     */
+    static Map<String, Bom> splitVdr(Bom analyzedBom, Bom vdr) {
+        final var vdrBuilderByRef = new HashMap<String, Bom.Builder>(analyzedBom.getComponentsCount());
+        for (final Component component : analyzedBom.getComponentsList()) {
+            vdrBuilderByRef.put(component.getBomRef(), Bom.newBuilder());
+        }
+
+        for (final Vulnerability vuln : vdr.getVulnerabilitiesList()) {
+            final var affectsByRef = new LinkedHashMap<String, List<VulnerabilityAffects>>();
+            for (final VulnerabilityAffects affects : vuln.getAffectsList()) {
+                if (vdrBuilderByRef.containsKey(affects.getRef())) {
+                    affectsByRef
+                            .computeIfAbsent(affects.getRef(), _ -> new ArrayList<>())
+                            .add(affects.toBuilder().clearRef().build());
+                }
+            }
+
+            for (final Map.Entry<String, List<VulnerabilityAffects>> entry : affectsByRef.entrySet()) {
+                vdrBuilderByRef.get(entry.getKey()).addVulnerabilities(
+                        vuln.toBuilder()
+                                .clearAffects()
+                                .addAllAffects(entry.getValue()));
+            }
+        }
+
+        final var vdrByRef = new HashMap<String, Bom>(vdrBuilderByRef.size());
+        for (final Map.Entry<String, Bom.Builder> entry : vdrBuilderByRef.entrySet()) {
+            vdrByRef.put(entry.getKey(), entry.getValue().build());
+        }
+
+        return vdrByRef;
+    }
+
+    /**
+     * Add the vulnerabilities of memoized results to a VDR.
+     * <p>
+     * Vulnerabilities reported for multiple components are merged,
+     * such that each of them occurs in the resulting VDR only once.
+     *
+     * @param vdr              The VDR as returned by the analyzer.
+     * @param memoizedVdrByRef Memoized VDRs, as produced by {@link #splitVdr(Bom, Bom)}, keyed by BOM ref.
+     * @return The VDR with affects of all memoized results.
+     */
+    static Bom mergeMemoizedVdrs(Bom vdr, Map<String, Bom> memoizedVdrByRef) {
+        final var affectsByVuln = new LinkedHashMap<Vulnerability, List<VulnerabilityAffects>>();
+        for (final Vulnerability vuln : vdr.getVulnerabilitiesList()) {
+            affectsByVuln
+                    .computeIfAbsent(vuln.toBuilder().clearAffects().build(), _ -> new ArrayList<>())
+                    .addAll(vuln.getAffectsList());
+        }
+
+        for (final Map.Entry<String, Bom> entry : memoizedVdrByRef.entrySet()) {
+            for (final Vulnerability vuln : entry.getValue().getVulnerabilitiesList()) {
+                final List<VulnerabilityAffects> affectsList = affectsByVuln.computeIfAbsent(
+                        vuln.toBuilder().clearAffects().build(), _ -> new ArrayList<>());
+                for (final VulnerabilityAffects affects : vuln.getAffectsList()) {
+                    affectsList.add(affects.toBuilder().setRef(entry.getKey()).build());
+                }
+            }
+        }
+
+        final Bom.Builder vdrBuilder = vdr.toBuilder().clearVulnerabilities();
+        for (final Map.Entry<Vulnerability, List<VulnerabilityAffects>> entry : affectsByVuln.entrySet()) {
+            vdrBuilder.addVulnerabilities(
+                    entry.getKey().toBuilder()
+                            .addAllAffects(entry.getValue()));
+        }
+
+        return vdrBuilder.build();
+    }
+
+    private static Bom removeComponents(Bom bom, Set<String> bomRefs) {
+        final Bom.Builder bomBuilder = bom.toBuilder().clearComponents();
+        for (final Component component : bom.getComponentsList()) {
+            if (!bomRefs.contains(component.getBomRef())) {
+                bomBuilder.addComponents(component);
+            }
+        }
+
+        return bomBuilder.build();
+    }
+
     private Bom performAnalysis(String analyzerName, Bom bom) throws InterruptedException {
         try (final var vulnAnalyzer = pluginManager.getExtension(VulnAnalyzer.class, analyzerName)) {
             return vulnAnalyzer.analyze(bom);
@@ -121,6 +422,71 @@ public final class InvokeVulnAnalyzerActivity implements Activity<InvokeVulnAnal
         }
     }
 
+    /**
+     * Remove components that are identical to a previous component, except for their BOM ref.
+     *
+     * @param bom                The BOM to deduplicate.
+     * @param duplicateRefsByRef Mutable map to which the BOM refs of removed components are added,
+     *                           keyed by the BOM ref of the component that was retained.
+     * @return The deduplicated BOM, or {@code bom} if it does not contain any duplicates.
+     */
+    static Bom deduplicateComponents(Bom bom, Map<String, List<String>> duplicateRefsByRef) {
+        final var retainedRefByIdentity = new HashMap<Component, String>(bom.getComponentsCount());
+        final var retainedComponents = new ArrayList<Component>(bom.getComponentsCount());
+
+        for (final Component component : bom.getComponentsList()) {
+            final Component identity = getIdentity(component);
+
+            final String retainedRef = retainedRefByIdentity.putIfAbsent(identity, component.getBomRef());
+            if (retainedRef == null) {
+                retainedComponents.add(component);
+            } else {
+                duplicateRefsByRef
+                        .computeIfAbsent(retainedRef, _ -> new ArrayList<>())
+                        .add(component.getBomRef());
+            }
+        }
+
+        if (duplicateRefsByRef.isEmpty()) {
+            return bom;
+        }
+
+        return bom.toBuilder()
+                .clearComponents()
+                .addAllComponents(retainedComponents)
+                .build();
+    }
+
+    /**
+     * Add {@link VulnerabilityAffects} entries for duplicates of affected components.
+     *
+     * @param vdr                The VDR as returned by the analyzer.
+     * @param duplicateRefsByRef BOM refs of duplicate components, as populated
+     *                           by {@link #deduplicateComponents(Bom, Map)}.
+     * @return The VDR with affects of all duplicate components.
+     */
+    static Bom fanOutAffects(Bom vdr, Map<String, List<String>> duplicateRefsByRef) {
+        final Bom.Builder vdrBuilder = vdr.toBuilder();
+
+        for (final Vulnerability.Builder vulnBuilder : vdrBuilder.getVulnerabilitiesBuilderList()) {
+            final var duplicateAffects = new ArrayList<VulnerabilityAffects>();
+            for (final VulnerabilityAffects affects : vulnBuilder.getAffectsList()) {
+                final List<String> duplicateRefs = duplicateRefsByRef.get(affects.getRef());
+                if (duplicateRefs == null) {
+                    continue;
+                }
+
+                for (final String duplicateRef : duplicateRefs) {
+                    duplicateAffects.add(affects.toBuilder().setRef(duplicateRef).build());
+                }
+            }
+
+            vulnBuilder.addAllAffects(duplicateAffects);
+        }
+
+        return vdrBuilder.build();
+    }
+
     private FileMetadata storeVdr(ActivityContext ctx, String analyzerName, Bom vdr) throws IOException {
         return fileStorage.store(
                 "vuln-analysis/%s/vdr_%s.proto".formatted(ctx.workflowRunId(), analyzerName),
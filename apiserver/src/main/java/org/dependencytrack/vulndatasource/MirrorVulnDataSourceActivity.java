@@ -18,6 +18,11 @@
  */
 package org.dependencytrack.vulndatasource;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.cyclonedx.proto.v1_7.Bom;
 import org.dependencytrack.common.MdcScope;
 import org.dependencytrack.dex.api.Activity;
@@ -68,10 +73,46 @@ public final class MirrorVulnDataSourceActivity implements Activity<MirrorVulnDa
     private static final Logger LOGGER = LoggerFactory.getLogger(MirrorVulnDataSourceActivity.class);
     private static final Duration HEARTBEAT_LOG_INTERVAL = Duration.ofSeconds(30);
 
+    static final int DEFAULT_BATCH_SIZE = 25;
+
     private final PluginManager pluginManager;
+    private final MeterProvider<Counter> vulnsCounter;
+    private final MeterProvider<Timer> batchLatencyTimer;
+    private final int batchSize;
+    private final boolean bulkSyncEnabled;
 
     public MirrorVulnDataSourceActivity(PluginManager pluginManager) {
+        this(pluginManager, Metrics.globalRegistry, DEFAULT_BATCH_SIZE, false);
+    }
+
+    /**
+     * @param pluginManager   The {@link PluginManager} to look up data sources from.
+     * @param meterRegistry   The {@link MeterRegistry} to record metrics with.
+     * @param batchSize       Number of vulnerabilities to synchronize per transaction.
+     * @param bulkSyncEnabled Whether to synchronize vulnerabilities using set-based statements,
+     *                        rather than multiple queries per vulnerability.
+     * @since 5.1.0
+     */
+    public MirrorVulnDataSourceActivity(
+            PluginManager pluginManager,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            boolean bulkSyncEnabled) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
         this.pluginManager = pluginManager;
+        this.vulnsCounter = Counter
+                .builder("dt.vuln.data.source.mirror.vulns")
+                .description("Number of vulnerabilities processed while mirroring vulnerability data sources")
+                .withRegistry(meterRegistry);
+        this.batchLatencyTimer = Timer
+                .builder("dt.vuln.data.source.mirror.batch.latency")
+                .description("Latency of synchronizing a batch of mirrored vulnerabilities")
+                .withRegistry(meterRegistry);
+        this.batchSize = batchSize;
+        this.bulkSyncEnabled = bulkSyncEnabled;
     }
 
     @Override
@@ -103,8 +144,11 @@ public final class MirrorVulnDataSourceActivity implements Activity<MirrorVulnDa
 
         final var updatePolicy = new VulnerabilityUpdatePolicy(pluginManager);
 
+        final Counter dataSourceVulnsCounter = vulnsCounter.withTag("dataSource", arg.getDataSourceName());
+        final Timer dataSourceBatchLatencyTimer = batchLatencyTimer.withTag("dataSource", arg.getDataSourceName());
+
         try (var _ = new MdcScope(Map.of(MDC_VULN_DATA_SOURCE_NAME, arg.getDataSourceName()))) {
-            LOGGER.info("Starting mirror");
+            LOGGER.info("Starting mirror with batch size {}", batchSize);
             final long startTimeNs = System.nanoTime();
             long lastHeartbeatNs = startTimeNs;
             int vulnsProcessed = 0;
@@ -115,7 +159,7 @@ public final class MirrorVulnDataSourceActivity implements Activity<MirrorVulnDa
             // when the activity got interrupted. That requires temporarily popping
             // the interrupt flag from the thread before invoking close() on it.
             try (var _ = (Closeable) () -> closeUninterruptibly(dataSource)) {
-                final var bovBatch = new ArrayList<Bom>(25);
+                final var bovBatch = new ArrayList<Bom>(batchSize);
                 while (dataSource.hasNext()) {
                     if (Thread.interrupted()) {
                         throw new InterruptedException("Interrupted before all vulnerabilities could be consumed");
@@ -123,34 +167,42 @@ public final class MirrorVulnDataSourceActivity implements Activity<MirrorVulnDa
 
                     final Bom bov = dataSource.next();
                     bovBatch.add(bov);
-                    if (bovBatch.size() == 25) {
-                        processBatch(dataSource, bovBatch, source, arg.getDataSourceName(), updatePolicy);
+                    if (bovBatch.size() == batchSize) {
+                        dataSourceBatchLatencyTimer.record(() -> processBatch(
+                                dataSource, bovBatch, source, arg.getDataSourceName(), updatePolicy));
                         vulnsProcessed += bovBatch.size();
+                        dataSourceVulnsCounter.increment(bovBatch.size());
                         bovBatch.clear();
                         if (System.nanoTime() - lastHeartbeatNs >= HEARTBEAT_LOG_INTERVAL.toNanos()) {
-                            LOGGER.info("Processed {} vulnerabilities so far", vulnsProcessed);
+                            LOGGER.info(
+                                    "Processed {} vulnerabilities so far ({} vulns/sec)",
+                                    vulnsProcessed,
+                                    getThroughput(vulnsProcessed, startTimeNs));
                             lastHeartbeatNs = System.nanoTime();
                         }
                     }
                 }
 
                 if (!bovBatch.isEmpty()) {
-                    processBatch(dataSource, bovBatch, source, arg.getDataSourceName(), updatePolicy);
+                    dataSourceBatchLatencyTimer.record(() -> processBatch(
+                            dataSource, bovBatch, source, arg.getDataSourceName(), updatePolicy));
                     vulnsProcessed += bovBatch.size();
+                    dataSourceVulnsCounter.increment(bovBatch.size());
                     bovBatch.clear();
                 }
             }
 
             LOGGER.info(
-                    "Completed mirror; processed {} vulnerabilities in {}",
+                    "Completed mirror; processed {} vulnerabilities in {} ({} vulns/sec)",
                     vulnsProcessed,
-                    Duration.ofNanos(System.nanoTime() - startTimeNs));
+                    Duration.ofNanos(System.nanoTime() - startTimeNs),
+                    getThroughput(vulnsProcessed, startTimeNs));
         }
 
         return null;
     }
 
-    private static void processBatch(
+    private void processBatch(
             VulnDataSource dataSource,
             Collection<Bom> bovs,
             Vulnerability.Source source,
@@ -190,6 +242,15 @@ public final class MirrorVulnDataSourceActivity implements Activity<MirrorVulnDa
             aliasesByVuln.put(vulnKey, aliasKeys);
         }
 
+        if (bulkSyncEnabled) {
+            syncBatchInBulk(vulns, vsListByVulnId, aliasesByVuln, source, dataSourceName, updatePolicy);
+            for (final Bom bov : bovs) {
+                dataSource.markProcessed(bov);
+            }
+
+            return;
+        }
+
         try (final var qm = new QueryManager()) {
             // Disable managed relationships to avoid excessive N+1 queries during VulnerableSoftware synchronization.
             //
@@ -234,6 +295,62 @@ public final class MirrorVulnDataSourceActivity implements Activity<MirrorVulnDa
         }
     }
 
+    private static void syncBatchInBulk(
+            List<Vulnerability> vulns,
+            Map<String, List<VulnerableSoftware>> vsListByVulnId,
+            Map<VulnerabilityKey, Set<VulnerabilityKey>> aliasesByVuln,
+            Vulnerability.Source source,
+            String dataSourceName,
+            VulnerabilityUpdatePolicy updatePolicy) {
+        // Data sources may emit the same vulnerability more than once.
+        // Like the one-by-one synchronization, the last occurrence wins.
+        final var vulnByKey = new LinkedHashMap<VulnerabilityKey, Vulnerability>(vulns.size());
+        for (final Vulnerability vuln : vulns) {
+            vulnByKey.put(VulnerabilityKey.of(vuln), vuln);
+        }
+
+        useJdbiTransaction(handle -> {
+            final var dao = new VulnerabilityMirrorDao(handle);
+
+            final Map<VulnerabilityKey, Long> existingVulnDbIdByKey = dao.getIds(vulnByKey.keySet());
+
+            final var vulnsToSync = new ArrayList<Vulnerability>(vulnByKey.size());
+            for (final var entry : vulnByKey.entrySet()) {
+                final Vulnerability vuln = entry.getValue();
+                if (!updatePolicy.isUpdatableByDataSource(
+                        vuln.getSource(), dataSourceName, existingVulnDbIdByKey.containsKey(entry.getKey()))) {
+                    LOGGER.debug(
+                            "Skipping vulnerability {} from source {}: authoritative source is enabled",
+                            vuln.getVulnId(), vuln.getSource());
+                    continue;
+                }
+
+                vulnsToSync.add(vuln);
+            }
+
+            final Map<VulnerabilityKey, Long> vulnDbIdByKey = dao.upsertAll(vulnsToSync);
+
+            final var vsListByVulnDbId = new LinkedHashMap<Long, List<VulnerableSoftware>>(vulnsToSync.size());
+            for (final Vulnerability vuln : vulnsToSync) {
+                vsListByVulnDbId.put(
+                        vulnDbIdByKey.get(VulnerabilityKey.of(vuln)),
+                        vsListByVulnId.getOrDefault(vuln.getVulnId(), List.of()));
+            }
+
+            dao.syncVulnerableSoftware(vsListByVulnDbId, source);
+
+            if (!aliasesByVuln.isEmpty()) {
+                new VulnerabilityAliasDao(handle)
+                        .syncAssertions("vuln-data-source:" + dataSourceName, aliasesByVuln);
+            }
+        });
+    }
+
+    private static long getThroughput(int vulnsProcessed, long startTimeNs) {
+        final long elapsedMillis = Duration.ofNanos(System.nanoTime() - startTimeNs).toMillis();
+        return elapsedMillis > 0 ? vulnsProcessed * 1000L / elapsedMillis : vulnsProcessed;
+    }
+
     private static @Nullable Vulnerability getExistingVuln(
             QueryManager qm,
             String source,
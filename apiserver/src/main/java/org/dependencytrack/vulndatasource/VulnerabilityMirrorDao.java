@@ -0,0 +1,1189 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.vulndatasource;
+
+import org.dependencytrack.model.AffectedVersionAttribution;
+import org.dependencytrack.model.Vulnerability;
+import org.dependencytrack.model.VulnerabilityKey;
+import org.dependencytrack.model.VulnerableSoftware;
+import org.dependencytrack.persistence.CollectionIntegerConverter;
+import org.dependencytrack.persistence.jdbi.mapping.VulnerableSoftwareRowMapper;
+import org.jdbi.v3.core.Handle;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Synchronizes mirrored vulnerabilities, and the software they affect, with the database.
+ * <p>
+ * Behaves like synchronizing vulnerabilities one by one via {@code QueryManager#createVulnerability},
+ * {@code QueryManager#updateVulnerability}, and {@code QueryManager#synchronizeVulnerableSoftware},
+ * but issues a fixed number of set-based statements per batch, instead of multiple queries per vulnerability.
+ *
+ * @since 5.1.0
+ */
+final class VulnerabilityMirrorDao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VulnerabilityMirrorDao.class);
+
+    private final Handle handle;
+
+    VulnerabilityMirrorDao(Handle handle) {
+        this.handle = handle;
+    }
+
+    private record Association(long vulnDbId, long vsDbId) {
+    }
+
+    /**
+     * Attributes by which existing {@link VulnerableSoftware} records are looked up
+     * for newly reported ones. Records with a CPE are looked up by CPE and version range,
+     * all others by PURL coordinates, version, and version range.
+     */
+    private record VsLookupKey(
+            @Nullable String cpe23,
+            @Nullable String purlType,
+            @Nullable String purlNamespace,
+            @Nullable String purlName,
+            @Nullable String purlQualifiers,
+            @Nullable String purlSubpath,
+            @Nullable String version,
+            @Nullable String versionEndExcluding,
+            @Nullable String versionEndIncluding,
+            @Nullable String versionStartExcluding,
+            @Nullable String versionStartIncluding) {
+
+        private static VsLookupKey of(VulnerableSoftware vs) {
+            if (vs.getCpe23() != null) {
+                return new VsLookupKey(
+                        vs.getCpe23(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        vs.getVersionEndExcluding(),
+                        vs.getVersionEndIncluding(),
+                        vs.getVersionStartExcluding(),
+                        vs.getVersionStartIncluding());
+            } else if (vs.getPurl() != null) {
+                return new VsLookupKey(
+                        null,
+                        vs.getPurlType(),
+                        vs.getPurlNamespace(),
+                        vs.getPurlName(),
+                        vs.getPurlQualifiers(),
+                        vs.getPurlSubpath(),
+                        vs.getVersion(),
+                        vs.getVersionEndExcluding(),
+                        vs.getVersionEndIncluding(),
+                        vs.getVersionStartExcluding(),
+                        vs.getVersionStartIncluding());
+            }
+
+            throw new IllegalStateException(
+                    "VulnerableSoftware must define a CPE or PURL, but %s has neither".formatted(vs));
+        }
+
+    }
+
+    /**
+     * Resolve the database IDs of existing vulnerabilities.
+     *
+     * @param vulnKeys Keys of the vulnerabilities to resolve.
+     * @return Database IDs of all vulnerabilities in {@code vulnKeys} that exist.
+     */
+    Map<VulnerabilityKey, Long> getIds(Collection<VulnerabilityKey> vulnKeys) {
+        if (vulnKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        final var vulnIds = new String[vulnKeys.size()];
+        final var sources = new String[vulnKeys.size()];
+
+        int i = 0;
+        for (final VulnerabilityKey vulnKey : vulnKeys) {
+            vulnIds[i] = vulnKey.vulnId();
+            sources[i] = vulnKey.source().name();
+            i++;
+        }
+
+        return handle
+                .createQuery(/* language=SQL */ """
+                        SELECT v."ID"
+                             , v."VULNID"
+                             , v."SOURCE"
+                          FROM UNNEST(:vulnIds, :sources) AS t(vuln_id, source)
+                         INNER JOIN "VULNERABILITY" AS v
+                            ON v."VULNID" = t.vuln_id
+                           AND v."SOURCE" = t.source
+                        """)
+                .bind("vulnIds", vulnIds)
+                .bind("sources", sources)
+                .map((rs, ctx) -> Map.entry(
+                        new VulnerabilityKey(rs.getString("VULNID"), rs.getString("SOURCE")),
+                        rs.getLong("ID")))
+                .collectToMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Create or update vulnerabilities.
+     * <p>
+     * Existing vulnerabilities are only updated when any of their fields changed.
+     * Relationships of vulnerabilities are not modified.
+     *
+     * @param vulns The {@link Vulnerability}s to create or update. Must not contain duplicates.
+     * @return Database IDs of all {@code vulns}.
+     */
+    Map<VulnerabilityKey, Long> upsertAll(Collection<Vulnerability> vulns) {
+        if (vulns.isEmpty()) {
+            return Map.of();
+        }
+
+        final var cweConverter = new CollectionIntegerConverter();
+
+        final int vulnsCount = vulns.size();
+        final var vulnIds = new String[vulnsCount];
+        final var sources = new String[vulnsCount];
+        final var friendlyVulnIds = new String[vulnsCount];
+        final var titles = new String[vulnsCount];
+        final var subTitles = new String[vulnsCount];
+        final var descriptions = new String[vulnsCount];
+        final var details = new String[vulnsCount];
+        final var recommendations = new String[vulnsCount];
+        final var references = new String[vulnsCount];
+        final var credits = new String[vulnsCount];
+        final var createdArray = new Date[vulnsCount];
+        final var publishedArray = new Date[vulnsCount];
+        final var updatedArray = new Date[vulnsCount];
+        final var rejectedArray = new Date[vulnsCount];
+        final var cwesArray = new String[vulnsCount];
+        final var cvssV2BaseScores = new Double[vulnsCount];
+        final var cvssV2ImpactSubScores = new Double[vulnsCount];
+        final var cvssV2ExploitabilitySubScores = new Double[vulnsCount];
+        final var cvssV2Vectors = new String[vulnsCount];
+        final var cvssV3BaseScores = new Double[vulnsCount];
+        final var cvssV3ImpactSubScores = new Double[vulnsCount];
+        final var cvssV3ExploitabilitySubScores = new Double[vulnsCount];
+        final var cvssV3Vectors = new String[vulnsCount];
+        final var cvssV4Scores = new Double[vulnsCount];
+        final var cvssV4Vectors = new String[vulnsCount];
+        final var owaspRRLikelihoodScores = new Double[vulnsCount];
+        final var owaspRRTechnicalImpactScores = new Double[vulnsCount];
+        final var owaspRRBusinessImpactScores = new Double[vulnsCount];
+        final var owaspRRVectors = new String[vulnsCount];
+        final var severities = new String[vulnsCount];
+        final var vulnerableVersions = new String[vulnsCount];
+        final var patchedVersions = new String[vulnsCount];
+
+        int i = 0;
+        for (final Vulnerability vuln : vulns) {
+            vulnIds[i] = vuln.getVulnId();
+            sources[i] = vuln.getSource();
+            friendlyVulnIds[i] = vuln.getFriendlyVulnId();
+            titles[i] = vuln.getTitle();
+            subTitles[i] = vuln.getSubTitle();
+            descriptions[i] = vuln.getDescription();
+            details[i] = vuln.getDetail();
+            recommendations[i] = vuln.getRecommendation();
+            references[i] = vuln.getReferences();
+            credits[i] = vuln.getCredits();
+            createdArray[i] = vuln.getCreated();
+            publishedArray[i] = vuln.getPublished();
+            updatedArray[i] = vuln.getUpdated();
+            rejectedArray[i] = vuln.getRejected();
+            cwesArray[i] = cweConverter.convertToDatastore(vuln.getCwes());
+            cvssV2BaseScores[i] = toDouble(vuln.getCvssV2BaseScore());
+            cvssV2ImpactSubScores[i] = toDouble(vuln.getCvssV2ImpactSubScore());
+            cvssV2ExploitabilitySubScores[i] = toDouble(vuln.getCvssV2ExploitabilitySubScore());
+            cvssV2Vectors[i] = vuln.getCvssV2Vector();
+            cvssV3BaseScores[i] = toDouble(vuln.getCvssV3BaseScore());
+            cvssV3ImpactSubScores[i] = toDouble(vuln.getCvssV3ImpactSubScore());
+            cvssV3ExploitabilitySubScores[i] = toDouble(vuln.getCvssV3ExploitabilitySubScore());
+            cvssV3Vectors[i] = vuln.getCvssV3Vector();
+            cvssV4Scores[i] = toDouble(vuln.getCvssV4Score());
+            cvssV4Vectors[i] = vuln.getCvssV4Vector();
+            owaspRRLikelihoodScores[i] = toDouble(vuln.getOwaspRRLikelihoodScore());
+            owaspRRTechnicalImpactScores[i] = toDouble(vuln.getOwaspRRTechnicalImpactScore());
+            owaspRRBusinessImpactScores[i] = toDouble(vuln.getOwaspRRBusinessImpactScore());
+            owaspRRVectors[i] = vuln.getOwaspRRVector();
+            severities[i] = vuln.getSeverity() != null
+                    ? vuln.getSeverity().name()
+                    : null;
+            vulnerableVersions[i] = vuln.getVulnerableVersions();
+            patchedVersions[i] = vuln.getPatchedVersions();
+            i++;
+        }
+
+        return handle
+                .createQuery(/* language=SQL */ """
+                        WITH
+                        cte_input AS (
+                          SELECT *
+                            FROM UNNEST (
+                              :vulnIds
+                            , :sources
+                            , :friendlyVulnIds
+                            , :titles
+                            , :subTitles
+                            , :descriptions
+                            , :details
+                            , :recommendations
+                            , :references
+                            , :credits
+                            , :createdArray
+                            , :publishedArray
+                            , :updatedArray
+                            , :rejectedArray
+                            , :cwesArray
+                            , :cvssV2BaseScores
+                            , :cvssV2ImpactSubScores
+                            , :cvssV2ExploitabilitySubScores
+                            , :cvssV2Vectors
+                            , :cvssV3BaseScores
+                            , :cvssV3ImpactSubScores
+                            , :cvssV3ExploitabilitySubScores
+                            , :cvssV3Vectors
+                            , :cvssV4Scores
+                            , :cvssV4Vectors
+                            , :owaspRRLikelihoodScores
+                            , :owaspRRTechnicalImpactScores
+                            , :owaspRRBusinessImpactScores
+                            , :owaspRRVectors
+                            , :severities
+                            , :vulnerableVersions
+                            , :patchedVersions
+                            ) AS t (
+                              vuln_id
+                            , source
+                            , friendly_vuln_id
+                            , title
+                            , sub_title
+                            , description
+                            , detail
+                            , recommendation
+                            , "references"
+                            , credits
+                            , created
+                            , published
+                            , updated
+                            , rejected
+                            , cwes
+                            , cvss_v2_base_score
+                            , cvss_v2_impact_sub_score
+                            , cvss_v2_exploitability_sub_score
+                            , cvss_v2_vector
+                            , cvss_v3_base_score
+                            , cvss_v3_impact_sub_score
+                            , cvss_v3_exploitability_sub_score
+                            , cvss_v3_vector
+                            , cvss_v4_score
+                            , cvss_v4_vector
+                            , owasp_rr_likelihood_score
+                            , owasp_rr_technical_impact_score
+                            , owasp_rr_business_impact_score
+                            , owasp_rr_vector
+                            , "severity"
+                            , vulnerable_versions
+                            , patched_versions
+                            )
+                        ),
+                        cte_modified AS (
+                          INSERT INTO "VULNERABILITY" AS v (
+                            "VULNID"
+                          , "SOURCE"
+                          , "FRIENDLYVULNID"
+                          , "TITLE"
+                          , "SUBTITLE"
+                          , "DESCRIPTION"
+                          , "DETAIL"
+                          , "RECOMMENDATION"
+                          , "REFERENCES"
+                          , "CREDITS"
+                          , "CREATED"
+                          , "PUBLISHED"
+                          , "UPDATED"
+                          , "REJECTED"
+                          , "CWES"
+                          , "CVSSV2BASESCORE"
+                          , "CVSSV2IMPACTSCORE"
+                          , "CVSSV2EXPLOITSCORE"
+                          , "CVSSV2VECTOR"
+                          , "CVSSV3BASESCORE"
+                          , "CVSSV3IMPACTSCORE"
+                          , "CVSSV3EXPLOITSCORE"
+                          , "CVSSV3VECTOR"
+                          , "CVSSV4SCORE"
+                          , "CVSSV4VECTOR"
+                          , "OWASPRRLIKELIHOODSCORE"
+                          , "OWASPRRTECHNICALIMPACTSCORE"
+                          , "OWASPRRBUSINESSIMPACTSCORE"
+                          , "OWASPRRVECTOR"
+                          , "SEVERITY"
+                          , "VULNERABLEVERSIONS"
+                          , "PATCHEDVERSIONS"
+                          , "UUID"
+                          )
+                          SELECT vuln_id
+                               , source
+                               , friendly_vuln_id
+                               , title
+                               , sub_title
+                               , description
+                               , detail
+                               , recommendation
+                               , "references"
+                               , credits
+                               , created
+                               , published
+                               , updated
+                               , rejected
+                               , cwes
+                               , cvss_v2_base_score
+                               , cvss_v2_impact_sub_score
+                               , cvss_v2_exploitability_sub_score
+                               , cvss_v2_vector
+                               , cvss_v3_base_score
+                               , cvss_v3_impact_sub_score
+                               , cvss_v3_exploitability_sub_score
+                               , cvss_v3_vector
+                               , cvss_v4_score
+                               , cvss_v4_vector
+                               , owasp_rr_likelihood_score
+                               , owasp_rr_technical_impact_score
+                               , owasp_rr_business_impact_score
+                               , owasp_rr_vector
+                               , CAST("severity" AS severity)
+                               , vulnerable_versions
+                               , patched_versions
+                               , GEN_RANDOM_UUID()
+                            FROM cte_input
+                           -- Acquire row locks in a consistent order to prevent deadlocks.
+                           ORDER BY vuln_id
+                                  , source
+                          ON CONFLICT ("VULNID", "SOURCE") DO UPDATE
+                          SET "FRIENDLYVULNID" = EXCLUDED."FRIENDLYVULNID"
+                            , "TITLE" = EXCLUDED."TITLE"
+                            , "SUBTITLE" = EXCLUDED."SUBTITLE"
+                            , "DESCRIPTION" = EXCLUDED."DESCRIPTION"
+                            , "DETAIL" = EXCLUDED."DETAIL"
+                            , "RECOMMENDATION" = EXCLUDED."RECOMMENDATION"
+                            , "REFERENCES" = EXCLUDED."REFERENCES"
+                            , "CREDITS" = EXCLUDED."CREDITS"
+                            , "CREATED" = EXCLUDED."CREATED"
+                            , "PUBLISHED" = EXCLUDED."PUBLISHED"
+                            , "UPDATED" = EXCLUDED."UPDATED"
+                            , "REJECTED" = EXCLUDED."REJECTED"
+                            , "CWES" = EXCLUDED."CWES"
+                            , "CVSSV2BASESCORE" = EXCLUDED."CVSSV2BASESCORE"
+                            , "CVSSV2IMPACTSCORE" = EXCLUDED."CVSSV2IMPACTSCORE"
+                            , "CVSSV2EXPLOITSCORE" = EXCLUDED."CVSSV2EXPLOITSCORE"
+                            , "CVSSV2VECTOR" = EXCLUDED."CVSSV2VECTOR"
+                            , "CVSSV3BASESCORE" = EXCLUDED."CVSSV3BASESCORE"
+                            , "CVSSV3IMPACTSCORE" = EXCLUDED."CVSSV3IMPACTSCORE"
+                            , "CVSSV3EXPLOITSCORE" = EXCLUDED."CVSSV3EXPLOITSCORE"
+                            , "CVSSV3VECTOR" = EXCLUDED."CVSSV3VECTOR"
+                            , "CVSSV4SCORE" = EXCLUDED."CVSSV4SCORE"
+                            , "CVSSV4VECTOR" = EXCLUDED."CVSSV4VECTOR"
+                            , "OWASPRRLIKELIHOODSCORE" = EXCLUDED."OWASPRRLIKELIHOODSCORE"
+                            , "OWASPRRTECHNICALIMPACTSCORE" = EXCLUDED."OWASPRRTECHNICALIMPACTSCORE"
+                            , "OWASPRRBUSINESSIMPACTSCORE" = EXCLUDED."OWASPRRBUSINESSIMPACTSCORE"
+                            , "OWASPRRVECTOR" = EXCLUDED."OWASPRRVECTOR"
+                            , "SEVERITY" = EXCLUDED."SEVERITY"
+                            , "VULNERABLEVERSIONS" = EXCLUDED."VULNERABLEVERSIONS"
+                            , "PATCHEDVERSIONS" = EXCLUDED."PATCHEDVERSIONS"
+                          -- Only update when any field changed.
+                          WHERE (
+                                  v."FRIENDLYVULNID"
+                                , v."TITLE"
+                                , v."SUBTITLE"
+                                , v."DESCRIPTION"
+                                , v."DETAIL"
+                                , v."RECOMMENDATION"
+                                , v."REFERENCES"
+                                , v."CREDITS"
+                                , v."CREATED"
+                                , v."PUBLISHED"
+                                , v."UPDATED"
+                                , v."REJECTED"
+                                , v."CWES"
+                                , v."CVSSV2BASESCORE"
+                                , v."CVSSV2IMPACTSCORE"
+                                , v."CVSSV2EXPLOITSCORE"
+                                , v."CVSSV2VECTOR"
+                                , v."CVSSV3BASESCORE"
+                                , v."CVSSV3IMPACTSCORE"
+                                , v."CVSSV3EXPLOITSCORE"
+                                , v."CVSSV3VECTOR"
+                                , v."CVSSV4SCORE"
+                                , v."CVSSV4VECTOR"
+                                , v."OWASPRRLIKELIHOODSCORE"
+                                , v."OWASPRRTECHNICALIMPACTSCORE"
+                                , v."OWASPRRBUSINESSIMPACTSCORE"
+                                , v."OWASPRRVECTOR"
+                                , v."SEVERITY"
+                                , v."VULNERABLEVERSIONS"
+                                , v."PATCHEDVERSIONS"
+                                ) IS DISTINCT FROM (
+                                  EXCLUDED."FRIENDLYVULNID"
+                                , EXCLUDED."TITLE"
+                                , EXCLUDED."SUBTITLE"
+                                , EXCLUDED."DESCRIPTION"
+                                , EXCLUDED."DETAIL"
+                                , EXCLUDED."RECOMMENDATION"
+                                , EXCLUDED."REFERENCES"
+                                , EXCLUDED."CREDITS"
+                                , EXCLUDED."CREATED"
+                                , EXCLUDED."PUBLISHED"
+                                , EXCLUDED."UPDATED"
+                                , EXCLUDED."REJECTED"
+                                , EXCLUDED."CWES"
+                                , EXCLUDED."CVSSV2BASESCORE"
+                                , EXCLUDED."CVSSV2IMPACTSCORE"
+                                , EXCLUDED."CVSSV2EXPLOITSCORE"
+                                , EXCLUDED."CVSSV2VECTOR"
+                                , EXCLUDED."CVSSV3BASESCORE"
+                                , EXCLUDED."CVSSV3IMPACTSCORE"
+                                , EXCLUDED."CVSSV3EXPLOITSCORE"
+                                , EXCLUDED."CVSSV3VECTOR"
+                                , EXCLUDED."CVSSV4SCORE"
+                                , EXCLUDED."CVSSV4VECTOR"
+                                , EXCLUDED."OWASPRRLIKELIHOODSCORE"
+                                , EXCLUDED."OWASPRRTECHNICALIMPACTSCORE"
+                                , EXCLUDED."OWASPRRBUSINESSIMPACTSCORE"
+                                , EXCLUDED."OWASPRRVECTOR"
+                                , EXCLUDED."SEVERITY"
+                                , EXCLUDED."VULNERABLEVERSIONS"
+                                , EXCLUDED."PATCHEDVERSIONS"
+                                )
+                          RETURNING "VULNID"
+                                  , "SOURCE"
+                                  , "ID"
+                        )
+                        SELECT "VULNID"
+                             , "SOURCE"
+                             , "ID"
+                          FROM cte_modified
+                         UNION ALL
+                        SELECT v."VULNID"
+                             , v."SOURCE"
+                             , v."ID"
+                          FROM "VULNERABILITY" AS v
+                         INNER JOIN cte_input AS i
+                            ON i.vuln_id = v."VULNID"
+                           AND i.source = v."SOURCE"
+                         WHERE NOT EXISTS (
+                                 SELECT 1
+                                   FROM cte_modified AS m
+                                  WHERE m."VULNID" = i.vuln_id
+                                    AND m."SOURCE" = i.source
+                               )
+                        """)
+                .bind("vulnIds", vulnIds)
+                .bind("sources", sources)
+                .bind("friendlyVulnIds", friendlyVulnIds)
+                .bind("titles", titles)
+                .bind("subTitles", subTitles)
+                .bind("descriptions", descriptions)
+                .bind("details", details)
+                .bind("recommendations", recommendations)
+                .bind("references", references)
+                .bind("credits", credits)
+                .bind("createdArray", createdArray)
+                .bind("publishedArray", publishedArray)
+                .bind("updatedArray", updatedArray)
+                .bind("rejectedArray", rejectedArray)
+                .bind("cwesArray", cwesArray)
+                .bind("cvssV2BaseScores", cvssV2BaseScores)
+                .bind("cvssV2ImpactSubScores", cvssV2ImpactSubScores)
+                .bind("cvssV2ExploitabilitySubScores", cvssV2ExploitabilitySubScores)
+                .bind("cvssV2Vectors", cvssV2Vectors)
+                .bind("cvssV3BaseScores", cvssV3BaseScores)
+                .bind("cvssV3ImpactSubScores", cvssV3ImpactSubScores)
+                .bind("cvssV3ExploitabilitySubScores", cvssV3ExploitabilitySubScores)
+                .bind("cvssV3Vectors", cvssV3Vectors)
+                .bind("cvssV4Scores", cvssV4Scores)
+                .bind("cvssV4Vectors", cvssV4Vectors)
+                .bind("owaspRRLikelihoodScores", owaspRRLikelihoodScores)
+                .bind("owaspRRTechnicalImpactScores", owaspRRTechnicalImpactScores)
+                .bind("owaspRRBusinessImpactScores", owaspRRBusinessImpactScores)
+                .bind("owaspRRVectors", owaspRRVectors)
+                .bind("severities", severities)
+                .bind("vulnerableVersions", vulnerableVersions)
+                .bind("patchedVersions", patchedVersions)
+                .map((rs, ctx) -> Map.entry(
+                        new VulnerabilityKey(rs.getString("VULNID"), rs.getString("SOURCE")),
+                        rs.getLong("ID")))
+                .collectToMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Synchronize the {@link VulnerableSoftware} reported by a source for multiple vulnerabilities.
+     * <p>
+     * Records that are no longer reported by the source are detached from the vulnerability,
+     * unless only other sources reported them. Newly reported records are attached, re-using
+     * existing records where possible. All records reported by the source are attributed to it.
+     *
+     * @param reportedVsListByVulnDbId The {@link VulnerableSoftware}s reported, keyed by database ID
+     *                                 of the vulnerability they were reported for.
+     * @param source                   The source reporting the {@link VulnerableSoftware}s.
+     */
+    void syncVulnerableSoftware(
+            Map<Long, List<VulnerableSoftware>> reportedVsListByVulnDbId,
+            Vulnerability.Source source) {
+        if (reportedVsListByVulnDbId.isEmpty()) {
+            return;
+        }
+
+        final Map<Long, Collection<VulnerableSoftware>> currentVsListByVulnDbId =
+                getCurrentVulnerableSoftware(reportedVsListByVulnDbId.keySet());
+
+        final var associationsToDelete = new ArrayList<Association>();
+        final var attributionsToDelete = new ArrayList<Association>();
+        final var attributionsToCreate = new LinkedHashSet<Association>();
+        final var unmatchedVsListByVulnDbId = new LinkedHashMap<Long, List<VulnerableSoftware>>();
+
+        for (final var entry : reportedVsListByVulnDbId.entrySet()) {
+            final long vulnDbId = entry.getKey();
+            final var unmatchedVsList = new ArrayList<>(entry.getValue());
+
+            for (final VulnerableSoftware currentVs : currentVsListByVulnDbId.getOrDefault(vulnDbId, List.of())) {
+                final var association = new Association(vulnDbId, currentVs.getId());
+                final List<AffectedVersionAttribution> attributions = currentVs.getAffectedVersionAttributions();
+                final boolean isAttributedToSource = attributions != null
+                        && attributions.stream().anyMatch(attribution -> attribution.getSource() == source);
+
+                if (unmatchedVsList.removeIf(currentVs::equalsIgnoringDatastoreIdentity)) {
+                    // Still reported by the source. It may have been reported
+                    // by other sources so far, in which case it needs an attribution.
+                    if (!isAttributedToSource) {
+                        attributionsToCreate.add(association);
+                    }
+                } else if (attributions == null || attributions.isEmpty()) {
+                    // Versions prior to 4.7.0 did not record attributions. If the record
+                    // was reported by another source, it will be attached and attributed
+                    // again whenever that source is mirrored.
+                    associationsToDelete.add(association);
+                } else if (isAttributedToSource) {
+                    associationsToDelete.add(association);
+                    attributionsToDelete.add(association);
+                }
+            }
+
+            if (!unmatchedVsList.isEmpty()) {
+                unmatchedVsListByVulnDbId.put(vulnDbId, unmatchedVsList);
+            }
+        }
+
+        // Detach first, such that records that are detached and re-attached
+        // in the same batch end up attached.
+        deleteAttributions(attributionsToDelete, source);
+        deleteAssociations(associationsToDelete);
+
+        final var vsByLookupKey = new LinkedHashMap<VsLookupKey, VulnerableSoftware>();
+        for (final List<VulnerableSoftware> unmatchedVsList : unmatchedVsListByVulnDbId.values()) {
+            for (final VulnerableSoftware vs : unmatchedVsList) {
+                vsByLookupKey.putIfAbsent(VsLookupKey.of(vs), vs);
+            }
+        }
+
+        final Map<VsLookupKey, Long> existingVsDbIdByLookupKey = getVulnerableSoftwareIds(vsByLookupKey.keySet());
+
+        final var vsToCreateByLookupKey = new LinkedHashMap<>(vsByLookupKey);
+        vsToCreateByLookupKey.keySet().removeAll(existingVsDbIdByLookupKey.keySet());
+        final Map<VsLookupKey, Long> createdVsDbIdByLookupKey = createVulnerableSoftware(vsToCreateByLookupKey);
+
+        final var associationsToCreate = new LinkedHashSet<Association>();
+        final var attributionsToRefresh = new LinkedHashSet<Association>();
+        for (final var entry : unmatchedVsListByVulnDbId.entrySet()) {
+            final long vulnDbId = entry.getKey();
+
+            for (final VulnerableSoftware vs : entry.getValue()) {
+                final VsLookupKey lookupKey = VsLookupKey.of(vs);
+
+                final Long existingVsDbId = existingVsDbIdByLookupKey.get(lookupKey);
+                final var association = existingVsDbId != null
+                        ? new Association(vulnDbId, existingVsDbId)
+                        : new Association(vulnDbId, createdVsDbIdByLookupKey.get(lookupKey));
+
+                associationsToCreate.add(association);
+                attributionsToCreate.add(association);
+                if (existingVsDbId != null) {
+                    // The source may have reported this record for the vulnerability before,
+                    // without it being attached anymore. Re-use the dangling attribution.
+                    attributionsToRefresh.add(association);
+                }
+            }
+        }
+
+        refreshAttributions(attributionsToRefresh, source);
+        createAttributions(attributionsToCreate, source);
+        createAssociations(associationsToCreate);
+
+        LOGGER.debug(
+                "Attached {} and detached {} vulnerable software records; Created {} new records",
+                associationsToCreate.size(),
+                associationsToDelete.size(),
+                createdVsDbIdByLookupKey.size());
+    }
+
+    private Map<Long, Collection<VulnerableSoftware>> getCurrentVulnerableSoftware(Collection<Long> vulnDbIds) {
+        final var vsRowMapper = new VulnerableSoftwareRowMapper();
+
+        // NB: The join table has no unique constraint, so the same record
+        // may be attached to a vulnerability multiple times. Deduplicate by ID.
+        final var vsByIdByVulnDbId = new HashMap<Long, Map<Long, VulnerableSoftware>>();
+        handle
+                .createQuery(/* language=SQL */ """
+                        SELECT vsv."VULNERABILITY_ID"
+                             , vs."ID"
+                             , vs."PURL"
+                             , vs."PURL_TYPE"
+                             , vs."PURL_NAMESPACE"
+                             , vs."PURL_NAME"
+                             , vs."PURL_VERSION"
+                             , vs."PURL_QUALIFIERS"
+                             , vs."PURL_SUBPATH"
+                             , vs."CPE22"
+                             , vs."CPE23"
+                             , vs."PART"
+                             , vs."VENDOR"
+                             , vs."PRODUCT"
+                             , vs."VERSION"
+                             , vs."UPDATE"
+                             , vs."EDITION"
+                             , vs."LANGUAGE"
+                             , vs."SWEDITION"
+                             , vs."TARGETSW"
+                             , vs."TARGETHW"
+                             , vs."OTHER"
+                             , vs."VERSIONENDEXCLUDING"
+                             , vs."VERSIONENDINCLUDING"
+                             , vs."VERSIONSTARTEXCLUDING"
+                             , vs."VERSIONSTARTINCLUDING"
+                             , vs."VULNERABLE"
+                             , vs."UUID"
+                             , (SELECT JSONB_AGG(JSONB_BUILD_OBJECT(
+                                         'firstSeen', CAST(EXTRACT(EPOCH FROM ava."FIRST_SEEN") * 1000 AS BIGINT)
+                                       , 'lastSeen', CAST(EXTRACT(EPOCH FROM ava."LAST_SEEN") * 1000 AS BIGINT)
+                                       , 'source', ava."SOURCE"))
+                                  FROM "AFFECTEDVERSIONATTRIBUTION" AS ava
+                                 WHERE ava."VULNERABILITY" = vsv."VULNERABILITY_ID"
+                                   AND ava."VULNERABLE_SOFTWARE" = vsv."VULNERABLESOFTWARE_ID"
+                               ) AS "attributionsJson"
+                          FROM "VULNERABLESOFTWARE_VULNERABILITIES" AS vsv
+                         INNER JOIN "VULNERABLESOFTWARE" AS vs
+                            ON vs."ID" = vsv."VULNERABLESOFTWARE_ID"
+                         WHERE vsv."VULNERABILITY_ID" = ANY(:vulnDbIds)
+                        """)
+                .bindArray("vulnDbIds", Long.class, vulnDbIds)
+                .map((rs, ctx) -> Map.entry(rs.getLong("VULNERABILITY_ID"), vsRowMapper.map(rs, ctx)))
+                .forEach(entry -> vsByIdByVulnDbId
+                        .computeIfAbsent(entry.getKey(), ignored -> new LinkedHashMap<>())
+                        .putIfAbsent(entry.getValue().getId(), entry.getValue()));
+
+        final var vsListByVulnDbId = new HashMap<Long, Collection<VulnerableSoftware>>(vsByIdByVulnDbId.size());
+        vsByIdByVulnDbId.forEach((vulnDbId, vsById) -> vsListByVulnDbId.put(vulnDbId, vsById.values()));
+        return vsListByVulnDbId;
+    }
+
+    private Map<VsLookupKey, Long> getVulnerableSoftwareIds(Collection<VsLookupKey> lookupKeys) {
+        if (lookupKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        final var lookupKeysList = List.copyOf(lookupKeys);
+        final int count = lookupKeysList.size();
+        final var indexes = new int[count];
+        final var cpe23s = new String[count];
+        final var purlTypes = new String[count];
+        final var purlNamespaces = new String[count];
+        final var purlNames = new String[count];
+        final var purlQualifiers = new String[count];
+        final var purlSubpaths = new String[count];
+        final var versions = new String[count];
+        final var versionEndExcludings = new String[count];
+        final var versionEndIncludings = new String[count];
+        final var versionStartExcludings = new String[count];
+        final var versionStartIncludings = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            final VsLookupKey lookupKey = lookupKeysList.get(i);
+            indexes[i] = i;
+            cpe23s[i] = lookupKey.cpe23();
+            purlTypes[i] = lookupKey.purlType();
+            purlNamespaces[i] = lookupKey.purlNamespace();
+            purlNames[i] = lookupKey.purlName();
+            purlQualifiers[i] = lookupKey.purlQualifiers();
+            purlSubpaths[i] = lookupKey.purlSubpath();
+            versions[i] = lookupKey.version();
+            versionEndExcludings[i] = lookupKey.versionEndExcluding();
+            versionEndIncludings[i] = lookupKey.versionEndIncluding();
+            versionStartExcludings[i] = lookupKey.versionStartExcluding();
+            versionStartIncludings[i] = lookupKey.versionStartIncluding();
+        }
+
+        // NB: Each branch of the OR condition is written such that it can be
+        // served by an index, which IS NOT DISTINCT FROM comparisons can't.
+        final var results = new HashMap<VsLookupKey, Long>(count);
+        handle
+                .createQuery(/* language=SQL */ """
+                        SELECT t.idx
+                             , (
+                                 SELECT MIN(vs."ID")
+                                   FROM "VULNERABLESOFTWARE" AS vs
+                                  WHERE (
+                                          (t.cpe23 IS NOT NULL
+                                            AND vs."CPE23" = t.cpe23)
+                                          OR (t.cpe23 IS NULL
+                                            AND vs."PURL_TYPE" = t.purl_type
+                                            AND vs."PURL_NAMESPACE" = t.purl_namespace
+                                            AND vs."PURL_NAME" = t.purl_name)
+                                          OR (t.cpe23 IS NULL
+                                            AND t.purl_namespace IS NULL
+                                            AND vs."PURL_TYPE" = t.purl_type
+                                            AND vs."PURL_NAMESPACE" IS NULL
+                                            AND vs."PURL_NAME" = t.purl_name)
+                                        )
+                                    AND (
+                                          t.cpe23 IS NOT NULL
+                                          OR (vs."PURL_QUALIFIERS", vs."PURL_SUBPATH", vs."VERSION")
+                                             IS NOT DISTINCT FROM (t.purl_qualifiers, t.purl_subpath, t.version)
+                                        )
+                                    AND (
+                                          vs."VERSIONENDEXCLUDING"
+                                        , vs."VERSIONENDINCLUDING"
+                                        , vs."VERSIONSTARTEXCLUDING"
+                                        , vs."VERSIONSTARTINCLUDING"
+                                        ) IS NOT DISTINCT FROM (
+                                          t.version_end_excluding
+                                        , t.version_end_including
+                                        , t.version_start_excluding
+                                        , t.version_start_including
+                                        )
+                               ) AS vs_id
+                          FROM UNNEST (
+                                 :indexes
+                               , :cpe23s
+                               , :purlTypes
+                               , :purlNamespaces
+                               , :purlNames
+                               , :purlQualifiers
+                               , :purlSubpaths
+                               , :versions
+                               , :versionEndExcludings
+                               , :versionEndIncludings
+                               , :versionStartExcludings
+                               , :versionStartIncludings
+                               ) AS t (
+                                 idx
+                               , cpe23
+                               , purl_type
+                               , purl_namespace
+                               , purl_name
+                               , purl_qualifiers
+                               , purl_subpath
+                               , version
+                               , version_end_excluding
+                               , version_end_including
+                               , version_start_excluding
+                               , version_start_including
+                               )
+                        """)
+                .bind("indexes", indexes)
+                .bind("cpe23s", cpe23s)
+                .bind("purlTypes", purlTypes)
+                .bind("purlNamespaces", purlNamespaces)
+                .bind("purlNames", purlNames)
+                .bind("purlQualifiers", purlQualifiers)
+                .bind("purlSubpaths", purlSubpaths)
+                .bind("versions", versions)
+                .bind("versionEndExcludings", versionEndExcludings)
+                .bind("versionEndIncludings", versionEndIncludings)
+                .bind("versionStartExcludings", versionStartExcludings)
+                .bind("versionStartIncludings", versionStartIncludings)
+                .map((rs, ctx) -> {
+                    final long vsDbId = rs.getLong("vs_id");
+                    return rs.wasNull() ? null : Map.entry(lookupKeysList.get(rs.getInt("idx")), vsDbId);
+                })
+                .forEach(entry -> {
+                    if (entry != null) {
+                        results.put(entry.getKey(), entry.getValue());
+                    }
+                });
+
+        return results;
+    }
+
+    private Map<VsLookupKey, Long> createVulnerableSoftware(Map<VsLookupKey, VulnerableSoftware> vsByLookupKey) {
+        if (vsByLookupKey.isEmpty()) {
+            return Map.of();
+        }
+
+        final int count = vsByLookupKey.size();
+        final var lookupKeyByUuid = new HashMap<UUID, VsLookupKey>(count);
+        final var uuids = new String[count];
+        final var purls = new String[count];
+        final var purlTypes = new String[count];
+        final var purlNamespaces = new String[count];
+        final var purlNames = new String[count];
+        final var purlVersions = new String[count];
+        final var purlQualifiers = new String[count];
+        final var purlSubpaths = new String[count];
+        final var cpe22s = new String[count];
+        final var cpe23s = new String[count];
+        final var parts = new String[count];
+        final var vendors = new String[count];
+        final var products = new String[count];
+        final var versions = new String[count];
+        final var updates = new String[count];
+        final var editions = new String[count];
+        final var languages = new String[count];
+        final var swEditions = new String[count];
+        final var targetSws = new String[count];
+        final var targetHws = new String[count];
+        final var others = new String[count];
+        final var versionEndExcludings = new String[count];
+        final var versionEndIncludings = new String[count];
+        final var versionStartExcludings = new String[count];
+        final var versionStartIncludings = new String[count];
+        final var vulnerables = new boolean[count];
+
+        int i = 0;
+        for (final var entry : vsByLookupKey.entrySet()) {
+            final VulnerableSoftware vs = entry.getValue();
+            final UUID uuid = UUID.randomUUID();
+            lookupKeyByUuid.put(uuid, entry.getKey());
+
+            uuids[i] = uuid.toString();
+            purls[i] = vs.getPurl();
+            purlTypes[i] = vs.getPurlType();
+            purlNamespaces[i] = vs.getPurlNamespace();
+            purlNames[i] = vs.getPurlName();
+            purlVersions[i] = vs.getPurlVersion();
+            purlQualifiers[i] = vs.getPurlQualifiers();
+            purlSubpaths[i] = vs.getPurlSubpath();
+            cpe22s[i] = vs.getCpe22();
+            cpe23s[i] = vs.getCpe23();
+            parts[i] = vs.getPart();
+            vendors[i] = vs.getVendor();
+            products[i] = vs.getProduct();
+            versions[i] = vs.getVersion();
+            updates[i] = vs.getUpdate();
+            editions[i] = vs.getEdition();
+            languages[i] = vs.getLanguage();
+            swEditions[i] = vs.getSwEdition();
+            targetSws[i] = vs.getTargetSw();
+            targetHws[i] = vs.getTargetHw();
+            others[i] = vs.getOther();
+            versionEndExcludings[i] = vs.getVersionEndExcluding();
+            versionEndIncludings[i] = vs.getVersionEndIncluding();
+            versionStartExcludings[i] = vs.getVersionStartExcluding();
+            versionStartIncludings[i] = vs.getVersionStartIncluding();
+            vulnerables[i] = vs.isVulnerable();
+            i++;
+        }
+
+        return handle
+                .createQuery(/* language=SQL */ """
+                        INSERT INTO "VULNERABLESOFTWARE" (
+                          "UUID"
+                        , "PURL"
+                        , "PURL_TYPE"
+                        , "PURL_NAMESPACE"
+                        , "PURL_NAME"
+                        , "PURL_VERSION"
+                        , "PURL_QUALIFIERS"
+                        , "PURL_SUBPATH"
+                        , "CPE22"
+                        , "CPE23"
+                        , "PART"
+                        , "VENDOR"
+                        , "PRODUCT"
+                        , "VERSION"
+                        , "UPDATE"
+                        , "EDITION"
+                        , "LANGUAGE"
+                        , "SWEDITION"
+                        , "TARGETSW"
+                        , "TARGETHW"
+                        , "OTHER"
+                        , "VERSIONENDEXCLUDING"
+                        , "VERSIONENDINCLUDING"
+                        , "VERSIONSTARTEXCLUDING"
+                        , "VERSIONSTARTINCLUDING"
+                        , "VULNERABLE"
+                        )
+                        SELECT CAST(t.uuid AS UUID)
+                             , t.purl
+                             , t.purl_type
+                             , t.purl_namespace
+                             , t.purl_name
+                             , t.purl_version
+                             , t.purl_qualifiers
+                             , t.purl_subpath
+                             , t.cpe22
+                             , t.cpe23
+                             , t.part
+                             , t.vendor
+                             , t.product
+                             , t.version
+                             , t.update
+                             , t.edition
+                             , t.language
+                             , t.sw_edition
+                             , t.target_sw
+                             , t.target_hw
+                             , t.other
+                             , t.version_end_excluding
+                             , t.version_end_including
+                             , t.version_start_excluding
+                             , t.version_start_including
+                             , t.vulnerable
+                          FROM UNNEST (
+                                 :uuids
+                               , :purls
+                               , :purlTypes
+                               , :purlNamespaces
+                               , :purlNames
+                               , :purlVersions
+                               , :purlQualifiers
+                               , :purlSubpaths
+                               , :cpe22s
+                               , :cpe23s
+                               , :parts
+                               , :vendors
+                               , :products
+                               , :versions
+                               , :updates
+                               , :editions
+                               , :languages
+                               , :swEditions
+                               , :targetSws
+                               , :targetHws
+                               , :others
+                               , :versionEndExcludings
+                               , :versionEndIncludings
+                               , :versionStartExcludings
+                               , :versionStartIncludings
+                               , :vulnerables
+                               ) AS t (
+                                 uuid
+                               , purl
+                               , purl_type
+                               , purl_namespace
+                               , purl_name
+                               , purl_version
+                               , purl_qualifiers
+                               , purl_subpath
+                               , cpe22
+                               , cpe23
+                               , part
+                               , vendor
+                               , product
+                               , version
+                               , update
+                               , edition
+                               , language
+                               , sw_edition
+                               , target_sw
+                               , target_hw
+                               , other
+                               , version_end_excluding
+                               , version_end_including
+                               , version_start_excluding
+                               , version_start_including
+                               , vulnerable
+                               )
+                        RETURNING "ID"
+                                , "UUID"
+                        """)
+                .bind("uuids", uuids)
+                .bind("purls", purls)
+                .bind("purlTypes", purlTypes)
+                .bind("purlNamespaces", purlNamespaces)
+                .bind("purlNames", purlNames)
+                .bind("purlVersions", purlVersions)
+                .bind("purlQualifiers", purlQualifiers)
+                .bind("purlSubpaths", purlSubpaths)
+                .bind("cpe22s", cpe22s)
+                .bind("cpe23s", cpe23s)
+                .bind("parts", parts)
+                .bind("vendors", vendors)
+                .bind("products", products)
+                .bind("versions", versions)
+                .bind("updates", updates)
+                .bind("editions", editions)
+                .bind("languages", languages)
+                .bind("swEditions", swEditions)
+                .bind("targetSws", targetSws)
+                .bind("targetHws", targetHws)
+                .bind("others", others)
+                .bind("versionEndExcludings", versionEndExcludings)
+                .bind("versionEndIncludings", versionEndIncludings)
+                .bind("versionStartExcludings", versionStartExcludings)
+                .bind("versionStartIncludings", versionStartIncludings)
+                .bind("vulnerables", vulnerables)
+                .map((rs, ctx) -> Map.entry(
+                        lookupKeyByUuid.get(UUID.fromString(rs.getString("UUID"))),
+                        rs.getLong("ID")))
+                .collectToMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private void createAssociations(Collection<Association> associations) {
+        if (associations.isEmpty()) {
+            return;
+        }
+
+        handle
+                .createUpdate(/* language=SQL */ """
+                        INSERT INTO "VULNERABLESOFTWARE_VULNERABILITIES" ("VULNERABILITY_ID", "VULNERABLESOFTWARE_ID")
+                        SELECT t.vuln_id
+                             , t.vs_id
+                          FROM UNNEST(:vulnDbIds, :vsDbIds) AS t(vuln_id, vs_id)
+                         WHERE NOT EXISTS (
+                                 SELECT 1
+                                   FROM "VULNERABLESOFTWARE_VULNERABILITIES" AS vsv
+                                  WHERE vsv."VULNERABILITY_ID" = t.vuln_id
+                                    AND vsv."VULNERABLESOFTWARE_ID" = t.vs_id
+                               )
+                        """)
+                .bind("vulnDbIds", getVulnDbIds(associations))
+                .bind("vsDbIds", getVsDbIds(associations))
+                .execute();
+    }
+
+    private void deleteAssociations(Collection<Association> associations) {
+        if (associations.isEmpty()) {
+            return;
+        }
+
+        handle
+                .createUpdate(/* language=SQL */ """
+                        DELETE
+                          FROM "VULNERABLESOFTWARE_VULNERABILITIES" AS vsv
+                         USING UNNEST(:vulnDbIds, :vsDbIds) AS t(vuln_id, vs_id)
+                         WHERE vsv."VULNERABILITY_ID" = t.vuln_id
+                           AND vsv."VULNERABLESOFTWARE_ID" = t.vs_id
+                        """)
+                .bind("vulnDbIds", getVulnDbIds(associations))
+                .bind("vsDbIds", getVsDbIds(associations))
+                .execute();
+    }
+
+    private void createAttributions(Collection<Association> associations, Vulnerability.Source source) {
+        if (associations.isEmpty()) {
+            return;
+        }
+
+        handle
+                .createUpdate(/* language=SQL */ """
+                        INSERT INTO "AFFECTEDVERSIONATTRIBUTION" (
+                          "FIRST_SEEN"
+                        , "LAST_SEEN"
+                        , "SOURCE"
+                        , "VULNERABILITY"
+                        , "VULNERABLE_SOFTWARE"
+                        )
+                        SELECT NOW()
+                             , NOW()
+                             , :source
+                             , t.vuln_id
+                             , t.vs_id
+                          FROM UNNEST(:vulnDbIds, :vsDbIds) AS t(vuln_id, vs_id)
+                         WHERE NOT EXISTS (
+                                 SELECT 1
+                                   FROM "AFFECTEDVERSIONATTRIBUTION" AS ava
+                                  WHERE ava."VULNERABILITY" = t.vuln_id
+                                    AND ava."VULNERABLE_SOFTWARE" = t.vs_id
+                                    AND ava."SOURCE" = :source
+                               )
+                        """)
+                .bind("source", source.name())
+                .bind("vulnDbIds", getVulnDbIds(associations))
+                .bind("vsDbIds", getVsDbIds(associations))
+                .execute();
+    }
+
+    private void refreshAttributions(Collection<Association> associations, Vulnerability.Source source) {
+        if (associations.isEmpty()) {
+            return;
+        }
+
+        handle
+                .createUpdate(/* language=SQL */ """
+                        UPDATE "AFFECTEDVERSIONATTRIBUTION" AS ava
+                           SET "FIRST_SEEN" = NOW()
+                             , "LAST_SEEN" = NOW()
+                          FROM UNNEST(:vulnDbIds, :vsDbIds) AS t(vuln_id, vs_id)
+                         WHERE ava."VULNERABILITY" = t.vuln_id
+                           AND ava."VULNERABLE_SOFTWARE" = t.vs_id
+                           AND ava."SOURCE" = :source
+                        """)
+                .bind("source", source.name())
+                .bind("vulnDbIds", getVulnDbIds(associations))
+                .bind("vsDbIds", getVsDbIds(associations))
+                .execute();
+    }
+
+    private void deleteAttributions(Collection<Association> associations, Vulnerability.Source source) {
+        if (associations.isEmpty()) {
+            return;
+        }
+
+        handle
+                .createUpdate(/* language=SQL */ """
+                        DELETE
+                          FROM "AFFECTEDVERSIONATTRIBUTION" AS ava
+                         USING UNNEST(:vulnDbIds, :vsDbIds) AS t(vuln_id, vs_id)
+                         WHERE ava."VULNERABILITY" = t.vuln_id
+                           AND ava."VULNERABLE_SOFTWARE" = t.vs_id
+                           AND ava."SOURCE" = :source
+                        """)
+                .bind("source", source.name())
+                .bind("vulnDbIds", getVulnDbIds(associations))
+                .bind("vsDbIds", getVsDbIds(associations))
+                .execute();
+    }
+
+    private static long[] getVulnDbIds(Collection<Association> associations) {
+        return associations.stream().mapToLong(Association::vulnDbId).toArray();
+    }
+
+    private static long[] getVsDbIds(Collection<Association> associations) {
+        return associations.stream().mapToLong(Association::vsDbId).toArray();
+    }
+
+    private static @Nullable Double toDouble(@Nullable BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.analysis;
+
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.Vulnerability;
+import org.dependencytrack.model.VulnerableSoftware;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.useJdbiHandle;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
+
+class VulnDataChangeAnalysisTaskTest extends PersistenceCapableTest {
+
+    private static final Duration MAX_ANALYSIS_AGE = Duration.ofHours(24);
+
+    @Test
+    void shouldNotMarkProjectsDueOnFirstRun() {
+        final Project project = createProjectWithComponent(
+                "acme-app", component -> component.setPurl("pkg:npm/foo@1.0.0"));
+        createVulnerableSoftware("INT-001", vs -> {
+            vs.setPurlType("npm");
+            vs.setPurlName("foo");
+        });
+        recordAttempt(project, Instant.now());
+
+        new VulnDataChangeAnalysisTask().run();
+
+        assertThat(getProjectsDue()).isEmpty();
+    }
+
+    @Test
+    void shouldMarkProjectsWithAffectedPurlDue() {
+        final Project affectedProject = createProjectWithComponent(
+                "acme-app-a", component -> component.setPurl("pkg:npm/%40acme/foo@1.0.0?foo=bar"));
+        final Project unaffectedProject = createProjectWithComponent(
+                "acme-app-b", component -> component.setPurl("pkg:npm/%40acme/foobar@1.0.0"));
+        recordAttempt(affectedProject, Instant.now());
+        recordAttempt(unaffectedProject, Instant.now());
+
+        new VulnDataChangeAnalysisTask().run();
+
+        createVulnerableSoftware("INT-001", vs -> {
+            vs.setPurlType("npm");
+            vs.setPurlNamespace("@acme");
+            vs.setPurlName("foo");
+        });
+
+        new VulnDataChangeAnalysisTask().run();
+
+        assertThat(getProjectsDue())
+                .extracting(ProjectDueForAnalysis::uuid)
+                .containsExactly(affectedProject.getUuid());
+    }
+
+    @Test
+    void shouldMarkProjectsWithAffectedPercentEncodedPurlDue() {
+        final Project affectedProject = createProjectWithComponent(
+                "acme-app-a", component -> component.setPurl("pkg:generic/acme/foo%20bar@1.0.0"));
+        final Project unaffectedProject = createProjectWithComponent(
+                "acme-app-b", component -> component.setPurl("pkg:generic/acme/foo@1.0.0"));
+        recordAttempt(affectedProject, Instant.now());
+        recordAttempt(unaffectedProject, Instant.now());
+
+        new VulnDataChangeAnalysisTask().run();
+
+        createVulnerableSoftware("INT-001", vs -> {
+            vs.setPurlType("generic");
+            vs.setPurlNamespace("acme");
+            vs.setPurlName("foo bar");
+        });
+
+        new VulnDataChangeAnalysisTask().run();
+
+        assertThat(getProjectsDue())
+                .extracting(ProjectDueForAnalysis::uuid)
+                .containsExactly(affectedProject.getUuid());
+    }
+
+    @Test
+    void shouldMarkProjectsWithAffectedCpeDue() {
+        final Project affectedProject = createProjectWithComponent(
+                "acme-app-a", component -> component.setCpe("cpe:2.3:a:acme:foo:1.0.0:*:*:*:*:*:*:*"));
+        final Project unaffectedProject = createProjectWithComponent(
+                "acme-app-b", component -> component.setCpe("cpe:2.3:a:acme:bar:1.0.0:*:*:*:*:*:*:*"));
+        recordAttempt(affectedProject, Instant.now());
+        recordAttempt(unaffectedProject, Instant.now());
+
+        new VulnDataChangeAnalysisTask().run();
+
+        createVulnerableSoftware("INT-001", vs -> {
+            vs.setCpe23("cpe:2.3:a:acme:foo:*:*:*:*:*:*:*:*");
+            vs.setPart("a");
+            vs.setVendor("acme");
+            vs.setProduct("foo");
+        });
+
+        new VulnDataChangeAnalysisTask().run();
+
+        assertThat(getProjectsDue())
+                .extracting(ProjectDueForAnalysis::uuid)
+                .containsExactly(affectedProject.getUuid());
+    }
+
+    @Test
+    void shouldNotMarkProjectsDueForChangesThatWereAlreadySeen() {
+        final Project project = createProjectWithComponent(
+                "acme-app", component -> component.setPurl("pkg:npm/foo@1.0.0"));
+        recordAttempt(project, Instant.now());
+
+        new VulnDataChangeAnalysisTask().run();
+
+        createVulnerableSoftware("INT-001", vs -> {
+            vs.setPurlType("npm");
+            vs.setPurlName("foo");
+        });
+
+        new VulnDataChangeAnalysisTask().run();
+        assertThat(getProjectsDue()).hasSize(1);
+
+        recordAttempt(project, Instant.now());
+
+        new VulnDataChangeAnalysisTask().run();
+        assertThat(getProjectsDue()).isEmpty();
+    }
+
+    private Project createProjectWithComponent(String name, Consumer<Component> componentCustomizer) {
+        final var project = new Project();
+        project.setName(name);
+        qm.persist(project);
+
+        final var component = new Component();
+        component.setProject(project);
+        component.setName("foo");
+        component.setVersion("1.0.0");
+        componentCustomizer.accept(component);
+        qm.persist(component);
+
+        return project;
+    }
+
+    private void createVulnerableSoftware(String vulnId, Consumer<VulnerableSoftware> vsCustomizer) {
+        final var vuln = new Vulnerability();
+        vuln.setVulnId(vulnId);
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        qm.persist(vuln);
+
+        final var vs = new VulnerableSoftware();
+        vs.setVulnerable(true);
+        vsCustomizer.accept(vs);
+        vs.addVulnerability(vuln);
+        qm.persist(vs);
+    }
+
+    private static void recordAttempt(Project project, Instant attemptedAt) {
+        useJdbiHandle(handle -> handle
+                .attach(ProjectLastAnalysisDao.class)
+                .recordAttempt(new long[]{project.getId()}, attemptedAt));
+    }
+
+    private static List<ProjectDueForAnalysis> getProjectsDue() {
+        return withJdbiHandle(handle -> handle
+                .attach(ProjectLastAnalysisDao.class)
+                .getProjectsDue(Instant.now().minus(MAX_ANALYSIS_AGE), 10));
+    }
+
+}
@@ -37,6 +37,7 @@ import org.dependencytrack.persistence.jdbi.MetricsDao;
 import org.dependencytrack.persistence.jdbi.MetricsTestDao;
 import org.dependencytrack.persistence.jdbi.VulnerabilityAliasDao;
 import org.dependencytrack.proto.internal.workflow.v1.UpdateProjectMetricsArg;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
@@ -54,6 +55,12 @@ class UpdateProjectMetricsActivityTest extends AbstractMetricsUpdateTaskTest {
 
     private final UpdateProjectMetricsActivity activity = new UpdateProjectMetricsActivity();
 
+    @AfterEach
+    void afterEach() {
+        // Triggers are not removed when tables are truncated between tests.
+        useJdbiHandle(handle -> handle.attach(MetricsDao.class).setComponentMetricsChangeRecordingEnabled(false));
+    }
+
     @Test
     void shouldUpdateMetricsEmpty() throws Exception {
         final var project = new Project();
@@ -195,6 +202,129 @@ class UpdateProjectMetricsActivityTest extends AbstractMetricsUpdateTaskTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    void shouldOnlyComputeChangedComponentsWhenUpdatingIncrementally() throws Exception {
+        createTestConfigProperties();
+        enableComponentMetricsChangeRecordingSinceYesterday();
+
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.createProject(project, List.of(), false);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        qm.createComponent(componentA, false);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        qm.createComponent(componentB, false);
+
+        final var incrementalActivity = new UpdateProjectMetricsActivity(true);
+
+        // Populate initial metrics. All components must be computed,
+        // since none of them have metrics for the current day yet.
+        executeActivity(incrementalActivity, project);
+
+        var vuln = new Vulnerability();
+        vuln.setVulnId("INTERNAL-001");
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        vuln.setSeverity(Severity.HIGH);
+        vuln = qm.createVulnerability(vuln);
+        qm.addVulnerability(vuln, componentA, "none");
+
+        assertThat(getComponentMetricsChangeCount()).isPositive();
+
+        executeActivity(incrementalActivity, project);
+
+        assertThat(getComponentMetricsChangeCount()).isZero();
+
+        final List<ProjectMetrics> projectMetrics = withJdbiHandle(
+                handle -> handle
+                        .attach(MetricsDao.class)
+                        .getProjectMetricsSince(project.getId(), Instant.EPOCH));
+        assertThat(projectMetrics).hasSize(2);
+        assertThat(projectMetrics.getLast().getComponents()).isEqualTo(2);
+        assertThat(projectMetrics.getLast().getVulnerableComponents()).isEqualTo(1);
+        assertThat(projectMetrics.getLast().getVulnerabilities()).isEqualTo(1);
+        assertThat(projectMetrics.getLast().getHigh()).isEqualTo(1);
+
+        final List<DependencyMetrics> componentAMetrics = withJdbiHandle(
+                handle -> handle
+                        .attach(MetricsDao.class)
+                        .getDependencyMetricsSince(componentA.getId(), Instant.EPOCH));
+        assertThat(componentAMetrics)
+                .hasSize(2)
+                .last()
+                .extracting(DependencyMetrics::getVulnerabilities)
+                .isEqualTo(1);
+
+        final List<DependencyMetrics> componentBMetrics = withJdbiHandle(
+                handle -> handle
+                        .attach(MetricsDao.class)
+                        .getDependencyMetricsSince(componentB.getId(), Instant.EPOCH));
+        assertThat(componentBMetrics).hasSize(1);
+
+        // A full update must yield the same project metrics,
+        // such that no new row is created.
+        executeActivity(project);
+
+        assertThat(withJdbiHandle(
+                handle -> handle
+                        .attach(MetricsDao.class)
+                        .getProjectMetricsSince(project.getId(), Instant.EPOCH)))
+                .hasSize(2);
+    }
+
+    @Test
+    void shouldNotRecordChangesAndFallBackToFullUpdateWhenRecordingIsDisabled() throws Exception {
+        createTestConfigProperties();
+
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.createProject(project, List.of(), false);
+
+        final var component = new Component();
+        component.setProject(project);
+        component.setName("acme-lib");
+        qm.createComponent(component, false);
+
+        final var incrementalActivity = new UpdateProjectMetricsActivity(true);
+        executeActivity(incrementalActivity, project);
+
+        var vuln = new Vulnerability();
+        vuln.setVulnId("INTERNAL-001");
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        vuln.setSeverity(Severity.HIGH);
+        vuln = qm.createVulnerability(vuln);
+        qm.addVulnerability(vuln, component, "none");
+
+        assertThat(getComponentMetricsChangeCount()).isZero();
+
+        executeActivity(incrementalActivity, project);
+
+        final ProjectMetrics metrics = withJdbiHandle(
+                handle -> handle.attach(MetricsDao.class).getMostRecentProjectMetrics(project.getId()));
+        assertThat(metrics.getVulnerableComponents()).isEqualTo(1);
+        assertThat(metrics.getHigh()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInstallTriggersOnlyWhileRecordingIsEnabled() {
+        assertThat(getComponentMetricsChangeTriggerCount()).isZero();
+
+        useJdbiHandle(handle -> handle.attach(MetricsDao.class).setComponentMetricsChangeRecordingEnabled(true));
+        assertThat(getComponentMetricsChangeTriggerCount()).isEqualTo(14);
+
+        // Enabling again must not fail, nor change the installed triggers.
+        useJdbiHandle(handle -> handle.attach(MetricsDao.class).setComponentMetricsChangeRecordingEnabled(true));
+        assertThat(getComponentMetricsChangeTriggerCount()).isEqualTo(14);
+
+        useJdbiHandle(handle -> handle.attach(MetricsDao.class).setComponentMetricsChangeRecordingEnabled(false));
+        assertThat(getComponentMetricsChangeTriggerCount()).isZero();
+    }
+
     @Test
     void shouldUpdateMetricsVulnerabilities() throws Exception {
         var project = new Project();
@@ -702,9 +832,44 @@ class UpdateProjectMetricsActivityTest extends AbstractMetricsUpdateTaskTest {
     }
 
     private void executeActivity(Project project) throws Exception {
+        executeActivity(activity, project);
+    }
+
+    private static void executeActivity(UpdateProjectMetricsActivity activity, Project project) throws Exception {
         activity.execute(null, UpdateProjectMetricsArg.newBuilder()
                 .setProjectUuid(project.getUuid().toString())
                 .build());
     }
 
+    private static void enableComponentMetricsChangeRecordingSinceYesterday() {
+        useJdbiHandle(handle -> {
+            handle.attach(MetricsDao.class).setComponentMetricsChangeRecordingEnabled(true);
+
+            // Incremental updates fall back to full updates unless changes
+            // have been recorded since before the current day.
+            handle.execute("""
+                    UPDATE "COMPONENT_METRICS_CHANGE_RECORDING"
+                       SET "ENABLED_SINCE" = NOW() - INTERVAL '1 day'
+                    """);
+        });
+    }
+
+    private static long getComponentMetricsChangeTriggerCount() {
+        return withJdbiHandle(handle -> handle
+                .createQuery("""
+                        SELECT COUNT(*)
+                          FROM pg_trigger
+                         WHERE tgname LIKE 'trigger\\_component\\_metrics\\_change\\_on\\_%'
+                        """)
+                .mapTo(Long.class)
+                .one());
+    }
+
+    private static long getComponentMetricsChangeCount() {
+        return withJdbiHandle(handle -> handle
+                .createQuery("SELECT COUNT(*) FROM \"COMPONENT_METRICS_CHANGE\"")
+                .mapTo(Long.class)
+                .one());
+    }
+
 }
@@ -27,8 +27,11 @@ import org.dependencytrack.filestorage.memory.MemoryFileStorage;
 import org.dependencytrack.filestorage.proto.v1.FileMetadata;
 import org.dependencytrack.model.NotificationPublisher;
 import org.dependencytrack.model.NotificationRule;
+import org.dependencytrack.notification.api.NotificationFactory;
 import org.dependencytrack.notification.api.TestNotificationFactory;
 import org.dependencytrack.notification.proto.v1.Notification;
+import org.dependencytrack.notification.proto.v1.Project;
+import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationBatchArg;
 import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationWorkflowArg;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +41,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -50,6 +54,8 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -229,6 +235,151 @@ class NotificationOutboxRelayTest extends PersistenceCapableTest {
                 .untilAsserted(() -> assertThat(qm.getNotificationOutbox()).isEmpty());
     }
 
+    @Test
+    void shouldRelayNotificationsOfAllPartitionsInOrder() {
+        relay = new NotificationOutboxRelay(
+                dexEngineMock,
+                fileStorage,
+                _ -> routerMock,
+                new SimpleMeterRegistry(),
+                /* pollIntervalMillis */ 10,
+                /* batchSize */ 3,
+                largeNotificationThresholdBytes,
+                /* partitions */ 4,
+                /* publishBatchSize */ 1);
+
+        final var emittedNotifications = new ArrayList<Notification>();
+        for (int i = 0; i < 5; i++) {
+            final var project = Project.newBuilder()
+                    .setUuid(UUID.randomUUID().toString())
+                    .setName("project-" + i)
+                    .build();
+            for (int j = 0; j < 4; j++) {
+                emittedNotifications.add(NotificationFactory.createProjectCreatedNotification(project));
+            }
+        }
+
+        // Notifications without project must be relayed, too.
+        emittedNotifications.add(TestNotificationFactory.createUserCreatedTestNotification());
+
+        new JdoNotificationEmitter(qm).emitAll(emittedNotifications);
+
+        doAnswer(invocation -> {
+            final Collection<Notification> notifications = invocation.getArgument(0);
+            return notifications.stream()
+                    .map(notification -> new NotificationRouter.Result(notification, Set.of("ruleName")))
+                    .toList();
+        }).when(routerMock).route(anyCollection());
+
+        relay.start();
+
+        await("Outbox record removal")
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(qm.getNotificationOutbox()).isEmpty());
+
+        final ArgumentCaptor<Collection<CreateWorkflowRunRequest<?>>> createRunsCaptor = ArgumentCaptor.captor();
+        Mockito.verify(dexEngineMock, atLeastOnce()).createRuns(createRunsCaptor.capture());
+
+        final List<String> relayedNotificationIds = createRunsCaptor.getAllValues().stream()
+                .flatMap(Collection::stream)
+                .map(request -> ((PublishNotificationWorkflowArg) request.argument()).getNotificationId())
+                .toList();
+        assertThat(relayedNotificationIds).containsExactlyInAnyOrderElementsOf(
+                emittedNotifications.stream().map(Notification::getId).toList());
+
+        // Notifications of the same project must be relayed in the order in which they were emitted.
+        for (int i = 0; i < 5; i++) {
+            final List<String> projectNotificationIds = emittedNotifications.subList(i * 4, (i + 1) * 4).stream()
+                    .map(Notification::getId)
+                    .toList();
+            assertThat(relayedNotificationIds.stream().filter(projectNotificationIds::contains).toList())
+                    .containsExactlyElementsOf(projectNotificationIds);
+        }
+    }
+
+    @Test
+    void shouldRelayNotificationsInBatchesPerRule() {
+        relay = new NotificationOutboxRelay(
+                dexEngineMock,
+                fileStorage,
+                _ -> routerMock,
+                new SimpleMeterRegistry(),
+                /* pollIntervalMillis */ 10,
+                /* batchSize */ 10,
+                largeNotificationThresholdBytes,
+                /* partitions */ 1,
+                /* publishBatchSize */ 2);
+
+        final var project = Project.newBuilder()
+                .setUuid(UUID.randomUUID().toString())
+                .setName("acme-app")
+                .build();
+        final var smallNotifications = new ArrayList<Notification>();
+        for (int i = 0; i < 3; i++) {
+            smallNotifications.add(NotificationFactory.createProjectCreatedNotification(project));
+        }
+        final Notification largeNotification = TestNotificationFactory
+                .createBomConsumedTestNotification()
+                .toBuilder()
+                .setContent("a".repeat(largeNotificationThresholdBytes))
+                .build();
+
+        final var emittedNotifications = new ArrayList<Notification>(smallNotifications);
+        emittedNotifications.add(largeNotification);
+        new JdoNotificationEmitter(qm).emitAll(emittedNotifications);
+
+        doAnswer(invocation -> {
+            final Collection<Notification> notifications = invocation.getArgument(0);
+            return notifications.stream()
+                    .map(notification -> new NotificationRouter.Result(
+                            notification,
+                            notification.equals(smallNotifications.getFirst())
+                                    ? Set.of("ruleA", "ruleB")
+                                    : Set.of("ruleA")))
+                    .toList();
+        }).when(routerMock).route(anyCollection());
+
+        relay.start();
+
+        final ArgumentCaptor<Collection<CreateWorkflowRunRequest<?>>> createRunsCaptor = ArgumentCaptor.captor();
+
+        await("Workflow run creation")
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> Mockito.verify(dexEngineMock).createRuns(createRunsCaptor.capture()));
+
+        assertThat(createRunsCaptor.getValue()).satisfiesExactly(
+                request -> {
+                    assertThat(request.workflowName()).isEqualTo("publish-notification");
+                    final var workflowArg = (PublishNotificationWorkflowArg) request.argument();
+                    assertThat(workflowArg.getNotificationId()).isEqualTo(largeNotification.getId());
+                    assertThat(workflowArg.hasNotificationFileMetadata()).isTrue();
+                },
+                request -> {
+                    assertThat(request.workflowName()).isEqualTo("publish-notification-batch");
+                    assertThat(request.workflowInstanceId()).startsWith("publish-notification-batch:");
+                    final var workflowArg = (PublishNotificationBatchArg) request.argument();
+                    assertThat(workflowArg.getNotificationRuleName()).isEqualTo("ruleA");
+                    assertThat(workflowArg.getNotificationsList()).containsExactly(
+                            smallNotifications.get(0), smallNotifications.get(1));
+                },
+                request -> {
+                    assertThat(request.workflowName()).isEqualTo("publish-notification-batch");
+                    final var workflowArg = (PublishNotificationBatchArg) request.argument();
+                    assertThat(workflowArg.getNotificationRuleName()).isEqualTo("ruleA");
+                    assertThat(workflowArg.getNotificationsList()).containsExactly(smallNotifications.get(2));
+                },
+                request -> {
+                    assertThat(request.workflowName()).isEqualTo("publish-notification-batch");
+                    final var workflowArg = (PublishNotificationBatchArg) request.argument();
+                    assertThat(workflowArg.getNotificationRuleName()).isEqualTo("ruleB");
+                    assertThat(workflowArg.getNotificationsList()).containsExactly(smallNotifications.get(0));
+                });
+
+        await("Outbox record removal")
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(qm.getNotificationOutbox()).isEmpty());
+    }
+
     @Nested
     class ConstructorTest {
 
@@ -310,6 +461,36 @@ class NotificationOutboxRelayTest extends PersistenceCapableTest {
                             /* largeNotificationThresholdBytes */ 128 * 1024));
         }
 
+        @Test
+        void shouldThrowWhenPartitionsIsZero() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new NotificationOutboxRelay(
+                            dexEngineMock,
+                            fileStorage,
+                            _ -> routerMock,
+                            new SimpleMeterRegistry(),
+                            /* pollIntervalMillis */ 100,
+                            /* batchSize */ 10,
+                            /* largeNotificationThresholdBytes */ 128 * 1024,
+                            /* partitions */ 0,
+                            /* publishBatchSize */ 1));
+        }
+
+        @Test
+        void shouldThrowWhenPublishBatchSizeIsZero() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new NotificationOutboxRelay(
+                            dexEngineMock,
+                            fileStorage,
+                            _ -> routerMock,
+                            new SimpleMeterRegistry(),
+                            /* pollIntervalMillis */ 100,
+                            /* batchSize */ 10,
+                            /* largeNotificationThresholdBytes */ 128 * 1024,
+                            /* partitions */ 1,
+                            /* publishBatchSize */ 0));
+        }
+
     }
 
     @Test
@@ -550,4 +550,30 @@ class NotificationRouterTest extends PersistenceCapableTest {
 
     }
 
+    @Nested
+    class RouteWithRuleCacheTest extends RouteTest {
+
+        @BeforeEach
+        void beforeEachWithRuleCache() {
+            router = new NotificationRouter(
+                    jdbiHandle,
+                    new SimpleMeterRegistry(),
+                    new NotificationRuleCache(new SimpleMeterRegistry()));
+        }
+
+    }
+
+    @Nested
+    class FilterExpressionWithRuleCacheTest extends FilterExpressionTest {
+
+        @BeforeEach
+        void beforeEachWithRuleCache() {
+            router = new NotificationRouter(
+                    jdbiHandle,
+                    new SimpleMeterRegistry(),
+                    new NotificationRuleCache(new SimpleMeterRegistry()));
+        }
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.NotificationRule;
+import org.dependencytrack.model.NotificationTriggerType;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.notification.NotificationRouter.Rule;
+import org.jdbi.v3.core.Handle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.openJdbiHandle;
+
+class NotificationRuleCacheTest extends PersistenceCapableTest {
+
+    private Handle jdbiHandle;
+    private NotificationRuleCache ruleCache;
+
+    @BeforeEach
+    void beforeEach() {
+        jdbiHandle = openJdbiHandle();
+        ruleCache = new NotificationRuleCache(new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (jdbiHandle != null) {
+            jdbiHandle.close();
+        }
+    }
+
+    @Test
+    void shouldIndexRulesByScopeGroupAndLevel() {
+        final NotificationRule rule = createRule("rule", NotificationLevel.WARNING);
+
+        final NotificationRuleCache.Snapshot snapshot = ruleCache.get(jdbiHandle);
+
+        assertThat(snapshot.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL)).isEmpty();
+        assertThat(snapshot.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.WARNING))
+                .extracting(Rule::name)
+                .containsOnly(rule.getName());
+        assertThat(snapshot.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.ERROR))
+                .extracting(Rule::name)
+                .containsOnly(rule.getName());
+        assertThat(snapshot.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_PROCESSED, NotificationLevel.ERROR)).isEmpty();
+        assertThat(snapshot.getRules(NotificationScope.SYSTEM, NotificationGroup.BOM_CONSUMED, NotificationLevel.ERROR)).isEmpty();
+    }
+
+    @Test
+    void shouldNotReloadRulesWhenUnchanged() {
+        createRule("rule", NotificationLevel.INFORMATIONAL);
+
+        final NotificationRuleCache.Snapshot snapshotA = ruleCache.get(jdbiHandle);
+        final NotificationRuleCache.Snapshot snapshotB = ruleCache.get(jdbiHandle);
+
+        assertThat(snapshotB).isSameAs(snapshotA);
+    }
+
+    @Test
+    void shouldReloadRulesWhenRuleIsModified() {
+        final NotificationRule rule = createRule("rule", NotificationLevel.INFORMATIONAL);
+
+        final NotificationRuleCache.Snapshot snapshotA = ruleCache.get(jdbiHandle);
+        assertThat(snapshotA.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL)).hasSize(1);
+
+        qm.runInTransaction(() -> rule.setEnabled(false));
+
+        final NotificationRuleCache.Snapshot snapshotB = ruleCache.get(jdbiHandle);
+        assertThat(snapshotB).isNotSameAs(snapshotA);
+        assertThat(snapshotB.version()).isNotEqualTo(snapshotA.version());
+        assertThat(snapshotB.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL)).isEmpty();
+    }
+
+    @Test
+    void shouldReloadRulesWhenProjectLimitationIsModified() {
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        final NotificationRule rule = createRule("rule", NotificationLevel.INFORMATIONAL);
+
+        final NotificationRuleCache.Snapshot snapshotA = ruleCache.get(jdbiHandle);
+        assertThat(snapshotA.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL))
+                .satisfiesExactly(cachedRule -> assertThat(cachedRule.limitToProjectUuids()).isNull());
+
+        qm.runInTransaction(() -> rule.setProjects(List.of(project)));
+
+        final NotificationRuleCache.Snapshot snapshotB = ruleCache.get(jdbiHandle);
+        assertThat(snapshotB.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL))
+                .satisfiesExactly(cachedRule -> assertThat(cachedRule.limitToProjectUuids())
+                        .containsOnly(project.getUuid().toString()));
+
+        // Deletion of the project cascades to the rule's project limitation.
+        jdbiHandle.createUpdate("""
+                        DELETE
+                          FROM "PROJECT"
+                         WHERE "ID" = :id
+                        """)
+                .bind("id", project.getId())
+                .execute();
+
+        final NotificationRuleCache.Snapshot snapshotC = ruleCache.get(jdbiHandle);
+        assertThat(snapshotC.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL))
+                .satisfiesExactly(cachedRule -> assertThat(cachedRule.limitToProjectUuids()).isNull());
+    }
+
+    @Test
+    void shouldPrecompileValidFilterExpressions() {
+        final NotificationRule validRule = createRule("valid", NotificationLevel.INFORMATIONAL);
+        qm.runInTransaction(() -> validRule.setFilterExpression("level == Level.LEVEL_INFORMATIONAL"));
+
+        final NotificationRule invalidRule = createRule("invalid", NotificationLevel.INFORMATIONAL);
+        qm.runInTransaction(() -> invalidRule.setFilterExpression("foo.bar"));
+
+        final NotificationRuleCache.Snapshot snapshot = ruleCache.get(jdbiHandle);
+
+        assertThat(snapshot.getRules(NotificationScope.PORTFOLIO, NotificationGroup.BOM_CONSUMED, NotificationLevel.INFORMATIONAL))
+                .satisfiesExactlyInAnyOrder(
+                        cachedRule -> {
+                            assertThat(cachedRule.name()).isEqualTo("valid");
+                            assertThat(cachedRule.filterProgram()).isNotNull();
+                        },
+                        cachedRule -> {
+                            assertThat(cachedRule.name()).isEqualTo("invalid");
+                            assertThat(cachedRule.filterProgram()).isNull();
+                        });
+    }
+
+    private NotificationRule createRule(String name, NotificationLevel level) {
+        final var rule = new NotificationRule();
+        rule.setTriggerType(NotificationTriggerType.EVENT);
+        rule.setName(name);
+        rule.setScope(NotificationScope.PORTFOLIO);
+        rule.setNotifyOn(Set.of(NotificationGroup.BOM_CONSUMED));
+        rule.setNotificationLevel(level);
+        rule.setEnabled(true);
+        return qm.persist(rule);
+    }
+
+}
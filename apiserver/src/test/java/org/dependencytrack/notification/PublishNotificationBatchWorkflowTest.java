@@ -0,0 +1,205 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.notification;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.cache.api.NoopCacheManager;
+import org.dependencytrack.common.datasource.DataSourceRegistry;
+import org.dependencytrack.dex.engine.api.DexEngine;
+import org.dependencytrack.dex.engine.api.TaskType;
+import org.dependencytrack.dex.engine.api.TaskWorkerOptions;
+import org.dependencytrack.dex.engine.api.WorkflowRun;
+import org.dependencytrack.dex.engine.api.WorkflowRunStatus;
+import org.dependencytrack.dex.engine.api.request.CreateTaskQueueRequest;
+import org.dependencytrack.dex.engine.api.request.CreateWorkflowRunRequest;
+import org.dependencytrack.dex.testing.WorkflowTestExtension;
+import org.dependencytrack.model.NotificationRule;
+import org.dependencytrack.model.NotificationTriggerType;
+import org.dependencytrack.notification.api.publishing.NotificationPublisher;
+import org.dependencytrack.notification.api.templating.NotificationTemplateVariables;
+import org.dependencytrack.notification.publishing.DefaultNotificationPublishersPlugin;
+import org.dependencytrack.notification.templating.pebble.PebbleNotificationTemplateRendererFactory;
+import org.dependencytrack.persistence.jdbi.JdbiFactory;
+import org.dependencytrack.plugin.runtime.PluginManager;
+import org.dependencytrack.proto.internal.workflow.v1.PublishNotificationBatchArg;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dependencytrack.dex.api.payload.PayloadConverters.protoConverter;
+import static org.dependencytrack.dex.api.payload.PayloadConverters.voidConverter;
+import static org.dependencytrack.notification.api.TestNotificationFactory.createBomConsumedTestNotification;
+import static org.dependencytrack.notification.api.TestNotificationFactory.createBomProcessedTestNotification;
+
+class PublishNotificationBatchWorkflowTest extends PersistenceCapableTest {
+
+    @RegisterExtension
+    private final WorkflowTestExtension workflowTest =
+            new WorkflowTestExtension(DataSourceRegistry.getInstance().getDefault());
+
+    private PluginManager pluginManager;
+
+    @BeforeEach
+    void beforeEach() {
+        pluginManager = new PluginManager(
+                new SmallRyeConfigBuilder().build(),
+                new NoopCacheManager(),
+                secretName -> null,
+                JdbiFactory.createJdbi(),
+                HttpClient.newHttpClient(),
+                List.of(NotificationPublisher.class));
+        pluginManager.loadPlugins(List.of(
+                new DefaultNotificationPublishersPlugin()));
+
+        final DexEngine engine = workflowTest.getEngine();
+
+        engine.registerWorkflow(
+                new PublishNotificationBatchWorkflow(),
+                protoConverter(PublishNotificationBatchArg.class),
+                voidConverter(),
+                Duration.ofSeconds(15));
+        engine.registerActivity(
+                new PublishNotificationBatchActivity(
+                        pluginManager,
+                        secretName -> null,
+                        new PebbleNotificationTemplateRendererFactory(Collections.emptyMap())),
+                protoConverter(PublishNotificationBatchArg.class),
+                voidConverter());
+
+        engine.createTaskQueue(new CreateTaskQueueRequest(TaskType.WORKFLOW, "default", 1));
+        engine.createTaskQueue(new CreateTaskQueueRequest(TaskType.ACTIVITY, "notifications", 1));
+
+        engine.registerTaskWorker(
+                new TaskWorkerOptions(TaskType.WORKFLOW, "workflow-worker", "default", 1)
+                        .withMinPollInterval(Duration.ofMillis(25))
+                        .withPollBackoffFunction(IntervalFunction.of(25)));
+        engine.registerTaskWorker(
+                new TaskWorkerOptions(TaskType.ACTIVITY, "activity-worker-notification", "notifications", 1)
+                        .withMinPollInterval(Duration.ofMillis(25))
+                        .withPollBackoffFunction(IntervalFunction.of(25)));
+
+        engine.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (pluginManager != null) {
+            pluginManager.close();
+        }
+    }
+
+    @Test
+    void shouldFailWhenArgumentIsNull() {
+        final UUID runId = workflowTest.getEngine().createRun(
+                new CreateWorkflowRunRequest<>(PublishNotificationBatchWorkflow.class));
+
+        final WorkflowRun run = workflowTest.awaitRunStatus(runId, WorkflowRunStatus.FAILED);
+        assertThat(run).isNotNull();
+        assertThat(run.failure()).isNotNull();
+        assertThat(run.failure().getMessage()).isEqualTo("No argument provided");
+    }
+
+    @Test
+    void shouldFailWhenNoNotificationsProvided() {
+        final NotificationRule rule = createRule("console");
+
+        final var argument = PublishNotificationBatchArg.newBuilder()
+                .setNotificationRuleName(rule.getName())
+                .build();
+
+        final UUID runId = workflowTest.getEngine().createRun(
+                new CreateWorkflowRunRequest<>(PublishNotificationBatchWorkflow.class)
+                        .withArgument(argument));
+
+        final WorkflowRun run = workflowTest.awaitRunStatus(runId, WorkflowRunStatus.FAILED);
+        assertThat(run).isNotNull();
+        assertThat(run.failure()).isNotNull();
+        assertThat(run.failure().getMessage()).isEqualTo("No notifications provided");
+    }
+
+    @Test
+    void shouldFailWhenRuleDoesNotExist() {
+        final var argument = PublishNotificationBatchArg.newBuilder()
+                .setNotificationRuleName("foo")
+                .addNotifications(createBomConsumedTestNotification())
+                .build();
+
+        final UUID runId = workflowTest.getEngine().createRun(
+                new CreateWorkflowRunRequest<>(PublishNotificationBatchWorkflow.class)
+                        .withArgument(argument));
+
+        final WorkflowRun run = workflowTest.awaitRunStatus(runId, WorkflowRunStatus.FAILED);
+        assertThat(run).isNotNull();
+        assertThat(run.eventHistory()).anySatisfy(event -> {
+            assertThat(event.hasActivityTaskFailed()).isTrue();
+            assertThat(event.getActivityTaskFailed().getFailure().getMessage())
+                    .isEqualTo("Notification rule 'foo' does not exist");
+        });
+    }
+
+    @Test
+    void shouldSucceedWhenPublishingBatch() {
+        final NotificationRule rule = createRule("console");
+
+        final var argument = PublishNotificationBatchArg.newBuilder()
+                .setNotificationRuleName(rule.getName())
+                .addNotifications(createBomConsumedTestNotification())
+                .addNotifications(createBomProcessedTestNotification())
+                .build();
+
+        final UUID runId = workflowTest.getEngine().createRun(
+                new CreateWorkflowRunRequest<>(PublishNotificationBatchWorkflow.class)
+                        .withArgument(argument));
+
+        final WorkflowRun run = workflowTest.awaitRunStatus(runId, WorkflowRunStatus.COMPLETED);
+        assertThat(run).isNotNull();
+        assertThat(run.status()).isEqualTo(WorkflowRunStatus.COMPLETED);
+    }
+
+    private NotificationRule createRule(String publisherExtensionName) {
+        final var publisher = new org.dependencytrack.model.NotificationPublisher();
+        publisher.setName("Test Publisher");
+        publisher.setExtensionName(publisherExtensionName);
+        publisher.setTemplate("{{ %s.subject.project.name }}".formatted(NotificationTemplateVariables.NOTIFICATION));
+        publisher.setTemplateMimeType("text/plain");
+        qm.persist(publisher);
+
+        final var rule = new NotificationRule();
+        rule.setTriggerType(NotificationTriggerType.EVENT);
+        rule.setName("Test Rule");
+        rule.setEnabled(true);
+        rule.setScope(NotificationScope.PORTFOLIO);
+        rule.setNotificationLevel(NotificationLevel.INFORMATIONAL);
+        rule.setNotifyOn(Set.of(NotificationGroup.BOM_CONSUMED, NotificationGroup.BOM_PROCESSED));
+        rule.setPublisher(publisher);
+        return qm.persist(rule);
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import org.cyclonedx.Version;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.BomReference;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.parsers.BomParserFactory;
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.Severity;
+import org.dependencytrack.model.Vulnerability;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.useJdbiHandle;
+
+class CycloneDxStreamingExporterTest extends PersistenceCapableTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "INVENTORY, JSON",
+            "INVENTORY, XML",
+            "INVENTORY_WITH_VULNERABILITIES, JSON",
+            "INVENTORY_WITH_VULNERABILITIES, XML",
+            "VDR, JSON",
+            "VDR, XML"
+    })
+    void shouldYieldSameElementsAsCycloneDxExporter(
+            CycloneDXExporter.Variant variant,
+            CycloneDXExporter.Format format) throws Exception {
+        var vuln = new Vulnerability();
+        vuln.setVulnId("INT-001");
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        vuln.setSeverity(Severity.HIGH);
+        vuln = qm.createVulnerability(vuln);
+
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        // project -> acme-lib-0 -> acme-lib-{1..1001}
+        final int componentCount = CycloneDxStreamingExporter.PAGE_SIZE * 2 + 1;
+        useJdbiHandle(handle -> {
+            handle.createUpdate("""
+                            INSERT INTO "COMPONENT" ("UUID", "NAME", "VERSION", "PROJECT_ID")
+                            SELECT GEN_RANDOM_UUID(), 'acme-lib-' || i, '1.0.0', :projectId
+                              FROM GENERATE_SERIES(0, :componentCount) AS i
+                            """)
+                    .bind("projectId", project.getId())
+                    .bind("componentCount", componentCount)
+                    .execute();
+            handle.createUpdate("""
+                            UPDATE "COMPONENT"
+                               SET "DIRECT_DEPENDENCIES" = (
+                                 SELECT JSONB_AGG(JSONB_BUILD_OBJECT('uuid', "UUID"))
+                                   FROM "COMPONENT"
+                                  WHERE "PROJECT_ID" = :projectId
+                                    AND "NAME" != 'acme-lib-0'
+                               )
+                             WHERE "PROJECT_ID" = :projectId
+                               AND "NAME" = 'acme-lib-0'
+                            """)
+                    .bind("projectId", project.getId())
+                    .execute();
+            handle.createUpdate("""
+                            UPDATE "PROJECT"
+                               SET "DIRECT_DEPENDENCIES" = (
+                                 SELECT JSONB_BUILD_ARRAY(JSONB_BUILD_OBJECT('uuid', "UUID"))
+                                   FROM "COMPONENT"
+                                  WHERE "PROJECT_ID" = :projectId
+                                    AND "NAME" = 'acme-lib-0'
+                               )
+                             WHERE "ID" = :projectId
+                            """)
+                    .bind("projectId", project.getId())
+                    .execute();
+        });
+
+        final Map<String, Component> componentByName = qm.getAllComponents(project).stream()
+                .collect(Collectors.toMap(Component::getName, Function.identity()));
+        for (final String name : List.of("acme-lib-0", "acme-lib-500", "acme-lib-1001")) {
+            qm.addVulnerability(vuln, componentByName.get(name), "internal");
+        }
+
+        qm.getPersistenceManager().refresh(project);
+        final Bom expectedBom = new CycloneDXExporter(variant, qm).create(project, Version.VERSION_16);
+
+        final var outputStream = new ByteArrayOutputStream();
+        new CycloneDxStreamingExporter(variant, qm).export(project, format, Version.VERSION_16, outputStream);
+        final byte[] bomBytes = outputStream.toByteArray();
+
+        assertThatNoException().isThrownBy(() -> CycloneDxValidator.getInstance().validate(bomBytes));
+        final Bom actualBom = BomParserFactory.createParser(bomBytes).parse(bomBytes);
+
+        assertThat(actualBom.getSpecVersion()).isEqualTo("1.6");
+        assertThat(actualBom.getSerialNumber()).isNotBlank();
+        assertThat(actualBom.getMetadata().getComponent().getBomRef()).isEqualTo(project.getUuid().toString());
+        // Component names are unique, thus the order is deterministic for both exporters.
+        assertThat(actualBom.getComponents())
+                .extracting(org.cyclonedx.model.Component::getBomRef)
+                .containsExactlyElementsOf(expectedBom.getComponents().stream()
+                        .map(org.cyclonedx.model.Component::getBomRef)
+                        .toList());
+        assertThat(dependsOnByRef(actualBom)).isEqualTo(dependsOnByRef(expectedBom));
+        assertThat(affectedRefs(actualBom)).containsExactlyInAnyOrderElementsOf(affectedRefs(expectedBom));
+    }
+
+    private static List<String> affectedRefs(Bom bom) {
+        return Optional.ofNullable(bom.getVulnerabilities()).orElseGet(List::of).stream()
+                .flatMap(vuln -> vuln.getAffects().stream()
+                        .map(affect -> vuln.getBomRef() + ":" + affect.getRef()))
+                .toList();
+    }
+
+    private static Map<String, List<String>> dependsOnByRef(Bom bom) {
+        return bom.getDependencies().stream()
+                .collect(Collectors.toMap(
+                        Dependency::getRef,
+                        dependency -> Optional.ofNullable(dependency.getDependencies()).orElseGet(List::of).stream()
+                                .map(BomReference::getRef)
+                                .toList()));
+    }
+
+}
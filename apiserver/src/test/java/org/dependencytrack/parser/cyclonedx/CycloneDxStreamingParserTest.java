@@ -0,0 +1,284 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import org.cyclonedx.model.BomReference;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Metadata;
+import org.cyclonedx.model.Service;
+import org.cyclonedx.parsers.BomParserFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.commons.io.IOUtils.resourceToByteArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CycloneDxStreamingParserTest {
+
+    private static final class RecordingHandler implements CycloneDxStreamingParser.Handler {
+
+        private final List<Metadata> metadata = new ArrayList<>();
+        private final List<Component> components = new ArrayList<>();
+        private final List<Service> services = new ArrayList<>();
+        private final List<Dependency> dependencies = new ArrayList<>();
+
+        @Override
+        public void handleMetadata(Metadata metadata) {
+            this.metadata.add(metadata);
+        }
+
+        @Override
+        public void handleComponent(Component component) {
+            components.add(component);
+        }
+
+        @Override
+        public void handleService(Service service) {
+            services.add(service);
+        }
+
+        @Override
+        public void handleDependency(Dependency dependency) {
+            dependencies.add(dependency);
+        }
+
+    }
+
+    private CycloneDxStreamingParser parser;
+    private RecordingHandler handler;
+
+    @BeforeEach
+    void beforeEach() {
+        parser = new CycloneDxStreamingParser();
+        handler = new RecordingHandler();
+    }
+
+    @Test
+    void shouldParseJson() throws Exception {
+        final var bomHeader = parse(/* language=JSON */ """
+                {
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.6",
+                  "serialNumber": "urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79",
+                  "version": 3,
+                  "metadata": {
+                    "component": {
+                      "type": "application",
+                      "bom-ref": "acme-app",
+                      "name": "acme-app"
+                    }
+                  },
+                  "components": [
+                    {
+                      "type": "library",
+                      "bom-ref": "foo",
+                      "name": "foo",
+                      "version": "1.0.0",
+                      "components": [
+                        {
+                          "type": "library",
+                          "bom-ref": "bar",
+                          "name": "bar"
+                        }
+                      ]
+                    },
+                    {
+                      "type": "library",
+                      "bom-ref": "baz",
+                      "name": "baz"
+                    }
+                  ],
+                  "services": [
+                    {
+                      "bom-ref": "qux",
+                      "name": "qux"
+                    }
+                  ],
+                  "dependencies": [
+                    {
+                      "ref": "acme-app",
+                      "dependsOn": ["foo", "baz"]
+                    }
+                  ],
+                  "unknownField": {
+                    "foo": ["bar", {"baz": "qux"}]
+                  }
+                }
+                """);
+
+        assertThat(bomHeader.specVersion()).isEqualTo("1.6");
+        assertThat(bomHeader.serialNumber()).isEqualTo("urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79");
+        assertThat(bomHeader.version()).isEqualTo(3);
+
+        assertThat(handler.metadata).satisfiesExactly(
+                metadata -> assertThat(metadata.getComponent().getBomRef()).isEqualTo("acme-app"));
+        assertThat(handler.components).satisfiesExactly(
+                component -> {
+                    assertThat(component.getBomRef()).isEqualTo("foo");
+                    assertThat(component.getVersion()).isEqualTo("1.0.0");
+                    assertThat(component.getComponents()).extracting(Component::getBomRef).containsOnly("bar");
+                },
+                component -> assertThat(component.getBomRef()).isEqualTo("baz"));
+        assertThat(handler.services).extracting(Service::getBomRef).containsOnly("qux");
+        assertThat(handler.dependencies).satisfiesExactly(dependency -> {
+            assertThat(dependency.getRef()).isEqualTo("acme-app");
+            assertThat(dependency.getDependencies()).extracting(BomReference::getRef).containsExactly("foo", "baz");
+        });
+    }
+
+    @Test
+    void shouldParseXml() throws Exception {
+        final var bomHeader = parse(/* language=XML */ """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <bom xmlns="http://cyclonedx.org/schema/bom/1.5" serialNumber="urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79" version="2">
+                    <metadata>
+                        <component type="application" bom-ref="acme-app">
+                            <name>acme-app</name>
+                        </component>
+                    </metadata>
+                    <components>
+                        <component type="library" bom-ref="foo">
+                            <name>foo</name>
+                            <version>1.0.0</version>
+                            <components>
+                                <component type="library" bom-ref="bar">
+                                    <name>bar</name>
+                                </component>
+                            </components>
+                        </component>
+                        <component type="library" bom-ref="baz">
+                            <name>baz</name>
+                        </component>
+                    </components>
+                    <services>
+                        <service bom-ref="qux">
+                            <name>qux</name>
+                        </service>
+                    </services>
+                    <dependencies>
+                        <dependency ref="acme-app">
+                            <dependency ref="foo"/>
+                            <dependency ref="baz"/>
+                        </dependency>
+                    </dependencies>
+                    <unknownElement>
+                        <foo>bar</foo>
+                    </unknownElement>
+                </bom>
+                """);
+
+        assertThat(bomHeader.specVersion()).isEqualTo("1.5");
+        assertThat(bomHeader.serialNumber()).isEqualTo("urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79");
+        assertThat(bomHeader.version()).isEqualTo(2);
+
+        assertThat(handler.metadata).satisfiesExactly(
+                metadata -> assertThat(metadata.getComponent().getBomRef()).isEqualTo("acme-app"));
+        assertThat(handler.components).satisfiesExactly(
+                component -> {
+                    assertThat(component.getBomRef()).isEqualTo("foo");
+                    assertThat(component.getVersion()).isEqualTo("1.0.0");
+                    assertThat(component.getComponents()).extracting(Component::getBomRef).containsOnly("bar");
+                },
+                component -> assertThat(component.getBomRef()).isEqualTo("baz"));
+        assertThat(handler.services).extracting(Service::getBomRef).containsOnly("qux");
+        assertThat(handler.dependencies).satisfiesExactly(dependency -> {
+            assertThat(dependency.getRef()).isEqualTo("acme-app");
+            assertThat(dependency.getDependencies()).extracting(BomReference::getRef).containsExactly("foo", "baz");
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/unit/bom-1.xml",
+            "/unit/bom-service.json",
+            "/unit/bom-metadata-components.json",
+            "/unit/cyclonedx/valid-bom-1.5.json",
+            "/unit/cyclonedx/valid-bom-1.5.xml"
+    })
+    void shouldYieldSameElementsAsCycloneDxParser(String resourcePath) throws Exception {
+        final byte[] bomBytes = resourceToByteArray(resourcePath);
+        final org.cyclonedx.model.Bom expectedBom = BomParserFactory.createParser(bomBytes).parse(bomBytes);
+
+        final var bomHeader = parser.parse(new ByteArrayInputStream(bomBytes), handler);
+
+        assertThat(bomHeader.specVersion()).isEqualTo(expectedBom.getSpecVersion());
+        assertThat(bomHeader.serialNumber()).isEqualTo(expectedBom.getSerialNumber());
+        assertThat(bomHeader.version()).isEqualTo(expectedBom.getVersion());
+        assertThat(handler.metadata).hasSize(expectedBom.getMetadata() != null ? 1 : 0);
+        assertThat(handler.components).extracting(Component::getBomRef).containsExactlyElementsOf(
+                Optional.ofNullable(expectedBom.getComponents()).orElseGet(List::of).stream()
+                        .map(Component::getBomRef)
+                        .toList());
+        assertThat(handler.services).extracting(Service::getBomRef).containsExactlyElementsOf(
+                Optional.ofNullable(expectedBom.getServices()).orElseGet(List::of).stream()
+                        .map(Service::getBomRef)
+                        .toList());
+        assertThat(handler.dependencies).extracting(Dependency::getRef).containsExactlyElementsOf(
+                Optional.ofNullable(expectedBom.getDependencies()).orElseGet(List::of).stream()
+                        .map(Dependency::getRef)
+                        .toList());
+    }
+
+    @Test
+    void shouldThrowWhenBomIsNeitherJsonNorXml() {
+        assertThatExceptionOfType(InvalidBomException.class)
+                .isThrownBy(() -> parse("foo"))
+                .withMessage("BOM is neither JSON nor XML");
+    }
+
+    @Test
+    void shouldThrowWhenJsonIsTruncated() {
+        assertThatExceptionOfType(InvalidBomException.class)
+                .isThrownBy(() -> parse("""
+                        {
+                          "bomFormat": "CycloneDX",
+                          "components": [
+                            {
+                              "name": "foo"
+                        """))
+                .withMessage("Failed to parse BOM as JSON");
+    }
+
+    @Test
+    void shouldThrowWhenXmlIsTruncated() {
+        assertThatExceptionOfType(InvalidBomException.class)
+                .isThrownBy(() -> parse("""
+                        <bom xmlns="http://cyclonedx.org/schema/bom/1.5">
+                            <components>
+                                <component type="library">
+                                    <name>foo</name>
+                        """))
+                .withMessage("Failed to parse BOM as XML");
+    }
+
+    private CycloneDxStreamingParser.BomHeader parse(String bom) throws Exception {
+        return parser.parse(new ByteArrayInputStream(bom.getBytes(StandardCharsets.UTF_8)), handler);
+    }
+
+}
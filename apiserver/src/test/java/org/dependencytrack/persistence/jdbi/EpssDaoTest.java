@@ -0,0 +1,135 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.persistence.jdbi;
+
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.Epss;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.openJdbiHandle;
+
+class EpssDaoTest extends PersistenceCapableTest {
+
+    private Handle jdbiHandle;
+
+    @BeforeEach
+    void beforeEach() {
+        jdbiHandle = openJdbiHandle();
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (jdbiHandle != null) {
+            jdbiHandle.close();
+        }
+    }
+
+    @Test
+    void createOrUpdateAllViaCopyShouldOnlyCountCreatedAndModifiedRecords() {
+        jdbiHandle.attach(EpssDao.class).createOrUpdateAll(List.of(
+                new Epss("CVE-1", new BigDecimal("0.1"), new BigDecimal("0.2")),
+                new Epss("CVE-2", new BigDecimal("0.3"), new BigDecimal("0.4"))));
+
+        final int recordsModified = jdbiHandle.inTransaction(handle -> handle.attach(EpssDao.class)
+                .createOrUpdateAllViaCopy(List.of(
+                        new Epss("CVE-1", new BigDecimal("0.1"), new BigDecimal("0.2")),
+                        new Epss("CVE-2", new BigDecimal("0.5"), new BigDecimal("0.6")),
+                        new Epss("CVE-3", new BigDecimal("0.7"), new BigDecimal("0.8"))).iterator()));
+
+        assertThat(recordsModified).isEqualTo(2);
+        assertThat(findAllEpss()).satisfiesExactly(
+                epss -> {
+                    assertThat(epss.getCve()).isEqualTo("CVE-1");
+                    assertThat(epss.getScore()).isEqualByComparingTo("0.1");
+                    assertThat(epss.getPercentile()).isEqualByComparingTo("0.2");
+                },
+                epss -> {
+                    assertThat(epss.getCve()).isEqualTo("CVE-2");
+                    assertThat(epss.getScore()).isEqualByComparingTo("0.5");
+                    assertThat(epss.getPercentile()).isEqualByComparingTo("0.6");
+                },
+                epss -> {
+                    assertThat(epss.getCve()).isEqualTo("CVE-3");
+                    assertThat(epss.getScore()).isEqualByComparingTo("0.7");
+                    assertThat(epss.getPercentile()).isEqualByComparingTo("0.8");
+                });
+    }
+
+    @Test
+    void createOrUpdateAllViaCopyShouldTolerateDuplicateCves() {
+        final int recordsModified = jdbiHandle.inTransaction(handle -> handle.attach(EpssDao.class)
+                .createOrUpdateAllViaCopy(List.of(
+                        new Epss("CVE-1", new BigDecimal("0.1"), new BigDecimal("0.2")),
+                        new Epss("CVE-1", new BigDecimal("0.1"), new BigDecimal("0.2"))).iterator()));
+
+        assertThat(recordsModified).isEqualTo(1);
+        assertThat(findAllEpss()).extracting(Epss::getCve).containsExactly("CVE-1");
+    }
+
+    @Test
+    void createOrUpdateAllViaCopyShouldHandleNullValues() {
+        final int recordsModified = jdbiHandle.inTransaction(handle -> handle.attach(EpssDao.class)
+                .createOrUpdateAllViaCopy(List.of(
+                        new Epss("CVE-1", null, new BigDecimal("0.2")),
+                        new Epss("CVE-2", new BigDecimal("0.3"), null)).iterator()));
+
+        assertThat(recordsModified).isEqualTo(2);
+        assertThat(findAllEpss()).satisfiesExactly(
+                epss -> {
+                    assertThat(epss.getCve()).isEqualTo("CVE-1");
+                    assertThat(epss.getScore()).isNull();
+                    assertThat(epss.getPercentile()).isEqualByComparingTo("0.2");
+                },
+                epss -> {
+                    assertThat(epss.getCve()).isEqualTo("CVE-2");
+                    assertThat(epss.getScore()).isEqualByComparingTo("0.3");
+                    assertThat(epss.getPercentile()).isNull();
+                });
+    }
+
+    @Test
+    void createOrUpdateAllViaCopyShouldDoNothingWhenNoRecordsProvided() {
+        final int recordsModified = jdbiHandle.inTransaction(handle -> handle.attach(EpssDao.class)
+                .createOrUpdateAllViaCopy(List.<Epss>of().iterator()));
+
+        assertThat(recordsModified).isZero();
+        assertThat(findAllEpss()).isEmpty();
+    }
+
+    private List<Epss> findAllEpss() {
+        return jdbiHandle.createQuery("""
+                        SELECT "CVE" AS "cve"
+                             , "SCORE" AS "score"
+                             , "PERCENTILE" AS "percentile"
+                          FROM "EPSS"
+                         ORDER BY "CVE"
+                        """)
+                .map(BeanMapper.of(Epss.class))
+                .list();
+    }
+
+}
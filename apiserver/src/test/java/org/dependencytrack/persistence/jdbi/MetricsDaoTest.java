@@ -21,6 +21,8 @@ package org.dependencytrack.persistence.jdbi;
 import org.dependencytrack.PersistenceCapableTest;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.DependencyMetrics;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.ProjectCollectionLogic;
 import org.dependencytrack.model.ProjectMetrics;
 import org.jdbi.v3.core.Handle;
 import org.junit.jupiter.api.AfterEach;
@@ -287,4 +289,71 @@ public class MetricsDaoTest extends PersistenceCapableTest {
         assertThat(surviving).hasSize(1);
     }
 
+    @Test
+    public void shouldMaintainCollectionProjectMetricsIncrementally() {
+        final var collection = new Project();
+        collection.setName("acme-collection");
+        collection.setCollectionLogic(ProjectCollectionLogic.AGGREGATE_DIRECT_CHILDREN);
+        qm.createProject(collection, List.of(), false);
+
+        final var childA = new Project();
+        childA.setName("acme-child-a");
+        childA.setParent(collection);
+        qm.persist(childA);
+
+        final var childB = new Project();
+        childB.setName("acme-child-b");
+        childB.setParent(collection);
+        qm.persist(childB);
+
+        createComponent(childA, "foo");
+        createComponent(childB, "bar");
+
+        metricsTestDao.createPartitionForDaysAgo("PROJECTMETRICS", 0);
+        metricsTestDao.createPartitionForDaysAgo("DEPENDENCYMETRICS", 0);
+        metricsDao.updateProjectMetrics(childA.getUuid());
+        metricsDao.updateProjectMetrics(childB.getUuid());
+
+        // Metrics were never computed before, so they're computed on read.
+        assertThat(isCollectionProjectMetricsFresh(collection.getId())).isFalse();
+        assertThat(metricsDao.getMostRecentCollectionProjectMetrics(collection.getId()))
+                .satisfies(metrics -> assertThat(metrics.getComponents()).isEqualTo(2));
+        assertThat(isCollectionProjectMetricsFresh(collection.getId())).isTrue();
+
+        // Child B does not hold the earliest first occurrence,
+        // so its changes are applied without having to re-compute.
+        createComponent(childB, "baz");
+        metricsDao.updateProjectMetrics(childB.getUuid());
+        assertThat(isCollectionProjectMetricsFresh(collection.getId())).isTrue();
+        assertThat(metricsDao.getMostRecentCollectionProjectMetrics(collection.getId()))
+                .satisfies(metrics -> assertThat(metrics.getComponents()).isEqualTo(3));
+
+        // Changes in membership can't be applied incrementally.
+        jdbiHandle.execute("UPDATE \"PROJECT\" SET \"INACTIVE_SINCE\" = NOW() WHERE \"ID\" = ?", childB.getId());
+        assertThat(isCollectionProjectMetricsFresh(collection.getId())).isFalse();
+        assertThat(metricsDao.getMostRecentCollectionProjectMetrics(collection.getId()))
+                .satisfies(metrics -> assertThat(metrics.getComponents()).isEqualTo(1));
+        assertThat(isCollectionProjectMetricsFresh(collection.getId())).isTrue();
+    }
+
+    private void createComponent(Project project, String name) {
+        final var component = new Component();
+        component.setProject(project);
+        component.setName(name);
+        component.setVersion("1.0");
+        qm.createComponent(component, false);
+    }
+
+    private boolean isCollectionProjectMetricsFresh(long projectId) {
+        return jdbiHandle
+                .createQuery("""
+                        SELECT "COMPUTED_REVISION" IS NOT DISTINCT FROM "REVISION"
+                          FROM "COLLECTION_PROJECT_METRICS"
+                         WHERE "PROJECT_ID" = :projectId
+                        """)
+                .bind("projectId", projectId)
+                .mapTo(Boolean.class)
+                .one();
+    }
+
 }
@@ -853,6 +853,48 @@ class CelPolicyEngineTest extends PersistenceCapableTest {
         }
     }
 
+    @Test
+    void shouldEvaluateComponentsInParallel() throws Exception {
+        final var policy = qm.createPolicy("policy", Policy.Operator.ANY, Policy.ViolationState.FAIL);
+        qm.createPolicyCondition(policy, PolicyCondition.Subject.EXPRESSION, PolicyCondition.Operator.MATCHES, """
+                component.is_dependency_of(v1.Component{name: "acme-lib-0"})
+                """, PolicyViolation.Type.OPERATIONAL);
+
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        // * -> acme-lib-0 -> acme-lib-{1..2000}
+        final int componentCount = CelPolicyEngine.MIN_COMPONENTS_PER_CHUNK * 4;
+        useJdbiHandle(handle -> {
+            handle.createUpdate("""
+                            INSERT INTO "COMPONENT" ("UUID", "NAME", "PROJECT_ID")
+                            SELECT GEN_RANDOM_UUID(), 'acme-lib-' || i, :projectId
+                              FROM GENERATE_SERIES(0, :componentCount) AS i
+                            """)
+                    .bind("projectId", project.getId())
+                    .bind("componentCount", componentCount)
+                    .execute();
+            handle.createUpdate("""
+                            UPDATE "COMPONENT"
+                               SET "DIRECT_DEPENDENCIES" = (
+                                 SELECT JSONB_AGG(JSONB_BUILD_OBJECT('uuid', "UUID"))
+                                   FROM "COMPONENT"
+                                  WHERE "PROJECT_ID" = :projectId
+                                    AND "NAME" != 'acme-lib-0'
+                               )
+                             WHERE "PROJECT_ID" = :projectId
+                               AND "NAME" = 'acme-lib-0'
+                            """)
+                    .bind("projectId", project.getId())
+                    .execute();
+        });
+
+        new CelPolicyEngine(4).evaluateProject(project.getUuid());
+
+        assertThat(qm.getAllPolicyViolations(project)).hasSize(componentCount);
+    }
+
     @Test
     void testEvaluateProjectWithPolicyOperatorAnyAndNotAllConditionsMatching() throws Exception {
         final var policy = qm.createPolicy("policy", Policy.Operator.ANY, Policy.ViolationState.FAIL);
@@ -1873,6 +1915,61 @@ class CelPolicyEngineTest extends PersistenceCapableTest {
         assertThat(qm.getAllPolicyViolations(componentB)).isEmpty();
     }
 
+    @Test
+    void testEvaluateProjectWithFuncComponentIsDependencyOfComponentWithCycle() throws Exception {
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        qm.persist(componentA);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        qm.persist(componentB);
+
+        final var componentC = new Component();
+        componentC.setProject(project);
+        componentC.setName("acme-lib-c");
+        qm.persist(componentC);
+
+        // * -> A -> B -> C
+        //           ^    |
+        //           \----/
+        project.setDirectDependencies("[%s]".formatted(new ComponentIdentity(componentA).toJSON()));
+        componentA.setDirectDependencies("[%s]".formatted(new ComponentIdentity(componentB).toJSON()));
+        componentB.setDirectDependencies("[%s]".formatted(new ComponentIdentity(componentC).toJSON()));
+        componentC.setDirectDependencies("[%s]".formatted(new ComponentIdentity(componentB).toJSON()));
+        qm.persist(project);
+        qm.persist(componentA);
+        qm.persist(componentB);
+        qm.persist(componentC);
+
+        final var policyEngine = new CelPolicyEngine();
+        final var policy = qm.createPolicy("policy", Policy.Operator.ANY, Policy.ViolationState.FAIL);
+
+        final PolicyCondition condition = qm.createPolicyCondition(policy,
+                PolicyCondition.Subject.EXPRESSION, PolicyCondition.Operator.MATCHES, """
+                        component.is_dependency_of(v1.Component{name: "acme-lib-a"})
+                        """, PolicyViolation.Type.OPERATIONAL);
+        policyEngine.evaluateProject(project.getUuid());
+        assertThat(qm.getAllPolicyViolations(componentA)).isEmpty();
+        assertThat(qm.getAllPolicyViolations(componentB)).hasSize(1);
+        assertThat(qm.getAllPolicyViolations(componentC)).hasSize(1);
+
+        // C can be reached through B -> C -> B, which does not contain A.
+        condition.setValue("""
+                component.is_exclusive_dependency_of(v1.Component{name: "acme-lib-a"})
+                """);
+        policyEngine.evaluateProject(project.getUuid());
+        assertThat(qm.getAllPolicyViolations(componentA)).isEmpty();
+        assertThat(qm.getAllPolicyViolations(componentB)).hasSize(1);
+        assertThat(qm.getAllPolicyViolations(componentC)).isEmpty();
+    }
+
     @Test
     void testEvaluateProjectWithFuncMatchesRange() throws Exception {
         final var policy = qm.createPolicy("policy", Policy.Operator.ANY, Policy.ViolationState.FAIL);
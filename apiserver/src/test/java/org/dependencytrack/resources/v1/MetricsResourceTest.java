@@ -830,6 +830,72 @@ public class MetricsResourceTest extends ResourceTest {
                         """);
     }
 
+    @Test
+    void shouldReturnPortfolioMetricsForDaysFromTeamMetricsWithAcl() {
+        initializeWithPermissions(Permissions.VIEW_PORTFOLIO);
+        enablePortfolioAccessControl();
+
+        final var accessibleProjectA = new Project();
+        accessibleProjectA.setName("acme-app-a");
+        accessibleProjectA.addAccessTeam(super.team);
+        qm.persist(accessibleProjectA);
+
+        final var accessibleProjectB = new Project();
+        accessibleProjectB.setName("acme-app-b");
+        accessibleProjectB.addAccessTeam(super.team);
+        qm.persist(accessibleProjectB);
+
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final Instant now = Instant.now();
+
+        useJdbiHandle(handle -> {
+            var dao = handle.attach(MetricsTestDao.class);
+
+            dao.createMetricsPartitionsForDate("PROJECTMETRICS", today);
+            dao.createMetricsPartitionsForDate("PROJECTMETRICS", today.minusDays(1));
+            dao.createMetricsPartitionsForDate("PROJECTMETRICS", today.minusDays(2));
+
+            var accessibleProjectAMetrics = new ProjectMetrics();
+            accessibleProjectAMetrics.setProjectId(accessibleProjectA.getId());
+            accessibleProjectAMetrics.setComponents(1);
+            accessibleProjectAMetrics.setFirstOccurrence(Date.from(now.minus(1, ChronoUnit.DAYS)));
+            accessibleProjectAMetrics.setLastOccurrence(accessibleProjectAMetrics.getFirstOccurrence());
+            dao.createProjectMetrics(accessibleProjectAMetrics);
+
+            handle.useTransaction(tx -> tx.attach(MetricsDao.class).refreshTeamPortfolioMetrics());
+
+            // Metrics recorded after the refresh are not considered for days
+            // that were already over at the time of the refresh.
+            var accessibleProjectBMetrics = new ProjectMetrics();
+            accessibleProjectBMetrics.setProjectId(accessibleProjectB.getId());
+            accessibleProjectBMetrics.setComponents(2);
+            accessibleProjectBMetrics.setFirstOccurrence(Date.from(now.minus(1, ChronoUnit.DAYS)));
+            accessibleProjectBMetrics.setLastOccurrence(accessibleProjectBMetrics.getFirstOccurrence());
+            dao.createProjectMetrics(accessibleProjectBMetrics);
+        });
+
+        final Response response = jersey
+                .target(V1_METRICS + "/portfolio/2/days")
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThatJson(getPlainTextBody(response))
+                .withOptions(Option.IGNORING_EXTRA_FIELDS)
+                .isEqualTo(/* language=JSON */ """
+                        [
+                          {
+                            "components": 1,
+                            "projects": 1
+                          },
+                          {
+                            "components": 3,
+                            "projects": 2
+                          }
+                        ]
+                        """);
+    }
+
     @Test
     public void getPortfolioMetricsXDaysGlobalTest() {
         initializeWithPermissions(Permissions.VIEW_PORTFOLIO);
@@ -72,6 +72,7 @@ class TaskSchedulerInitializerTest {
                 "Scheduled Notification Dispatch",
                 "Tag Maintenance",
                 "Telemetry Submission",
+                "Vulnerability Data Change Analysis",
                 "Vulnerability Database Maintenance",
                 "Vulnerability Metrics Update",
                 "Vulnerability Policy Bundle Sync");
@@ -26,8 +26,11 @@ import org.junit.jupiter.api.Test;
 import javax.jdo.JDOObjectNotFoundException;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.useJdbiHandle;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.withJdbiHandle;
 
 class VulnerabilityDatabaseMaintenanceTaskTest extends PersistenceCapableTest {
 
@@ -54,4 +57,22 @@ class VulnerabilityDatabaseMaintenanceTaskTest extends PersistenceCapableTest {
                 .isThrownBy(() -> qm.getObjectById(VulnerableSoftware.class, vsOrphaned.getId()));
     }
 
+    @Test
+    void shouldDeleteExpiredVulnerableSoftwareChanges() {
+        useJdbiHandle(handle -> handle.execute("""
+                INSERT INTO "VULNERABLESOFTWARE_CHANGE" ("CHANGED_AT", "PURL_TYPE", "PURL_NAME")
+                VALUES (NOW() - INTERVAL '2 days', 'maven', 'expired')
+                     , (NOW() - INTERVAL '1 hour', 'maven', 'retained')
+                """));
+
+        final var task = new VulnerabilityDatabaseMaintenanceTask();
+        assertThatNoException().isThrownBy(() -> task.run());
+
+        final List<String> remainingNames = withJdbiHandle(handle -> handle
+                .createQuery("SELECT \"PURL_NAME\" FROM \"VULNERABLESOFTWARE_CHANGE\"")
+                .mapTo(String.class)
+                .list());
+        assertThat(remainingNames).containsOnly("retained");
+    }
+
 }
\ No newline at end of file
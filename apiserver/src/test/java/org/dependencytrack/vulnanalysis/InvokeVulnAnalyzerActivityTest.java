@@ -0,0 +1,230 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.vulnanalysis;
+
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.cyclonedx.proto.v1_7.Bom;
+import org.cyclonedx.proto.v1_7.Component;
+import org.cyclonedx.proto.v1_7.Property;
+import org.cyclonedx.proto.v1_7.Source;
+import org.cyclonedx.proto.v1_7.Vulnerability;
+import org.cyclonedx.proto.v1_7.VulnerabilityAffects;
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.cache.api.CacheManager;
+import org.dependencytrack.cache.api.NoopCacheManager;
+import org.dependencytrack.cache.database.DatabaseCacheProvider;
+import org.dependencytrack.dex.api.ActivityContext;
+import org.dependencytrack.filestorage.api.FileStorage;
+import org.dependencytrack.filestorage.memory.MemoryFileStorage;
+import org.dependencytrack.filestorage.proto.v1.FileMetadata;
+import org.dependencytrack.persistence.jdbi.JdbiFactory;
+import org.dependencytrack.plugin.runtime.PluginManager;
+import org.dependencytrack.proto.internal.workflow.v1.InvokeVulnAnalyzerArg;
+import org.dependencytrack.proto.internal.workflow.v1.InvokeVulnAnalyzerRes;
+import org.dependencytrack.vulnanalysis.api.VulnAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dependencytrack.persistence.jdbi.JdbiFactory.useJdbiHandle;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvokeVulnAnalyzerActivityTest extends PersistenceCapableTest {
+
+    private final List<String> analyzedPurls = new ArrayList<>();
+    private FileStorage fileStorage;
+    private PluginManager pluginManager;
+    private CacheManager cacheManager;
+    private InvokeVulnAnalyzerActivity activity;
+
+    @BeforeEach
+    void beforeEach() {
+        fileStorage = new MemoryFileStorage();
+
+        pluginManager = new PluginManager(
+                new SmallRyeConfigBuilder().build(),
+                new NoopCacheManager(),
+                secretName -> null,
+                JdbiFactory.createJdbi(),
+                HttpClient.newHttpClient(),
+                List.of(VulnAnalyzer.class));
+        pluginManager.loadPlugins(List.of(new MockVulnAnalyzerPlugin(bom -> {
+            final var vdrBuilder = Bom.newBuilder();
+            for (final Component component : bom.getComponentsList()) {
+                analyzedPurls.add(component.getPurl());
+                if (component.getPurl().startsWith("pkg:maven/com.example/acme-lib@")) {
+                    vdrBuilder.addVulnerabilities(
+                            Vulnerability.newBuilder()
+                                    .setId("CVE-2024-1234")
+                                    .setSource(Source.newBuilder().setName("NVD"))
+                                    .addAffects(VulnerabilityAffects.newBuilder().setRef(component.getBomRef())));
+                }
+            }
+
+            return vdrBuilder.build();
+        })));
+
+        cacheManager = new DatabaseCacheProvider().create();
+        activity = new InvokeVulnAnalyzerActivity(fileStorage, pluginManager, cacheManager, true);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        if (pluginManager != null) {
+            pluginManager.close();
+        }
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void shouldMemoizeResultsAcrossProjects() throws Exception {
+        final Bom vdrA = analyze(
+                createComponent("1", "pkg:maven/com.example/acme-lib@1.0.0"),
+                createComponent("2", "pkg:maven/com.example/other-lib@1.0.0"));
+        assertThat(analyzedPurls).containsExactlyInAnyOrder(
+                "pkg:maven/com.example/acme-lib@1.0.0",
+                "pkg:maven/com.example/other-lib@1.0.0");
+        assertThat(vdrA.getVulnerabilitiesList()).satisfiesExactly(vuln -> {
+            assertThat(vuln.getId()).isEqualTo("CVE-2024-1234");
+            assertThat(vuln.getAffectsList()).extracting(VulnerabilityAffects::getRef).containsExactly("1");
+        });
+
+        analyzedPurls.clear();
+
+        final Bom vdrB = analyze(
+                createComponent("3", "pkg:maven/com.example/acme-lib@1.0.0"),
+                createComponent("4", "pkg:maven/com.example/acme-lib@2.0.0"),
+                createComponent("5", "pkg:maven/com.example/other-lib@1.0.0"));
+        assertThat(analyzedPurls).containsExactly("pkg:maven/com.example/acme-lib@2.0.0");
+        assertThat(vdrB.getVulnerabilitiesList()).satisfiesExactly(vuln -> {
+            assertThat(vuln.getId()).isEqualTo("CVE-2024-1234");
+            assertThat(vuln.getAffectsList()).extracting(VulnerabilityAffects::getRef).containsExactlyInAnyOrder("3", "4");
+        });
+    }
+
+    @Test
+    void shouldNotUseMemoizedResultsWhenVulnDataChanged() throws Exception {
+        analyze(createComponent("1", "pkg:maven/com.example/acme-lib@1.0.0"));
+        assertThat(analyzedPurls).hasSize(1);
+
+        analyze(createComponent("2", "pkg:maven/com.example/acme-lib@1.0.0"));
+        assertThat(analyzedPurls).hasSize(1);
+
+        useJdbiHandle(handle -> handle.execute("""
+                INSERT INTO "VULNERABLESOFTWARE_CHANGE" ("PURL_TYPE", "PURL_NAMESPACE", "PURL_NAME")
+                VALUES ('maven', 'com.example', 'acme-lib')
+                """));
+
+        final Bom vdr = analyze(createComponent("3", "pkg:maven/com.example/acme-lib@1.0.0"));
+        assertThat(analyzedPurls).hasSize(2);
+        assertThat(vdr.getVulnerabilitiesList()).satisfiesExactly(
+                vuln -> assertThat(vuln.getAffectsList()).extracting(VulnerabilityAffects::getRef).containsExactly("3"));
+    }
+
+    @Test
+    void shouldNotMemoizeResultsWhenDisabled() throws Exception {
+        activity = new InvokeVulnAnalyzerActivity(fileStorage, pluginManager, cacheManager, false);
+
+        analyze(createComponent("1", "pkg:maven/com.example/acme-lib@1.0.0"));
+        analyze(createComponent("2", "pkg:maven/com.example/acme-lib@1.0.0"));
+
+        assertThat(analyzedPurls).hasSize(2);
+    }
+
+    @Test
+    void shouldComputeSameCacheKeyRegardlessOfPropertyOrder() {
+        final Component component = createComponent("1", "pkg:maven/com.example/acme-lib@1.0.0").toBuilder()
+                .addProperties(Property.newBuilder().setName("foo").setValue("1"))
+                .addProperties(Property.newBuilder().setName("bar").setValue("2"))
+                .build();
+        final Component reorderedComponent = createComponent("2", "pkg:maven/com.example/acme-lib@1.0.0").toBuilder()
+                .addProperties(Property.newBuilder().setName("bar").setValue("2"))
+                .addProperties(Property.newBuilder().setName("foo").setValue("1"))
+                .build();
+
+        final Map<String, String> cacheKeyByRef = InvokeVulnAnalyzerActivity.getCacheKeys(
+                "mock", "fingerprint", 1, Bom.newBuilder()
+                        .addComponents(component)
+                        .addComponents(reorderedComponent)
+                        .build());
+
+        assertThat(cacheKeyByRef.get("1")).isEqualTo(cacheKeyByRef.get("2"));
+    }
+
+    @Test
+    void shouldComputeDifferentCacheKeysForDifferentAnalyzerConfigs() {
+        final Bom bom = Bom.newBuilder()
+                .addComponents(createComponent("1", "pkg:maven/com.example/acme-lib@1.0.0"))
+                .build();
+
+        assertThat(InvokeVulnAnalyzerActivity.getCacheKeys("mock", "fingerprintA", 1, bom))
+                .isNotEqualTo(InvokeVulnAnalyzerActivity.getCacheKeys("mock", "fingerprintB", 1, bom));
+    }
+
+    private Bom analyze(Component... components) throws Exception {
+        final FileMetadata bomFileMetadata = fileStorage.store(
+                "bom_%s.proto".formatted(UUID.randomUUID()),
+                "application/protobuf",
+                new ByteArrayInputStream(Bom.newBuilder()
+                        .addAllComponents(List.of(components))
+                        .build()
+                        .toByteArray()));
+
+        final InvokeVulnAnalyzerRes res = activity.execute(
+                mockActivityContext(),
+                InvokeVulnAnalyzerArg.newBuilder()
+                        .setProjectUuid(UUID.randomUUID().toString())
+                        .setAnalyzerName("mock")
+                        .setBomFileMetadata(bomFileMetadata)
+                        .build());
+        if (!res.hasVdrFileMetadata()) {
+            return Bom.getDefaultInstance();
+        }
+
+        try (final var inputStream = fileStorage.get(res.getVdrFileMetadata())) {
+            return Bom.parseFrom(inputStream);
+        }
+    }
+
+    private static Component createComponent(String bomRef, String purl) {
+        return Component.newBuilder()
+                .setBomRef(bomRef)
+                .setName(purl.substring(purl.lastIndexOf('/') + 1, purl.indexOf('@')))
+                .setPurl(purl)
+                .build();
+    }
+
+    private static ActivityContext mockActivityContext() {
+        final var ctxMock = mock(ActivityContext.class);
+        when(ctxMock.workflowRunId()).thenReturn(UUID.randomUUID());
+        return ctxMock;
+    }
+
+}
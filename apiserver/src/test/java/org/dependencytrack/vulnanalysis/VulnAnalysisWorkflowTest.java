@@ -151,7 +151,7 @@ class VulnAnalysisWorkflowTest extends PersistenceCapableTest {
                 protoConverter(DeleteFilesArgument.class),
                 voidConverter());
         engine.registerActivity(
-                new InvokeVulnAnalyzerActivity(fileStorage, pluginManager),
+                new InvokeVulnAnalyzerActivity(fileStorage, pluginManager, new NoopCacheManager(), false),
                 protoConverter(InvokeVulnAnalyzerArg.class),
                 protoConverter(InvokeVulnAnalyzerRes.class));
         engine.registerActivity(
@@ -1229,6 +1229,84 @@ class VulnAnalysisWorkflowTest extends PersistenceCapableTest {
         assertThat(invocations.get()).isEqualTo(2);
     }
 
+    @Test
+    void shouldAnalyzeDuplicateComponentsOnlyOnce() {
+        pluginManager
+                .getMutableConfigRegistry(VulnAnalyzer.class, "internal")
+                .setRuntimeConfig(new InternalVulnAnalyzerConfigV1().withEnabled(false));
+
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.persist(project);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib");
+        componentA.setVersion("1.0.0");
+        componentA.setPurl("pkg:maven/com.example/acme-lib@1.0.0");
+        qm.persist(componentA);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib");
+        componentB.setVersion("1.0.0");
+        componentB.setPurl("pkg:maven/com.example/acme-lib@1.0.0");
+        qm.persist(componentB);
+
+        final var componentC = new Component();
+        componentC.setProject(project);
+        componentC.setName("acme-lib");
+        componentC.setVersion("2.0.0");
+        componentC.setPurl("pkg:maven/com.example/acme-lib@2.0.0");
+        qm.persist(componentC);
+
+        final var analyzedComponentCount = new AtomicInteger();
+        mockAnalyzerFunction.set(bom -> {
+            analyzedComponentCount.addAndGet(bom.getComponentsCount());
+
+            final var vdrBuilder = Bom.newBuilder();
+            for (final var component : bom.getComponentsList()) {
+                if (component.getPurl().endsWith("@1.0.0")) {
+                    vdrBuilder.addVulnerabilities(
+                            org.cyclonedx.proto.v1_7.Vulnerability.newBuilder()
+                                    .setId("CVE-2024-1234")
+                                    .setSource(Source.newBuilder().setName("NVD"))
+                                    .addAffects(VulnerabilityAffects.newBuilder().setRef(component.getBomRef())));
+                }
+            }
+
+            return vdrBuilder.build();
+        });
+
+        final UUID runId = workflowTest.getEngine().createRun(
+                new CreateWorkflowRunRequest<>(VulnAnalysisWorkflow.class)
+                        .withArgument(VulnAnalysisWorkflowArg.newBuilder()
+                                .setProjectUuid(project.getUuid().toString())
+                                .build()));
+        workflowTest.awaitRunStatus(runId, WorkflowRunStatus.COMPLETED);
+
+        assertThat(analyzedComponentCount.get()).isEqualTo(2);
+
+        final long projectId = project.getId();
+        final List<FindingDao.FindingRow> findings = withJdbiHandle(
+                handle -> handle.attach(FindingDao.class)
+                        .selectFindingsByProject(
+                                projectId,
+                                /* includeInactive */ false,
+                                /* includeSuppressed */ false,
+                                /* searchText */ null,
+                                /* hasAnalysis */ null,
+                                /* source */ null,
+                                /* epssFrom */ null,
+                                /* epssTo */ null,
+                                /* isKev */ null,
+                                /* emitTotalCount */ false,
+                                /* paginate */ false));
+        assertThat(findings)
+                .extracting(FindingDao.FindingRow::componentUuid)
+                .containsExactlyInAnyOrder(componentA.getUuid(), componentB.getUuid());
+    }
+
     @Test
     void shouldSyncVulnAndAliasAssertionsFromExternalAnalyzer() {
         var project = new Project();
@@ -0,0 +1,46 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.vulndatasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dependencytrack.plugin.runtime.PluginManager;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs all tests of {@link MirrorVulnDataSourceActivityTest} with bulk synchronization enabled.
+ */
+class MirrorVulnDataSourceActivityBulkSyncTest extends MirrorVulnDataSourceActivityTest {
+
+    @Override
+    MirrorVulnDataSourceActivity createActivity(PluginManager pluginManager) {
+        return new MirrorVulnDataSourceActivity(pluginManager, new SimpleMeterRegistry(), 100, true);
+    }
+
+    @Test
+    void shouldThrowWhenBatchSizeIsZero() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new MirrorVulnDataSourceActivity(
+                        mock(PluginManager.class), new SimpleMeterRegistry(), 0, true))
+                .withMessage("batchSize must be greater than 0");
+    }
+
+}
@@ -59,6 +59,10 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         }
     }
 
+    MirrorVulnDataSourceActivity createActivity(PluginManager pluginManager) {
+        return new MirrorVulnDataSourceActivity(pluginManager);
+    }
+
     private PluginManager createPluginManager(String extensionName, VulnDataSource dataSource) {
         return createPluginManager(List.of(
                 new TestVulnDataSourceFactory(extensionName, () -> dataSource)));
@@ -87,7 +91,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
                 List.of(VulnDataSource.class));
         pluginManager.loadPlugins(List.of());
 
-        final var activity = new MirrorVulnDataSourceActivity(pluginManager);
+        final var activity = createActivity(pluginManager);
         final var arg = MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("nonexistent")
                 .setSourceName("NVD")
@@ -109,7 +113,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         pluginManager.loadPlugins(List.of(
                 () -> List.of(new DisabledVulnDataSourceFactory("nvd"))));
 
-        final var activity = new MirrorVulnDataSourceActivity(pluginManager);
+        final var activity = createActivity(pluginManager);
         final var arg = MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("nvd")
                 .setSourceName("NVD")
@@ -122,7 +126,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
     @Test
     void shouldThrowWhenSourceNameInvalid() {
         final var dataSourceMock = mock(VulnDataSource.class);
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         final var arg = MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("nvd")
                 .setSourceName("INVALID")
@@ -162,7 +166,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
                 new TestVulnDataSourceFactory("osv", () -> osvDataSourceMock),
                 new TestVulnDataSourceFactory("github", () -> mock(VulnDataSource.class))));
 
-        final var activity = new MirrorVulnDataSourceActivity(pluginManager);
+        final var activity = createActivity(pluginManager);
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("osv").setSourceName("OSV").build());
 
@@ -196,7 +200,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
                 new TestVulnDataSourceFactory("osv", () -> osvDataSourceMock),
                 new TestVulnDataSourceFactory("github", () -> mock(VulnDataSource.class))));
 
-        final var activity = new MirrorVulnDataSourceActivity(pluginManager);
+        final var activity = createActivity(pluginManager);
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("osv").setSourceName("OSV").build());
 
@@ -229,7 +233,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         final var pluginManager = createPluginManager(List.of(
                 new TestVulnDataSourceFactory("osv", () -> osvDataSourceMock)));
 
-        final var activity = new MirrorVulnDataSourceActivity(pluginManager);
+        final var activity = createActivity(pluginManager);
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("osv").setSourceName("OSV").build());
 
@@ -257,7 +261,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(osvDataSourceMock).hasNext();
         doReturn(bov).when(osvDataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("osv", osvDataSourceMock));
+        final var activity = createActivity(createPluginManager("osv", osvDataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("osv").setSourceName("OSV").build());
 
@@ -317,7 +321,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -405,7 +409,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder()
                 .setDataSourceName("nvd").setSourceName("NVD").build());
 
@@ -488,7 +492,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("github", dataSourceMock));
+        final var activity = createActivity(createPluginManager("github", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("github").setSourceName("GITHUB").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -701,7 +705,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("osv", dataSourceMock));
+        final var activity = createActivity(createPluginManager("osv", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("osv").setSourceName("OSV").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -856,7 +860,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -931,7 +935,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -1032,7 +1036,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -1459,7 +1463,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         verify(dataSourceMock).markProcessed(eq(bov));
@@ -1530,7 +1534,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(bov).when(dataSourceMock).next();
 
-        final var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        final var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         Vulnerability vuln = qm.getVulnerabilityByVulnId("NVD", "CVE-2024-0001");
@@ -1577,7 +1581,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMock).hasNext();
         doReturn(generateBomFromJson(bovJson)).when(dataSourceMock).next();
 
-        var activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMock));
+        var activity = createActivity(createPluginManager("nvd", dataSourceMock));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         Vulnerability vuln = qm.getVulnerabilityByVulnId("NVD", "CVE-2024-0001");
@@ -1592,7 +1596,7 @@ class MirrorVulnDataSourceActivityTest extends PersistenceCapableTest {
         doReturn(true, false).when(dataSourceMockVersionLess).hasNext();
         doReturn(generateBomFromJson(bovJsonVersionLess)).when(dataSourceMockVersionLess).next();
 
-        activity = new MirrorVulnDataSourceActivity(createPluginManager("nvd", dataSourceMockVersionLess));
+        activity = createActivity(createPluginManager("nvd", dataSourceMockVersionLess));
         activity.execute(mock(ActivityContext.class), MirrorVulnDataSourceArg.newBuilder().setDataSourceName("nvd").setSourceName("NVD").build());
 
         vuln = qm.getVulnerabilityByVulnId("NVD", "CVE-2024-0001");
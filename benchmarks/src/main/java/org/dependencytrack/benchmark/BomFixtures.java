@@ -0,0 +1,224 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.benchmark;
+
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Hash;
+import org.cyclonedx.model.LicenseChoice;
+import org.cyclonedx.model.Metadata;
+import org.cyclonedx.model.license.Expression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Generates synthetic CycloneDX BOMs for benchmarks.
+ * <p>
+ * Generated BOMs are fully determined by their {@link Options}, such that
+ * results of benchmark runs remain comparable across machines and releases.
+ *
+ * @since 5.1.0
+ */
+public final class BomFixtures {
+
+    /**
+     * @param componentCount Number of components in the BOM, including duplicates.
+     * @param duplicateRatio Ratio of components that share the identity of a previously generated component.
+     * @param cpeRatio       Ratio of components that have a CPE in addition to a PURL.
+     * @param seed           Seed of the random number generator.
+     */
+    public record Options(int componentCount, double duplicateRatio, double cpeRatio, long seed) {
+
+        public Options {
+            if (componentCount < 0) {
+                throw new IllegalArgumentException("componentCount must not be negative");
+            }
+            if (duplicateRatio < 0 || duplicateRatio >= 1) {
+                throw new IllegalArgumentException("duplicateRatio must be in [0, 1)");
+            }
+            if (cpeRatio < 0 || cpeRatio > 1) {
+                throw new IllegalArgumentException("cpeRatio must be in [0, 1]");
+            }
+        }
+
+        public static Options of(int componentCount) {
+            return new Options(componentCount, 0.1, 0.25, 42);
+        }
+
+    }
+
+    static final String[] PURL_TYPES = {"maven", "npm", "pypi", "golang", "nuget"};
+    static final String[] LICENSE_EXPRESSIONS = {
+            "Apache-2.0",
+            "MIT",
+            "BSD-3-Clause",
+            "Apache-2.0 OR MIT",
+            "GPL-2.0-only WITH Classpath-exception-2.0",
+            "(MIT OR Apache-2.0) AND BSD-2-Clause",
+            "LGPL-2.1-or-later AND (MPL-2.0 OR EPL-2.0)"};
+
+    private BomFixtures() {
+    }
+
+    public static Bom generate(Options options) {
+        final var random = new SplittableRandom(options.seed());
+
+        final var rootComponent = new Component();
+        rootComponent.setType(Component.Type.APPLICATION);
+        rootComponent.setBomRef("root");
+        rootComponent.setName("acme-app");
+        rootComponent.setVersion("1.0.0");
+
+        final var metadata = new Metadata();
+        metadata.setComponent(rootComponent);
+
+        final var components = new ArrayList<Component>(options.componentCount());
+        for (int i = 0; i < options.componentCount(); i++) {
+            if (!components.isEmpty() && random.nextDouble() < options.duplicateRatio()) {
+                final Component original = components.get(random.nextInt(components.size()));
+                components.add(duplicate(original, "component-" + i));
+            } else {
+                components.add(generateComponent(random, options, i));
+            }
+        }
+
+        final var bom = new Bom();
+        bom.setSerialNumber("urn:uuid:" + new UUID(options.seed(), options.componentCount()));
+        bom.setVersion(1);
+        bom.setMetadata(metadata);
+        bom.setComponents(components);
+        bom.setDependencies(generateDependencies(random, rootComponent, components));
+        return bom;
+    }
+
+    public static byte[] toJson(Bom bom) throws GeneratorException {
+        return BomGeneratorFactory.createJson(Version.VERSION_16, bom)
+                .toJsonString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] toXml(Bom bom) throws GeneratorException {
+        return BomGeneratorFactory.createXml(Version.VERSION_16, bom)
+                .toXmlString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Component generateComponent(SplittableRandom random, Options options, int index) {
+        final String purlType = PURL_TYPES[random.nextInt(PURL_TYPES.length)];
+        final String namespace = switch (purlType) {
+            case "maven" -> "org.acme.group" + random.nextInt(50);
+            case "npm" -> random.nextBoolean() ? "@acme" + random.nextInt(20) : null;
+            case "golang" -> "github.com/acme" + random.nextInt(50);
+            default -> null;
+        };
+        final String name = "lib-" + index;
+        final String version = generateVersion(random);
+
+        final var component = new Component();
+        component.setType(Component.Type.LIBRARY);
+        component.setBomRef("component-" + index);
+        component.setGroup(namespace);
+        component.setName(name);
+        component.setVersion(version);
+        component.setPurl(namespace != null
+                ? "pkg:%s/%s/%s@%s".formatted(purlType, namespace, name, version)
+                : "pkg:%s/%s@%s".formatted(purlType, name, version));
+        if (random.nextDouble() < options.cpeRatio()) {
+            component.setCpe("cpe:2.3:a:acme%d:lib_%d:%s:*:*:*:*:*:*:*".formatted(random.nextInt(50), index, version));
+        }
+
+        final var expression = new Expression();
+        expression.setValue(LICENSE_EXPRESSIONS[random.nextInt(LICENSE_EXPRESSIONS.length)]);
+        final var licenses = new LicenseChoice();
+        licenses.setExpression(expression);
+        component.setLicenses(licenses);
+
+        component.addHash(new Hash(Hash.Algorithm.SHA_256, generateHex(random, 4)));
+        component.addHash(new Hash(Hash.Algorithm.SHA1, generateHex(random, 3).substring(0, 40)));
+
+        return component;
+    }
+
+    private static Component duplicate(Component original, String bomRef) {
+        final var component = new Component();
+        component.setType(original.getType());
+        component.setBomRef(bomRef);
+        component.setGroup(original.getGroup());
+        component.setName(original.getName());
+        component.setVersion(original.getVersion());
+        component.setPurl(original.getPurl());
+        component.setCpe(original.getCpe());
+        component.setLicenses(original.getLicenses());
+        component.setHashes(original.getHashes());
+        return component;
+    }
+
+    private static List<Dependency> generateDependencies(
+            SplittableRandom random,
+            Component rootComponent,
+            List<Component> components) {
+        final var dependencies = new ArrayList<Dependency>(components.size() + 1);
+
+        final var rootDependency = new Dependency(rootComponent.getBomRef());
+        dependencies.add(rootDependency);
+
+        for (int i = 0; i < components.size(); i++) {
+            final var dependency = new Dependency(components.get(i).getBomRef());
+            if (i < 10) {
+                rootDependency.addDependency(new Dependency(components.get(i).getBomRef()));
+            }
+
+            // Only depend on later components, such that the graph is acyclic.
+            final int directDependencyCount = Math.min(random.nextInt(4), components.size() - i - 1);
+            final var targets = new TreeSet<Integer>();
+            while (targets.size() < directDependencyCount) {
+                targets.add(i + 1 + random.nextInt(components.size() - i - 1));
+            }
+            for (final int target : targets) {
+                dependency.addDependency(new Dependency(components.get(target).getBomRef()));
+            }
+
+            dependencies.add(dependency);
+        }
+
+        return dependencies;
+    }
+
+    static String generateVersion(SplittableRandom random) {
+        return "%d.%d.%d".formatted(random.nextInt(10), random.nextInt(20), random.nextInt(30));
+    }
+
+    private static String generateHex(SplittableRandom random, int longs) {
+        final var sb = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            sb.append("%016x".formatted(random.nextLong()));
+        }
+        return sb.toString();
+    }
+
+}
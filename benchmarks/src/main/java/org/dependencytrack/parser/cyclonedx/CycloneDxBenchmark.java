@@ -0,0 +1,113 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Metadata;
+import org.cyclonedx.model.Service;
+import org.cyclonedx.parsers.BomParserFactory;
+import org.dependencytrack.benchmark.BomFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks validation and parsing of large CycloneDX BOMs.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CycloneDxBenchmark {
+
+    @Param({"1000", "10000"})
+    public int componentCount;
+
+    @Param({"JSON", "XML"})
+    public String format;
+
+    private final CycloneDxStreamingParser streamingParser = new CycloneDxStreamingParser();
+    private byte[] bomBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Bom bom = BomFixtures.generate(BomFixtures.Options.of(componentCount));
+        bomBytes = switch (format) {
+            case "JSON" -> BomFixtures.toJson(bom);
+            case "XML" -> BomFixtures.toXml(bom);
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    @Benchmark
+    public void validate() {
+        CycloneDxValidator.getInstance().validate(bomBytes);
+    }
+
+    @Benchmark
+    public Bom parse() throws Exception {
+        return BomParserFactory.createParser(bomBytes).parse(bomBytes);
+    }
+
+    @Benchmark
+    public CycloneDxStreamingParser.BomHeader parseStreaming(Blackhole blackhole) throws Exception {
+        return streamingParser.parse(new ByteArrayInputStream(bomBytes), new CycloneDxStreamingParser.Handler() {
+
+            @Override
+            public void handleMetadata(Metadata metadata) {
+                blackhole.consume(metadata);
+            }
+
+            @Override
+            public void handleComponent(Component component) {
+                blackhole.consume(component);
+            }
+
+            @Override
+            public void handleService(Service service) {
+                blackhole.consume(service);
+            }
+
+            @Override
+            public void handleDependency(Dependency dependency) {
+                blackhole.consume(dependency);
+            }
+
+        });
+    }
+
+}
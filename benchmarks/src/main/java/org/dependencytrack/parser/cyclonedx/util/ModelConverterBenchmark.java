@@ -0,0 +1,85 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx.util;
+
+import org.dependencytrack.benchmark.BomFixtures;
+import org.dependencytrack.model.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks conversion of components between the CycloneDX and internal models.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ModelConverterBenchmark {
+
+    @Param({"1000", "10000"})
+    public int componentCount;
+
+    private List<org.cyclonedx.model.Component> cdxComponents;
+    private List<Component> components;
+
+    @Setup
+    public void setUp() {
+        cdxComponents = BomFixtures.generate(BomFixtures.Options.of(componentCount)).getComponents();
+        components = ModelConverter.convertComponents(cdxComponents);
+
+        // Conversion to CycloneDX uses UUIDs as BOM refs, which are only assigned upon persistence.
+        for (int i = 0; i < components.size(); i++) {
+            components.get(i).setUuid(new UUID(0, i));
+        }
+    }
+
+    @Benchmark
+    public List<Component> convertFromCycloneDx() {
+        return ModelConverter.convertComponents(cdxComponents);
+    }
+
+    @Benchmark
+    public List<org.cyclonedx.model.Component> convertToCycloneDx() {
+        final var converted = new ArrayList<org.cyclonedx.model.Component>(components.size());
+        for (final Component component : components) {
+            converted.add(ModelConverter.convert(component));
+        }
+
+        return converted;
+    }
+
+}
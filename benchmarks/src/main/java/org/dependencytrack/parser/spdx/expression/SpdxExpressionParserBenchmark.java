@@ -0,0 +1,96 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.spdx.expression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing of SPDX license expressions.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpdxExpressionParserBenchmark {
+
+    private static final String[] LICENSE_IDS = {
+            "Apache-2.0", "MIT", "BSD-2-Clause", "BSD-3-Clause", "GPL-2.0-only", "GPL-3.0-or-later",
+            "LGPL-2.1-or-later", "MPL-2.0", "EPL-2.0", "ISC", "LicenseRef-acme-proprietary"};
+
+    /**
+     * Number of license identifiers per expression.
+     */
+    @Param({"1", "3", "25"})
+    public int identifierCount;
+
+    private final SpdxExpressionParser parser = SpdxExpressionParser.getInstance();
+    private String[] expressions;
+
+    @Setup
+    public void setUp() {
+        final var random = new SplittableRandom(42);
+
+        expressions = new String[100];
+        for (int i = 0; i < expressions.length; i++) {
+            expressions[i] = generateExpression(random, identifierCount);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (final String expression : expressions) {
+            blackhole.consume(parser.parse(expression));
+        }
+    }
+
+    private static String generateExpression(SplittableRandom random, int identifierCount) {
+        if (identifierCount == 1) {
+            return LICENSE_IDS[random.nextInt(LICENSE_IDS.length)];
+        }
+
+        final int leftCount = 1 + random.nextInt(identifierCount - 1);
+        final String left = generateExpression(random, leftCount);
+        final String right = generateExpression(random, identifierCount - leftCount);
+        final String operator = random.nextBoolean() ? "AND" : "OR";
+
+        // Parenthesize randomly, such that both precedence rules and groupings are exercised.
+        return random.nextInt(3) == 0
+                ? "(%s %s %s)".formatted(left, operator, right)
+                : "%s %s %s".formatted(left, operator, right);
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.policy.cel;
+
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import org.dependencytrack.policy.cel.CelPolicyCompiler.CacheMode;
+import org.dependencytrack.proto.policy.v1.Component;
+import org.dependencytrack.proto.policy.v1.License;
+import org.dependencytrack.proto.policy.v1.Project;
+import org.dependencytrack.proto.policy.v1.Vulnerability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks evaluation of compiled component policy conditions,
+ * as performed by {@link CelPolicyEngine} for every component of a project.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CelPolicyEngineBenchmark {
+
+    private static final List<String> SCRIPTS = List.of(
+            """
+            component.purl.startsWith("pkg:maven/org.acme.group1/")
+            """,
+            """
+            component.matches_range("vers:generic/>=1.0.0|<2.0.0")
+            """,
+            """
+            component.resolved_license.groups.exists(group, group.name == "Copyleft")
+            """,
+            """
+            !spdx_expr_allows(component.license_expression, ["Apache-2.0", "MIT", "BSD-3-Clause"])
+            """,
+            """
+            vulns.exists(vuln, vuln.severity in ["CRITICAL", "HIGH"] && vuln.epss_score > 0.5)
+            """);
+
+    private static final String[] LICENSE_EXPRESSIONS = {
+            "Apache-2.0", "MIT", "Apache-2.0 OR MIT", "GPL-2.0-only", "(MIT OR Apache-2.0) AND BSD-3-Clause"};
+    private static final String[] SEVERITIES = {"CRITICAL", "HIGH", "MEDIUM", "LOW", "UNASSIGNED"};
+
+    @Param({"1000", "10000"})
+    public int componentCount;
+
+    private List<CelPolicyProgram> programs;
+    private List<Map<String, Object>> argumentsPerComponent;
+
+    @Setup
+    public void setUp() throws Exception {
+        final var compiler = new CelPolicyCompiler(CelPolicyType.COMPONENT);
+        programs = new ArrayList<>(SCRIPTS.size());
+        for (final String script : SCRIPTS) {
+            programs.add(compiler.compile(script, CacheMode.NO_CACHE));
+        }
+
+        final var random = new SplittableRandom(42);
+        final Project project = Project.newBuilder()
+                .setUuid("00000000-0000-0000-0000-000000000000")
+                .setName("acme-app")
+                .setVersion("1.0.0")
+                .build();
+        final Timestamp now = Timestamps.fromMillis(1_700_000_000_000L);
+
+        argumentsPerComponent = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            final String version = "%d.%d.%d".formatted(random.nextInt(3), random.nextInt(10), random.nextInt(10));
+            final var licenseBuilder = License.newBuilder().setId("MIT");
+            if (random.nextInt(5) == 0) {
+                licenseBuilder.addGroups(License.Group.newBuilder().setName("Copyleft"));
+            }
+
+            final Component component = Component.newBuilder()
+                    .setUuid("00000000-0000-0000-0001-%012d".formatted(i))
+                    .setGroup("org.acme.group" + random.nextInt(20))
+                    .setName("lib-" + i)
+                    .setVersion(version)
+                    .setPurl("pkg:maven/org.acme.group%d/lib-%d@%s".formatted(random.nextInt(20), i, version))
+                    .setLicenseExpression(LICENSE_EXPRESSIONS[random.nextInt(LICENSE_EXPRESSIONS.length)])
+                    .setResolvedLicense(licenseBuilder)
+                    .build();
+
+            final int vulnCount = random.nextInt(4);
+            final var vulns = new ArrayList<Vulnerability>(vulnCount);
+            for (int j = 0; j < vulnCount; j++) {
+                vulns.add(Vulnerability.newBuilder()
+                        .setUuid("00000000-0000-0000-0002-%012d".formatted(i * 4 + j))
+                        .setId("CVE-2026-%05d".formatted(random.nextInt(100_000)))
+                        .setSource("NVD")
+                        .setSeverity(SEVERITIES[random.nextInt(SEVERITIES.length)])
+                        .setEpssScore(random.nextDouble())
+                        .build());
+            }
+
+            argumentsPerComponent.add(Map.ofEntries(
+                    Map.entry(CelPolicyVariable.COMPONENT.variableName(), component),
+                    Map.entry(CelPolicyVariable.PROJECT.variableName(), project),
+                    Map.entry(CelPolicyVariable.VULNS.variableName(), vulns),
+                    Map.entry(CelPolicyVariable.NOW.variableName(), now)));
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) throws Exception {
+        for (final Map<String, Object> arguments : argumentsPerComponent) {
+            for (final CelPolicyProgram program : programs) {
+                blackhole.consume(program.execute(arguments));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks;
+
+import org.dependencytrack.benchmark.BomFixtures;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.ComponentIdentity;
+import org.dependencytrack.parser.cyclonedx.CycloneDxStreamingParser;
+import org.dependencytrack.tasks.ImportBomActivity.BomConsumer;
+import org.dependencytrack.tasks.ImportBomActivity.ConsumedBom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.dependencytrack.parser.cyclonedx.util.ModelConverter.convertComponents;
+
+/**
+ * Benchmarks consumption of BOMs by {@link ImportBomActivity}, which includes
+ * parsing, conversion, and de-duplication of components by {@link ComponentIdentity}.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImportBomActivityBenchmark {
+
+    @Param({"1000", "10000"})
+    public int componentCount;
+
+    @Param({"0.0", "0.3"})
+    public double duplicateRatio;
+
+    private final CycloneDxStreamingParser bomParser = new CycloneDxStreamingParser();
+    private byte[] bomBytes;
+    private List<Component> components;
+
+    @Setup
+    public void setUp() throws Exception {
+        final var options = new BomFixtures.Options(componentCount, duplicateRatio, 0.25, 42);
+        final org.cyclonedx.model.Bom bom = BomFixtures.generate(options);
+        bomBytes = BomFixtures.toJson(bom);
+        components = convertComponents(bom.getComponents());
+    }
+
+    @Benchmark
+    public ConsumedBom consumeBom() throws Exception {
+        final var bomConsumer = new BomConsumer();
+        bomParser.parse(new ByteArrayInputStream(bomBytes), bomConsumer);
+        return bomConsumer.toConsumedBom();
+    }
+
+    @Benchmark
+    public Map<ComponentIdentity, Component> deduplicateComponents() {
+        final var componentsByIdentity = new HashMap<ComponentIdentity, Component>(components.size());
+        for (final Component component : components) {
+            componentsByIdentity.putIfAbsent(new ComponentIdentity(component), component);
+        }
+
+        return componentsByIdentity;
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.vulnanalysis.internal;
+
+import org.cyclonedx.proto.v1_7.Component;
+import org.dependencytrack.vulnanalysis.internal.InternalVulnAnalyzer.VulnMetadata;
+import org.jdbi.v3.core.Jdbi;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks matching of components against {@link MatchingCriteria} by {@link InternalVulnAnalyzer},
+ * using synthetic criteria in place of the {@code VULNERABLESOFTWARE} table.
+ * <p>
+ * When {@link #indexed} is {@code true}, version ranges are compiled once and cached
+ * by a {@link MatchingCriteriaIndex}, like they are when the index is enabled.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InternalVulnAnalyzerBenchmark {
+
+    private static final int COMPONENTS_PER_COORDINATE = 4;
+
+    @Param({"1000", "10000"})
+    public int componentCount;
+
+    @Param({"5", "50"})
+    public int criteriaPerCoordinate;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private InternalVulnAnalyzer analyzer;
+    private List<Component> components;
+    private Map<Coordinate, Set<CandidateComponent>> candidatesByCoordinate;
+    private Map<Coordinate, List<MatchingCriteria>> criteriaByCoordinate;
+
+    @Setup
+    public void setUp() {
+        // Matching never touches the database. Jdbi only connects when a handle is opened.
+        final Jdbi jdbi = Jdbi.create("jdbc:postgresql://localhost/unused");
+        analyzer = new InternalVulnAnalyzer(jdbi, indexed ? new MatchingCriteriaIndex(jdbi, 100_000) : null);
+
+        final var random = new SplittableRandom(42);
+        components = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            final int coordinateId = i / COMPONENTS_PER_COORDINATE;
+            final String version = "%d.%d.%d".formatted(random.nextInt(4), random.nextInt(10), random.nextInt(10));
+
+            final var componentBuilder = Component.newBuilder()
+                    .setBomRef(String.valueOf(i))
+                    .setName("lib-" + coordinateId)
+                    .setVersion(version)
+                    .setPurl("pkg:maven/org.acme/lib-%d@%s".formatted(coordinateId, version));
+            if (i % 2 == 0) {
+                componentBuilder.setCpe("cpe:2.3:a:acme:lib_%d:%s:*:*:*:*:*:*:*".formatted(coordinateId, version));
+            }
+
+            components.add(componentBuilder.build());
+        }
+
+        final var candidates = new ArrayList<CandidateComponent>(componentCount);
+        InternalVulnAnalyzer.collectScannableComponents(components, candidates);
+
+        candidatesByCoordinate = new HashMap<>();
+        for (final CandidateComponent candidate : candidates) {
+            for (final Coordinate coordinate : Coordinate.of(candidate)) {
+                candidatesByCoordinate.computeIfAbsent(coordinate, k -> new HashSet<>()).add(candidate);
+            }
+        }
+
+        criteriaByCoordinate = new HashMap<>(candidatesByCoordinate.size());
+        long vulnDbId = 0;
+        for (final Coordinate coordinate : candidatesByCoordinate.keySet()) {
+            final var criteriaList = new ArrayList<MatchingCriteria>(criteriaPerCoordinate);
+            for (int i = 0; i < criteriaPerCoordinate; i++) {
+                final int major = random.nextInt(4);
+                final String startIncluding = "%d.%d.0".formatted(major, random.nextInt(5));
+                final String endExcluding = "%d.%d.0".formatted(major, 5 + random.nextInt(5));
+                criteriaList.add(switch (coordinate) {
+                    case Coordinate.CpeCoordinate it -> cpeCriteria(++vulnDbId, it, startIncluding, endExcluding);
+                    case Coordinate.PurlCoordinate it -> purlCriteria(++vulnDbId, it, startIncluding, endExcluding);
+                });
+            }
+
+            criteriaByCoordinate.put(coordinate, criteriaList);
+        }
+    }
+
+    @Benchmark
+    public void collectScannableComponents(Blackhole blackhole) {
+        final var candidates = new ArrayList<CandidateComponent>(components.size());
+        InternalVulnAnalyzer.collectScannableComponents(components, candidates);
+        blackhole.consume(candidates);
+    }
+
+    @Benchmark
+    public void processCriteria(Blackhole blackhole) {
+        final var findingsByVuln = new HashMap<Long, Set<Long>>();
+        final var vulnMetadata = new HashMap<Long, VulnMetadata>();
+        analyzer.processCriteria(criteriaByCoordinate, candidatesByCoordinate, findingsByVuln, vulnMetadata);
+        blackhole.consume(findingsByVuln);
+    }
+
+    private static MatchingCriteria cpeCriteria(
+            long vulnDbId,
+            Coordinate.CpeCoordinate coordinate,
+            @Nullable String versionStartIncluding,
+            @Nullable String versionEndExcluding) {
+        return new MatchingCriteria(
+                vulnDbId,
+                "CVE-2026-%05d".formatted(vulnDbId),
+                "NVD",
+                "cpe:2.3:%s:%s:%s:*:*:*:*:*:*:*:*".formatted(
+                        coordinate.part(), coordinate.vendor(), coordinate.product()),
+                coordinate.part(),
+                coordinate.vendor(),
+                coordinate.product(),
+                "*",
+                "*",
+                "*",
+                "*",
+                "*",
+                "*",
+                "*",
+                "*",
+                null,
+                null,
+                null,
+                null,
+                versionEndExcluding,
+                null,
+                null,
+                versionStartIncluding,
+                0);
+    }
+
+    private static MatchingCriteria purlCriteria(
+            long vulnDbId,
+            Coordinate.PurlCoordinate coordinate,
+            @Nullable String versionStartIncluding,
+            @Nullable String versionEndExcluding) {
+        return new MatchingCriteria(
+                vulnDbId,
+                "GHSA-%04d".formatted(vulnDbId),
+                "GITHUB",
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                coordinate.type(),
+                coordinate.namespace(),
+                coordinate.name(),
+                versionEndExcluding,
+                null,
+                null,
+                versionStartIncluding,
+                0);
+    }
+
+}
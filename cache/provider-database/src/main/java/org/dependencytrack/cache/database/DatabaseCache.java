@@ -56,15 +56,50 @@ final class DatabaseCache implements Cache {
         this.dataSource = dataSource;
     }
 
+    /**
+     * A cache entry, as read from the database.
+     *
+     * @param value The cached value.
+     * @param ttl   The remaining time to live of the entry.
+     */
+    record Entry(byte @Nullable [] value, Duration ttl) {
+    }
+
     @Override
     public byte @Nullable [] get(String key, Function<String, byte @Nullable []> loader) {
         // NB: Ideally this whole operation would be wrapped in a transaction-level
         // advisory lock. But loader may be slow and / or perform expensive I/O.
         // We can't risk a DB connection being blocked for this long.
 
+        final Entry entry = getEntry(key);
+        if (entry != null) {
+            return entry.value();
+        }
+
+        final byte[] value = loader.apply(key);
+
+        put(key, value);
+
+        return value;
+    }
+
+    @Override
+    public Map<String, byte @Nullable []> getMany(Set<String> keys) {
+        final Map<String, Entry> entries = getEntries(keys);
+
+        final var result = new HashMap<String, byte @Nullable []>(entries.size());
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().value());
+        }
+
+        return result;
+    }
+
+    @Nullable Entry getEntry(String key) {
         try (final Connection connection = dataSource.getConnection();
              final PreparedStatement ps = connection.prepareStatement("""
                      SELECT "VALUE"
+                          , (EXTRACT(EPOCH FROM "EXPIRES_AT" - NOW()) * 1000)::BIGINT AS "TTL_MS"
                        FROM "CACHE_ENTRY"
                       WHERE "CACHE_NAME" = ?
                         AND "KEY" = ?
@@ -76,28 +111,24 @@ final class DatabaseCache implements Cache {
             final ResultSet rs = ps.executeQuery();
             if (rs.next()) {
                 hitCount.incrementAndGet();
-                return rs.getBytes(1);
+                return new Entry(rs.getBytes("VALUE"), Duration.ofMillis(rs.getLong("TTL_MS")));
             }
         } catch (SQLException e) {
             throw new IllegalStateException(e);
         }
 
         missCount.incrementAndGet();
-        final byte[] value = loader.apply(key);
-
-        put(key, value);
-
-        return value;
+        return null;
     }
 
-    @Override
-    public Map<String, byte @Nullable []> getMany(Set<String> keys) {
-        final var result = new HashMap<String, byte @Nullable []>();
+    Map<String, Entry> getEntries(Set<String> keys) {
+        final var result = new HashMap<String, Entry>();
 
         try (final Connection connection = dataSource.getConnection();
              final PreparedStatement ps = connection.prepareStatement("""
                      SELECT "KEY"
                           , "VALUE"
+                          , (EXTRACT(EPOCH FROM "EXPIRES_AT" - NOW()) * 1000)::BIGINT AS "TTL_MS"
                        FROM "CACHE_ENTRY"
                       WHERE "CACHE_NAME" = ?
                         AND "KEY" = ANY(?)
@@ -108,7 +139,9 @@ final class DatabaseCache implements Cache {
 
             final ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                result.put(rs.getString("KEY"), rs.getBytes("VALUE"));
+                result.put(
+                        rs.getString("KEY"),
+                        new Entry(rs.getBytes("VALUE"), Duration.ofMillis(rs.getLong("TTL_MS"))));
             }
         } catch (SQLException e) {
             throw new IllegalStateException(e);
@@ -216,6 +249,10 @@ final class DatabaseCache implements Cache {
         return name;
     }
 
+    Duration ttl() {
+        return ttl;
+    }
+
     long hitCount() {
         return hitCount.get();
     }
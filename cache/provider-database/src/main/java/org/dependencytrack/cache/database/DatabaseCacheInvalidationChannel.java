@@ -0,0 +1,194 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.cache.database;
+
+import org.dependencytrack.common.pgnotify.PgNotificationListener;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Broadcasts invalidations of cache entries to all nodes of a cluster,
+ * using Postgres' {@code LISTEN} / {@code NOTIFY} mechanism.
+ * <p>
+ * Listening happens on a dedicated connection. Notifications sent while
+ * that connection is not established are lost. {@link #isListening()} thus
+ * must be checked before serving entries that may have been invalidated,
+ * and {@link InvalidationHandler#onInvalidationsMissed()} is called whenever
+ * notifications may have been lost.
+ *
+ * @since 5.1.0
+ */
+final class DatabaseCacheInvalidationChannel implements Closeable {
+
+    interface InvalidationHandler {
+
+        /**
+         * @param cacheName Name of the cache to invalidate entries of.
+         * @param keys      Keys to invalidate, or {@code null} when all entries must be invalidated.
+         */
+        void onInvalidation(String cacheName, @Nullable Set<String> keys);
+
+        void onInvalidationsMissed();
+
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseCacheInvalidationChannel.class);
+    private static final String CHANNEL_NAME = "dt_cache_invalidation";
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private final DataSource dataSource;
+    private final InvalidationHandler handler;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final PgNotificationListener notificationListener;
+
+    DatabaseCacheInvalidationChannel(DataSource dataSource, InvalidationHandler handler) {
+        this.dataSource = dataSource;
+        this.handler = handler;
+        this.notificationListener = new PgNotificationListener(
+                dataSource, CHANNEL_NAME, new NotificationHandler());
+    }
+
+    void start() {
+        notificationListener.start();
+    }
+
+    boolean isListening() {
+        return notificationListener.isListening();
+    }
+
+    /**
+     * Notify all other nodes that the given entries must be invalidated.
+     * <p>
+     * Keys are spread across as many notifications as needed to stay within
+     * Postgres' payload size limit. When keys can't be encoded, e.g. because
+     * they contain line breaks, all entries of the cache are invalidated instead.
+     *
+     * @param cacheName Name of the cache to invalidate entries of.
+     * @param keys      Keys to invalidate, or {@code null} when all entries must be invalidated.
+     */
+    void publish(String cacheName, @Nullable Collection<String> keys) {
+        final List<String> payloads = encodePayloads(cacheName, keys);
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement ps = connection.prepareStatement("""
+                     SELECT pg_notify(?, payload)
+                       FROM UNNEST(?) AS t(payload)
+                     """)) {
+            ps.setString(1, CHANNEL_NAME);
+            ps.setArray(2, connection.createArrayOf("TEXT", payloads.toArray(String[]::new)));
+            ps.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        notificationListener.close();
+    }
+
+    private void handleNotification(String payload) {
+        final String[] lines = payload.split("\n", -1);
+        if (lines.length < 2) {
+            LOGGER.warn("Received malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (nodeId.equals(lines[0])) {
+            return;
+        }
+
+        final String cacheName = lines[1];
+        if (lines.length == 2) {
+            handler.onInvalidation(cacheName, null);
+            return;
+        }
+
+        handler.onInvalidation(cacheName, new HashSet<>(Arrays.asList(lines).subList(2, lines.length)));
+    }
+
+    private final class NotificationHandler implements PgNotificationListener.Handler {
+
+        @Override
+        public void onNotification(String payload) {
+            handleNotification(payload);
+        }
+
+        @Override
+        public void onNotificationsMissed() {
+            handler.onInvalidationsMissed();
+        }
+
+    }
+
+    /**
+     * Payloads have the format {@code <nodeId>\n<cacheName>[\n<key>]*}.
+     * Payloads without keys signal that all entries of the cache must be invalidated.
+     */
+    private List<String> encodePayloads(String cacheName, @Nullable Collection<String> keys) {
+        final String header = nodeId + "\n" + cacheName;
+        if (keys == null || keys.stream().anyMatch(key -> key.isEmpty() || key.indexOf('\n') >= 0)) {
+            return List.of(header);
+        }
+
+        final int headerBytes = header.getBytes(StandardCharsets.UTF_8).length;
+        final var payloads = new ArrayList<String>();
+        var payloadBuilder = new StringBuilder(header);
+        int payloadBytes = headerBytes;
+
+        for (final String key : keys) {
+            final int keyBytes = 1 + key.getBytes(StandardCharsets.UTF_8).length;
+            if (headerBytes + keyBytes > MAX_PAYLOAD_BYTES) {
+                return List.of(header);
+            }
+            if (payloadBytes + keyBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payloadBuilder.toString());
+                payloadBuilder = new StringBuilder(header);
+                payloadBytes = headerBytes;
+            }
+
+            payloadBuilder.append('\n').append(key);
+            payloadBytes += keyBytes;
+        }
+
+        if (payloadBytes > headerBytes) {
+            payloads.add(payloadBuilder.toString());
+        }
+
+        return payloads;
+    }
+
+}
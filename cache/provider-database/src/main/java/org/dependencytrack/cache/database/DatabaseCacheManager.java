@@ -19,14 +19,18 @@
 package org.dependencytrack.cache.database;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.dependencytrack.cache.api.Cache;
 import org.dependencytrack.cache.api.CacheConfig;
 import org.dependencytrack.cache.api.CacheManager;
 import org.eclipse.microprofile.config.Config;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -44,17 +48,33 @@ final class DatabaseCacheManager implements CacheManager {
     private final MeterRegistry meterRegistry;
     private final ConcurrentMap<String, Cache> caches;
     private final DatabaseCacheMaintenanceWorker maintenanceWorker;
+    private final @Nullable Long nearCacheMaxSizeBytes;
+    private final ConcurrentMap<String, TieredDatabaseCache> tieredCaches;
+    private final @Nullable DatabaseCacheInvalidationChannel invalidationChannel;
 
+    /**
+     * @param nearCacheMaxSizeBytes Maximum size in bytes of the in-memory tier of each cache,
+     *                              or {@code null} when caches should not have an in-memory tier.
+     */
     DatabaseCacheManager(
             Config config,
             DataSource dataSource,
             MeterRegistry meterRegistry,
-            DatabaseCacheMaintenanceWorker maintenanceWorker) {
+            DatabaseCacheMaintenanceWorker maintenanceWorker,
+            @Nullable Long nearCacheMaxSizeBytes) {
         this.config = config;
         this.dataSource = dataSource;
         this.meterRegistry = meterRegistry;
         this.caches = new ConcurrentHashMap<>();
         this.maintenanceWorker = maintenanceWorker;
+        this.nearCacheMaxSizeBytes = nearCacheMaxSizeBytes;
+        this.tieredCaches = new ConcurrentHashMap<>();
+        if (nearCacheMaxSizeBytes != null) {
+            this.invalidationChannel = new DatabaseCacheInvalidationChannel(dataSource, new InvalidationHandler());
+            this.invalidationChannel.start();
+        } else {
+            this.invalidationChannel = null;
+        }
     }
 
     @Override
@@ -65,10 +85,13 @@ final class DatabaseCacheManager implements CacheManager {
 
     @Override
     public void close() {
+        if (invalidationChannel != null) {
+            invalidationChannel.close();
+        }
         maintenanceWorker.close();
     }
 
-    private DatabaseCache createCache(String name) {
+    private Cache createCache(String name) {
         LOGGER.debug("Creating cache '{}'", name);
 
         final var cacheConfig = new CacheConfig(config, name);
@@ -78,7 +101,40 @@ final class DatabaseCacheManager implements CacheManager {
         new DatabaseCacheMeterBinder(cache, name)
                 .bindTo(meterRegistry);
 
-        return cache;
+        final Long nearCacheMaxSizeBytes = this.nearCacheMaxSizeBytes;
+        final DatabaseCacheInvalidationChannel invalidationChannel = this.invalidationChannel;
+        if (nearCacheMaxSizeBytes == null || invalidationChannel == null) {
+            return cache;
+        }
+
+        final var tieredCache = new TieredDatabaseCache(cache, invalidationChannel, nearCacheMaxSizeBytes);
+        tieredCaches.put(name, tieredCache);
+
+        new CaffeineCacheMetrics<>(tieredCache.nearCache(), name, Tags.of("tier", "near"))
+                .bindTo(meterRegistry);
+
+        return tieredCache;
+    }
+
+    private final class InvalidationHandler implements DatabaseCacheInvalidationChannel.InvalidationHandler {
+
+        @Override
+        public void onInvalidation(String cacheName, @Nullable Set<String> keys) {
+            final TieredDatabaseCache cache = tieredCaches.get(cacheName);
+            if (cache != null) {
+                LOGGER.debug("Invalidating in-memory entries of cache '{}'", cacheName);
+                cache.invalidateNear(keys);
+            }
+        }
+
+        @Override
+        public void onInvalidationsMissed() {
+            LOGGER.debug("Invalidating all in-memory entries");
+            for (final TieredDatabaseCache cache : tieredCaches.values()) {
+                cache.invalidateNear(null);
+            }
+        }
+
     }
 
 }
@@ -31,7 +31,7 @@ import java.util.Optional;
 final class DatabaseCacheMeterBinder extends CacheMeterBinder<DatabaseCache> {
 
     DatabaseCacheMeterBinder(DatabaseCache cache, String cacheName) {
-        super(cache, cacheName, Tags.empty());
+        super(cache, cacheName, Tags.of("tier", "database"));
     }
 
     @Override
@@ -75,7 +75,23 @@ public final class DatabaseCacheProvider implements CacheProvider {
                         .orElse(Duration.ofMinutes(5)));
         maintenanceWorker.start();
 
-        return new DatabaseCacheManager(config, dataSource, meterRegistry, maintenanceWorker);
+        final boolean nearCacheEnabled = config
+                .getOptionalValue("dt.cache.provider.database.near-cache.enabled", boolean.class)
+                .orElse(false);
+        final long nearCacheMaxSizeBytes = config
+                .getOptionalValue("dt.cache.provider.database.near-cache.max-size-bytes", long.class)
+                .orElse(16L * 1024 * 1024);
+        if (nearCacheEnabled && nearCacheMaxSizeBytes <= 0) {
+            throw new IllegalStateException(
+                    "dt.cache.provider.database.near-cache.max-size-bytes must be positive: " + nearCacheMaxSizeBytes);
+        }
+
+        return new DatabaseCacheManager(
+                config,
+                dataSource,
+                meterRegistry,
+                maintenanceWorker,
+                nearCacheEnabled ? nearCacheMaxSizeBytes : null);
     }
 
 }
@@ -0,0 +1,248 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.cache.database;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.dependencytrack.cache.api.Cache;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A {@link Cache} that keeps recently used entries of a {@link DatabaseCache} in memory.
+ * <p>
+ * In-memory entries expire no later than their database counterparts. Writes are
+ * broadcast to other nodes via {@link DatabaseCacheInvalidationChannel}, which evict
+ * the affected in-memory entries. While the channel is not listening, invalidations
+ * may be missed, and all operations are served by the database.
+ *
+ * @since 5.1.0
+ */
+final class TieredDatabaseCache implements Cache {
+
+    private record NearEntry(byte @Nullable [] value, long ttlNanos) {
+    }
+
+    private static final class NearEntryExpiry implements Expiry<String, NearEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, NearEntry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, NearEntry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, NearEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+    private final DatabaseCache delegate;
+    private final DatabaseCacheInvalidationChannel invalidationChannel;
+    private final com.github.benmanes.caffeine.cache.Cache<String, NearEntry> nearCache;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long generation;
+
+    TieredDatabaseCache(
+            DatabaseCache delegate,
+            DatabaseCacheInvalidationChannel invalidationChannel,
+            long maxNearCacheBytes) {
+        this.delegate = delegate;
+        this.invalidationChannel = invalidationChannel;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumWeight(maxNearCacheBytes)
+                .<String, NearEntry>weigher(TieredDatabaseCache::weigh)
+                .expireAfter(new NearEntryExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public byte @Nullable [] get(String key, Function<String, byte @Nullable []> loader) {
+        if (!isNearCacheAvailable()) {
+            return delegate.get(key, loader);
+        }
+
+        final NearEntry nearEntry = nearCache.getIfPresent(key);
+        if (nearEntry != null) {
+            return nearEntry.value();
+        }
+
+        final long generation = currentGeneration();
+        final DatabaseCache.Entry entry = delegate.getEntry(key);
+        if (entry != null) {
+            putNear(generation, Map.of(key, entry));
+            return entry.value();
+        }
+
+        final byte[] value = loader.apply(key);
+
+        put(key, value);
+
+        return value;
+    }
+
+    @Override
+    public Map<String, byte @Nullable []> getMany(Set<String> keys) {
+        if (!isNearCacheAvailable()) {
+            return delegate.getMany(keys);
+        }
+
+        final var result = new HashMap<String, byte @Nullable []>(keys.size());
+        for (final Map.Entry<String, NearEntry> nearEntry : nearCache.getAllPresent(keys).entrySet()) {
+            result.put(nearEntry.getKey(), nearEntry.getValue().value());
+        }
+        if (result.size() == keys.size()) {
+            return result;
+        }
+
+        final var missingKeys = new HashSet<>(keys);
+        missingKeys.removeAll(result.keySet());
+
+        final long generation = currentGeneration();
+        final Map<String, DatabaseCache.Entry> entries = delegate.getEntries(missingKeys);
+        putNear(generation, entries);
+
+        for (final Map.Entry<String, DatabaseCache.Entry> entry : entries.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().value());
+        }
+
+        return result;
+    }
+
+    @Override
+    public void put(String key, byte @Nullable [] value) {
+        final long generation = currentGeneration();
+        delegate.put(key, value);
+        invalidationChannel.publish(delegate.name(), Set.of(key));
+        putNear(generation, Map.of(key, new DatabaseCache.Entry(value, delegate.ttl())));
+    }
+
+    @Override
+    public void putMany(Map<String, byte @Nullable []> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final long generation = currentGeneration();
+        delegate.putMany(entries);
+        invalidationChannel.publish(delegate.name(), entries.keySet());
+
+        final var nearEntries = new HashMap<String, DatabaseCache.Entry>(entries.size());
+        for (final Map.Entry<String, byte @Nullable []> entry : entries.entrySet()) {
+            nearEntries.put(entry.getKey(), new DatabaseCache.Entry(entry.getValue(), delegate.ttl()));
+        }
+        putNear(generation, nearEntries);
+    }
+
+    @Override
+    public void invalidateMany(Set<String> keys) {
+        invalidateNear(keys);
+        delegate.invalidateMany(keys);
+        invalidationChannel.publish(delegate.name(), keys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidateNear(null);
+        delegate.invalidateAll();
+        invalidationChannel.publish(delegate.name(), null);
+    }
+
+    /**
+     * Invalidate in-memory entries.
+     *
+     * @param keys Keys to invalidate, or {@code null} when all entries must be invalidated.
+     */
+    void invalidateNear(@Nullable Set<String> keys) {
+        lock.lock();
+        try {
+            if (keys == null) {
+                nearCache.invalidateAll();
+            } else {
+                nearCache.invalidateAll(keys);
+            }
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isNearCacheAvailable() {
+        return invalidationChannel.isListening();
+    }
+
+    com.github.benmanes.caffeine.cache.Cache<String, ?> nearCache() {
+        return nearCache;
+    }
+
+    private static int weigh(String key, NearEntry entry) {
+        final byte[] value = entry.value();
+        return key.length() + (value != null ? value.length : 0);
+    }
+
+    private long currentGeneration() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Populate the in-memory tier, unless entries were invalidated since {@code generation}
+     * was obtained. Entries read or written before an invalidation may be outdated.
+     */
+    private void putNear(long generation, Map<String, DatabaseCache.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final var nearEntries = new HashMap<String, NearEntry>(entries.size());
+        for (final Map.Entry<String, DatabaseCache.Entry> entry : entries.entrySet()) {
+            final Duration ttl = entry.getValue().ttl();
+            if (ttl.isPositive()) {
+                nearEntries.put(entry.getKey(), new NearEntry(entry.getValue().value(), ttl.toNanos()));
+            }
+        }
+
+        lock.lock();
+        try {
+            if (this.generation == generation) {
+                nearCache.putAll(nearEntries);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.cache.database;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.dependencytrack.cache.api.Cache;
+import org.dependencytrack.cache.api.CacheManager;
+import org.dependencytrack.common.datasource.DataSourceRegistry;
+import org.dependencytrack.testing.database.TestDatabaseExtension;
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class TieredDatabaseCacheTest {
+
+    @RegisterExtension
+    static final TestDatabaseExtension database = new TestDatabaseExtension();
+
+    private static Config config;
+    private static DataSourceRegistry dataSourceRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheManager cacheManagerA;
+    private CacheManager cacheManagerB;
+
+    @BeforeAll
+    static void beforeAll() {
+        config = new SmallRyeConfigBuilder()
+                .withDefaultValues(Map.ofEntries(
+                        Map.entry("dt.datasource.default.url", database.jdbcUrl()),
+                        Map.entry("dt.datasource.default.username", database.username()),
+                        Map.entry("dt.datasource.default.password", database.password()),
+                        Map.entry("dt.cache.provider.database.datasource.name", "default"),
+                        Map.entry("dt.cache.provider.database.near-cache.enabled", "true")))
+                .build();
+
+        dataSourceRegistry = new DataSourceRegistry(config);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManagerA = new DatabaseCacheProvider(config, dataSourceRegistry, meterRegistry).create();
+        cacheManagerB = new DatabaseCacheProvider(config, dataSourceRegistry, new SimpleMeterRegistry()).create();
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        if (cacheManagerA != null) {
+            cacheManagerA.close();
+        }
+        if (cacheManagerB != null) {
+            cacheManagerB.close();
+        }
+    }
+
+    @AfterAll
+    static void afterAll() {
+        if (dataSourceRegistry != null) {
+            dataSourceRegistry.closeAll();
+        }
+    }
+
+    @Test
+    void getShouldServeEntriesFromMemory() throws Exception {
+        final Cache cache = awaitNearCacheAvailable(cacheManagerA.getCache("test"));
+        cache.put("key", "value".getBytes());
+
+        try (final Connection connection = dataSourceRegistry.getDefault().getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    DELETE FROM "CACHE_ENTRY"
+                    """);
+        }
+
+        assertThat(cache.get("key")).asString().isEqualTo("value");
+        assertThat(cache.getMany(Set.of("key"))).containsOnlyKeys("key");
+        assertThat(meterRegistry.get("cache.gets")
+                .tags("cache", "test", "tier", "near", "result", "hit")
+                .functionCounter()
+                .count()).isEqualTo(2);
+    }
+
+    @Test
+    void putShouldEvictEntryFromMemoryOfOtherNodes() {
+        final Cache cacheA = awaitNearCacheAvailable(cacheManagerA.getCache("test"));
+        final Cache cacheB = awaitNearCacheAvailable(cacheManagerB.getCache("test"));
+
+        cacheA.put("key", "first".getBytes());
+        assertThat(cacheB.get("key")).asString().isEqualTo("first");
+
+        cacheA.put("key", "second".getBytes());
+
+        await("Eviction")
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(cacheB.get("key")).asString().isEqualTo("second"));
+    }
+
+    @Test
+    void invalidateAllShouldEvictEntriesFromMemoryOfOtherNodes() {
+        final Cache cacheA = awaitNearCacheAvailable(cacheManagerA.getCache("test"));
+        final Cache cacheB = awaitNearCacheAvailable(cacheManagerB.getCache("test"));
+
+        cacheA.putMany(Map.of(
+                "key1", "value1".getBytes(),
+                "key2", "value2".getBytes()));
+        assertThat(cacheB.getMany(Set.of("key1", "key2"))).hasSize(2);
+
+        cacheA.invalidateAll();
+
+        await("Eviction")
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(cacheB.getMany(Set.of("key1", "key2"))).isEmpty());
+    }
+
+    private static Cache awaitNearCacheAvailable(Cache cache) {
+        assertThat(cache).isInstanceOf(TieredDatabaseCache.class);
+        await("Near cache availability")
+                .atMost(Duration.ofSeconds(5))
+                .until(((TieredDatabaseCache) cache)::isNearCacheAvailable);
+        return cache;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.common.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Utilities for executing tasks concurrently.
+ *
+ * @since 5.1.0
+ */
+public final class ConcurrentTasks {
+
+    private ConcurrentTasks() {
+    }
+
+    /**
+     * Execute tasks concurrently on virtual threads, and consume their results as they complete.
+     * <p>
+     * Results are consumed on the calling thread, in order of completion. When a task fails,
+     * or the calling thread is interrupted, all remaining tasks are interrupted, and the
+     * failure is propagated. Unchecked exceptions and errors thrown by a task are rethrown
+     * as-is, while checked exceptions are wrapped in an {@link IllegalStateException}.
+     *
+     * @param tasks          The tasks to execute.
+     * @param maxConcurrency Maximum number of tasks to execute at the same time.
+     * @param resultConsumer Consumer of task results.
+     * @param <T>            Type of the task results.
+     * @throws InterruptedException When the calling thread, or any of the tasks, was interrupted.
+     */
+    public static <T> void executeAll(
+            Collection<? extends Callable<T>> tasks,
+            int maxConcurrency,
+            Consumer<? super T> resultConsumer) throws InterruptedException {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1, but is " + maxConcurrency);
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        final var permits = new Semaphore(maxConcurrency);
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+
+            for (final Callable<T> task : tasks) {
+                completionService.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            try {
+                for (int i = 0; i < tasks.size(); i++) {
+                    resultConsumer.accept(completionService.take().get());
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                throw propagate(e);
+            } catch (InterruptedException | RuntimeException | Error e) {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    private static RuntimeException propagate(ExecutionException e) throws InterruptedException {
+        final Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof InterruptedException interruptedException) {
+            throw interruptedException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        return new IllegalStateException("Concurrent task failed", cause);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ConcurrentTasksTest {
+
+    @Test
+    void shouldConsumeResultsOfAllTasks() throws Exception {
+        final List<Callable<Integer>> tasks = IntStream.range(0, 10)
+                .<Callable<Integer>>mapToObj(i -> () -> i)
+                .toList();
+
+        final var results = new ArrayList<Integer>();
+        ConcurrentTasks.executeAll(tasks, 3, results::add);
+
+        assertThat(results).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void shouldNotExceedMaxConcurrency() throws Exception {
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+        final var allStarted = new CountDownLatch(2);
+
+        final List<Callable<Void>> tasks = IntStream.range(0, 10)
+                .<Callable<Void>>mapToObj(i -> () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    allStarted.countDown();
+                    allStarted.await();
+                    Thread.sleep(10);
+                    running.decrementAndGet();
+                    return null;
+                })
+                .toList();
+
+        ConcurrentTasks.executeAll(tasks, 2, _ -> {
+        });
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRethrowUncheckedExceptions() {
+        final List<Callable<Void>> tasks = List.of(() -> {
+            throw new IllegalArgumentException("boom");
+        });
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ConcurrentTasks.executeAll(tasks, 1, _ -> {
+                }))
+                .withMessage("boom");
+    }
+
+    @Test
+    void shouldWrapCheckedExceptions() {
+        final List<Callable<Void>> tasks = List.of(() -> {
+            throw new IOException("boom");
+        });
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> ConcurrentTasks.executeAll(tasks, 1, _ -> {
+                }))
+                .withCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldInterruptRemainingTasksOnFailure() {
+        final var interrupted = new CountDownLatch(1);
+        final var blockingStarted = new CountDownLatch(1);
+
+        final List<Callable<Void>> tasks = List.of(
+                () -> {
+                    blockingStarted.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return null;
+                },
+                () -> {
+                    blockingStarted.await();
+                    throw new IllegalStateException("boom");
+                });
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> ConcurrentTasks.executeAll(tasks, 2, _ -> {
+                }));
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+}
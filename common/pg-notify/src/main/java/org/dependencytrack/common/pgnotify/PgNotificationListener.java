@@ -0,0 +1,198 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.common.pgnotify;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Listens for notifications on a Postgres channel, using Postgres' {@code LISTEN} mechanism.
+ * <p>
+ * Listening happens on a dedicated connection, which is polled by a daemon thread.
+ * Broken connections are detected and re-established after a delay.
+ * Notifications sent while no connection is established are lost,
+ * which is signalled via {@link Handler#onNotificationsMissed()}.
+ *
+ * @since 5.1.0
+ */
+public final class PgNotificationListener implements Closeable {
+
+    public interface Handler {
+
+        /**
+         * @param payload Payload of the notification.
+         */
+        void onNotification(String payload);
+
+        /**
+         * Called when notifications may have been missed, i.e. once {@code LISTEN}
+         * took effect, and whenever the listening connection is lost.
+         */
+        void onNotificationsMissed();
+
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PgNotificationListener.class);
+    private static final Pattern CHANNEL_NAME_PATTERN = Pattern.compile("^[a-z_][a-z0-9_]{0,62}$");
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final DataSource dataSource;
+    private final String channelName;
+    private final Handler handler;
+    private final Thread listenerThread;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean listening;
+
+    /**
+     * @param dataSource  {@link DataSource} to acquire the listening connection from.
+     * @param channelName Name of the channel to listen on. Must be a lowercase, unquoted identifier.
+     * @param handler     {@link Handler} to invoke from the listener thread.
+     */
+    public PgNotificationListener(DataSource dataSource, String channelName, Handler handler) {
+        if (!CHANNEL_NAME_PATTERN.matcher(channelName).matches()) {
+            throw new IllegalArgumentException("Invalid channel name: " + channelName);
+        }
+
+        this.dataSource = dataSource;
+        this.channelName = channelName;
+        this.handler = handler;
+        this.listenerThread = Thread.ofPlatform()
+                .name(getClass().getSimpleName() + "-" + channelName)
+                .daemon(true)
+                .unstarted(this::listenLoop);
+    }
+
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already started");
+        }
+
+        listenerThread.start();
+    }
+
+    /**
+     * @return Whether notifications are currently being received.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public void close() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+
+        LOGGER.debug("Waiting for listener thread of channel {} to stop", channelName);
+
+        try {
+            final boolean terminated = listenerThread.join(POLL_TIMEOUT.multipliedBy(2));
+            if (!terminated) {
+                LOGGER.warn("Listener thread of channel {} did not terminate in time; Interrupting it", channelName);
+                listenerThread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted waiting for listener thread of channel {} to stop", channelName, e);
+            Thread.currentThread().interrupt();
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running.get()) {
+            try (final Connection connection = dataSource.getConnection()) {
+                try {
+                    listen(connection);
+                } finally {
+                    // The connection may be pooled. Ensure that no other
+                    // user of this connection receives our notifications.
+                    unlistenQuietly(connection);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running.get()) {
+                    LOGGER.warn("Failed to listen on channel {}; Retrying in {}", channelName, RECONNECT_DELAY, e);
+                }
+            } finally {
+                if (listening) {
+                    listening = false;
+                    handler.onNotificationsMissed();
+                }
+            }
+
+            if (running.get()) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channelName);
+        }
+
+        // Notifications may have been sent before LISTEN took effect.
+        handler.onNotificationsMissed();
+        listening = true;
+        LOGGER.debug("Listening on channel {}", channelName);
+
+        final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running.get()) {
+            final PGNotification[] notifications =
+                    pgConnection.getNotifications(Math.toIntExact(POLL_TIMEOUT.toMillis()));
+            if (notifications == null || notifications.length == 0) {
+                // Detect broken connections, which would otherwise
+                // only surface once the operating system gives up on them.
+                if (!connection.isValid(Math.toIntExact(POLL_TIMEOUT.toSeconds()))) {
+                    throw new SQLException("Connection is no longer valid");
+                }
+                continue;
+            }
+
+            for (final PGNotification notification : notifications) {
+                handler.onNotification(notification.getParameter());
+            }
+        }
+    }
+
+    private void unlistenQuietly(Connection connection) {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to stop listening on channel {}", channelName, e);
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.common.pgnotify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+
+@Testcontainers
+class PgNotificationListenerTest {
+
+    @Container
+    private static final PostgreSQLContainer postgresContainer =
+            new PostgreSQLContainer("postgres:14-alpine");
+
+    private final List<String> payloads = new CopyOnWriteArrayList<>();
+    private final AtomicInteger missedNotificationsCount = new AtomicInteger();
+    private PGSimpleDataSource dataSource;
+    private PgNotificationListener listener;
+
+    @BeforeEach
+    void beforeEach() {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(postgresContainer.getJdbcUrl());
+        dataSource.setUser(postgresContainer.getUsername());
+        dataSource.setPassword(postgresContainer.getPassword());
+
+        listener = new PgNotificationListener(dataSource, "test_channel", new PgNotificationListener.Handler() {
+
+            @Override
+            public void onNotification(String payload) {
+                payloads.add(payload);
+            }
+
+            @Override
+            public void onNotificationsMissed() {
+                missedNotificationsCount.incrementAndGet();
+            }
+
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (listener != null) {
+            listener.close();
+        }
+    }
+
+    @Test
+    void shouldDeliverNotifications() throws Exception {
+        listener.start();
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(listener.isListening()).isTrue());
+        assertThat(missedNotificationsCount).hasValue(1);
+
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement ps = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, "test_channel");
+            ps.setString(2, "foo");
+            ps.execute();
+
+            ps.setString(1, "other_channel");
+            ps.setString(2, "bar");
+            ps.execute();
+        }
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(payloads).containsExactly("foo"));
+    }
+
+    @Test
+    void shouldNotBeListeningAfterClose() {
+        listener.start();
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(listener.isListening()).isTrue());
+
+        listener.close();
+
+        assertThat(listener.isListening()).isFalse();
+        assertThat(missedNotificationsCount).hasValue(2);
+    }
+
+    @Test
+    void shouldThrowWhenStartedTwice() {
+        listener.start();
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(listener::start)
+                .withMessage("Already started");
+    }
+
+    @Test
+    void shouldThrowWhenChannelNameIsInvalid() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new PgNotificationListener(dataSource, "foo; DROP TABLE bar", new PgNotificationListener.Handler() {
+
+                    @Override
+                    public void onNotification(String payload) {
+                    }
+
+                    @Override
+                    public void onNotificationsMissed() {
+                    }
+
+                }))
+                .withMessage("Invalid channel name: foo; DROP TABLE bar");
+    }
+
+}
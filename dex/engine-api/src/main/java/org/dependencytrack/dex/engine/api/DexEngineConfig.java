@@ -111,6 +111,70 @@ public class DexEngineConfig {
 
     }
 
+    public static class PayloadCompressionConfig {
+
+        private boolean enabled = false;
+        private int threshold = 1024;
+        private int level = 3;
+
+        private PayloadCompressionConfig() {
+        }
+
+        /**
+         * @return Whether history events, inbox events, and activity arguments
+         * exceeding {@link #threshold()} should be compressed before being persisted.
+         * Compressed and uncompressed payloads may be read regardless of this setting.
+         * <p>
+         * Disabled by default, since engine versions that predate compression can't read
+         * compressed payloads. It must only be enabled once all instances were upgraded.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return Size in bytes from which payloads are compressed.
+         */
+        public int threshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("threshold must not be negative");
+            }
+            this.threshold = threshold;
+        }
+
+        /**
+         * @return The zstd compression level.
+         */
+        public int level() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            if (level < 1 || level > 22) {
+                throw new IllegalArgumentException("level must be between 1 and 22");
+            }
+            this.level = level;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", getClass().getSimpleName() + "[", "]")
+                    .add("enabled=" + enabled)
+                    .add("threshold=" + threshold)
+                    .add("level=" + level)
+                    .toString();
+        }
+
+    }
+
     public static class LeaderElectionConfig {
 
         private boolean enabled = true;
@@ -348,6 +412,7 @@ public class DexEngineConfig {
     private final DataSource dataSource;
     private final LeaderElectionConfig leaderElectionConfig = new LeaderElectionConfig();
     private final CacheConfig runHistoryCacheConfig = new CacheConfig();
+    private final PayloadCompressionConfig payloadCompressionConfig = new PayloadCompressionConfig();
     private final BufferConfig externalEventBufferConfig = new BufferConfig();
     private final BufferConfig taskEventsBufferConfig = new BufferConfig();
     private final BufferConfig activityTaskHeartbeatBufferConfig = new BufferConfig();
@@ -361,6 +426,8 @@ public class DexEngineConfig {
     private Duration defaultActivityExecutionTimeout = Duration.ofHours(1);
     private PageTokenEncoder pageTokenEncoder = new SimplePageTokenEncoder();
     private Duration activityHeartbeatInterval = Duration.ofSeconds(5);
+    private Duration stickyExecutionTimeout = Duration.ofSeconds(10);
+    private boolean wakeupNotificationsEnabled = false;
 
     public DexEngineConfig(DataSource dataSource) {
         this.instanceId = generateInstanceId();
@@ -389,6 +456,10 @@ public class DexEngineConfig {
         return runHistoryCacheConfig;
     }
 
+    public PayloadCompressionConfig payloadCompression() {
+        return payloadCompressionConfig;
+    }
+
     /**
      * @return Config for the buffer of external events.
      */
@@ -490,6 +561,23 @@ public class DexEngineConfig {
         this.defaultActivityExecutionTimeout = defaultActivityExecutionTimeout;
     }
 
+    /**
+     * @return For how long a scheduled workflow task is reserved for the engine instance
+     * that executed the previous task of the same run, and thus likely has its history cached.
+     * Once elapsed, the task may be picked up by any instance. {@link Duration#ZERO} disables stickiness.
+     */
+    public Duration stickyExecutionTimeout() {
+        return stickyExecutionTimeout;
+    }
+
+    public void setStickyExecutionTimeout(Duration stickyExecutionTimeout) {
+        requireNonNull(stickyExecutionTimeout, "stickyExecutionTimeout must not be null");
+        if (stickyExecutionTimeout.isNegative()) {
+            throw new IllegalArgumentException("stickyExecutionTimeout must not be negative");
+        }
+        this.stickyExecutionTimeout = stickyExecutionTimeout;
+    }
+
     public PageTokenEncoder pageTokenEncoder() {
         return pageTokenEncoder;
     }
@@ -498,6 +586,19 @@ public class DexEngineConfig {
         this.pageTokenEncoder = requireNonNull(pageTokenEncoder, "pageTokenEncoder must not be null");
     }
 
+    /**
+     * @return Whether task schedulers and workers of all engine instances should be woken up
+     * via Postgres {@code LISTEN} / {@code NOTIFY} when new work becomes available.
+     * Polling remains in place regardless.
+     */
+    public boolean isWakeupNotificationsEnabled() {
+        return wakeupNotificationsEnabled;
+    }
+
+    public void setWakeupNotificationsEnabled(boolean wakeupNotificationsEnabled) {
+        this.wakeupNotificationsEnabled = wakeupNotificationsEnabled;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", getClass().getSimpleName() + "[", "]")
@@ -505,6 +606,7 @@ public class DexEngineConfig {
                 .add("dataSource=" + dataSource)
                 .add("leaderElectionConfig=" + leaderElectionConfig)
                 .add("runHistoryCacheConfig=" + runHistoryCacheConfig)
+                .add("payloadCompressionConfig=" + payloadCompressionConfig)
                 .add("externalEventBufferConfig=" + externalEventBufferConfig)
                 .add("taskEventsBufferConfig=" + taskEventsBufferConfig)
                 .add("activityTaskHeartbeatBufferConfig=" + activityTaskHeartbeatBufferConfig)
@@ -515,7 +617,9 @@ public class DexEngineConfig {
                 .add("queryTimeout=" + queryTimeout)
                 .add("defaultActivityLockTimeout=" + defaultActivityLockTimeout)
                 .add("defaultActivityExecutionTimeout=" + defaultActivityExecutionTimeout)
+                .add("stickyExecutionTimeout=" + stickyExecutionTimeout)
                 .add("pageTokenEncoder=" + pageTokenEncoder)
+                .add("wakeupNotificationsEnabled=" + wakeupNotificationsEnabled)
                 .toString();
     }
 
@@ -29,6 +29,7 @@ module org.dependencytrack.dex.engine {
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.uuid;
     requires com.github.benmanes.caffeine;
+    requires com.github.luben.zstd_jni;
     requires com.google.protobuf.util;
     requires com.google.protobuf;
     requires io.github.resilience4j.circuitbreaker;
@@ -36,6 +37,7 @@ module org.dependencytrack.dex.engine {
     requires io.github.resilience4j.micrometer;
     requires java.sql;
     requires micrometer.core;
+    requires org.dependencytrack.common.pgnotify;
     requires org.jdbi.v3.core;
     requires org.jdbi.v3.freemarker;
     requires org.jdbi.v3.jackson2;
@@ -52,6 +52,7 @@ final class ActivityTaskScheduler implements Closeable {
     private final Supplier<Boolean> leadershipSupplier;
     private final long pollIntervalMillis;
     private final IntervalFunction pollBackoffFunction;
+    private final boolean publishWakeups;
     private final Consumer<String> onTasksScheduledCallback;
     private final Thread pollThread;
     private final Counter pollsCounter;
@@ -66,11 +67,13 @@ final class ActivityTaskScheduler implements Closeable {
             MeterRegistry meterRegistry,
             Duration pollIntervalMillis,
             IntervalFunction pollBackoffFunction,
+            boolean publishWakeups,
             Consumer<String> onTasksScheduledCallback) {
         this.jdbi = jdbi;
         this.leadershipSupplier = leadershipSupplier;
         this.pollIntervalMillis = pollIntervalMillis.toMillis();
         this.pollBackoffFunction = pollBackoffFunction;
+        this.publishWakeups = publishWakeups;
         this.onTasksScheduledCallback = onTasksScheduledCallback;
         this.pollThread = Thread.ofPlatform()
                 .name(ActivityTaskScheduler.class.getSimpleName())
@@ -309,6 +312,11 @@ final class ActivityTaskScheduler implements Closeable {
                 .list();
 
         final boolean didSchedule = !scheduledActivityNames.isEmpty();
+        if (didSchedule && publishWakeups) {
+            // Workers for this queue may run on other engine instances.
+            WakeupChannel.publish(handle, WakeupChannel.Target.ACTIVITY_WORKER, queue.name());
+        }
+
         handle.afterCommit(() -> {
             for (final String activityName : scheduledActivityNames) {
                 tasksScheduledCounter
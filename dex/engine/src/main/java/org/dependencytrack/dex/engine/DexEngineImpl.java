@@ -95,6 +95,7 @@ import org.dependencytrack.dex.proto.event.v1.RunSuspended;
 import org.dependencytrack.dex.proto.event.v1.WorkflowEvent;
 import org.dependencytrack.dex.proto.payload.v1.Payload;
 import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.statement.Update;
 import org.jspecify.annotations.Nullable;
@@ -153,6 +154,57 @@ final class DexEngineImpl implements DexEngine {
 
     }
 
+    private final class WakeupListener implements WakeupChannel.Listener {
+
+        @Override
+        public void onWakeup(WakeupChannel.Target target, @Nullable String queueName) {
+            switch (target) {
+                case WORKFLOW_TASK_SCHEDULER -> {
+                    final WorkflowTaskScheduler scheduler = workflowTaskScheduler;
+                    if (scheduler != null) {
+                        scheduler.nudge();
+                    }
+                }
+                case ACTIVITY_TASK_SCHEDULER -> {
+                    final ActivityTaskScheduler scheduler = activityTaskScheduler;
+                    if (scheduler != null) {
+                        scheduler.nudge();
+                    }
+                }
+                case WORKFLOW_WORKER -> nudgeWorker(workflowWorkerByQueue, queueName);
+                case ACTIVITY_WORKER -> nudgeWorker(activityWorkerByQueue, queueName);
+            }
+        }
+
+        @Override
+        public void onWakeupsMissed() {
+            final WorkflowTaskScheduler workflowScheduler = workflowTaskScheduler;
+            if (workflowScheduler != null) {
+                workflowScheduler.nudge();
+            }
+
+            final ActivityTaskScheduler activityScheduler = activityTaskScheduler;
+            if (activityScheduler != null) {
+                activityScheduler.nudge();
+            }
+
+            workflowWorkerByQueue.values().forEach(TaskWorker::nudge);
+            activityWorkerByQueue.values().forEach(TaskWorker::nudge);
+        }
+
+        private static void nudgeWorker(Map<String, TaskWorker> workerByQueue, @Nullable String queueName) {
+            if (queueName == null) {
+                return;
+            }
+
+            final TaskWorker worker = workerByQueue.get(queueName);
+            if (worker != null) {
+                worker.nudge();
+            }
+        }
+
+    }
+
     private static final Logger LOGGER = LoggerFactory.getLogger(DexEngineImpl.class);
 
     private final DexEngineConfig config;
@@ -165,12 +217,15 @@ final class DexEngineImpl implements DexEngine {
     private final List<WorkflowRunsCompletedEventListener> runsCompletedEventListeners = new ArrayList<>();
     private final MeterProvider<Counter> runsCreatedCounter;
     private final MeterProvider<Counter> runsCompletedCounter;
+    private final MeterProvider<Counter> workflowTasksPolledCounter;
+    private final MeterProvider<Counter> workflowTaskHistoryEventsCounter;
 
     private volatile Status status = Status.CREATED;
     private @Nullable DexEngineLeaderElection leaderElection;
     private @Nullable DexEngineMetricsCollector metricsCollector;
     private @Nullable WorkflowTaskScheduler workflowTaskScheduler;
     private @Nullable ActivityTaskScheduler activityTaskScheduler;
+    private @Nullable WakeupChannel wakeupChannel;
     private @Nullable ExecutorService eventListenerExecutor;
     private @Nullable Buffer<ExternalEvent> externalEventBuffer;
     private @Nullable Buffer<TaskEvent> taskEventBuffer;
@@ -185,13 +240,23 @@ final class DexEngineImpl implements DexEngine {
         this.metadataRegistry = new MetadataRegistry(
                 config.defaultActivityLockTimeout(),
                 config.defaultActivityExecutionTimeout());
-        this.jdbi = JdbiFactory.create(config.dataSource(), config.queryTimeout(), config.pageTokenEncoder());
+        this.jdbi = JdbiFactory.create(
+                config.dataSource(),
+                config.queryTimeout(),
+                config.pageTokenEncoder(),
+                config.payloadCompression());
         this.runsCreatedCounter = Counter
                 .builder("dt.dex.engine.runs.created")
                 .withRegistry(config.metrics().meterRegistry());
         this.runsCompletedCounter = Counter
                 .builder("dt.dex.engine.runs.completed")
                 .withRegistry(config.metrics().meterRegistry());
+        this.workflowTasksPolledCounter = Counter
+                .builder("dt.dex.engine.workflow.tasks.polled")
+                .withRegistry(config.metrics().meterRegistry());
+        this.workflowTaskHistoryEventsCounter = Counter
+                .builder("dt.dex.engine.workflow.task.history.events")
+                .withRegistry(config.metrics().meterRegistry());
     }
 
     @Override
@@ -262,6 +327,8 @@ final class DexEngineImpl implements DexEngine {
                     config.workflowTaskScheduler().pollInterval(),
                     config.workflowTaskScheduler().pollBackoffFunction(),
                     config.workflowTaskScheduler().concurrencyKeyWakeupRepairInterval(),
+                    config.stickyExecutionTimeout(),
+                    config.isWakeupNotificationsEnabled(),
                     queueName -> {
                         final TaskWorker worker = workflowWorkerByQueue.get(queueName);
                         if (worker != null) {
@@ -277,6 +344,7 @@ final class DexEngineImpl implements DexEngine {
                     config.metrics().meterRegistry(),
                     config.activityTaskScheduler().pollInterval(),
                     config.activityTaskScheduler().pollBackoffFunction(),
+                    config.isWakeupNotificationsEnabled(),
                     queueName -> {
                         final TaskWorker worker = activityWorkerByQueue.get(queueName);
                         if (worker != null) {
@@ -288,6 +356,14 @@ final class DexEngineImpl implements DexEngine {
             LOGGER.debug("Not starting task schedulers because leader election is disabled");
         }
 
+        if (config.isWakeupNotificationsEnabled()) {
+            LOGGER.debug("Starting wakeup channel");
+            wakeupChannel = new WakeupChannel(config.dataSource(), new WakeupListener());
+            wakeupChannel.start();
+        } else {
+            LOGGER.debug("Not starting wakeup channel because it is disabled");
+        }
+
         LOGGER.debug("Initializing buffer flush circuit breaker registry");
         bufferFlushCircuitBreakerRegistry = CircuitBreakerRegistry.of(
                 // NB: Config is hardcoded for now because exposing it significantly
@@ -402,6 +478,12 @@ final class DexEngineImpl implements DexEngine {
             maintenanceWorker = null;
         }
 
+        if (wakeupChannel != null) {
+            LOGGER.debug("Waiting for wakeup channel to stop");
+            wakeupChannel.close();
+            wakeupChannel = null;
+        }
+
         if (activityTaskScheduler != null) {
             LOGGER.debug("Waiting for activity task scheduler to stop");
             activityTaskScheduler.close();
@@ -744,6 +826,7 @@ final class DexEngineImpl implements DexEngine {
                         message -> !createdRunIdByRequestId.containsValue(message.recipientRunId()));
             }
 
+            maybePublishWakeup(handle, WakeupChannel.Target.WORKFLOW_TASK_SCHEDULER);
             handle.afterCommit(() -> {
                 for (final CreateWorkflowRunRequest<?> request : requests) {
                     if (!createdRunIdByRequestId.containsKey(request.requestId())) {
@@ -868,6 +951,7 @@ final class DexEngineImpl implements DexEngine {
                     new WorkflowMessage(runId, cancellationEvent)));
             assert createdMessages == 1;
 
+            maybePublishWakeup(handle, WakeupChannel.Target.WORKFLOW_TASK_SCHEDULER);
             handle.afterCommit(() -> {
                 if (workflowTaskScheduler != null) {
                     workflowTaskScheduler.nudge();
@@ -906,6 +990,7 @@ final class DexEngineImpl implements DexEngine {
                     new WorkflowMessage(runId, suspensionEvent)));
             assert createdMessages == 1;
 
+            maybePublishWakeup(handle, WakeupChannel.Target.WORKFLOW_TASK_SCHEDULER);
             handle.afterCommit(() -> {
                 if (workflowTaskScheduler != null) {
                     workflowTaskScheduler.nudge();
@@ -944,6 +1029,7 @@ final class DexEngineImpl implements DexEngine {
                     new WorkflowMessage(runId, resumeEvent)));
             assert createdMessages == 1;
 
+            maybePublishWakeup(handle, WakeupChannel.Target.WORKFLOW_TASK_SCHEDULER);
             handle.afterCommit(() -> {
                 if (workflowTaskScheduler != null) {
                     workflowTaskScheduler.nudge();
@@ -1046,6 +1132,7 @@ final class DexEngineImpl implements DexEngine {
 
             dao.createMessages(messagesToCreate);
 
+            maybePublishWakeup(handle, WakeupChannel.Target.WORKFLOW_TASK_SCHEDULER);
             handle.afterCommit(() -> {
                 if (workflowTaskScheduler != null) {
                     workflowTaskScheduler.nudge();
@@ -1089,6 +1176,9 @@ final class DexEngineImpl implements DexEngine {
 
             final Map<UUID, PolledWorkflowEvents> polledEventsByRunId = dao.pollRunEvents(historyRequests);
 
+            handle.afterCommit(() -> recordPolledWorkflowTasksMetrics(
+                    queueName, polledTaskByRunId.values(), cachedHistoryByRunId, polledEventsByRunId));
+
             return polledTaskByRunId.values().stream()
                     .map(polledTask -> {
                         final PolledWorkflowEvents polledEvents = requireNonNull(
@@ -1135,6 +1225,64 @@ final class DexEngineImpl implements DexEngine {
         });
     }
 
+    /**
+     * Determine for how long runs shall remain sticky to this engine instance after
+     * one of their workflow tasks completed. Routing a run back to this instance is
+     * only beneficial while its history is still cached, so the duration is tied to
+     * the history cache's expiry. Histories that do not expire after access are assumed
+     * to remain cached for up to a day, after which they're likely evicted by size.
+     */
+    private Duration getStickyDuration() {
+        if (config.stickyExecutionTimeout().isZero()) {
+            return Duration.ZERO;
+        }
+
+        final Duration evictAfterAccess = config.runHistoryCache().evictAfterAccess();
+        return evictAfterAccess != null ? evictAfterAccess : Duration.ofDays(1);
+    }
+
+    private void recordPolledWorkflowTasksMetrics(
+            String queueName,
+            Collection<PolledWorkflowTask> polledTasks,
+            Map<UUID, CachedWorkflowRunHistory> cachedHistoryByRunId,
+            Map<UUID, PolledWorkflowEvents> polledEventsByRunId) {
+        for (final PolledWorkflowTask polledTask : polledTasks) {
+            final String stickiness;
+            if (polledTask.stickyTo() == null) {
+                stickiness = "none";
+            } else if (config.instanceId().equals(polledTask.stickyTo())) {
+                stickiness = "local";
+            } else {
+                // The task was sticky to another instance, which failed to pick it up in time.
+                stickiness = "remote";
+            }
+
+            workflowTasksPolledCounter
+                    .withTags(List.of(
+                            Tag.of("queueName", queueName),
+                            Tag.of("stickiness", stickiness)))
+                    .increment();
+
+            final CachedWorkflowRunHistory cachedHistory = cachedHistoryByRunId.get(polledTask.runId());
+            if (cachedHistory != null) {
+                workflowTaskHistoryEventsCounter
+                        .withTags(List.of(
+                                Tag.of("queueName", queueName),
+                                Tag.of("source", "cache")))
+                        .increment(cachedHistory.events().size());
+            }
+
+            final PolledWorkflowEvents polledEvents = polledEventsByRunId.get(polledTask.runId());
+            if (polledEvents != null) {
+                workflowTaskHistoryEventsCounter
+                        .withTags(List.of(
+                                Tag.of("queueName", queueName),
+                                Tag.of("source", "database")))
+                        .increment(polledEvents.history().size());
+            }
+        }
+    }
+
     private void abandonWorkflowTasksInternal(
             WorkflowDao dao,
             Collection<WorkflowTaskAbandonedEvent> events) {
@@ -1157,6 +1305,7 @@ final class DexEngineImpl implements DexEngine {
 
         final List<UnlockedWorkflowRun> unlockedWorkflowRuns = workflowDao.updateAndUnlockRuns(
                 this.config.instanceId(),
+                getStickyDuration(),
                 events.stream()
                         .map(event -> new UpdateAndUnlockRunCommand(
                                 event.workflowRunState().id(),
@@ -1804,6 +1953,13 @@ final class DexEngineImpl implements DexEngine {
                 completeWorkflowTasksInternal(workflowDao, activityDao, completeWorkflowTaskCommands);
             }
 
+            if (hasWorkflowTaskCompletions) {
+                maybePublishWakeup(handle, WakeupChannel.Target.ACTIVITY_TASK_SCHEDULER);
+            }
+            if (hasWorkflowTaskCompletions || hasActivityTaskCompletionsOrFailures) {
+                maybePublishWakeup(handle, WakeupChannel.Target.WORKFLOW_TASK_SCHEDULER);
+            }
+
             handle.afterCommit(() -> {
                 if (hasWorkflowTaskCompletions) {
                     if (activityTaskScheduler != null) {
@@ -1819,6 +1975,14 @@ final class DexEngineImpl implements DexEngine {
         });
     }
 
+    /// Wake up schedulers of other engine instances once the transaction of `handle` commits.
+    /// Schedulers of this instance are nudged directly, after commit.
+    private void maybePublishWakeup(Handle handle, WakeupChannel.Target target) {
+        if (config.isWakeupNotificationsEnabled()) {
+            WakeupChannel.publish(handle, target);
+        }
+    }
+
     private void maybeNotifyEventListeners(final Collection<DexEngineEvent> events) {
         if (eventListenerExecutor == null || events.isEmpty()) {
             return;
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.dex.engine;
+
+import org.dependencytrack.common.pgnotify.PgNotificationListener;
+import org.jdbi.v3.core.Handle;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+
+/// Wakes up task schedulers and workers of all engine instances,
+/// using Postgres' `LISTEN` / `NOTIFY` mechanism.
+///
+/// Wakeups are published as part of the transaction that makes new work available,
+/// and are only delivered once that transaction commits. Delivery is best-effort.
+/// Schedulers and workers keep polling, and wakeups only shorten the time until their next poll.
+final class WakeupChannel implements Closeable {
+
+    enum Target {
+        WORKFLOW_TASK_SCHEDULER,
+        ACTIVITY_TASK_SCHEDULER,
+        WORKFLOW_WORKER,
+        ACTIVITY_WORKER
+    }
+
+    interface Listener {
+
+        /// @param target    The target to wake up.
+        /// @param queueName Name of the queue to wake up workers for, or `null` for schedulers.
+        void onWakeup(Target target, @Nullable String queueName);
+
+        /// Called when wakeups may have been missed, e.g. after reconnecting.
+        void onWakeupsMissed();
+
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WakeupChannel.class);
+    private static final String CHANNEL_NAME = "dex_wakeup";
+
+    private final Listener listener;
+    private final PgNotificationListener notificationListener;
+
+    WakeupChannel(DataSource dataSource, Listener listener) {
+        this.listener = listener;
+        this.notificationListener = new PgNotificationListener(
+                dataSource, CHANNEL_NAME, new NotificationHandler());
+    }
+
+    void start() {
+        notificationListener.start();
+    }
+
+    /// Publish a wakeup as part of the transaction of `handle`.
+    /// Identical wakeups published in the same transaction are delivered only once.
+    static void publish(Handle handle, Target target) {
+        publishInternal(handle, target.name());
+    }
+
+    static void publish(Handle handle, Target target, String queueName) {
+        publishInternal(handle, target.name() + ":" + queueName);
+    }
+
+    private static void publishInternal(Handle handle, String payload) {
+        handle.execute("select pg_notify(?, ?)", CHANNEL_NAME, payload);
+    }
+
+    @Override
+    public void close() {
+        notificationListener.close();
+    }
+
+    private final class NotificationHandler implements PgNotificationListener.Handler {
+
+        @Override
+        public void onNotification(String payload) {
+            final int separatorIndex = payload.indexOf(':');
+            final String targetName = separatorIndex >= 0 ? payload.substring(0, separatorIndex) : payload;
+            final String queueName = separatorIndex >= 0 ? payload.substring(separatorIndex + 1) : null;
+
+            final Target target;
+            try {
+                target = Target.valueOf(targetName);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Received wakeup for unknown target: {}", payload);
+                return;
+            }
+
+            listener.onWakeup(target, queueName);
+        }
+
+        @Override
+        public void onNotificationsMissed() {
+            listener.onWakeupsMissed();
+        }
+
+    }
+
+}
@@ -53,6 +53,8 @@ final class WorkflowTaskScheduler implements Closeable {
     private final Supplier<Boolean> leadershipSupplier;
     private final long pollIntervalMillis;
     private final IntervalFunction pollBackoffFunction;
+    private final Duration stickyExecutionTimeout;
+    private final boolean publishWakeups;
     private final Consumer<String> onTasksScheduled;
     private final ConcurrencyKeyMaintenanceWorker concurrencyKeyMaintenanceWorker;
     private final Thread pollThread;
@@ -70,11 +72,15 @@ final class WorkflowTaskScheduler implements Closeable {
             Duration pollInterval,
             IntervalFunction pollBackoffFunction,
             Duration concurrencyKeyWakeupRepairInterval,
+            Duration stickyExecutionTimeout,
+            boolean publishWakeups,
             Consumer<String> onTasksScheduled) {
         this.jdbi = jdbi;
         this.leadershipSupplier = leadershipSupplier;
         this.pollIntervalMillis = pollInterval.toMillis();
         this.pollBackoffFunction = pollBackoffFunction;
+        this.stickyExecutionTimeout = stickyExecutionTimeout;
+        this.publishWakeups = publishWakeups;
         this.onTasksScheduled = onTasksScheduled;
         this.concurrencyKeyMaintenanceWorker =
                 new ConcurrencyKeyMaintenanceWorker(
@@ -285,6 +291,11 @@ final class WorkflowTaskScheduler implements Closeable {
 
         final List<String> scheduledWorkflowNames = result.workflowNames();
         final boolean didSchedule = !scheduledWorkflowNames.isEmpty();
+        if (didSchedule && publishWakeups) {
+            // Workers for this queue may run on other engine instances.
+            WakeupChannel.publish(handle, WakeupChannel.Target.WORKFLOW_WORKER, queue.name());
+        }
+
         handle.afterCommit(() -> {
             for (final String workflowName : scheduledWorkflowNames) {
                 tasksScheduledCounter
@@ -535,12 +546,15 @@ final class WorkflowTaskScheduler implements Closeable {
                   , sticky_until
                   , concurrency_key
                   )
+                  -- Runs that are still sticky to an engine instance are only reserved
+                  -- for it for a limited time, counted from when the task is scheduled.
+                  -- Once that time passes, any instance may pick the task up.
                   select :queueName
                        , id
                        , workflow_name
                        , priority
-                       , sticky_to
-                       , sticky_until
+                       , case when sticky_until > now() then sticky_to end
+                       , case when sticky_until > now() then now() + :stickyExecutionTimeout end
                        , concurrency_key
                     from cte_eligible_run
                   on conflict (queue_name, workflow_run_id) do nothing
@@ -560,6 +574,7 @@ final class WorkflowTaskScheduler implements Closeable {
         final List<String> workflowNames = query
                 .bind("queueName", queue.name())
                 .bind("limit", queue.remainingCapacity())
+                .bind("stickyExecutionTimeout", stickyExecutionTimeout)
                 .bind("concurrencyKeyHintBudget", queue.remainingCapacity() * CONCURRENCY_KEY_HINT_BUDGET_FACTOR)
                 .map((rs, _) -> {
                     consumedConcurrencyKeyHints[0] = rs.getLong("consumed_hint_count");
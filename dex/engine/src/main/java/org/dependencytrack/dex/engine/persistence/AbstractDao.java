@@ -18,9 +18,12 @@
  */
 package org.dependencytrack.dex.engine.persistence;
 
+import com.google.protobuf.Message;
 import org.dependencytrack.common.pagination.PageToken;
 import org.dependencytrack.common.pagination.PageTokenEncoder;
 import org.dependencytrack.dex.engine.persistence.jdbi.PaginationConfig;
+import org.dependencytrack.dex.engine.persistence.jdbi.ProtobufCodec;
+import org.dependencytrack.dex.engine.persistence.jdbi.ProtobufCompressionConfig;
 import org.jdbi.v3.core.Handle;
 import org.jspecify.annotations.Nullable;
 
@@ -64,4 +67,8 @@ abstract class AbstractDao {
         return encoder.decode(token, tokenClass);
     }
 
+    byte[] encodeMessage(Message message) {
+        return ProtobufCodec.encode(message, jdbiHandle.getConfig(ProtobufCompressionConfig.class));
+    }
+
 }
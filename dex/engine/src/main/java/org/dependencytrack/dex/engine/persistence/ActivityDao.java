@@ -213,7 +213,7 @@ public final class ActivityDao extends AbstractDao {
             queueNames[i] = command.queueName();
             priorities[i] = command.priority();
             arguments[i] = command.argument() != null
-                    ? command.argument().toByteArray()
+                    ? encodeMessage(command.argument())
                     : null;
             retryPolicies[i] = command.retryPolicy().toByteArray();
             i++;
@@ -319,6 +319,7 @@ public final class WorkflowDao extends AbstractDao {
 
     public List<UnlockedWorkflowRun> updateAndUnlockRuns(
             String engineInstanceId,
+            Duration stickyDuration,
             Collection<UpdateAndUnlockRunCommand> commands) {
         final Query query = jdbiHandle.createQuery("""
                 with
@@ -349,7 +350,7 @@ public final class WorkflowDao extends AbstractDao {
                              else run.continued_as_new_generation
                            end
                        , sticky_to = cte_cmd.sticky_to
-                       , sticky_until = case when cte_cmd.sticky_to is not null then now() + interval '30 seconds' end
+                       , sticky_until = case when cte_cmd.sticky_to is not null then now() + :stickyDuration end
                        , updated_at = coalesce(cte_cmd.updated_at, run.updated_at)
                        , started_at = coalesce(cte_cmd.started_at, run.started_at)
                        , completed_at = coalesce(cte_cmd.completed_at, run.completed_at)
@@ -390,7 +391,7 @@ public final class WorkflowDao extends AbstractDao {
             statuses[i] = command.status();
             customStatuses[i] = command.customStatus();
             continuedAsNews[i] = command.continuedAsNew();
-            stickyTos[i] = (command.status() != null && !command.status().isTerminal())
+            stickyTos[i] = (!stickyDuration.isZero() && command.status() != null && !command.status().isTerminal())
                     ? engineInstanceId
                     : null;
             updatedAts[i] = command.updatedAt();
@@ -402,6 +403,7 @@ public final class WorkflowDao extends AbstractDao {
 
         return query
                 .bind("engineInstanceId", engineInstanceId)
+                .bind("stickyDuration", stickyDuration)
                 .bind("ids", ids)
                 .bind("queueNames", queueNames)
                 .bind("statuses", statuses)
@@ -516,6 +518,25 @@ public final class WorkflowDao extends AbstractDao {
             String queueName,
             Collection<PollWorkflowTaskCommand> commands,
             int limit) {
+        // Poll tasks that are sticky to this instance first, and only then the remaining
+        // tasks, instead of ordering by stickiness in a single query. The latter can't be
+        // served by an index, and would require all eligible tasks to be sorted.
+        final var polledTaskByRunId = new HashMap<UUID, PolledWorkflowTask>(
+                pollAndLockWorkflowTasks(engineInstanceId, queueName, commands, limit, /* sticky */ true));
+        if (polledTaskByRunId.size() < limit) {
+            polledTaskByRunId.putAll(pollAndLockWorkflowTasks(
+                    engineInstanceId, queueName, commands, limit - polledTaskByRunId.size(), /* sticky */ false));
+        }
+
+        return polledTaskByRunId;
+    }
+
+    private Map<UUID, PolledWorkflowTask> pollAndLockWorkflowTasks(
+            String engineInstanceId,
+            String queueName,
+            Collection<PollWorkflowTaskCommand> commands,
+            int limit,
+            boolean sticky) {
         final Query query = jdbiHandle.createQuery("""
                 with
                 cte_poll_req as (
@@ -533,11 +554,12 @@ public final class WorkflowDao extends AbstractDao {
                       on cte_poll_req.workflow_name = task.workflow_name
                    where task.queue_name = :queueName
                      and queue.status = 'ACTIVE'
-                     and (
-                           task.sticky_to is null
-                           or task.sticky_until < now()
-                           or (task.sticky_to = :engineInstanceId and task.sticky_until >= now())
-                         )
+                   <#if sticky>
+                     and task.sticky_to = :engineInstanceId
+                     and task.sticky_until >= now()
+                   <#else>
+                     and (task.sticky_to is null or task.sticky_until < now())
+                   </#if>
                      and (task.locked_until is null or task.locked_until <= now())
                    order by task.priority desc
                           , task.workflow_run_id
@@ -557,6 +579,7 @@ public final class WorkflowDao extends AbstractDao {
                           , task.workflow_run_id
                           , task.locked_until
                           , task.lock_version
+                          , task.sticky_to
                 )
                 select run.id
                      , run.workflow_name
@@ -569,6 +592,7 @@ public final class WorkflowDao extends AbstractDao {
                      , run.continued_as_new_generation
                      , cte_locked.locked_until
                      , cte_locked.lock_version
+                     , cte_locked.sticky_to
                   from dex_workflow_run as run
                  inner join cte_locked
                     on cte_locked.queue_name = run.task_queue_name
@@ -591,6 +615,7 @@ public final class WorkflowDao extends AbstractDao {
                 .bind("workflowNames", workflowNames)
                 .bind("lockTimeouts", lockTimeouts)
                 .bind("limit", limit)
+                .define("sticky", sticky)
                 .mapTo(PolledWorkflowTask.class)
                 .collectToMap(PolledWorkflowTask::runId, Function.identity());
     }
@@ -650,7 +675,7 @@ public final class WorkflowDao extends AbstractDao {
         for (final WorkflowMessage message : messages) {
             runIds[i] = message.recipientRunId();
             visibleFroms[i] = message.visibleFrom();
-            events[i] = message.event().toByteArray();
+            events[i] = encodeMessage(message.event());
             i++;
         }
 
@@ -828,7 +853,7 @@ public final class WorkflowDao extends AbstractDao {
         for (final CreateWorkflowRunHistoryEntryCommand command : commands) {
             runIds[i] = command.workflowRunId();
             sequenceNumbers[i] = command.sequenceNumber();
-            events[i] = command.event().toByteArray();
+            events[i] = encodeMessage(command.event());
             i++;
         }
 
@@ -20,6 +20,7 @@ package org.dependencytrack.dex.engine.persistence.jdbi;
 
 import org.dependencytrack.common.pagination.PageTokenEncoder;
 import org.dependencytrack.dex.engine.ActivityTaskId;
+import org.dependencytrack.dex.engine.api.DexEngineConfig.PayloadCompressionConfig;
 import org.dependencytrack.dex.engine.api.TaskQueue;
 import org.dependencytrack.dex.engine.api.WorkflowRunHistoryEntry;
 import org.dependencytrack.dex.engine.api.WorkflowRunMetadata;
@@ -46,6 +47,17 @@ public final class JdbiFactory {
     private JdbiFactory() {
     }
 
+    public static Jdbi create(
+            final DataSource dataSource,
+            final Duration queryTimeout,
+            final PageTokenEncoder pageTokenEncoder,
+            final PayloadCompressionConfig payloadCompressionConfig) {
+        requireNonNull(payloadCompressionConfig, "payloadCompressionConfig must not be null");
+
+        return create(dataSource, queryTimeout, pageTokenEncoder)
+                .configure(ProtobufCompressionConfig.class, cfg -> cfg.apply(payloadCompressionConfig));
+    }
+
     public static Jdbi create(
             final DataSource dataSource,
             final Duration queryTimeout,
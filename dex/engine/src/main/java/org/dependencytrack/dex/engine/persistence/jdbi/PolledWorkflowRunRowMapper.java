@@ -67,7 +67,8 @@ final class PolledWorkflowRunRowMapper implements RowMapper<PolledWorkflowTask>
                 getLabels(rs, ctx),
                 rs.getInt("continued_as_new_generation"),
                 instantColumnMapper.map(rs, "locked_until", ctx),
-                rs.getInt("lock_version"));
+                rs.getInt("lock_version"),
+                rs.getString("sticky_to"));
     }
 
     @SuppressWarnings("unchecked")
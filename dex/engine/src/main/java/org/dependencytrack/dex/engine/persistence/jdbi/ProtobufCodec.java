@@ -0,0 +1,74 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.dex.engine.persistence.jdbi;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Encodes Protobuf messages for persistence, compressing them with zstd
+ * when they exceed the threshold defined in {@link ProtobufCompressionConfig}.
+ * <p>
+ * Compressed values are prefixed with a zero byte. Protobuf field numbers start at 1,
+ * such that no valid, non-empty message can start with a zero byte. This allows
+ * compressed and uncompressed values to co-exist in the same column, without
+ * requiring existing values to be migrated.
+ */
+public final class ProtobufCodec {
+
+    private static final byte COMPRESSED_MARKER = 0;
+
+    private ProtobufCodec() {
+    }
+
+    public static byte[] encode(Message message, ProtobufCompressionConfig config) {
+        final byte[] messageBytes = message.toByteArray();
+        if (!config.isEnabled() || messageBytes.length < config.getThreshold()) {
+            return messageBytes;
+        }
+
+        final byte[] compressedBytes = Zstd.compress(messageBytes, config.getLevel());
+        if (compressedBytes.length + 1 >= messageBytes.length) {
+            // Not worth paying for decompression on every read.
+            return messageBytes;
+        }
+
+        final var valueBytes = new byte[compressedBytes.length + 1];
+        valueBytes[0] = COMPRESSED_MARKER;
+        System.arraycopy(compressedBytes, 0, valueBytes, 1, compressedBytes.length);
+        return valueBytes;
+    }
+
+    static <T extends Message> T decode(byte[] valueBytes, Parser<T> parser) throws IOException {
+        if (valueBytes.length == 0 || valueBytes[0] != COMPRESSED_MARKER) {
+            return parser.parseFrom(valueBytes);
+        }
+
+        try (final var inputStream = new ZstdInputStream(
+                new ByteArrayInputStream(valueBytes, 1, valueBytes.length - 1))) {
+            return parser.parseFrom(inputStream);
+        }
+    }
+
+}
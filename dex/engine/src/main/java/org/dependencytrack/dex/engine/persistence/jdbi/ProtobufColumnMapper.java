@@ -18,13 +18,13 @@
  */
 package org.dependencytrack.dex.engine.persistence.jdbi;
 
-import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.Parser;
 import org.jdbi.v3.core.mapper.ColumnMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jspecify.annotations.Nullable;
 
+import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -45,8 +45,8 @@ final class ProtobufColumnMapper<T extends Message> implements ColumnMapper<T> {
         }
 
         try {
-            return parser.parseFrom(valueBytes);
-        } catch (InvalidProtocolBufferException e) {
+            return ProtobufCodec.decode(valueBytes, parser);
+        } catch (IOException e) {
             throw new UncheckedIOException("Failed to parse Protobuf message", e);
         }
     }
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.dex.engine.persistence.jdbi;
+
+import org.dependencytrack.dex.engine.api.DexEngineConfig.PayloadCompressionConfig;
+import org.jdbi.v3.core.config.JdbiConfig;
+
+public final class ProtobufCompressionConfig implements JdbiConfig<ProtobufCompressionConfig> {
+
+    private boolean enabled = false;
+    private int threshold = 1024;
+    private int level = 3;
+
+    @SuppressWarnings("unused") // Used by JDBI.
+    public ProtobufCompressionConfig() {
+    }
+
+    ProtobufCompressionConfig(boolean enabled, int threshold, int level) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    @Override
+    public ProtobufCompressionConfig createCopy() {
+        return new ProtobufCompressionConfig(enabled, threshold, level);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    void apply(PayloadCompressionConfig payloadCompressionConfig) {
+        this.enabled = payloadCompressionConfig.isEnabled();
+        this.threshold = payloadCompressionConfig.threshold();
+        this.level = payloadCompressionConfig.level();
+    }
+
+}
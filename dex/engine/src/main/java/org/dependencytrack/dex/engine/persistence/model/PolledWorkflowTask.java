@@ -35,5 +35,6 @@ public record PolledWorkflowTask(
         @Nullable Map<String, String> labels,
         int continuedAsNewGeneration,
         Instant lockedUntil,
-        int lockVersion) {
+        int lockVersion,
+        @Nullable String stickyTo) {
 }
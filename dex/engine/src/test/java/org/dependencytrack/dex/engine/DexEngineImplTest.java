@@ -1188,6 +1188,35 @@ class DexEngineImplTest {
                 entry -> assertThat(entry.getSubjectCase()).isEqualTo(WorkflowEvent.SubjectCase.WORKFLOW_TASK_COMPLETED));
     }
 
+    @Test
+    void shouldRouteWorkflowTasksToInstanceWithCachedHistory() {
+        registerWorkflow("test", (ctx, _) -> {
+            ctx.callActivity("abc", ACTIVITY_TASK_QUEUE, null, voidConverter(), stringConverter(), RetryPolicy.ofDefault()).await();
+            return null;
+        });
+        registerActivity("abc", voidConverter(), stringConverter(), (_, _) -> "123");
+        registerWorkflowWorker("workflow-worker", 1);
+        registerTaskWorker("activity-worker", 1);
+        engine.start();
+
+        final UUID runId = engine.createRun(new CreateWorkflowRunRequest<>("test", 1));
+
+        awaitRunStatus(runId, WorkflowRunStatus.COMPLETED);
+
+        assertThat(meterRegistry.get("dt.dex.engine.workflow.tasks.polled")
+                .tags("queueName", WORKFLOW_TASK_QUEUE, "stickiness", "none")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dt.dex.engine.workflow.tasks.polled")
+                .tags("queueName", WORKFLOW_TASK_QUEUE, "stickiness", "local")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dt.dex.engine.workflow.task.history.events")
+                .tags("queueName", WORKFLOW_TASK_QUEUE, "source", "cache")
+                .counter()
+                .count()).isPositive();
+    }
+
     @Test
     void shouldCreateMultipleActivitiesConcurrently() {
         registerWorkflow("test", voidConverter(), stringConverter(), (ctx, _) -> {
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.dex.engine;
+
+import org.dependencytrack.common.pagination.SimplePageTokenEncoder;
+import org.dependencytrack.dex.engine.WakeupChannel.Target;
+import org.dependencytrack.dex.engine.persistence.jdbi.JdbiFactory;
+import org.jdbi.v3.core.Jdbi;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+
+@Testcontainers
+class WakeupChannelTest {
+
+    @Container
+    private static final PostgresTestContainer postgresContainer = new PostgresTestContainer();
+
+    private record Wakeup(Target target, @Nullable String queueName) {
+    }
+
+    private final List<Wakeup> wakeups = new CopyOnWriteArrayList<>();
+    private final AtomicInteger missedWakeupsCount = new AtomicInteger();
+    private Jdbi jdbi;
+    private WakeupChannel channel;
+
+    @BeforeEach
+    void beforeEach() {
+        final var dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(postgresContainer.getJdbcUrl());
+        dataSource.setUser(postgresContainer.getUsername());
+        dataSource.setPassword(postgresContainer.getPassword());
+        dataSource.setDatabaseName(postgresContainer.getDatabaseName());
+
+        jdbi = JdbiFactory.create(dataSource, Duration.ofSeconds(10), new SimplePageTokenEncoder());
+
+        channel = new WakeupChannel(dataSource, new WakeupChannel.Listener() {
+
+            @Override
+            public void onWakeup(Target target, @Nullable String queueName) {
+                wakeups.add(new Wakeup(target, queueName));
+            }
+
+            @Override
+            public void onWakeupsMissed() {
+                missedWakeupsCount.incrementAndGet();
+            }
+
+        });
+        channel.start();
+
+        // Missed wakeups are reported once the channel is listening.
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(missedWakeupsCount).hasValue(1));
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Test
+    void shouldDeliverWakeupsOnceTransactionCommits() {
+        jdbi.useTransaction(handle -> {
+            WakeupChannel.publish(handle, Target.WORKFLOW_TASK_SCHEDULER);
+            WakeupChannel.publish(handle, Target.WORKFLOW_TASK_SCHEDULER);
+            WakeupChannel.publish(handle, Target.ACTIVITY_WORKER, "foo");
+        });
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(wakeups).containsExactly(
+                        new Wakeup(Target.WORKFLOW_TASK_SCHEDULER, null),
+                        new Wakeup(Target.ACTIVITY_WORKER, "foo")));
+    }
+
+    @Test
+    void shouldNotDeliverWakeupsWhenTransactionRollsBack() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> jdbi.useTransaction(handle -> {
+                    WakeupChannel.publish(handle, Target.WORKFLOW_WORKER, "foo");
+                    throw new IllegalStateException("Boom");
+                }));
+
+        jdbi.useTransaction(handle -> WakeupChannel.publish(handle, Target.WORKFLOW_WORKER, "bar"));
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(wakeups).containsExactly(
+                        new Wakeup(Target.WORKFLOW_WORKER, "bar")));
+    }
+
+}
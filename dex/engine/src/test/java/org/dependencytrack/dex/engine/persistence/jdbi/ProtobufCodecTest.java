@@ -0,0 +1,78 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.dex.engine.persistence.jdbi;
+
+import com.google.protobuf.ByteString;
+import org.dependencytrack.dex.proto.payload.v1.Payload;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtobufCodecTest {
+
+    @Test
+    void shouldNotCompressPayloadBelowThreshold() throws Exception {
+        final Payload payload = createPayload("foo");
+
+        final byte[] encoded = ProtobufCodec.encode(payload, new ProtobufCompressionConfig(true, 1024, 3));
+        assertThat(encoded).isEqualTo(payload.toByteArray());
+
+        assertThat(ProtobufCodec.decode(encoded, Payload.parser())).isEqualTo(payload);
+    }
+
+    @Test
+    void shouldCompressPayloadAboveThreshold() throws Exception {
+        final Payload payload = createPayload("foo".repeat(1000));
+
+        final byte[] encoded = ProtobufCodec.encode(payload, new ProtobufCompressionConfig(true, 1024, 3));
+        assertThat(encoded).hasSizeLessThan(payload.getSerializedSize());
+        assertThat(encoded[0]).isZero();
+
+        assertThat(ProtobufCodec.decode(encoded, Payload.parser())).isEqualTo(payload);
+    }
+
+    @Test
+    void shouldNotCompressPayloadAboveThresholdWhenDisabled() throws Exception {
+        final Payload payload = createPayload("foo".repeat(1000));
+
+        final byte[] encoded = ProtobufCodec.encode(payload, new ProtobufCompressionConfig());
+        assertThat(encoded).isEqualTo(payload.toByteArray());
+    }
+
+    @Test
+    void shouldDecodeUncompressedPayloadAboveThreshold() throws Exception {
+        final Payload payload = createPayload("foo".repeat(1000));
+
+        assertThat(ProtobufCodec.decode(payload.toByteArray(), Payload.parser())).isEqualTo(payload);
+    }
+
+    @Test
+    void shouldDecodeEmptyPayload() throws Exception {
+        assertThat(ProtobufCodec.decode(new byte[0], Payload.parser())).isEqualTo(Payload.getDefaultInstance());
+    }
+
+    private static Payload createPayload(String data) {
+        return Payload.newBuilder()
+                .setBinaryContent(Payload.BinaryContent.newBuilder()
+                        .setMediaType("text/plain")
+                        .setData(ByteString.copyFromUtf8(data)))
+                .build();
+    }
+
+}
@@ -1,5 +1,24 @@
+-- NB: The incremental parameter was added after the procedure was first created.
+-- Drop the old signature, such that calls with only a project UUID are not ambiguous.
+DROP PROCEDURE IF EXISTS "UPDATE_PROJECT_METRICS"(UUID);
+
+-- Updates the metrics of a project, and of all its components.
+--
+-- In incremental mode, only the metrics of components recorded in the
+-- COMPONENT_METRICS_CHANGE table, and of components without metrics of the
+-- current day, are computed. The metrics of all other components are taken
+-- from their latest DEPENDENCYMETRICS record. Since components are without
+-- metrics at the start of every day, the first update of each day computes
+-- the metrics of all components, thus reconciling changes that were not recorded.
+-- Incremental mode falls back to a full update unless changes have been recorded
+-- since before the current day, as indicated by COMPONENT_METRICS_CHANGE_RECORDING.
+--
+-- When new project metrics are recorded, their difference to the previous
+-- metrics is applied to the COLLECTION_PROJECT_METRICS of all collections
+-- that include the project.
 CREATE OR REPLACE PROCEDURE "UPDATE_PROJECT_METRICS"(
   project_uuid UUID
+, incremental BOOLEAN DEFAULT FALSE
 )
   LANGUAGE "plpgsql"
 AS
@@ -8,6 +27,9 @@ DECLARE
   v_project_id   BIGINT; -- ID of the project to update metrics for
   v_today        TIMESTAMPTZ := DATE_TRUNC('day', NOW() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
   v_project      RECORD; -- Aggregated project-level metrics
+  v_component_ids BIGINT[]; -- IDs of components to compute metrics for
+  v_previous_metrics "PROJECTMETRICS"; -- Latest project metrics before the update
+  v_new_metrics  "PROJECTMETRICS"; -- Project metrics inserted by the update
 BEGIN
   SELECT "ID"
     INTO v_project_id
@@ -18,15 +40,58 @@ BEGIN
     RETURN;
   END IF;
 
+  -- Serialize updates of the same project, such that recorded changes
+  -- are never consumed by one update while another one is in progress.
+  PERFORM pg_advisory_xact_lock(hashtext('UPDATE_PROJECT_METRICS'), hashtext(project_uuid::TEXT));
+
+  -- Metrics of the current day may have been computed while changes were not being recorded.
+  IF incremental AND NOT EXISTS (
+    SELECT 1
+      FROM "COMPONENT_METRICS_CHANGE_RECORDING"
+     WHERE "ID" = 1
+       AND "ENABLED_SINCE" < v_today
+  ) THEN
+    incremental := FALSE;
+  END IF;
+
+  IF incremental THEN
+    WITH consumed AS (
+      DELETE
+        FROM "COMPONENT_METRICS_CHANGE"
+       WHERE "PROJECT_ID" = v_project_id
+      RETURNING "COMPONENT_ID"
+    )
+    SELECT ARRAY(
+      SELECT c."ID"
+        FROM "COMPONENT" AS c
+       WHERE c."PROJECT_ID" = v_project_id
+         AND (
+           c."ID" IN (SELECT "COMPONENT_ID" FROM consumed)
+           OR NOT EXISTS (
+             SELECT 1
+               FROM "DEPENDENCYMETRICS" AS dm
+              WHERE dm."COMPONENT_ID" = c."ID"
+                AND dm."LAST_OCCURRENCE" >= v_today
+           )
+         )
+    )
+    INTO v_component_ids;
+  ELSE
+    DELETE
+      FROM "COMPONENT_METRICS_CHANGE"
+     WHERE "PROJECT_ID" = v_project_id;
+
+    SELECT ARRAY(
+      SELECT "ID"
+        FROM "COMPONENT"
+       WHERE "PROJECT_ID" = v_project_id
+    )
+    INTO v_component_ids;
+  END IF;
+
   WITH computed AS (
     SELECT *
-      FROM "COMPUTE_COMPONENT_METRICS"(
-        ARRAY(
-          SELECT "ID"
-            FROM "COMPONENT"
-           WHERE "PROJECT_ID" = v_project_id
-        )
-      )
+      FROM "COMPUTE_COMPONENT_METRICS"(v_component_ids)
   ),
   classified AS (
     SELECT c.*
@@ -171,6 +236,78 @@ BEGIN
       FROM classified AS c
      WHERE "COMPONENT"."ID" = c.component_id
        AND "COMPONENT"."LAST_RISKSCORE" IS DISTINCT FROM c.risk_score
+  ),
+  -- In incremental mode, metrics of components that were not computed
+  -- are taken from their latest DEPENDENCYMETRICS record of the current day.
+  project_components AS (
+    SELECT vulnerabilities
+         , critical
+         , high
+         , medium
+         , low
+         , unassigned
+         , kev
+         , risk_score
+         , findings_total
+         , findings_audited
+         , findings_unaudited
+         , findings_suppressed
+         , policy_violations_total
+         , policy_violations_fail
+         , policy_violations_warn
+         , policy_violations_info
+         , policy_violations_audited
+         , policy_violations_unaudited
+         , policy_violations_license_total
+         , policy_violations_license_audited
+         , policy_violations_license_unaudited
+         , policy_violations_operational_total
+         , policy_violations_operational_audited
+         , policy_violations_operational_unaudited
+         , policy_violations_security_total
+         , policy_violations_security_audited
+         , policy_violations_security_unaudited
+      FROM computed
+     UNION ALL
+    SELECT l."VULNERABILITIES" AS vulnerabilities
+         , l."CRITICAL" AS critical
+         , l."HIGH" AS high
+         , l."MEDIUM" AS medium
+         , l."LOW" AS low
+         , l."UNASSIGNED_SEVERITY" AS unassigned
+         , l."KEV" AS kev
+         , l."RISKSCORE"::NUMERIC AS risk_score
+         , l."FINDINGS_TOTAL" AS findings_total
+         , l."FINDINGS_AUDITED" AS findings_audited
+         , l."FINDINGS_UNAUDITED" AS findings_unaudited
+         , l."SUPPRESSED" AS findings_suppressed
+         , l."POLICYVIOLATIONS_TOTAL" AS policy_violations_total
+         , l."POLICYVIOLATIONS_FAIL" AS policy_violations_fail
+         , l."POLICYVIOLATIONS_WARN" AS policy_violations_warn
+         , l."POLICYVIOLATIONS_INFO" AS policy_violations_info
+         , l."POLICYVIOLATIONS_AUDITED" AS policy_violations_audited
+         , l."POLICYVIOLATIONS_UNAUDITED" AS policy_violations_unaudited
+         , l."POLICYVIOLATIONS_LICENSE_TOTAL" AS policy_violations_license_total
+         , l."POLICYVIOLATIONS_LICENSE_AUDITED" AS policy_violations_license_audited
+         , l."POLICYVIOLATIONS_LICENSE_UNAUDITED" AS policy_violations_license_unaudited
+         , l."POLICYVIOLATIONS_OPERATIONAL_TOTAL" AS policy_violations_operational_total
+         , l."POLICYVIOLATIONS_OPERATIONAL_AUDITED" AS policy_violations_operational_audited
+         , l."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" AS policy_violations_operational_unaudited
+         , l."POLICYVIOLATIONS_SECURITY_TOTAL" AS policy_violations_security_total
+         , l."POLICYVIOLATIONS_SECURITY_AUDITED" AS policy_violations_security_audited
+         , l."POLICYVIOLATIONS_SECURITY_UNAUDITED" AS policy_violations_security_unaudited
+      FROM "COMPONENT" AS c
+     INNER JOIN LATERAL (
+       SELECT *
+         FROM "DEPENDENCYMETRICS"
+        WHERE "COMPONENT_ID" = c."ID"
+          AND "LAST_OCCURRENCE" >= v_today
+        ORDER BY "LAST_OCCURRENCE" DESC
+        LIMIT 1
+     ) AS l ON TRUE
+     WHERE incremental
+       AND c."PROJECT_ID" = v_project_id
+       AND c."ID" <> ALL(v_component_ids)
   )
   SELECT COUNT(*)::INT AS components
        , COALESCE(SUM(CASE WHEN vulnerabilities > 0 THEN 1 ELSE 0 END)::INT, 0) AS vulnerable_components
@@ -201,9 +338,16 @@ BEGIN
        , COALESCE(SUM(policy_violations_security_audited)::INT, 0) AS policy_violations_security_audited
        , COALESCE(SUM(policy_violations_security_unaudited)::INT, 0) AS policy_violations_security_unaudited
        , COALESCE(SUM(risk_score), 0)::NUMERIC AS risk_score
-    FROM computed
+    FROM project_components
     INTO v_project;
 
+  SELECT *
+    INTO v_previous_metrics
+    FROM "PROJECTMETRICS"
+   WHERE "PROJECT_ID" = v_project_id
+   ORDER BY "LAST_OCCURRENCE" DESC
+   LIMIT 1;
+
   IF NOT EXISTS (
     SELECT 1
       FROM (
@@ -347,7 +491,14 @@ BEGIN
        SELECT 1
          FROM "PROJECT"
         WHERE "ID" = v_project_id
-     );
+     )
+    RETURNING *
+    INTO v_new_metrics;
+
+    -- Keep the metrics of collections that include the project current.
+    IF v_new_metrics."PROJECT_ID" IS NOT NULL THEN
+      PERFORM collection_project_metrics_apply_change(v_project_id, v_previous_metrics, v_new_metrics);
+    END IF;
   END IF;
 
   UPDATE "PROJECT"
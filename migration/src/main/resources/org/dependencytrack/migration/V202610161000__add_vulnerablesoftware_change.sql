@@ -0,0 +1,101 @@
+CREATE TABLE IF NOT EXISTS "VULNERABLESOFTWARE_CHANGE" (
+  "ID" BIGINT GENERATED ALWAYS AS IDENTITY
+, "TXID" BIGINT NOT NULL DEFAULT (pg_current_xact_id()::TEXT::BIGINT)
+, "CHANGED_AT" TIMESTAMPTZ(3) NOT NULL DEFAULT now()
+, "PART" TEXT
+, "VENDOR" TEXT
+, "PRODUCT" TEXT
+, "PURL_TYPE" TEXT
+, "PURL_NAMESPACE" TEXT
+, "PURL_NAME" TEXT
+, CONSTRAINT "VULNERABLESOFTWARE_CHANGE_PK" PRIMARY KEY ("ID")
+) WITH (
+  autovacuum_vacuum_scale_factor = 0.05
+, autovacuum_vacuum_threshold = 1000
+);
+
+-- squawk-ignore require-concurrent-index-creation
+CREATE INDEX IF NOT EXISTS "VULNERABLESOFTWARE_CHANGE_TXID_IDX"
+    ON "VULNERABLESOFTWARE_CHANGE" ("TXID");
+
+-- squawk-ignore require-concurrent-index-creation
+CREATE INDEX IF NOT EXISTS "VULNERABLESOFTWARE_CHANGE_CHANGED_AT_IDX"
+    ON "VULNERABLESOFTWARE_CHANGE" ("CHANGED_AT");
+
+-- Records the coordinates of VULNERABLESOFTWARE records whose association
+-- with vulnerabilities was created or removed. Shared by the insert and delete
+-- triggers, which both expose their transition table as "changed_rows".
+CREATE OR REPLACE FUNCTION vulnerablesoftware_change_on_vsv_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    INSERT INTO "VULNERABLESOFTWARE_CHANGE" (
+      "PART"
+    , "VENDOR"
+    , "PRODUCT"
+    , "PURL_TYPE"
+    , "PURL_NAMESPACE"
+    , "PURL_NAME"
+    )
+    SELECT DISTINCT vs."PART"
+                  , vs."VENDOR"
+                  , vs."PRODUCT"
+                  , vs."PURL_TYPE"
+                  , vs."PURL_NAMESPACE"
+                  , vs."PURL_NAME"
+      FROM changed_rows AS cr
+     INNER JOIN "VULNERABLESOFTWARE" AS vs
+        ON vs."ID" = cr."VULNERABLESOFTWARE_ID";
+    RETURN NULL;
+  END;
+$$;
+
+-- Records the coordinates of all VULNERABLESOFTWARE records associated
+-- with a vulnerability whose rejection status changed.
+CREATE OR REPLACE FUNCTION vulnerablesoftware_change_on_vuln_rejected()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    INSERT INTO "VULNERABLESOFTWARE_CHANGE" (
+      "PART"
+    , "VENDOR"
+    , "PRODUCT"
+    , "PURL_TYPE"
+    , "PURL_NAMESPACE"
+    , "PURL_NAME"
+    )
+    SELECT DISTINCT vs."PART"
+                  , vs."VENDOR"
+                  , vs."PRODUCT"
+                  , vs."PURL_TYPE"
+                  , vs."PURL_NAMESPACE"
+                  , vs."PURL_NAME"
+      FROM "VULNERABLESOFTWARE_VULNERABILITIES" AS vsv
+     INNER JOIN "VULNERABLESOFTWARE" AS vs
+        ON vs."ID" = vsv."VULNERABLESOFTWARE_ID"
+     WHERE vsv."VULNERABILITY_ID" = NEW."ID";
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE TRIGGER trigger_vulnerablesoftware_change_on_vsv_insert
+ AFTER INSERT ON "VULNERABLESOFTWARE_VULNERABILITIES"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION vulnerablesoftware_change_on_vsv_change();
+
+CREATE OR REPLACE TRIGGER trigger_vulnerablesoftware_change_on_vsv_delete
+ AFTER DELETE ON "VULNERABLESOFTWARE_VULNERABILITIES"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION vulnerablesoftware_change_on_vsv_change();
+
+CREATE OR REPLACE TRIGGER trigger_vulnerablesoftware_change_on_vuln_rejected
+ AFTER UPDATE OF "REJECTED" ON "VULNERABILITY"
+   FOR EACH ROW
+  WHEN (OLD."REJECTED" IS DISTINCT FROM NEW."REJECTED")
+EXECUTE FUNCTION vulnerablesoftware_change_on_vuln_rejected();
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS "VULNERABLESOFTWARE_CHANGE_CURSOR" (
+  "NAME" TEXT NOT NULL
+, "SNAPSHOT" PG_SNAPSHOT NOT NULL
+, "UPDATED_AT" TIMESTAMPTZ NOT NULL DEFAULT now()
+, CONSTRAINT "VULNERABLESOFTWARE_CHANGE_CURSOR_PK" PRIMARY KEY ("NAME")
+);
@@ -0,0 +1,3 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "COMPONENT_CPE_VENDOR_PRODUCT_IDX"
+    ON "COMPONENT" (split_part(lower("CPE"), ':', 4), split_part(lower("CPE"), ':', 5))
+ WHERE "CPE" LIKE 'cpe:2.3:%';
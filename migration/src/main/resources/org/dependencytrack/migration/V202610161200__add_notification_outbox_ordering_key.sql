@@ -0,0 +1,4 @@
+-- Notifications with the same ordering key are relayed in order.
+-- The outbox relay hashes the key to assign notifications to partitions.
+ALTER TABLE "NOTIFICATION_OUTBOX"
+  ADD COLUMN IF NOT EXISTS "ORDERING_KEY" TEXT;
@@ -0,0 +1,92 @@
+-- Single-row table holding a counter that is incremented whenever
+-- notification rules, or their project or tag limitations, change.
+-- Allows notification routers to cache rules in memory, and to
+-- cheaply check whether their cached rules are still current.
+CREATE TABLE IF NOT EXISTS "NOTIFICATIONRULE_VERSION" (
+  "ID" SMALLINT NOT NULL DEFAULT 1
+, "VERSION" BIGINT NOT NULL
+, CONSTRAINT "NOTIFICATIONRULE_VERSION_PK" PRIMARY KEY ("ID")
+, CONSTRAINT "NOTIFICATIONRULE_VERSION_ID_CHECK" CHECK ("ID" = 1)
+);
+
+INSERT INTO "NOTIFICATIONRULE_VERSION" ("ID", "VERSION")
+VALUES (1, 1)
+ON CONFLICT ("ID") DO NOTHING;
+
+CREATE OR REPLACE FUNCTION notificationrule_version_increment()
+  RETURNS VOID
+  LANGUAGE sql
+AS
+$$
+  INSERT INTO "NOTIFICATIONRULE_VERSION" ("ID", "VERSION")
+  VALUES (1, 1)
+  ON CONFLICT ("ID") DO UPDATE
+  SET "VERSION" = "NOTIFICATIONRULE_VERSION"."VERSION" + 1;
+$$;
+
+CREATE OR REPLACE FUNCTION notificationrule_version_on_rule_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    PERFORM notificationrule_version_increment();
+    RETURN NULL;
+  END;
+$$;
+
+-- Shared by the insert and delete triggers of the NOTIFICATIONRULE_PROJECTS
+-- and NOTIFICATIONRULE_TAGS tables, which all expose their transition table
+-- as "changed_rows". Rows of these tables are deleted as a side effect of
+-- deleting projects and tags, so empty statements must not contend on the counter.
+CREATE OR REPLACE FUNCTION notificationrule_version_on_limit_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF EXISTS (SELECT 1 FROM changed_rows) THEN
+      PERFORM notificationrule_version_increment();
+    END IF;
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE TRIGGER trigger_notificationrule_version_on_rule_change
+ AFTER INSERT
+    OR DELETE
+    OR UPDATE OF "ENABLED"
+               , "NAME"
+               , "NOTIFICATION_LEVEL"
+               , "NOTIFY_CHILDREN"
+               , "NOTIFY_ON"
+               , "SCOPE"
+               , "TRIGGER_TYPE"
+               , "FILTER_EXPRESSION"
+    ON "NOTIFICATIONRULE"
+   FOR EACH STATEMENT
+EXECUTE FUNCTION notificationrule_version_on_rule_change();
+
+CREATE OR REPLACE TRIGGER trigger_notificationrule_version_on_project_insert
+ AFTER INSERT ON "NOTIFICATIONRULE_PROJECTS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION notificationrule_version_on_limit_change();
+
+CREATE OR REPLACE TRIGGER trigger_notificationrule_version_on_project_delete
+ AFTER DELETE ON "NOTIFICATIONRULE_PROJECTS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION notificationrule_version_on_limit_change();
+
+CREATE OR REPLACE TRIGGER trigger_notificationrule_version_on_tag_insert
+ AFTER INSERT ON "NOTIFICATIONRULE_TAGS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION notificationrule_version_on_limit_change();
+
+CREATE OR REPLACE TRIGGER trigger_notificationrule_version_on_tag_delete
+ AFTER DELETE ON "NOTIFICATIONRULE_TAGS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION notificationrule_version_on_limit_change();
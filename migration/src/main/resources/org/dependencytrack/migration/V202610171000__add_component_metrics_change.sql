@@ -0,0 +1,142 @@
+-- Records components whose findings, analyses, or policy violations changed,
+-- such that project metrics can be updated by re-computing only the metrics
+-- of affected components. Consumed by the UPDATE_PROJECT_METRICS procedure.
+CREATE TABLE IF NOT EXISTS "COMPONENT_METRICS_CHANGE" (
+  "ID" BIGINT GENERATED ALWAYS AS IDENTITY
+, "CHANGED_AT" TIMESTAMPTZ(3) NOT NULL DEFAULT now()
+, "PROJECT_ID" BIGINT NOT NULL
+, "COMPONENT_ID" BIGINT NOT NULL
+, CONSTRAINT "COMPONENT_METRICS_CHANGE_PK" PRIMARY KEY ("ID")
+) WITH (
+  autovacuum_vacuum_scale_factor = 0.05
+, autovacuum_vacuum_threshold = 1000
+);
+
+-- squawk-ignore require-concurrent-index-creation
+CREATE INDEX IF NOT EXISTS "COMPONENT_METRICS_CHANGE_PROJECT_ID_IDX"
+    ON "COMPONENT_METRICS_CHANGE" ("PROJECT_ID");
+
+-- squawk-ignore require-concurrent-index-creation
+CREATE INDEX IF NOT EXISTS "COMPONENT_METRICS_CHANGE_CHANGED_AT_IDX"
+    ON "COMPONENT_METRICS_CHANGE" ("CHANGED_AT");
+
+-- Shared by the insert and delete triggers of all tables that have a
+-- "COMPONENT_ID" column, which all expose their transition table as "changed_rows".
+-- Components that no longer exist, e.g. due to cascading deletes, are skipped.
+CREATE OR REPLACE FUNCTION component_metrics_change_on_rows_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    INSERT INTO "COMPONENT_METRICS_CHANGE" ("PROJECT_ID", "COMPONENT_ID")
+    SELECT DISTINCT c."PROJECT_ID"
+                  , c."ID"
+      FROM changed_rows AS cr
+     INNER JOIN "COMPONENT" AS c
+        ON c."ID" = cr."COMPONENT_ID";
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE FUNCTION component_metrics_change_on_row_update()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    INSERT INTO "COMPONENT_METRICS_CHANGE" ("PROJECT_ID", "COMPONENT_ID")
+    SELECT "PROJECT_ID"
+         , "ID"
+      FROM "COMPONENT"
+     WHERE "ID" = NEW."COMPONENT_ID";
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_cv_insert
+ AFTER INSERT ON "COMPONENTS_VULNERABILITIES"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_cv_delete
+ AFTER DELETE ON "COMPONENTS_VULNERABILITIES"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_fa_insert
+ AFTER INSERT ON "FINDINGATTRIBUTION"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_fa_delete
+ AFTER DELETE ON "FINDINGATTRIBUTION"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_fa_update
+ AFTER UPDATE OF "DELETED_AT" ON "FINDINGATTRIBUTION"
+   FOR EACH ROW
+  WHEN (OLD."DELETED_AT" IS DISTINCT FROM NEW."DELETED_AT")
+EXECUTE FUNCTION component_metrics_change_on_row_update();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_analysis_insert
+ AFTER INSERT ON "ANALYSIS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_analysis_delete
+ AFTER DELETE ON "ANALYSIS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_analysis_update
+ AFTER UPDATE OF "STATE", "SUPPRESSED", "SEVERITY" ON "ANALYSIS"
+   FOR EACH ROW
+  WHEN ((OLD."STATE", OLD."SUPPRESSED", OLD."SEVERITY")
+        IS DISTINCT FROM (NEW."STATE", NEW."SUPPRESSED", NEW."SEVERITY"))
+EXECUTE FUNCTION component_metrics_change_on_row_update();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_pv_insert
+ AFTER INSERT ON "POLICYVIOLATION"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_pv_delete
+ AFTER DELETE ON "POLICYVIOLATION"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_pv_update
+ AFTER UPDATE OF "TYPE", "POLICYCONDITION_ID" ON "POLICYVIOLATION"
+   FOR EACH ROW
+  WHEN ((OLD."TYPE", OLD."POLICYCONDITION_ID")
+        IS DISTINCT FROM (NEW."TYPE", NEW."POLICYCONDITION_ID"))
+EXECUTE FUNCTION component_metrics_change_on_row_update();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_va_insert
+ AFTER INSERT ON "VIOLATIONANALYSIS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_va_delete
+ AFTER DELETE ON "VIOLATIONANALYSIS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_va_update
+ AFTER UPDATE OF "STATE", "SUPPRESSED" ON "VIOLATIONANALYSIS"
+   FOR EACH ROW
+  WHEN ((OLD."STATE", OLD."SUPPRESSED")
+        IS DISTINCT FROM (NEW."STATE", NEW."SUPPRESSED"))
+EXECUTE FUNCTION component_metrics_change_on_row_update();
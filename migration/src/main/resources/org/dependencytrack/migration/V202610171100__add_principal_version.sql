@@ -0,0 +1,142 @@
+-- Single-row table holding a counter that is incremented whenever
+-- API keys, user sessions, users, teams, or their permissions change.
+-- Allows API server instances to cache authenticated principals in memory,
+-- and to cheaply check whether their cached principals are still current.
+CREATE TABLE IF NOT EXISTS "PRINCIPAL_VERSION" (
+  "ID" SMALLINT NOT NULL DEFAULT 1
+, "VERSION" BIGINT NOT NULL
+, CONSTRAINT "PRINCIPAL_VERSION_PK" PRIMARY KEY ("ID")
+, CONSTRAINT "PRINCIPAL_VERSION_ID_CHECK" CHECK ("ID" = 1)
+);
+
+INSERT INTO "PRINCIPAL_VERSION" ("ID", "VERSION")
+VALUES (1, 1)
+ON CONFLICT ("ID") DO NOTHING;
+
+CREATE OR REPLACE FUNCTION principal_version_increment()
+  RETURNS VOID
+  LANGUAGE sql
+AS
+$$
+  INSERT INTO "PRINCIPAL_VERSION" ("ID", "VERSION")
+  VALUES (1, 1)
+  ON CONFLICT ("ID") DO UPDATE
+  SET "VERSION" = "PRINCIPAL_VERSION"."VERSION" + 1;
+$$;
+
+-- Used by triggers with column lists, which can't have transition tables.
+CREATE OR REPLACE FUNCTION principal_version_on_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    PERFORM principal_version_increment();
+    RETURN NULL;
+  END;
+$$;
+
+-- Shared by all triggers that expose their transition table as "changed_rows".
+-- Rows of membership tables, and sessions, are deleted as a side effect of
+-- deleting other records, so empty statements must not contend on the counter.
+CREATE OR REPLACE FUNCTION principal_version_on_rows_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF EXISTS (SELECT 1 FROM changed_rows) THEN
+      PERFORM principal_version_increment();
+    END IF;
+    RETURN NULL;
+  END;
+$$;
+
+-- Usage tracking regularly updates "LAST_USED" of API keys,
+-- which must not invalidate cached principals.
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_apikey_update
+ AFTER UPDATE OF "PUBLIC_ID"
+               , "SECRET_HASH"
+    ON "APIKEY"
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_apikey_delete
+ AFTER DELETE ON "APIKEY"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_apikeys_teams_insert
+ AFTER INSERT ON "APIKEYS_TEAMS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_apikeys_teams_delete
+ AFTER DELETE ON "APIKEYS_TEAMS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+-- Session usage tracking regularly updates "LAST_USED_AT",
+-- so only deletions (i.e. logouts and expiry) are relevant.
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_user_session_delete
+ AFTER DELETE ON "USER_SESSION"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_user_update
+ AFTER UPDATE ON "USER"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_user_delete
+ AFTER DELETE ON "USER"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_users_teams_insert
+ AFTER INSERT ON "USERS_TEAMS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_users_teams_delete
+ AFTER DELETE ON "USERS_TEAMS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_users_permissions_insert
+ AFTER INSERT ON "USERS_PERMISSIONS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_users_permissions_delete
+ AFTER DELETE ON "USERS_PERMISSIONS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_team_update
+ AFTER UPDATE ON "TEAM"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_teams_permissions_insert
+ AFTER INSERT ON "TEAMS_PERMISSIONS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
+
+CREATE OR REPLACE TRIGGER trigger_principal_version_on_teams_permissions_delete
+ AFTER DELETE ON "TEAMS_PERMISSIONS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_rows_change();
@@ -0,0 +1,280 @@
+-- Holds the most recent metrics of collection projects, aggregated over the
+-- latest PROJECTMETRICS of their leaf descendants. Maintained incrementally by
+-- the UPDATE_PROJECT_METRICS procedure, which applies the difference between
+-- the previous and the new metrics of a leaf to all collections including it.
+--
+-- Rows are fresh iff "COMPUTED_REVISION" equals "REVISION". Changes that
+-- can't be applied incrementally, such as changes to tags, latest versions,
+-- or the hierarchy, increment "REVISION", thus marking affected rows as stale.
+-- Stale rows are re-computed from scratch when they are read.
+CREATE TABLE IF NOT EXISTS "COLLECTION_PROJECT_METRICS" (
+  "PROJECT_ID" BIGINT NOT NULL
+, "REVISION" BIGINT NOT NULL DEFAULT 1
+, "COMPUTED_REVISION" BIGINT
+, "LEAF_DESCENDANTS" INT
+, "COMPONENTS" BIGINT
+, "VULNERABLECOMPONENTS" BIGINT
+, "VULNERABILITIES" BIGINT
+, "CRITICAL" BIGINT
+, "HIGH" BIGINT
+, "MEDIUM" BIGINT
+, "LOW" BIGINT
+, "UNASSIGNED_SEVERITY" BIGINT
+, "KEV" BIGINT
+, "RISKSCORE" DOUBLE PRECISION
+, "FINDINGS_TOTAL" BIGINT
+, "FINDINGS_AUDITED" BIGINT
+, "FINDINGS_UNAUDITED" BIGINT
+, "SUPPRESSED" BIGINT
+, "POLICYVIOLATIONS_TOTAL" BIGINT
+, "POLICYVIOLATIONS_FAIL" BIGINT
+, "POLICYVIOLATIONS_WARN" BIGINT
+, "POLICYVIOLATIONS_INFO" BIGINT
+, "POLICYVIOLATIONS_AUDITED" BIGINT
+, "POLICYVIOLATIONS_UNAUDITED" BIGINT
+, "POLICYVIOLATIONS_LICENSE_TOTAL" BIGINT
+, "POLICYVIOLATIONS_LICENSE_AUDITED" BIGINT
+, "POLICYVIOLATIONS_LICENSE_UNAUDITED" BIGINT
+, "POLICYVIOLATIONS_OPERATIONAL_TOTAL" BIGINT
+, "POLICYVIOLATIONS_OPERATIONAL_AUDITED" BIGINT
+, "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" BIGINT
+, "POLICYVIOLATIONS_SECURITY_TOTAL" BIGINT
+, "POLICYVIOLATIONS_SECURITY_AUDITED" BIGINT
+, "POLICYVIOLATIONS_SECURITY_UNAUDITED" BIGINT
+, "FIRST_OCCURRENCE" TIMESTAMPTZ
+, "LAST_OCCURRENCE" TIMESTAMPTZ
+, CONSTRAINT "COLLECTION_PROJECT_METRICS_PK" PRIMARY KEY ("PROJECT_ID")
+, CONSTRAINT "COLLECTION_PROJECT_METRICS_PROJECT_FK" FOREIGN KEY ("PROJECT_ID")
+    REFERENCES "PROJECT" ("ID") ON DELETE CASCADE
+) WITH (
+  fillfactor = 80
+);
+
+-- Start out with stale rows for all existing collections, such that
+-- leaf metric updates always find a row to lock. Rows are computed on first read.
+INSERT INTO "COLLECTION_PROJECT_METRICS" ("PROJECT_ID")
+SELECT "ID"
+  FROM "PROJECT"
+ WHERE "COLLECTION_LOGIC" IS NOT NULL
+ON CONFLICT ("PROJECT_ID") DO NOTHING;
+
+-- Marks the metrics of all collections that are, or are ancestors of,
+-- the given projects as stale. Rows are created for collections that don't
+-- have one yet. Rows are locked in a consistent order to prevent deadlocks.
+CREATE OR REPLACE FUNCTION collection_project_metrics_invalidate(project_ids BIGINT[])
+  RETURNS VOID
+  LANGUAGE sql
+AS
+$$
+  INSERT INTO "COLLECTION_PROJECT_METRICS" ("PROJECT_ID")
+  SELECT DISTINCT ph."PARENT_PROJECT_ID"
+    FROM "PROJECT_HIERARCHY" AS ph
+   INNER JOIN "PROJECT" AS p
+      ON p."ID" = ph."PARENT_PROJECT_ID"
+   WHERE ph."CHILD_PROJECT_ID" = ANY(project_ids)
+     AND p."COLLECTION_LOGIC" IS NOT NULL
+   ORDER BY ph."PARENT_PROJECT_ID"
+  ON CONFLICT ("PROJECT_ID") DO UPDATE
+  SET "REVISION" = "COLLECTION_PROJECT_METRICS"."REVISION" + 1;
+$$;
+
+-- Applies the change of a leaf project's latest metrics to the metrics of all
+-- collections that include the leaf, using the same inclusion rules as
+-- MetricsDao#getMostRecentCollectionProjectMetrics.
+--
+-- The revision of affected rows is always incremented, such that reads that
+-- computed metrics concurrently don't mark their (now outdated) result as fresh.
+-- Rows stay fresh only if they were fresh before, and if their first occurrence
+-- remains known, which is not the case when the leaf held the earliest one.
+CREATE OR REPLACE FUNCTION collection_project_metrics_apply_change(
+  leaf_project_id BIGINT
+, old_metrics "PROJECTMETRICS"
+, new_metrics "PROJECTMETRICS"
+)
+  RETURNS VOID
+  LANGUAGE sql
+AS
+$$
+  WITH RECURSIVE
+  including_ancestors AS (
+    SELECT parent."ID" AS project_id
+      FROM "PROJECT" AS child
+     INNER JOIN "PROJECT" AS parent
+        ON parent."ID" = child."PARENT_PROJECT_ID"
+     WHERE child."ID" = leaf_project_id
+       AND child."INACTIVE_SINCE" IS NULL
+       AND parent."COLLECTION_LOGIC" IS NOT NULL
+       AND (
+         parent."COLLECTION_LOGIC" != 'AGGREGATE_DIRECT_CHILDREN_WITH_TAG'
+         OR EXISTS (
+           SELECT 1
+             FROM "PROJECTS_TAGS" AS pt
+            WHERE pt."PROJECT_ID" = child."ID"
+              AND pt."TAG_ID" = parent."COLLECTION_TAG_ID"
+         )
+       )
+       AND (
+         parent."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
+         OR child."IS_LATEST"
+       )
+    UNION ALL
+    SELECT parent."ID"
+      FROM including_ancestors AS ia
+     INNER JOIN "PROJECT" AS child
+        ON child."ID" = ia.project_id
+     INNER JOIN "PROJECT" AS parent
+        ON parent."ID" = child."PARENT_PROJECT_ID"
+     WHERE child."INACTIVE_SINCE" IS NULL
+       AND parent."COLLECTION_LOGIC" IS NOT NULL
+       AND (
+         parent."COLLECTION_LOGIC" != 'AGGREGATE_DIRECT_CHILDREN_WITH_TAG'
+         OR EXISTS (
+           SELECT 1
+             FROM "PROJECTS_TAGS" AS pt
+            WHERE pt."PROJECT_ID" = child."ID"
+              AND pt."TAG_ID" = parent."COLLECTION_TAG_ID"
+         )
+       )
+       AND (
+         parent."COLLECTION_LOGIC" != 'AGGREGATE_LATEST_VERSION_CHILDREN'
+         OR child."IS_LATEST"
+       )
+  )
+  CYCLE project_id SET is_cycle USING path,
+  locked AS (
+    SELECT cpm."PROJECT_ID"
+      FROM "COLLECTION_PROJECT_METRICS" AS cpm
+     WHERE cpm."PROJECT_ID" IN (SELECT ia.project_id FROM including_ancestors AS ia)
+     ORDER BY cpm."PROJECT_ID"
+       FOR UPDATE
+  )
+  UPDATE "COLLECTION_PROJECT_METRICS" AS cpm
+     SET "COMPONENTS" = cpm."COMPONENTS" + COALESCE(new_metrics."COMPONENTS", 0) - COALESCE(old_metrics."COMPONENTS", 0)
+       , "VULNERABLECOMPONENTS" = cpm."VULNERABLECOMPONENTS" + COALESCE(new_metrics."VULNERABLECOMPONENTS", 0) - COALESCE(old_metrics."VULNERABLECOMPONENTS", 0)
+       , "VULNERABILITIES" = cpm."VULNERABILITIES" + COALESCE(new_metrics."VULNERABILITIES", 0) - COALESCE(old_metrics."VULNERABILITIES", 0)
+       , "CRITICAL" = cpm."CRITICAL" + COALESCE(new_metrics."CRITICAL", 0) - COALESCE(old_metrics."CRITICAL", 0)
+       , "HIGH" = cpm."HIGH" + COALESCE(new_metrics."HIGH", 0) - COALESCE(old_metrics."HIGH", 0)
+       , "MEDIUM" = cpm."MEDIUM" + COALESCE(new_metrics."MEDIUM", 0) - COALESCE(old_metrics."MEDIUM", 0)
+       , "LOW" = cpm."LOW" + COALESCE(new_metrics."LOW", 0) - COALESCE(old_metrics."LOW", 0)
+       , "UNASSIGNED_SEVERITY" = cpm."UNASSIGNED_SEVERITY" + COALESCE(new_metrics."UNASSIGNED_SEVERITY", 0) - COALESCE(old_metrics."UNASSIGNED_SEVERITY", 0)
+       , "KEV" = cpm."KEV" + COALESCE(new_metrics."KEV", 0) - COALESCE(old_metrics."KEV", 0)
+       , "RISKSCORE" = cpm."RISKSCORE" + COALESCE(new_metrics."RISKSCORE", 0) - COALESCE(old_metrics."RISKSCORE", 0)
+       , "FINDINGS_TOTAL" = cpm."FINDINGS_TOTAL" + COALESCE(new_metrics."FINDINGS_TOTAL", 0) - COALESCE(old_metrics."FINDINGS_TOTAL", 0)
+       , "FINDINGS_AUDITED" = cpm."FINDINGS_AUDITED" + COALESCE(new_metrics."FINDINGS_AUDITED", 0) - COALESCE(old_metrics."FINDINGS_AUDITED", 0)
+       , "FINDINGS_UNAUDITED" = cpm."FINDINGS_UNAUDITED" + COALESCE(new_metrics."FINDINGS_UNAUDITED", 0) - COALESCE(old_metrics."FINDINGS_UNAUDITED", 0)
+       , "SUPPRESSED" = cpm."SUPPRESSED" + COALESCE(new_metrics."SUPPRESSED", 0) - COALESCE(old_metrics."SUPPRESSED", 0)
+       , "POLICYVIOLATIONS_TOTAL" = cpm."POLICYVIOLATIONS_TOTAL" + COALESCE(new_metrics."POLICYVIOLATIONS_TOTAL", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_TOTAL", 0)
+       , "POLICYVIOLATIONS_FAIL" = cpm."POLICYVIOLATIONS_FAIL" + COALESCE(new_metrics."POLICYVIOLATIONS_FAIL", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_FAIL", 0)
+       , "POLICYVIOLATIONS_WARN" = cpm."POLICYVIOLATIONS_WARN" + COALESCE(new_metrics."POLICYVIOLATIONS_WARN", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_WARN", 0)
+       , "POLICYVIOLATIONS_INFO" = cpm."POLICYVIOLATIONS_INFO" + COALESCE(new_metrics."POLICYVIOLATIONS_INFO", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_INFO", 0)
+       , "POLICYVIOLATIONS_AUDITED" = cpm."POLICYVIOLATIONS_AUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_AUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_AUDITED", 0)
+       , "POLICYVIOLATIONS_UNAUDITED" = cpm."POLICYVIOLATIONS_UNAUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_UNAUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_UNAUDITED", 0)
+       , "POLICYVIOLATIONS_LICENSE_TOTAL" = cpm."POLICYVIOLATIONS_LICENSE_TOTAL" + COALESCE(new_metrics."POLICYVIOLATIONS_LICENSE_TOTAL", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_LICENSE_TOTAL", 0)
+       , "POLICYVIOLATIONS_LICENSE_AUDITED" = cpm."POLICYVIOLATIONS_LICENSE_AUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_LICENSE_AUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_LICENSE_AUDITED", 0)
+       , "POLICYVIOLATIONS_LICENSE_UNAUDITED" = cpm."POLICYVIOLATIONS_LICENSE_UNAUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_LICENSE_UNAUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_LICENSE_UNAUDITED", 0)
+       , "POLICYVIOLATIONS_OPERATIONAL_TOTAL" = cpm."POLICYVIOLATIONS_OPERATIONAL_TOTAL" + COALESCE(new_metrics."POLICYVIOLATIONS_OPERATIONAL_TOTAL", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_OPERATIONAL_TOTAL", 0)
+       , "POLICYVIOLATIONS_OPERATIONAL_AUDITED" = cpm."POLICYVIOLATIONS_OPERATIONAL_AUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_OPERATIONAL_AUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_OPERATIONAL_AUDITED", 0)
+       , "POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" = cpm."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_OPERATIONAL_UNAUDITED", 0)
+       , "POLICYVIOLATIONS_SECURITY_TOTAL" = cpm."POLICYVIOLATIONS_SECURITY_TOTAL" + COALESCE(new_metrics."POLICYVIOLATIONS_SECURITY_TOTAL", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_SECURITY_TOTAL", 0)
+       , "POLICYVIOLATIONS_SECURITY_AUDITED" = cpm."POLICYVIOLATIONS_SECURITY_AUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_SECURITY_AUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_SECURITY_AUDITED", 0)
+       , "POLICYVIOLATIONS_SECURITY_UNAUDITED" = cpm."POLICYVIOLATIONS_SECURITY_UNAUDITED" + COALESCE(new_metrics."POLICYVIOLATIONS_SECURITY_UNAUDITED", 0) - COALESCE(old_metrics."POLICYVIOLATIONS_SECURITY_UNAUDITED", 0)
+       , "FIRST_OCCURRENCE" = LEAST(cpm."FIRST_OCCURRENCE", new_metrics."FIRST_OCCURRENCE")
+       , "LAST_OCCURRENCE" = GREATEST(cpm."LAST_OCCURRENCE", new_metrics."LAST_OCCURRENCE")
+       , "REVISION" = cpm."REVISION" + 1
+       , "COMPUTED_REVISION" = CASE
+           WHEN cpm."COMPUTED_REVISION" = cpm."REVISION"
+            AND NOT (
+              old_metrics."FIRST_OCCURRENCE" IS NOT NULL
+              AND old_metrics."FIRST_OCCURRENCE" <= cpm."FIRST_OCCURRENCE"
+              AND new_metrics."FIRST_OCCURRENCE" > old_metrics."FIRST_OCCURRENCE"
+            )
+           THEN cpm."REVISION" + 1
+           ELSE cpm."COMPUTED_REVISION"
+         END
+    FROM locked
+   WHERE cpm."PROJECT_ID" = locked."PROJECT_ID";
+$$;
+
+-- Shared by the insert and delete triggers of the PROJECTS_TAGS table,
+-- which expose their transition table as "changed_rows". Rows of this table
+-- are deleted as a side effect of deleting tags, so empty statements are skipped.
+CREATE OR REPLACE FUNCTION collection_project_metrics_on_project_tags_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF EXISTS (SELECT 1 FROM changed_rows) THEN
+      PERFORM collection_project_metrics_invalidate(
+        ARRAY(SELECT DISTINCT "PROJECT_ID" FROM changed_rows));
+    END IF;
+    RETURN NULL;
+  END;
+$$;
+
+-- Shared by the insert and delete triggers of the PROJECT_HIERARCHY table,
+-- which expose their transition table as "changed_rows". Covers projects being
+-- created, deleted, or moved to a different parent.
+CREATE OR REPLACE FUNCTION collection_project_metrics_on_hierarchy_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF EXISTS (SELECT 1 FROM changed_rows) THEN
+      PERFORM collection_project_metrics_invalidate(
+        ARRAY(SELECT DISTINCT "PARENT_PROJECT_ID" FROM changed_rows));
+    END IF;
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE FUNCTION collection_project_metrics_on_project_update()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    PERFORM collection_project_metrics_invalidate(ARRAY[NEW."ID"]);
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE TRIGGER trigger_collection_project_metrics_on_project_tags_insert
+ AFTER INSERT ON "PROJECTS_TAGS"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION collection_project_metrics_on_project_tags_change();
+
+CREATE OR REPLACE TRIGGER trigger_collection_project_metrics_on_project_tags_delete
+ AFTER DELETE ON "PROJECTS_TAGS"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION collection_project_metrics_on_project_tags_change();
+
+CREATE OR REPLACE TRIGGER trigger_collection_project_metrics_on_hierarchy_insert
+ AFTER INSERT ON "PROJECT_HIERARCHY"
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION collection_project_metrics_on_hierarchy_change();
+
+CREATE OR REPLACE TRIGGER trigger_collection_project_metrics_on_hierarchy_delete
+ AFTER DELETE ON "PROJECT_HIERARCHY"
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT
+EXECUTE FUNCTION collection_project_metrics_on_hierarchy_change();
+
+CREATE OR REPLACE TRIGGER trigger_collection_project_metrics_on_project_update
+ AFTER UPDATE OF "COLLECTION_LOGIC"
+               , "COLLECTION_TAG_ID"
+               , "INACTIVE_SINCE"
+               , "IS_LATEST"
+    ON "PROJECT"
+   FOR EACH ROW
+  WHEN (
+    OLD."COLLECTION_LOGIC" IS DISTINCT FROM NEW."COLLECTION_LOGIC"
+    OR OLD."COLLECTION_TAG_ID" IS DISTINCT FROM NEW."COLLECTION_TAG_ID"
+    OR OLD."INACTIVE_SINCE" IS DISTINCT FROM NEW."INACTIVE_SINCE"
+    OR OLD."IS_LATEST" IS DISTINCT FROM NEW."IS_LATEST"
+  )
+EXECUTE FUNCTION collection_project_metrics_on_project_update();
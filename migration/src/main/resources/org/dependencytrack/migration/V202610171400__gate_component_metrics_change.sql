@@ -0,0 +1,63 @@
+-- Single-row table holding whether changes are recorded in COMPONENT_METRICS_CHANGE,
+-- and since when. Recording is disabled while the row is absent, or "ENABLED_SINCE" is NULL.
+-- Maintained on startup based on the dt.metrics.incremental-updates.enabled setting,
+-- such that deployments without incremental updates don't pay for recording changes.
+CREATE TABLE IF NOT EXISTS "COMPONENT_METRICS_CHANGE_RECORDING" (
+  "ID" SMALLINT NOT NULL DEFAULT 1
+, "ENABLED_SINCE" TIMESTAMPTZ(3)
+, CONSTRAINT "COMPONENT_METRICS_CHANGE_RECORDING_PK" PRIMARY KEY ("ID")
+, CONSTRAINT "COMPONENT_METRICS_CHANGE_RECORDING_ID_CHECK" CHECK ("ID" = 1)
+);
+
+CREATE OR REPLACE FUNCTION component_metrics_change_recording_enabled()
+  RETURNS BOOLEAN
+  LANGUAGE sql
+  STABLE
+AS
+$$
+  SELECT EXISTS(
+    SELECT 1
+      FROM "COMPONENT_METRICS_CHANGE_RECORDING"
+     WHERE "ID" = 1
+       AND "ENABLED_SINCE" IS NOT NULL
+  );
+$$;
+
+CREATE OR REPLACE FUNCTION component_metrics_change_on_rows_change()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF NOT component_metrics_change_recording_enabled() THEN
+      RETURN NULL;
+    END IF;
+
+    INSERT INTO "COMPONENT_METRICS_CHANGE" ("PROJECT_ID", "COMPONENT_ID")
+    SELECT DISTINCT c."PROJECT_ID"
+                  , c."ID"
+      FROM changed_rows AS cr
+     INNER JOIN "COMPONENT" AS c
+        ON c."ID" = cr."COMPONENT_ID";
+    RETURN NULL;
+  END;
+$$;
+
+CREATE OR REPLACE FUNCTION component_metrics_change_on_row_update()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF NOT component_metrics_change_recording_enabled() THEN
+      RETURN NULL;
+    END IF;
+
+    INSERT INTO "COMPONENT_METRICS_CHANGE" ("PROJECT_ID", "COMPONENT_ID")
+    SELECT "PROJECT_ID"
+         , "ID"
+      FROM "COMPONENT"
+     WHERE "ID" = NEW."COMPONENT_ID";
+    RETURN NULL;
+  END;
+$$;
@@ -0,0 +1,39 @@
+-- Single-row table holding a counter that is incremented by every transaction
+-- that records changes in VULNERABLESOFTWARE_CHANGE. Results of vulnerability
+-- analyses are memoized per generation, such that they are discarded as soon
+-- as matching criteria change. A missing row is equivalent to generation 0.
+CREATE TABLE IF NOT EXISTS "VULN_DATA_GENERATION" (
+  "ID" SMALLINT NOT NULL DEFAULT 1
+, "GENERATION" BIGINT NOT NULL
+, "TXID" BIGINT NOT NULL
+, CONSTRAINT "VULN_DATA_GENERATION_PK" PRIMARY KEY ("ID")
+, CONSTRAINT "VULN_DATA_GENERATION_ID_CHECK" CHECK ("ID" = 1)
+);
+
+-- Increments the generation at most once per transaction. Invoked by a deferred
+-- trigger, such that the row lock is only held for the duration of the commit,
+-- and concurrent mirroring transactions are not serialized on it.
+CREATE OR REPLACE FUNCTION vuln_data_generation_increment()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  DECLARE
+    v_txid BIGINT := pg_current_xact_id()::TEXT::BIGINT;
+  BEGIN
+    INSERT INTO "VULN_DATA_GENERATION" AS g ("ID", "GENERATION", "TXID")
+    VALUES (1, 1, v_txid)
+    ON CONFLICT ("ID") DO UPDATE
+    SET "GENERATION" = g."GENERATION" + 1
+      , "TXID" = EXCLUDED."TXID"
+    WHERE g."TXID" IS DISTINCT FROM EXCLUDED."TXID";
+    RETURN NULL;
+  END;
+$$;
+
+DROP TRIGGER IF EXISTS "VULNERABLESOFTWARE_CHANGE_GENERATION" ON "VULNERABLESOFTWARE_CHANGE";
+CREATE CONSTRAINT TRIGGER "VULNERABLESOFTWARE_CHANGE_GENERATION"
+  AFTER INSERT ON "VULNERABLESOFTWARE_CHANGE"
+  DEFERRABLE INITIALLY DEFERRED
+  FOR EACH ROW
+  EXECUTE FUNCTION vuln_data_generation_increment();
@@ -0,0 +1,16 @@
+-- The outbox relay assigns notifications to partitions with MOD("ORDERING_KEY_HASH", <partitions>).
+-- Since the number of partitions is configurable, no index can serve that predicate directly.
+-- Instead, the hash is computed once on insert rather than for every row on every poll, and
+-- covered by an index in ID order. Polling a partition walks that index, and can skip
+-- notifications of other partitions without fetching them from the heap.
+ALTER TABLE "NOTIFICATION_OUTBOX"
+  ADD COLUMN IF NOT EXISTS "ORDERING_KEY_HASH" BIGINT NOT NULL
+  GENERATED ALWAYS AS (
+    CASE
+      WHEN "ORDERING_KEY" IS NULL THEN 0
+      ELSE ABS(HASHTEXT("ORDERING_KEY")::BIGINT)
+    END
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS "NOTIFICATION_OUTBOX_ID_ORDERING_KEY_HASH_IDX"
+  ON "NOTIFICATION_OUTBOX" ("ID") INCLUDE ("ORDERING_KEY_HASH");
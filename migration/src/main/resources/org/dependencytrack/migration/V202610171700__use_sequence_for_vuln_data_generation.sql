@@ -0,0 +1,39 @@
+-- Incrementing a single-row counter at commit serialized concurrent mirroring
+-- transactions on that row. The generation is now drawn from a sequence instead,
+-- which does not take row locks.
+DROP TRIGGER IF EXISTS "VULNERABLESOFTWARE_CHANGE_GENERATION" ON "VULNERABLESOFTWARE_CHANGE";
+DROP FUNCTION IF EXISTS vuln_data_generation_increment();
+DROP TABLE IF EXISTS "VULN_DATA_GENERATION";
+
+CREATE SEQUENCE IF NOT EXISTS "VULN_DATA_GENERATION_SEQ" AS BIGINT;
+
+-- Increments the generation at most once per transaction, tracked via a transaction-local setting.
+-- Invoked by a deferred trigger, such that the generation only changes while the transaction commits.
+--
+-- Sequence increments become visible before the commit does. Committing transactions thus hold
+-- a shared advisory lock until their commit completed, and readers of the generation briefly
+-- acquire that lock exclusively. This way, readers never observe a generation whose changes are
+-- not yet visible to them. Shared locks do not conflict, so committing transactions never wait
+-- for each other.
+CREATE OR REPLACE FUNCTION vuln_data_generation_increment()
+  RETURNS TRIGGER
+  LANGUAGE plpgsql
+AS
+$$
+  BEGIN
+    IF current_setting('dt.vuln_data_generation.incremented', TRUE) = 'true' THEN
+      RETURN NULL;
+    END IF;
+
+    PERFORM set_config('dt.vuln_data_generation.incremented', 'true', TRUE);
+    PERFORM pg_advisory_xact_lock_shared(hashtext('VULN_DATA_GENERATION'));
+    PERFORM nextval('"VULN_DATA_GENERATION_SEQ"');
+    RETURN NULL;
+  END;
+$$;
+
+CREATE CONSTRAINT TRIGGER "VULNERABLESOFTWARE_CHANGE_GENERATION"
+  AFTER INSERT ON "VULNERABLESOFTWARE_CHANGE"
+  DEFERRABLE INITIALLY DEFERRED
+  FOR EACH ROW
+  EXECUTE FUNCTION vuln_data_generation_increment();
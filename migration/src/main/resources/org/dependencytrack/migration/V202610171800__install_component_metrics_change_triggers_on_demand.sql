@@ -0,0 +1,150 @@
+-- Transition tables of statement-level triggers are populated on every write,
+-- even when the trigger function returns early. Install the component metrics
+-- change triggers only while recording is enabled, instead of merely gating
+-- their functions, such that deployments without incremental updates don't
+-- pay for them.
+--
+-- Invoked on startup based on the dt.metrics.incremental-updates.enabled setting.
+-- When already enabled, the time since which recording is enabled is retained.
+-- When disabled, previously recorded changes are discarded.
+-- Triggers are only created or dropped when necessary, to avoid locking
+-- the affected tables on every startup.
+CREATE OR REPLACE PROCEDURE "SET_COMPONENT_METRICS_CHANGE_RECORDING_ENABLED"(
+  enabled BOOLEAN
+)
+  LANGUAGE "plpgsql"
+AS
+$$
+  DECLARE
+    v_installed_triggers INT;
+  BEGIN
+    INSERT INTO "COMPONENT_METRICS_CHANGE_RECORDING" AS r ("ID", "ENABLED_SINCE")
+    VALUES (1, CASE WHEN enabled THEN NOW() END)
+    ON CONFLICT ("ID") DO UPDATE
+    SET "ENABLED_SINCE" = CASE WHEN enabled THEN COALESCE(r."ENABLED_SINCE", NOW()) END;
+
+    SELECT COUNT(*)
+      INTO v_installed_triggers
+      FROM pg_trigger
+     WHERE tgname LIKE 'trigger\_component\_metrics\_change\_on\_%'
+       AND NOT tgisinternal;
+
+    IF enabled THEN
+      IF v_installed_triggers = 14 THEN
+        RETURN;
+      END IF;
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_cv_insert
+       AFTER INSERT ON "COMPONENTS_VULNERABILITIES"
+         REFERENCING NEW TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_cv_delete
+       AFTER DELETE ON "COMPONENTS_VULNERABILITIES"
+         REFERENCING OLD TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_fa_insert
+       AFTER INSERT ON "FINDINGATTRIBUTION"
+         REFERENCING NEW TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_fa_delete
+       AFTER DELETE ON "FINDINGATTRIBUTION"
+         REFERENCING OLD TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_fa_update
+       AFTER UPDATE OF "DELETED_AT" ON "FINDINGATTRIBUTION"
+         FOR EACH ROW
+        WHEN (OLD."DELETED_AT" IS DISTINCT FROM NEW."DELETED_AT")
+      EXECUTE FUNCTION component_metrics_change_on_row_update();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_analysis_insert
+       AFTER INSERT ON "ANALYSIS"
+         REFERENCING NEW TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_analysis_delete
+       AFTER DELETE ON "ANALYSIS"
+         REFERENCING OLD TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_analysis_update
+       AFTER UPDATE OF "STATE", "SUPPRESSED", "SEVERITY" ON "ANALYSIS"
+         FOR EACH ROW
+        WHEN ((OLD."STATE", OLD."SUPPRESSED", OLD."SEVERITY")
+              IS DISTINCT FROM (NEW."STATE", NEW."SUPPRESSED", NEW."SEVERITY"))
+      EXECUTE FUNCTION component_metrics_change_on_row_update();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_pv_insert
+       AFTER INSERT ON "POLICYVIOLATION"
+         REFERENCING NEW TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_pv_delete
+       AFTER DELETE ON "POLICYVIOLATION"
+         REFERENCING OLD TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_pv_update
+       AFTER UPDATE OF "TYPE", "POLICYCONDITION_ID" ON "POLICYVIOLATION"
+         FOR EACH ROW
+        WHEN ((OLD."TYPE", OLD."POLICYCONDITION_ID")
+              IS DISTINCT FROM (NEW."TYPE", NEW."POLICYCONDITION_ID"))
+      EXECUTE FUNCTION component_metrics_change_on_row_update();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_va_insert
+       AFTER INSERT ON "VIOLATIONANALYSIS"
+         REFERENCING NEW TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_va_delete
+       AFTER DELETE ON "VIOLATIONANALYSIS"
+         REFERENCING OLD TABLE AS changed_rows
+         FOR EACH STATEMENT
+      EXECUTE FUNCTION component_metrics_change_on_rows_change();
+
+      CREATE OR REPLACE TRIGGER trigger_component_metrics_change_on_va_update
+       AFTER UPDATE OF "STATE", "SUPPRESSED" ON "VIOLATIONANALYSIS"
+         FOR EACH ROW
+        WHEN ((OLD."STATE", OLD."SUPPRESSED")
+              IS DISTINCT FROM (NEW."STATE", NEW."SUPPRESSED"))
+      EXECUTE FUNCTION component_metrics_change_on_row_update();
+    ELSE
+      DELETE FROM "COMPONENT_METRICS_CHANGE";
+
+      IF v_installed_triggers = 0 THEN
+        RETURN;
+      END IF;
+
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_cv_insert ON "COMPONENTS_VULNERABILITIES";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_cv_delete ON "COMPONENTS_VULNERABILITIES";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_fa_insert ON "FINDINGATTRIBUTION";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_fa_delete ON "FINDINGATTRIBUTION";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_fa_update ON "FINDINGATTRIBUTION";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_analysis_insert ON "ANALYSIS";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_analysis_delete ON "ANALYSIS";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_analysis_update ON "ANALYSIS";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_pv_insert ON "POLICYVIOLATION";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_pv_delete ON "POLICYVIOLATION";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_pv_update ON "POLICYVIOLATION";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_va_insert ON "VIOLATIONANALYSIS";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_va_delete ON "VIOLATIONANALYSIS";
+      DROP TRIGGER IF EXISTS trigger_component_metrics_change_on_va_update ON "VIOLATIONANALYSIS";
+    END IF;
+  END;
+$$;
+
+-- Triggers were previously installed unconditionally. Retain the current
+-- recording state, which drops them unless recording is enabled.
+CALL "SET_COMPONENT_METRICS_CHANGE_RECORDING_ENABLED"(component_metrics_change_recording_enabled());
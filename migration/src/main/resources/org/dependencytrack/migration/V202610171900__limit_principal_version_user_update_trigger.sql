@@ -0,0 +1,21 @@
+-- Updates of users previously incremented the principal version regardless of
+-- the columns being modified. Profile details, such as email addresses and names,
+-- are synchronized from identity providers during logins, which thus needlessly
+-- invalidated all cached principals. Only consider columns that affect
+-- how users are identified and authenticated. Cached principals may thus carry
+-- outdated profile details until they expire.
+-- Statement-level triggers with column lists can't have transition tables,
+-- so the increment is no longer skipped for updates that don't modify any rows.
+DROP TRIGGER IF EXISTS trigger_principal_version_on_user_update ON "USER";
+
+CREATE TRIGGER trigger_principal_version_on_user_update
+ AFTER UPDATE OF "USERNAME"
+               , "TYPE"
+               , "DN"
+               , "SUBJECT_IDENTIFIER"
+               , "PASSWORD"
+               , "FORCE_PASSWORD_CHANGE"
+               , "SUSPENDED"
+    ON "USER"
+   FOR EACH STATEMENT
+EXECUTE FUNCTION principal_version_on_change();
@@ -23,6 +23,7 @@ import org.dependencytrack.plugin.api.ExtensionPoint;
 import org.dependencytrack.plugin.api.ExtensionPointSpec;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * @since 5.0.0
@@ -40,4 +41,26 @@ public interface NotificationPublisher extends ExtensionPoint {
      */
     void publish(NotificationPublishContext ctx, Notification notification) throws IOException;
 
+    /**
+     * Publish a batch of notifications, all of which matched the same notification rule.
+     * <p>
+     * Publishers that are able to deliver multiple notifications at once,
+     * e.g. in a single request, should override this method.
+     * The default implementation publishes notifications one by one.
+     * <p>
+     * When publishing fails, the entire batch may be retried. Notifications that were
+     * published before the failure occurred may thus be published more than once.
+     *
+     * @param ctx           Context in which the publishing is executed.
+     * @param notifications The notifications to publish, in the order in which they were emitted.
+     * @throws IOException               When publishing failed.
+     * @throws RetryablePublishException When publishing failed with a retryable cause.
+     * @since 5.1.0
+     */
+    default void publishAll(NotificationPublishContext ctx, List<Notification> notifications) throws IOException {
+        for (final Notification notification : notifications) {
+            publish(ctx, notification);
+        }
+    }
+
 }
@@ -22,6 +22,7 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.dependencytrack.notification.api.publishing.NotificationPublishContext;
@@ -45,9 +46,11 @@ import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -64,8 +67,53 @@ final class KafkaNotificationPublisher implements NotificationPublisher {
 
     @Override
     public void publish(NotificationPublishContext ctx, Notification notification) {
+        publishAll(ctx, List.of(notification));
+    }
+
+    /**
+     * Sends records for all notifications before waiting for any of them to be acknowledged,
+     * allowing the producer to deliver them in as few requests as possible.
+     */
+    @Override
+    public void publishAll(NotificationPublishContext ctx, List<Notification> notifications) {
         final var ruleConfig = ctx.ruleConfig(KafkaNotificationPublisherRuleConfigV1.class);
 
+        final var sendFutures = new ArrayList<Future<RecordMetadata>>(notifications.size());
+        try {
+            for (final Notification notification : notifications) {
+                sendFutures.add(kafkaProducer.send(createRecord(ctx, ruleConfig, notification)));
+            }
+        } catch (IllegalStateException e) {
+            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("closed")) {
+                throw new RetryablePublishException("Kafka publisher is closed", e);
+            }
+
+            throw e;
+        }
+
+        final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        try {
+            for (final Future<RecordMetadata> sendFuture : sendFutures) {
+                sendFuture.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof final RetriableException re) {
+                throw new RetryablePublishException("Failed to send record with retryable cause", re);
+            }
+
+            throw new IllegalStateException("Failed to send record", e);
+        } catch (TimeoutException e) {
+            throw new RetryablePublishException("Timed out while waiting for record to be acknowledged", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetryablePublishException("Interrupted while sending record", e);
+        }
+    }
+
+    private static ProducerRecord<String, byte[]> createRecord(
+            NotificationPublishContext ctx,
+            KafkaNotificationPublisherRuleConfigV1 ruleConfig,
+            Notification notification) {
         final RenderedNotificationTemplate renderedTemplate = ctx.templateRenderer().render(notification);
 
         final String mimeType;
@@ -88,34 +136,13 @@ final class KafkaNotificationPublisher implements NotificationPublisher {
             throw new UncheckedIOException("Failed to extract record key from notification", e);
         }
 
-        final var producerRecord = new ProducerRecord<>(
+        return new ProducerRecord<>(
                 ruleConfig.getTopicName(),
                 /* partition */ null,
                 recordKey,
                 notificationContent,
                 new RecordHeaders()
                         .add("content-type", mimeType.getBytes()));
-
-        try {
-            kafkaProducer.send(producerRecord).get(10, TimeUnit.SECONDS);
-        } catch (IllegalStateException e) {
-            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("closed")) {
-                throw new RetryablePublishException("Kafka publisher is closed", e);
-            }
-
-            throw e;
-        } catch (ExecutionException e) {
-            if (e.getCause() instanceof final RetriableException re) {
-                throw new RetryablePublishException("Failed to send record with retryable cause", re);
-            }
-
-            throw new IllegalStateException("Failed to send record", e);
-        } catch (TimeoutException e) {
-            throw new RetryablePublishException("Timed out while waiting for record to be acknowledged", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RetryablePublishException("Interrupted while sending record", e);
-        }
     }
 
     private static @Nullable String extractKey(Notification notification) throws InvalidProtocolBufferException {
@@ -26,6 +26,7 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.dependencytrack.notification.api.TestNotificationFactory;
 import org.dependencytrack.notification.api.publishing.NotificationPublisherFactory;
 import org.dependencytrack.notification.proto.v1.Group;
 import org.dependencytrack.notification.proto.v1.Notification;
@@ -33,11 +34,13 @@ import org.dependencytrack.notification.proto.v1.Scope;
 import org.dependencytrack.notification.publishing.AbstractNotificationPublisherTest;
 import org.dependencytrack.plugin.api.config.RuntimeConfig;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.kafka.KafkaContainer;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -113,7 +116,27 @@ class KafkaNotificationPublisherTest extends AbstractNotificationPublisherTest {
         assertThat(Notification.parseFrom(record.value())).isEqualTo(notification);
     }
 
+    @Test
+    void shouldPublishAllNotificationsOfBatchInOrder() throws Exception {
+        final List<Notification> notifications = List.of(
+                TestNotificationFactory.createBomConsumedTestNotification(),
+                TestNotificationFactory.createBomProcessedTestNotification(),
+                TestNotificationFactory.createUserCreatedTestNotification());
+
+        publisher.publishAll(publishContext, notifications);
+
+        final List<ConsumerRecord<String, byte[]>> records = pollNotificationRecords(notifications.size());
+        assertThat(records).satisfiesExactly(
+                record -> assertThat(Notification.parseFrom(record.value())).isEqualTo(notifications.get(0)),
+                record -> assertThat(Notification.parseFrom(record.value())).isEqualTo(notifications.get(1)),
+                record -> assertThat(Notification.parseFrom(record.value())).isEqualTo(notifications.get(2)));
+    }
+
     private ConsumerRecord<String, byte[]> pollNotificationRecord() {
+        return pollNotificationRecords(1).getFirst();
+    }
+
+    private List<ConsumerRecord<String, byte[]>> pollNotificationRecords(int expectedCount) {
         try (final var consumer = new KafkaConsumer<String, byte[]>(Map.ofEntries(
                 Map.entry(BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers()),
                 Map.entry(GROUP_ID_CONFIG, UUID.randomUUID().toString()),
@@ -123,9 +146,11 @@ class KafkaNotificationPublisherTest extends AbstractNotificationPublisherTest {
             consumer.subscribe(List.of(topicName));
 
             final ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofSeconds(1));
-            assertThat(records).hasSize(1);
+            assertThat(records).hasSize(expectedCount);
 
-            return records.iterator().next();
+            final var recordList = new ArrayList<ConsumerRecord<String, byte[]>>(expectedCount);
+            records.forEach(recordList::add);
+            return recordList;
         }
     }
 
@@ -21,6 +21,10 @@ package org.dependencytrack.pkgmetadata.resolution.cache;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Timestamp;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.dependencytrack.cache.api.Cache;
 import org.dependencytrack.pkgmetadata.resolution.api.PackageRepository;
 import org.dependencytrack.pkgmetadata.resolution.api.RetryableResolutionException;
@@ -47,6 +51,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -55,6 +62,12 @@ import java.util.zip.GZIPOutputStream;
 
 import static java.util.Objects.requireNonNull;
 
+/// An HTTP client that caches responses of package repositories.
+///
+/// Concurrent requests with the same cache key that can not be served from the cache
+/// are coalesced, such that only one of them is sent upstream. All callers receive
+/// the result of that one request. Callers must thus not modify returned bodies.
+///
 /// @since 5.0.0
 public final class CachingHttpClient {
 
@@ -71,6 +84,8 @@ public final class CachingHttpClient {
     private final long maxDecodedBytes;
     private final Clock clock;
     private final RateLimitGate rateLimitGate;
+    private final Map<String, CompletableFuture<?>> inFlightRequestByCacheKey = new ConcurrentHashMap<>();
+    private final MeterProvider<Counter> coalescedRequestsCounter;
 
     public CachingHttpClient(HttpClient httpClient, Cache cache) {
         this(httpClient, cache, DEFAULT_FRESHNESS_CAP, DEFAULT_MAX_COMPRESSED_BYTES, DEFAULT_MAX_DECODED_BYTES);
@@ -93,6 +108,16 @@ public final class CachingHttpClient {
         this(httpClient, cache, freshnessCap, DEFAULT_MAX_COMPRESSED_BYTES, DEFAULT_MAX_DECODED_BYTES, clock);
     }
 
+    CachingHttpClient(
+            HttpClient httpClient,
+            Cache cache,
+            Duration freshnessCap,
+            long maxCompressedBytes,
+            long maxDecodedBytes,
+            Clock clock) {
+        this(httpClient, cache, freshnessCap, maxCompressedBytes, maxDecodedBytes, clock, Metrics.globalRegistry);
+    }
+
     /// @param httpClient         The [HttpClient] to execute requests with.
     /// @param cache              The [Cache] to store responses in.
     /// @param freshnessCap       For how long cache entries are considered fresh.
@@ -102,13 +127,15 @@ public final class CachingHttpClient {
     /// @param maxDecodedBytes    Maximum number of bytes that decoded / decompressed
     /// responses are allowed to have. Responses exceeding this limit will be dropped.
     /// @param clock              The [Clock] to use for rate limit gating.
+    /// @param meterRegistry      The [MeterRegistry] to register metrics with.
     CachingHttpClient(
             HttpClient httpClient,
             Cache cache,
             Duration freshnessCap,
             long maxCompressedBytes,
             long maxDecodedBytes,
-            Clock clock) {
+            Clock clock,
+            MeterRegistry meterRegistry) {
         this.httpClient = requireNonNull(httpClient, "httpClient must not be null");
         this.cache = requireNonNull(cache, "cache must not be null");
         this.freshnessCap = requireNonNull(freshnessCap, "freshnessCap must not be null");
@@ -128,6 +155,11 @@ public final class CachingHttpClient {
         this.maxDecodedBytes = maxDecodedBytes;
         this.clock = requireNonNull(clock, "clock must not be null");
         this.rateLimitGate = new RateLimitGate(clock);
+        requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.coalescedRequestsCounter = Counter
+                .builder("dt.pkg.metadata.http.requests.coalesced")
+                .description("Number of requests that were coalesced with an identical in-flight request")
+                .withRegistry(meterRegistry);
     }
 
     public byte @Nullable [] get(
@@ -145,19 +177,21 @@ public final class CachingHttpClient {
             return decodedBodyOf(entry);
         }
 
-        final byte[] staleResponseBody =
-                shortCircuitIfRateLimited(uri, entry, this::staleBody);
-        if (staleResponseBody != null) {
-            return staleResponseBody;
-        }
+        return coalesce("GET", cacheKey, () -> {
+            final byte[] staleResponseBody =
+                    shortCircuitIfRateLimited(uri, entry, this::staleBody);
+            if (staleResponseBody != null) {
+                return staleResponseBody;
+            }
 
-        applyValidators(requestBuilderCopy, entry);
+            applyValidators(requestBuilderCopy, entry);
 
-        return sendWithStaleFallback(uri, entry, this::staleBody, () -> {
-            final HttpResponse<byte[]> response = httpClient.send(
-                    requestBuilderCopy.build(),
-                    _ -> new LimitedBodySubscriber(maxCompressedBytes));
-            return handleGetResponse(response, entry, cacheKey);
+            return sendWithStaleFallback(uri, entry, this::staleBody, () -> {
+                final HttpResponse<byte[]> response = httpClient.send(
+                        requestBuilderCopy.build(),
+                        _ -> new LimitedBodySubscriber(maxCompressedBytes));
+                return handleGetResponse(response, entry, cacheKey);
+            });
         });
     }
 
@@ -177,19 +211,21 @@ public final class CachingHttpClient {
             return isPositiveHeadEntry(entry) ? rebuildHeaders(entry) : null;
         }
 
-        final HttpHeaders staleResponseHeaders =
-                shortCircuitIfRateLimited(uri, entry, CachingHttpClient::staleHeaders);
-        if (staleResponseHeaders != null) {
-            return staleResponseHeaders;
-        }
+        return coalesce("HEAD", cacheKey, () -> {
+            final HttpHeaders staleResponseHeaders =
+                    shortCircuitIfRateLimited(uri, entry, CachingHttpClient::staleHeaders);
+            if (staleResponseHeaders != null) {
+                return staleResponseHeaders;
+            }
 
-        applyValidators(requestBuilderCopy, entry);
+            applyValidators(requestBuilderCopy, entry);
 
-        return sendWithStaleFallback(uri, entry, CachingHttpClient::staleHeaders, () -> {
-            final HttpResponse<Void> response = httpClient.send(
-                    requestBuilderCopy.build(),
-                    HttpResponse.BodyHandlers.discarding());
-            return handleHeadResponse(response, entry, cacheKey, headerFilter);
+            return sendWithStaleFallback(uri, entry, CachingHttpClient::staleHeaders, () -> {
+                final HttpResponse<Void> response = httpClient.send(
+                        requestBuilderCopy.build(),
+                        HttpResponse.BodyHandlers.discarding());
+                return handleHeadResponse(response, entry, cacheKey, headerFilter);
+            });
         });
     }
 
@@ -198,6 +234,57 @@ public final class CachingHttpClient {
         @Nullable T execute() throws IOException, InterruptedException;
     }
 
+    @FunctionalInterface
+    private interface Request<T> {
+        @Nullable T execute() throws InterruptedException;
+    }
+
+    /// Executes `request`, unless a request with the same cache key is already in flight,
+    /// in which case the result of the in-flight request is awaited instead.
+    ///
+    /// The in-flight request updates the cache before it completes. Callers that arrive
+    /// after it completed will thus find a fresh cache entry, and not send another request.
+    private <T> @Nullable T coalesce(
+            String method,
+            String cacheKey,
+            Request<T> request) throws InterruptedException {
+        while (true) {
+            final var future = new CompletableFuture<@Nullable T>();
+            final CompletableFuture<?> inFlightFuture = inFlightRequestByCacheKey.putIfAbsent(cacheKey, future);
+            if (inFlightFuture == null) {
+                try {
+                    final T result = request.execute();
+                    future.complete(result);
+                    return result;
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlightRequestByCacheKey.remove(cacheKey, future);
+                }
+            }
+
+            coalescedRequestsCounter.withTag("method", method).increment();
+            LOGGER.debug("Awaiting in-flight {} request for {}", method, cacheKey);
+
+            try {
+                @SuppressWarnings("unchecked")
+                final T result = (T) inFlightFuture.get();
+                return result;
+            } catch (ExecutionException e) {
+                switch (e.getCause()) {
+                    case InterruptedException _ -> {
+                        // The thread executing the in-flight request was interrupted,
+                        // but this one was not. Try again.
+                    }
+                    case RuntimeException re -> throw re;
+                    case Error error -> throw error;
+                    case null, default -> throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
     private <T> @Nullable T sendWithStaleFallback(
             URI uri,
             @Nullable CacheEntry entry,
@@ -23,6 +23,7 @@ import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Timestamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.smallrye.config.SmallRyeConfigBuilder;
 import org.dependencytrack.cache.api.Cache;
 import org.dependencytrack.cache.api.CacheManager;
@@ -48,6 +49,11 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPOutputStream;
 
@@ -119,6 +125,48 @@ class CachingHttpClientTest {
         verify(1, getRequestedFor(urlPathEqualTo(PATH)));
     }
 
+    @Test
+    void shouldCoalesceConcurrentRequestsForSameKey(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        stubFor(get(urlPathEqualTo(PATH))
+                .willReturn(aResponse().withStatus(200)
+                        .withFixedDelay(500)
+                        .withBody("hello")));
+
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var cachingHttpClient = new CachingHttpClient(
+                httpClient,
+                cache,
+                Duration.ofHours(1),
+                CachingHttpClient.DEFAULT_MAX_COMPRESSED_BYTES,
+                CachingHttpClient.DEFAULT_MAX_DECODED_BYTES,
+                Clock.systemUTC(),
+                meterRegistry);
+
+        final int concurrency = 8;
+        final var startLatch = new CountDownLatch(1);
+        final var futures = new ArrayList<Future<byte[]>>(concurrency);
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return cachingHttpClient.get(requestBuilderFor(wmRuntimeInfo), null);
+                }));
+            }
+
+            startLatch.countDown();
+
+            for (final Future<byte[]> future : futures) {
+                assertThat(future.get()).isEqualTo("hello".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        verify(1, getRequestedFor(urlPathEqualTo(PATH)));
+        assertThat(meterRegistry.get("dt.pkg.metadata.http.requests.coalesced")
+                .tag("method", "GET")
+                .counter()
+                .count()).isEqualTo(concurrency - 1);
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"\"abc\"", "W/\"weak-tag\""})
     void shouldRevalidateWith304AndEchoEtagVerbatim(String etag, WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
@@ -76,9 +76,15 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
     private static final int QUERY_BATCH_SIZE = 25;
 
     private final Jdbi jdbi;
+    private final @Nullable MatchingCriteriaIndex matchingCriteriaIndex;
 
-    InternalVulnAnalyzer(Jdbi jdbi) {
+    InternalVulnAnalyzer(Jdbi jdbi, @Nullable MatchingCriteriaIndex matchingCriteriaIndex) {
         this.jdbi = jdbi;
+        this.matchingCriteriaIndex = matchingCriteriaIndex;
+    }
+
+    InternalVulnAnalyzer(Jdbi jdbi) {
+        this(jdbi, null);
     }
 
     @Override
@@ -110,6 +116,19 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
         final var findingsByVuln = new HashMap<Long, Set<Long>>();
         final var vulnMetadata = new HashMap<Long, VulnMetadata>();
 
+        long indexGeneration = 0;
+        if (matchingCriteriaIndex != null) {
+            indexGeneration = refreshIndex(matchingCriteriaIndex);
+
+            final Map<Coordinate, List<MatchingCriteria>> indexedCriteria =
+                    matchingCriteriaIndex.getAllPresent(candidatesByCoordinate.keySet());
+            LOGGER.debug("Found {}/{} coordinates in index", indexedCriteria.size(), candidatesByCoordinate.size());
+            processCriteria(indexedCriteria, candidatesByCoordinate, findingsByVuln, vulnMetadata);
+
+            cpeCoordinates.removeIf(indexedCriteria::containsKey);
+            purlCoordinates.removeIf(indexedCriteria::containsKey);
+        }
+
         for (final var batch : (Iterable<List<CpeCoordinate>>) () -> cpeCoordinates.stream()
                 .gather(Gatherers.windowFixed(QUERY_BATCH_SIZE))
                 .iterator()) {
@@ -118,11 +137,15 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
             }
 
             LOGGER.debug("Querying matching criteria for {} CPE coordinates", batch.size());
+            final Map<Coordinate, List<MatchingCriteria>> criteriaByCoordinate = queryCpeMatchingCriteria(batch);
             processCriteria(
-                    queryCpeMatchingCriteria(batch),
+                    criteriaByCoordinate,
                     candidatesByCoordinate,
                     findingsByVuln,
                     vulnMetadata);
+            if (matchingCriteriaIndex != null) {
+                matchingCriteriaIndex.putAll(indexGeneration, batch, criteriaByCoordinate);
+            }
         }
 
         for (final var batch : (Iterable<List<PurlCoordinate>>) () -> purlCoordinates.stream()
@@ -133,11 +156,15 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
             }
 
             LOGGER.debug("Querying matching criteria for {} PURL coordinates", batch.size());
+            final Map<Coordinate, List<MatchingCriteria>> criteriaByCoordinate = queryPurlMatchingCriteria(batch);
             processCriteria(
-                    queryPurlMatchingCriteria(batch),
+                    criteriaByCoordinate,
                     candidatesByCoordinate,
                     findingsByVuln,
                     vulnMetadata);
+            if (matchingCriteriaIndex != null) {
+                matchingCriteriaIndex.putAll(indexGeneration, batch, criteriaByCoordinate);
+            }
         }
 
         final var vulnerabilities = new ArrayList<Vulnerability>();
@@ -344,7 +371,18 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
         }
     }
 
-    private void processCriteria(
+    private static long refreshIndex(MatchingCriteriaIndex index) {
+        try {
+            return index.refresh();
+        } catch (JdbiException e) {
+            if (TransientSqlErrors.isTransient(e)) {
+                throw new RetryableVulnAnalysisException("Failed to refresh matching criteria index", e);
+            }
+            throw e;
+        }
+    }
+
+    void processCriteria(
             Map<Coordinate, List<MatchingCriteria>> criteriaListByCoordinate,
             Map<Coordinate, Set<CandidateComponent>> candidatesByCoordinate,
             Map<Long, Set<Long>> findingsByVuln,
@@ -462,7 +500,7 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
 
     private boolean compareWithVers(MatchingCriteria criteria, String targetVersion, String versioningScheme) {
         try {
-            return buildVers(criteria, versioningScheme).contains(targetVersion);
+            return versOf(criteria, versioningScheme).contains(targetVersion);
         } catch (VersException | InvalidVersionException e) {
             // It's always possible that versatile has a bug, or that components / vulnerabilities
             // do not strictly follow versioning schemes. Fall back to the generic scheme to
@@ -472,7 +510,7 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
                         "Failed to compare {} against {} with scheme {}: {}; retrying with scheme {}",
                         targetVersion, criteria, versioningScheme, e.getMessage(), SCHEME_GENERIC);
                 try {
-                    return buildVers(criteria, SCHEME_GENERIC).contains(targetVersion);
+                    return versOf(criteria, SCHEME_GENERIC).contains(targetVersion);
                 } catch (VersException | InvalidVersionException e2) {
                     LOGGER.warn(
                             "Failed to compare {} against {} with fallback: {}",
@@ -488,7 +526,13 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
         }
     }
 
-    private static Vers buildVers(MatchingCriteria criteria, String versioningScheme) {
+    private Vers versOf(MatchingCriteria criteria, String versioningScheme) {
+        return matchingCriteriaIndex != null
+                ? matchingCriteriaIndex.getVers(criteria, versioningScheme)
+                : buildVers(criteria, versioningScheme);
+    }
+
+    static Vers buildVers(MatchingCriteria criteria, String versioningScheme) {
         final var versBuilder = Vers.builder(versioningScheme);
 
         if (criteria.versionStartIncluding() != null && !criteria.versionStartIncluding().isEmpty()) {
@@ -551,7 +595,7 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
         return isMatch;
     }
 
-    private static void collectScannableComponents(List<Component> components, List<CandidateComponent> candidates) {
+    static void collectScannableComponents(List<Component> components, List<CandidateComponent> candidates) {
         for (final Component component : components) {
             if (!component.hasCpe() && !component.hasPurl()) {
                 continue;
@@ -744,7 +788,7 @@ final class InternalVulnAnalyzer implements VulnAnalyzer {
         return epoch + ":" + version;
     }
 
-    private record VulnMetadata(String vulnId, String source) {
+    record VulnMetadata(String vulnId, String source) {
     }
 
 }
\ No newline at end of file
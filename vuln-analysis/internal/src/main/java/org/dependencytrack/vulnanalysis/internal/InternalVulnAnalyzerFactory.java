@@ -40,9 +40,12 @@ import static java.util.Objects.requireNonNull;
  */
 final class InternalVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConfigurable {
 
+    private static final long DEFAULT_INDEX_MAX_SIZE = 100_000;
+
     private final DataSourceRegistry dataSourceRegistry;
     private @Nullable ConfigRegistry configRegistry;
     private @Nullable Jdbi jdbi;
+    private @Nullable MatchingCriteriaIndex matchingCriteriaIndex;
 
     InternalVulnAnalyzerFactory(DataSourceRegistry dataSourceRegistry) {
         this.dataSourceRegistry = dataSourceRegistry;
@@ -73,6 +76,18 @@ final class InternalVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeC
         jdbi = Jdbi.create(dataSource)
                 .registerRowMapper(new MatchingCriteria.RowMapper())
                 .registerColumnMapper(new PurlColumnMapper());
+
+        final boolean indexEnabled = configRegistry
+                .getDeploymentConfig()
+                .getOptionalValue("matching-index.enabled", boolean.class)
+                .orElse(false);
+        if (indexEnabled) {
+            final long indexMaxSize = configRegistry
+                    .getDeploymentConfig()
+                    .getOptionalValue("matching-index.max-size", long.class)
+                    .orElse(DEFAULT_INDEX_MAX_SIZE);
+            matchingCriteriaIndex = new MatchingCriteriaIndex(jdbi, indexMaxSize);
+        }
     }
 
     @Override
@@ -80,7 +95,7 @@ final class InternalVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeC
         requireNonNull(configRegistry);
         requireNonNull(jdbi);
 
-        return new InternalVulnAnalyzer(jdbi);
+        return new InternalVulnAnalyzer(jdbi, matchingCriteriaIndex);
     }
 
     @Override
@@ -89,6 +104,13 @@ final class InternalVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeC
         return configRegistry.getRuntimeConfig(InternalVulnAnalyzerConfigV1.class).isEnabled();
     }
 
+    @Override
+    public void close() {
+        if (matchingCriteriaIndex != null) {
+            matchingCriteriaIndex.invalidateAll();
+        }
+    }
+
     @Override
     public EnumSet<VulnAnalyzerRequirement> analyzerRequirements() {
         return EnumSet.of(
@@ -0,0 +1,317 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.vulnanalysis.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.nscuro.versatile.Vers;
+import org.dependencytrack.vulnanalysis.internal.Coordinate.CpeCoordinate;
+import org.dependencytrack.vulnanalysis.internal.Coordinate.PurlCoordinate;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-process index of {@link MatchingCriteria}, keyed by {@link Coordinate}.
+ * <p>
+ * Entries are populated lazily by {@link InternalVulnAnalyzer} as coordinates are encountered,
+ * including coordinates for which no matching criteria exist. Version ranges of criteria are
+ * compiled to {@link Vers} once, and re-used across analyses.
+ * <p>
+ * The database records the coordinates of all changes to matching criteria in the
+ * {@code VULNERABLESOFTWARE_CHANGE} table. Before each analysis, {@link #refresh()} reads
+ * all changes committed since the previous refresh, and evicts affected entries.
+ * Changes are tracked based on transaction snapshots rather than IDs or timestamps,
+ * such that changes of transactions that commit out of order are never missed.
+ *
+ * @since 5.1.0
+ */
+final class MatchingCriteriaIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchingCriteriaIndex.class);
+
+    /**
+     * Maximum number of changes to process selectively during a refresh.
+     * Beyond this, it's cheaper to discard the entire index, e.g. during initial mirroring.
+     */
+    static final int MAX_CHANGES_PER_REFRESH = 10_000;
+
+    /**
+     * Maximum duration between refreshes after which the index is discarded entirely.
+     * Must be shorter than the retention of the {@code VULNERABLESOFTWARE_CHANGE} table.
+     */
+    static final Duration MAX_REFRESH_INTERVAL = Duration.ofHours(12);
+
+    private static final int MAX_COMPILED_RANGES = 50_000;
+
+    private record ChangeCursor(long xmax, Long[] xip, long createdAtNanos) {
+    }
+
+    private record Change(
+            @Nullable String part,
+            @Nullable String vendor,
+            @Nullable String product,
+            @Nullable String purlType,
+            @Nullable String purlNamespace,
+            @Nullable String purlName) {
+    }
+
+    private record RangeKey(
+            String versioningScheme,
+            @Nullable String version,
+            @Nullable String versionStartIncluding,
+            @Nullable String versionStartExcluding,
+            @Nullable String versionEndExcluding,
+            @Nullable String versionEndIncluding) {
+
+        private static RangeKey of(MatchingCriteria criteria, String versioningScheme) {
+            return new RangeKey(
+                    versioningScheme,
+                    criteria.version(),
+                    criteria.versionStartIncluding(),
+                    criteria.versionStartExcluding(),
+                    criteria.versionEndExcluding(),
+                    criteria.versionEndIncluding());
+        }
+
+    }
+
+    private final Jdbi jdbi;
+    private final Cache<Coordinate, List<MatchingCriteria>> criteriaByCoordinate;
+    private final Cache<RangeKey, Vers> versByRange;
+    private final ReentrantLock lock = new ReentrantLock();
+    private @Nullable ChangeCursor changeCursor;
+    private long generation;
+
+    MatchingCriteriaIndex(Jdbi jdbi, long maxSize) {
+        this.jdbi = jdbi;
+        this.criteriaByCoordinate = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .<Coordinate, List<MatchingCriteria>>weigher((coordinate, criteriaList) -> 1 + criteriaList.size())
+                .build();
+        this.versByRange = Caffeine.newBuilder()
+                .maximumSize(MAX_COMPILED_RANGES)
+                .build();
+    }
+
+    /**
+     * Evict all entries affected by changes that were committed since the previous refresh.
+     * <p>
+     * Must be called <em>before</em> querying matching criteria from the database,
+     * and the returned generation must be passed to {@link #putAll(long, Collection, Map)}
+     * when populating the index with the query results.
+     *
+     * @return The generation of the index.
+     */
+    long refresh() {
+        lock.lock();
+        try {
+            final ChangeCursor cursor = changeCursor;
+            if (cursor == null
+                || System.nanoTime() - cursor.createdAtNanos() > MAX_REFRESH_INTERVAL.toNanos()) {
+                changeCursor = jdbi.inTransaction(
+                        TransactionIsolationLevel.REPEATABLE_READ,
+                        MatchingCriteriaIndex::getCurrentCursor);
+                invalidateAll();
+                return generation;
+            }
+
+            final var changes = new ArrayList<Change>();
+            changeCursor = jdbi.inTransaction(TransactionIsolationLevel.REPEATABLE_READ, handle -> {
+                changes.addAll(getChangesSince(handle, cursor));
+                return getCurrentCursor(handle);
+            });
+
+            if (changes.size() > MAX_CHANGES_PER_REFRESH) {
+                LOGGER.debug("Discarding index due to more than {} changes", MAX_CHANGES_PER_REFRESH);
+                invalidateAll();
+            } else if (!changes.isEmpty()) {
+                LOGGER.debug("Evicting entries for {} changes", changes.size());
+                evict(changes);
+                generation++;
+            }
+
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<Coordinate, List<MatchingCriteria>> getAllPresent(Collection<Coordinate> coordinates) {
+        return criteriaByCoordinate.getAllPresent(coordinates);
+    }
+
+    /**
+     * Populate the index with the results of a matching criteria query.
+     * <p>
+     * Results are discarded if the index was refreshed in the meantime,
+     * since they may have been queried before a change was committed.
+     *
+     * @param generation           The generation returned by {@link #refresh()}
+     *                             before the results were queried.
+     * @param coordinates          The queried coordinates.
+     * @param criteriaByCoordinate The matching criteria found for {@code coordinates}.
+     */
+    void putAll(
+            long generation,
+            Collection<? extends Coordinate> coordinates,
+            Map<Coordinate, List<MatchingCriteria>> criteriaByCoordinate) {
+        final var entries = new HashMap<Coordinate, List<MatchingCriteria>>(coordinates.size());
+        for (final Coordinate coordinate : coordinates) {
+            entries.put(coordinate, List.copyOf(criteriaByCoordinate.getOrDefault(coordinate, List.of())));
+        }
+
+        lock.lock();
+        try {
+            if (this.generation == generation) {
+                this.criteriaByCoordinate.putAll(entries);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Vers getVers(MatchingCriteria criteria, String versioningScheme) {
+        return versByRange.get(
+                RangeKey.of(criteria, versioningScheme),
+                ignored -> InternalVulnAnalyzer.buildVers(criteria, versioningScheme));
+    }
+
+    void invalidateAll() {
+        lock.lock();
+        try {
+            criteriaByCoordinate.invalidateAll();
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(List<Change> changes) {
+        final var wildcardCpeChanges = new ArrayList<Change>();
+
+        for (final Change change : changes) {
+            final String purlType = change.purlType();
+            final String purlName = change.purlName();
+            if (purlType != null && purlName != null) {
+                criteriaByCoordinate.invalidate(new PurlCoordinate(purlType, change.purlNamespace(), purlName));
+            }
+
+            final String part = change.part();
+            final String vendor = change.vendor();
+            final String product = change.product();
+            if (part == null && vendor == null && product == null) {
+                continue;
+            }
+            if (part == null || vendor == null || product == null
+                || "*".equals(part) || "*".equals(vendor) || "*".equals(product)) {
+                wildcardCpeChanges.add(change);
+                continue;
+            }
+
+            // Coordinates with ANY values match criteria with any concrete value.
+            // See CpeFilterCondition for the full relation table.
+            for (final String partCandidate : List.of(part, "*")) {
+                for (final String vendorCandidate : List.of(vendor, "*")) {
+                    for (final String productCandidate : List.of(product, "*")) {
+                        criteriaByCoordinate.invalidate(
+                                new CpeCoordinate(partCandidate, vendorCandidate, productCandidate));
+                    }
+                }
+            }
+        }
+
+        if (!wildcardCpeChanges.isEmpty()) {
+            criteriaByCoordinate.asMap().keySet().removeIf(
+                    coordinate -> coordinate instanceof CpeCoordinate cpeCoordinate
+                                  && wildcardCpeChanges.stream().anyMatch(change -> isAffected(cpeCoordinate, change)));
+        }
+    }
+
+    private static boolean isAffected(CpeCoordinate coordinate, Change change) {
+        return isAffected(coordinate.part(), change.part())
+               && isAffected(coordinate.vendor(), change.vendor())
+               && isAffected(coordinate.product(), change.product());
+    }
+
+    private static boolean isAffected(String coordinateValue, @Nullable String changeValue) {
+        return changeValue == null
+               || "*".equals(changeValue)
+               || "*".equals(coordinateValue)
+               || changeValue.equals(coordinateValue);
+    }
+
+    private static ChangeCursor getCurrentCursor(Handle handle) {
+        return handle
+                .createQuery(/* language=SQL */ """
+                        SELECT pg_snapshot_xmax(s)::TEXT::BIGINT AS xmax
+                             , ARRAY(
+                                 SELECT xip::TEXT::BIGINT
+                                   FROM pg_snapshot_xip(s) AS xip
+                               ) AS xip
+                          FROM pg_current_snapshot() AS s
+                        """)
+                .map((rs, ctx) -> new ChangeCursor(
+                        rs.getLong("xmax"),
+                        (Long[]) rs.getArray("xip").getArray(),
+                        System.nanoTime()))
+                .one();
+    }
+
+    private static List<Change> getChangesSince(Handle handle, ChangeCursor cursor) {
+        // Changes of transactions that were still in progress when the cursor
+        // was created were not visible back then, and must be included.
+        return handle
+                .createQuery(/* language=SQL */ """
+                        SELECT "PART"
+                             , "VENDOR"
+                             , "PRODUCT"
+                             , "PURL_TYPE"
+                             , "PURL_NAMESPACE"
+                             , "PURL_NAME"
+                          FROM "VULNERABLESOFTWARE_CHANGE"
+                         WHERE "TXID" >= :xmax
+                            OR "TXID" = ANY(:xip)
+                         LIMIT :limit
+                        """)
+                .bind("xmax", cursor.xmax())
+                .bind("xip", cursor.xip())
+                .bind("limit", MAX_CHANGES_PER_REFRESH + 1)
+                .map((rs, ctx) -> new Change(
+                        rs.getString("PART"),
+                        rs.getString("VENDOR"),
+                        rs.getString("PRODUCT"),
+                        rs.getString("PURL_TYPE"),
+                        rs.getString("PURL_NAMESPACE"),
+                        rs.getString("PURL_NAME")))
+                .list();
+    }
+
+}
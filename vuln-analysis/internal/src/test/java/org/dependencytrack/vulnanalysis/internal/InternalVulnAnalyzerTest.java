@@ -892,6 +892,174 @@ class InternalVulnAnalyzerTest {
         assertThat(vdr.getVulnerabilitiesList()).isEmpty();
     }
 
+    @Nested
+    class MatchingCriteriaIndexTest {
+
+        @BeforeEach
+        void beforeEach() {
+            analyzer.close();
+            analyzerFactory.close();
+
+            final var configRegistry = new MockConfigRegistry(
+                    Map.of(
+                            "datasource.name", "default",
+                            "matching-index.enabled", "true"));
+
+            analyzerFactory = new InternalVulnAnalyzerFactory(dataSourceRegistry);
+            analyzerFactory.init(new MutableServiceRegistry().register(ConfigRegistry.class, configRegistry));
+
+            analyzer = analyzerFactory.create();
+        }
+
+        @Test
+        void shouldServeRepeatedAnalysesFromIndex() throws Exception {
+            final var bom = Bom.newBuilder()
+                    .addComponents(Component.newBuilder()
+                            .setBomRef("1")
+                            .setName("lib")
+                            .setPurl("pkg:maven/com.example/lib@1.0.0")
+                            .build())
+                    .build();
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).isEmpty();
+
+            // Add matching criteria, but hide the change from the index.
+            jdbi.useTransaction(handle -> {
+                final long vulnDbId = createVulnerability(handle, "CVE-2023-00001", "NVD");
+                createPurlVulnerableSoftware(
+                        handle,
+                        "pkg:maven/com.example/lib",
+                        Range.withRange().havingEndExcluding("2.0.0"),
+                        vulnDbId);
+                handle.execute("DELETE FROM \"VULNERABLESOFTWARE_CHANGE\"");
+            });
+
+            // The absence of criteria for the coordinate is still indexed.
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).isEmpty();
+        }
+
+        @Test
+        void shouldEvictPurlCoordinateWhenCriteriaAreAdded() throws Exception {
+            final var bom = Bom.newBuilder()
+                    .addComponents(Component.newBuilder()
+                            .setBomRef("1")
+                            .setName("lib")
+                            .setPurl("pkg:maven/com.example/lib@1.0.0")
+                            .build())
+                    .build();
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).isEmpty();
+
+            jdbi.useTransaction(handle -> {
+                final long vulnDbId = createVulnerability(handle, "CVE-2023-00001", "NVD");
+                createPurlVulnerableSoftware(
+                        handle,
+                        "pkg:maven/com.example/lib",
+                        Range.withRange().havingEndExcluding("2.0.0"),
+                        vulnDbId);
+            });
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList())
+                    .extracting(Vulnerability::getId)
+                    .containsOnly("CVE-2023-00001");
+        }
+
+        @Test
+        void shouldEvictPurlCoordinateWhenVulnerabilityIsRejected() throws Exception {
+            final long vulnDbId = jdbi.inTransaction(handle -> {
+                final long id = createVulnerability(handle, "CVE-2023-00001", "NVD");
+                createPurlVulnerableSoftware(
+                        handle,
+                        "pkg:maven/com.example/lib",
+                        Range.withRange().havingEndExcluding("2.0.0"),
+                        id);
+                return id;
+            });
+
+            final var bom = Bom.newBuilder()
+                    .addComponents(Component.newBuilder()
+                            .setBomRef("1")
+                            .setName("lib")
+                            .setPurl("pkg:maven/com.example/lib@1.0.0")
+                            .build())
+                    .build();
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).hasSize(1);
+
+            jdbi.useHandle(handle -> handle
+                    .createUpdate("""
+                            UPDATE "VULNERABILITY"
+                               SET "REJECTED" = NOW()
+                             WHERE "ID" = :id
+                            """)
+                    .bind("id", vulnDbId)
+                    .execute());
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).isEmpty();
+        }
+
+        @Test
+        void shouldEvictCpeCoordinateWhenCriteriaWithWildcardVendorAreAdded() throws Exception {
+            final var bom = Bom.newBuilder()
+                    .addComponents(Component.newBuilder()
+                            .setBomRef("1")
+                            .setName("lib")
+                            .setCpe("cpe:2.3:a:example:lib:1.0.0:*:*:*:*:*:*:*")
+                            .build())
+                    .build();
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).isEmpty();
+
+            jdbi.useTransaction(handle -> {
+                final long vulnDbId = createVulnerability(handle, "CVE-2023-00001", "NVD");
+                createCpeVulnerableSoftware(
+                        handle,
+                        "cpe:2.3:a:*:lib:*:*:*:*:*:*:*:*",
+                        Range.withRange().havingEndExcluding("2.0.0"),
+                        vulnDbId);
+            });
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList())
+                    .extracting(Vulnerability::getId)
+                    .containsOnly("CVE-2023-00001");
+        }
+
+        @Test
+        void shouldEvictCpeCoordinateWhenCriteriaAreRemoved() throws Exception {
+            final long vulnDbId = jdbi.inTransaction(handle -> {
+                final long id = createVulnerability(handle, "CVE-2023-00001", "NVD");
+                createCpeVulnerableSoftware(
+                        handle,
+                        "cpe:2.3:a:example:lib:*:*:*:*:*:*:*:*",
+                        Range.withRange().havingEndExcluding("2.0.0"),
+                        id);
+                return id;
+            });
+
+            final var bom = Bom.newBuilder()
+                    .addComponents(Component.newBuilder()
+                            .setBomRef("1")
+                            .setName("lib")
+                            .setCpe("cpe:2.3:a:example:lib:1.0.0:*:*:*:*:*:*:*")
+                            .build())
+                    .build();
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).hasSize(1);
+
+            jdbi.useHandle(handle -> handle
+                    .createUpdate("""
+                            DELETE
+                              FROM "VULNERABLESOFTWARE_VULNERABILITIES"
+                             WHERE "VULNERABILITY_ID" = :id
+                            """)
+                    .bind("id", vulnDbId)
+                    .execute());
+
+            assertThat(analyzer.analyze(bom).getVulnerabilitiesList()).isEmpty();
+        }
+
+    }
+
     public record Range(String startIncluding, String startExcluding, String endIncluding, String endExcluding) {
 
         public static Range withRange() {
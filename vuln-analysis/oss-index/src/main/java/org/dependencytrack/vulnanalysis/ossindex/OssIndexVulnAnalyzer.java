@@ -29,6 +29,7 @@ import org.cyclonedx.proto.v1_7.Property;
 import org.cyclonedx.proto.v1_7.Vulnerability;
 import org.cyclonedx.proto.v1_7.VulnerabilityAffects;
 import org.dependencytrack.cache.api.Cache;
+import org.dependencytrack.common.concurrent.ConcurrentTasks;
 import org.dependencytrack.vulnanalysis.api.RetryableVulnAnalysisException;
 import org.dependencytrack.vulnanalysis.api.VulnAnalyzer;
 import org.jspecify.annotations.Nullable;
@@ -55,6 +56,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Gatherers;
 
 /**
@@ -80,6 +82,7 @@ final class OssIndexVulnAnalyzer implements VulnAnalyzer {
     private final URI apiUrl;
     private final String authHeaderValue;
     private final boolean aliasSyncEnabled;
+    private final int maxConcurrentRequests;
 
     OssIndexVulnAnalyzer(
             Cache resultsCache,
@@ -88,7 +91,8 @@ final class OssIndexVulnAnalyzer implements VulnAnalyzer {
             URI apiUrl,
             String username,
             String apiToken,
-            boolean aliasSyncEnabled) {
+            boolean aliasSyncEnabled,
+            int maxConcurrentRequests) {
         this.resultsCache = resultsCache;
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
@@ -101,6 +105,7 @@ final class OssIndexVulnAnalyzer implements VulnAnalyzer {
             this.authHeaderValue = "Bearer " + apiToken;
         }
         this.aliasSyncEnabled = aliasSyncEnabled;
+        this.maxConcurrentRequests = maxConcurrentRequests;
     }
 
     @Override
@@ -187,17 +192,21 @@ final class OssIndexVulnAnalyzer implements VulnAnalyzer {
             return Map.of();
         }
 
-        final var reportedVulnsByPurl = new HashMap<String, List<ComponentReportVulnerability>>(purls.size());
-
-        for (final var purlBatch : (Iterable<List<String>>) () -> purls.stream()
+        final List<List<String>> purlBatches = purls.stream()
                 .gather(Gatherers.windowFixed(REQUEST_BATCH_SIZE))
-                .iterator()) {
-            if (Thread.interrupted()) {
-                throw new InterruptedException("Interrupted before all components could be analyzed");
-            }
+                .toList();
+        final var reportedVulnsByPurl = new HashMap<String, List<ComponentReportVulnerability>>(purls.size());
 
-            reportedVulnsByPurl.putAll(analyzePurlBatch(purlBatch));
-        }
+        // Batches are sent concurrently, up to the configured limit. Results of each batch
+        // are cached as soon as it completes, so when a batch fails, e.g. because OSS Index
+        // responded with 429, a retry of the analysis only needs to send the remaining batches.
+        ConcurrentTasks.executeAll(
+                purlBatches.stream()
+                        .<Callable<Map<String, List<ComponentReportVulnerability>>>>map(
+                                purlBatch -> () -> analyzePurlBatch(purlBatch))
+                        .toList(),
+                maxConcurrentRequests,
+                reportedVulnsByPurl::putAll);
 
         return reportedVulnsByPurl;
     }
@@ -57,12 +57,14 @@ import static java.util.Objects.requireNonNull;
 final class OssIndexVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConfigurable, Testable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OssIndexVulnAnalyzerFactory.class);
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 2;
 
     private @Nullable ConfigRegistry configRegistry;
     private @Nullable CacheManager cacheManager;
     private @Nullable HttpClient httpClient;
     private @Nullable ObjectMapper objectMapper;
     private boolean localConnectionsAllowed;
+    private int maxConcurrentRequests;
 
     @Override
     public String extensionName() {
@@ -85,6 +87,14 @@ final class OssIndexVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeC
                 .getDeploymentConfig()
                 .getOptionalValue("allow-local-connections", boolean.class)
                 .orElse(false);
+        maxConcurrentRequests = configRegistry
+                .getDeploymentConfig()
+                .getOptionalValue("max-concurrent-requests", int.class)
+                .orElse(DEFAULT_MAX_CONCURRENT_REQUESTS);
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalStateException(
+                    "max-concurrent-requests must be positive, but was: " + maxConcurrentRequests);
+        }
     }
 
     @Override
@@ -115,7 +125,8 @@ final class OssIndexVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeC
                 config.getApiUrl(),
                 config.getUsername(),
                 config.getApiToken(),
-                config.isAliasSyncEnabled());
+                config.isAliasSyncEnabled(),
+                maxConcurrentRequests);
     }
 
     @Override
@@ -46,6 +46,7 @@ import java.util.Map;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
@@ -324,6 +325,36 @@ class OssIndexVulnAnalyzerTest {
                 .withRequestBody(matchingJsonPath("$[?(@.coordinates.size() == 22)]")));
     }
 
+    @Test
+    void shouldThrowRetryableErrorWhenAnyBatchIsRateLimited() {
+        stubFor(post(urlPathEqualTo("/api/v3/component-report"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("[]")));
+        stubFor(post(urlPathEqualTo("/api/v3/component-report"))
+                .atPriority(1)
+                .withRequestBody(containing("pkg:maven/com.acme/acme-lib@1.0.149"))
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "30")));
+
+        final var components = new ArrayList<Component>(150);
+        for (int i = 0; i < 150; i++) {
+            components.add(
+                    Component.newBuilder()
+                            .setBomRef(String.valueOf(i))
+                            .setName("acme-lib")
+                            .setPurl("pkg:maven/com.acme/acme-lib@1.0." + i)
+                            .build());
+        }
+
+        final var bom = Bom.newBuilder()
+                .addAllComponents(components)
+                .build();
+
+        assertThatExceptionOfType(RetryableVulnAnalysisException.class)
+                .isThrownBy(() -> analyzer.analyze(bom))
+                .satisfies(e -> assertThat(e.retryAfter()).isEqualTo(Duration.ofSeconds(30)));
+    }
+
     @Test
     void shouldThrowNonRetryableErrorOnPaymentRequired() {
         stubFor(post(urlPathEqualTo("/api/v3/component-report"))
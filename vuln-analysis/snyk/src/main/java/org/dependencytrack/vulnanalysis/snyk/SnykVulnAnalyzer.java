@@ -27,6 +27,7 @@ import org.cyclonedx.proto.v1_7.Property;
 import org.cyclonedx.proto.v1_7.Vulnerability;
 import org.cyclonedx.proto.v1_7.VulnerabilityAffects;
 import org.dependencytrack.cache.api.Cache;
+import org.dependencytrack.common.concurrent.ConcurrentTasks;
 import org.dependencytrack.vulnanalysis.api.RetryableVulnAnalysisException;
 import org.dependencytrack.vulnanalysis.api.VulnAnalyzer;
 import org.jspecify.annotations.Nullable;
@@ -52,6 +53,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Gatherers;
 
 /**
@@ -74,6 +76,7 @@ final class SnykVulnAnalyzer implements VulnAnalyzer {
     private final String apiToken;
     private final String apiVersion;
     private final boolean aliasSyncEnabled;
+    private final int maxConcurrentRequests;
 
     SnykVulnAnalyzer(
             Cache resultsCache,
@@ -83,7 +86,8 @@ final class SnykVulnAnalyzer implements VulnAnalyzer {
             String orgId,
             String apiToken,
             String apiVersion,
-            boolean aliasSyncEnabled) {
+            boolean aliasSyncEnabled,
+            int maxConcurrentRequests) {
         this.resultsCache = resultsCache;
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
@@ -92,6 +96,7 @@ final class SnykVulnAnalyzer implements VulnAnalyzer {
         this.apiToken = apiToken;
         this.apiVersion = apiVersion;
         this.aliasSyncEnabled = aliasSyncEnabled;
+        this.maxConcurrentRequests = maxConcurrentRequests;
     }
 
     @Override
@@ -180,17 +185,21 @@ final class SnykVulnAnalyzer implements VulnAnalyzer {
             return Map.of();
         }
 
-        final var issuesByPurl = new HashMap<String, List<SnykIssue>>(purls.size());
-
-        for (final var purlBatch : (Iterable<List<String>>) () -> purls.stream()
+        final List<List<String>> purlBatches = purls.stream()
                 .gather(Gatherers.windowFixed(REQUEST_BATCH_SIZE))
-                .iterator()) {
-            if (Thread.interrupted()) {
-                throw new InterruptedException("Interrupted before all components could be analyzed");
-            }
+                .toList();
+        final var issuesByPurl = new HashMap<String, List<SnykIssue>>(purls.size());
 
-            issuesByPurl.putAll(analyzePurlBatch(purlBatch, bomRefsByPurl));
-        }
+        // Batches are sent concurrently, up to the configured limit. Results of each batch
+        // are cached as soon as it completes, so when a batch fails, e.g. because Snyk
+        // responded with 429, a retry of the analysis only needs to send the remaining batches.
+        ConcurrentTasks.executeAll(
+                purlBatches.stream()
+                        .<Callable<Map<String, List<SnykIssue>>>>map(
+                                purlBatch -> () -> analyzePurlBatch(purlBatch, bomRefsByPurl))
+                        .toList(),
+                maxConcurrentRequests,
+                issuesByPurl::putAll);
 
         return issuesByPurl;
     }
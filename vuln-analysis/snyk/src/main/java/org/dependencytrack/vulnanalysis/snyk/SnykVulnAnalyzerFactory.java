@@ -43,11 +43,13 @@ import static java.util.Objects.requireNonNull;
 final class SnykVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConfigurable {
 
     private static final String DEFAULT_API_VERSION = "2025-11-05";
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
 
     private @Nullable ConfigRegistry configRegistry;
     private @Nullable CacheManager cacheManager;
     private @Nullable HttpClient httpClient;
     private @Nullable ObjectMapper objectMapper;
+    private int maxConcurrentRequests;
 
     @Override
     public String extensionName() {
@@ -66,6 +68,13 @@ final class SnykVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConfi
         httpClient = serviceRegistry.require(HttpClient.class);
         objectMapper = new ObjectMapper()
                 .disable(FAIL_ON_UNKNOWN_PROPERTIES);
+        maxConcurrentRequests = configRegistry.getDeploymentConfig()
+                .getOptionalValue("max-concurrent-requests", int.class)
+                .orElse(DEFAULT_MAX_CONCURRENT_REQUESTS);
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalStateException(
+                    "max-concurrent-requests must be positive, but was: " + maxConcurrentRequests);
+        }
     }
 
     @Override
@@ -92,7 +101,8 @@ final class SnykVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConfi
                 config.getOrgId(),
                 config.getApiToken(),
                 apiVersion,
-                config.isAliasSyncEnabled());
+                config.isAliasSyncEnabled(),
+                maxConcurrentRequests);
     }
 
     @Override
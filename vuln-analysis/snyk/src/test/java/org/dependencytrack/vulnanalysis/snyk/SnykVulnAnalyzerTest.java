@@ -38,10 +38,12 @@ import org.junit.jupiter.api.Test;
 
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.ArrayList;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
@@ -352,6 +354,37 @@ class SnykVulnAnalyzerTest {
         verify(2, postRequestedFor(anyUrl()));
     }
 
+    @Test
+    void shouldThrowRetryableErrorWhenAnyBatchIsRateLimited() {
+        stubFor(post(urlPathEqualTo("/rest/orgs/test-org-id/packages/issues"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/vnd.api+json")
+                        .withBody("{\"data\":[]}")));
+        stubFor(post(urlPathEqualTo("/rest/orgs/test-org-id/packages/issues"))
+                .atPriority(1)
+                .withRequestBody(containing("pkg:maven/com.acme/acme-lib@1.0.149"))
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "30")));
+
+        final var components = new ArrayList<Component>(150);
+        for (int i = 0; i < 150; i++) {
+            components.add(
+                    Component.newBuilder()
+                            .setBomRef(String.valueOf(i))
+                            .setName("acme-lib")
+                            .setPurl("pkg:maven/com.acme/acme-lib@1.0." + i)
+                            .build());
+        }
+
+        final var bom = Bom.newBuilder()
+                .addAllComponents(components)
+                .build();
+
+        assertThatExceptionOfType(RetryableVulnAnalysisException.class)
+                .isThrownBy(() -> analyzer.analyze(bom))
+                .satisfies(e -> assertThat(e.retryAfter()).isEqualTo(Duration.ofSeconds(30)));
+    }
+
     @Test
     void shouldHandleCaseInsensitivePurlCorrelation() throws Exception {
         stubFor(post(urlPathEqualTo("/rest/orgs/test-org-id/packages/issues"))
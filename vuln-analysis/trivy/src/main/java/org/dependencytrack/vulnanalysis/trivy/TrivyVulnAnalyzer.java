@@ -26,6 +26,8 @@ import org.cyclonedx.proto.v1_7.Component;
 import org.cyclonedx.proto.v1_7.Property;
 import org.cyclonedx.proto.v1_7.Vulnerability;
 import org.cyclonedx.proto.v1_7.VulnerabilityAffects;
+import org.dependencytrack.cache.api.Cache;
+import org.dependencytrack.common.concurrent.ConcurrentTasks;
 import org.dependencytrack.vulnanalysis.api.RetryableVulnAnalysisException;
 import org.dependencytrack.vulnanalysis.api.VulnAnalyzer;
 import org.slf4j.Logger;
@@ -53,46 +55,61 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 final class TrivyVulnAnalyzer implements VulnAnalyzer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TrivyVulnAnalyzer.class);
     private static final String TOKEN_HEADER = "Trivy-Token";
+    private static final Comparator<trivy.proto.common.Package> PACKAGE_COMPARATOR = Comparator
+            .comparing((trivy.proto.common.Package pkg) -> pkg.getIdentifier().getPurl())
+            .thenComparing(trivy.proto.common.Package::getSrcName)
+            .thenComparing(trivy.proto.common.Package::getSrcVersion);
 
+    private final Cache resultsCache;
     private final HttpClient httpClient;
     private final String apiBaseUrl;
     private final String apiToken;
     private final boolean ignoreUnfixed;
     private final boolean scanLibrary;
     private final boolean scanOs;
+    private final int maxConcurrentRequests;
 
     TrivyVulnAnalyzer(
+            Cache resultsCache,
             HttpClient httpClient,
             String apiBaseUrl,
             String apiToken,
             boolean ignoreUnfixed,
             boolean scanLibrary,
-            boolean scanOs) {
+            boolean scanOs,
+            int maxConcurrentRequests) {
+        this.resultsCache = resultsCache;
         this.httpClient = httpClient;
         this.apiBaseUrl = apiBaseUrl;
         this.apiToken = apiToken;
         this.ignoreUnfixed = ignoreUnfixed;
         this.scanLibrary = scanLibrary;
         this.scanOs = scanOs;
+        this.maxConcurrentRequests = maxConcurrentRequests;
     }
 
     @Override
     public Bom analyze(Bom bom) throws InterruptedException {
-        final var apps = new HashMap<String, Application.Builder>();
-        final var pkgs = new HashMap<String, PackageInfo.Builder>();
+        // Sorted such that identical package sets always yield identical blobs.
+        final var apps = new TreeMap<String, Application.Builder>();
+        final var pkgs = new TreeMap<String, PackageInfo.Builder>();
         final var osMap = new HashMap<String, OS>();
         final var bomRefsByPurl = new HashMap<String, Set<String>>();
 
@@ -118,15 +135,19 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
             blobs.add(BlobInfo.newBuilder()
                     .setSchemaVersion(2)
                     .addAllApplications(apps.values().stream()
-                            .map(Application.Builder::build)
+                            .map(app -> {
+                                final List<trivy.proto.common.Package> packages = sortedPackages(app.getPackagesList());
+                                return app.clearPackages().addAllPackages(packages).build();
+                            })
                             .toList())
                     .build());
         }
 
         pkgs.forEach((key, value) -> {
+            final List<trivy.proto.common.Package> packages = sortedPackages(value.getPackagesList());
             final BlobInfo.Builder builder = BlobInfo.newBuilder()
                     .setSchemaVersion(2)
-                    .addPackageInfos(value);
+                    .addPackageInfos(value.clearPackages().addAllPackages(packages));
             final OS os = osMap.get(key);
             if (os != null) {
                 builder.setOs(os);
@@ -139,11 +160,37 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
             return Bom.getDefaultInstance();
         }
 
-        final var allResults = new ArrayList<Result>();
+        final ScanOptions scanOptions = buildScanOptions();
+
+        final var blobsByCacheKey = new LinkedHashMap<String, BlobInfo>(blobs.size());
         for (final BlobInfo blob : blobs) {
-            allResults.addAll(analyzeBlob(blob));
+            blobsByCacheKey.put(cacheKey(scanOptions, blob), blob);
         }
 
+        final var allResults = new ArrayList<Result>();
+
+        final Map<String, byte[]> cachedBytesByCacheKey = resultsCache.getMany(Set.copyOf(blobsByCacheKey.keySet()));
+        LOGGER.debug("Found cached results for {}/{} blobs", cachedBytesByCacheKey.size(), blobsByCacheKey.size());
+
+        for (final var entry : cachedBytesByCacheKey.entrySet()) {
+            final String cacheKey = entry.getKey();
+            final byte[] cachedBytes = entry.getValue();
+
+            if (cachedBytes == null) {
+                blobsByCacheKey.remove(cacheKey);
+                continue;
+            }
+
+            try {
+                allResults.addAll(ScanResponse.parseFrom(cachedBytes).getResultsList());
+                blobsByCacheKey.remove(cacheKey);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to deserialize cached results for blob {}; Will re-scan", cacheKey, e);
+            }
+        }
+
+        allResults.addAll(analyzeBlobs(blobsByCacheKey, scanOptions));
+
         return assembleVdr(allResults, bomRefsByPurl);
     }
 
@@ -268,7 +315,37 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
         pkg.addPackages(packageBuilder);
     }
 
-    private List<Result> analyzeBlob(BlobInfo blobInfo) throws InterruptedException {
+    private List<Result> analyzeBlobs(
+            Map<String, BlobInfo> blobsByCacheKey,
+            ScanOptions scanOptions) throws InterruptedException {
+        if (blobsByCacheKey.isEmpty()) {
+            return List.of();
+        }
+
+        final var results = new ArrayList<Result>();
+
+        // Blobs are scanned concurrently, up to the configured limit. Results of each blob
+        // are cached as soon as its scan completes, so when a scan fails, a retry of the
+        // analysis only needs to scan the remaining blobs.
+        ConcurrentTasks.executeAll(
+                blobsByCacheKey.entrySet().stream()
+                        .<Callable<List<Result>>>map(entry -> () -> {
+                            final ScanResponse response = analyzeBlob(entry.getValue(), scanOptions);
+                            resultsCache.put(
+                                    entry.getKey(),
+                                    response.getResultsCount() > 0
+                                            ? response.toByteArray()
+                                            : null);
+                            return response.getResultsList();
+                        })
+                        .toList(),
+                maxConcurrentRequests,
+                results::addAll);
+
+        return results;
+    }
+
+    private ScanResponse analyzeBlob(BlobInfo blobInfo, ScanOptions scanOptions) throws InterruptedException {
         final String diffId = "sha256:" + sha256Hex(UUID.randomUUID().toString());
 
         final PutBlobRequest putBlobRequest = PutBlobRequest.newBuilder()
@@ -279,8 +356,7 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
         try {
             putBlob(putBlobRequest);
 
-            final ScanResponse response = scan(putBlobRequest);
-            return response.getResultsList();
+            return scan(putBlobRequest, scanOptions);
         } finally {
             try {
                 deleteBlobs(putBlobRequest);
@@ -297,7 +373,7 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
         LOGGER.debug("PutBlob succeeded ({} bytes response)", responseBytes.length);
     }
 
-    private ScanResponse scan(PutBlobRequest putBlobRequest) throws InterruptedException {
+    private ScanOptions buildScanOptions() {
         final var scanOptionsBuilder = ScanOptions.newBuilder().addScanners("vuln");
         if (scanLibrary) {
             scanOptionsBuilder.addPkgTypes("library");
@@ -306,11 +382,15 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
             scanOptionsBuilder.addPkgTypes("os");
         }
 
+        return scanOptionsBuilder.build();
+    }
+
+    private ScanResponse scan(PutBlobRequest putBlobRequest, ScanOptions scanOptions) throws InterruptedException {
         final var scanRequest = ScanRequest.newBuilder()
                 .setTarget(putBlobRequest.getDiffId())
                 .setArtifactId(putBlobRequest.getDiffId())
                 .addBlobIds(putBlobRequest.getDiffId())
-                .setOptions(scanOptionsBuilder)
+                .setOptions(scanOptions)
                 .build();
 
         final byte[] responseBytes = sendProtobufRequest(
@@ -411,6 +491,29 @@ final class TrivyVulnAnalyzer implements VulnAnalyzer {
                 property -> "dependencytrack:internal:is-internal-component".equalsIgnoreCase(property.getName()));
     }
 
+    private static List<trivy.proto.common.Package> sortedPackages(List<trivy.proto.common.Package> packages) {
+        return packages.stream()
+                .distinct()
+                .sorted(PACKAGE_COMPARATOR)
+                .toList();
+    }
+
+    /**
+     * Derive a cache key from the digest of a blob's package set, and the options it is scanned with.
+     * Blobs carry no identifiers of their own, such that identical package sets map to the same key,
+     * no matter which project they originate from.
+     */
+    private static String cacheKey(ScanOptions scanOptions, BlobInfo blobInfo) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scanOptions.toByteArray());
+            digest.update(blobInfo.toByteArray());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static String sha256Hex(String input) {
         try {
             final MessageDigest digest = MessageDigest.getInstance("SHA-256");
@@ -18,6 +18,7 @@
  */
 package org.dependencytrack.vulnanalysis.trivy;
 
+import org.dependencytrack.cache.api.CacheManager;
 import org.dependencytrack.plugin.api.RuntimeConfigurable;
 import org.dependencytrack.plugin.api.ServiceRegistry;
 import org.dependencytrack.plugin.api.config.ConfigRegistry;
@@ -35,8 +36,12 @@ import static java.util.Objects.requireNonNull;
 
 final class TrivyVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConfigurable {
 
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
     private @Nullable ConfigRegistry configRegistry;
+    private @Nullable CacheManager cacheManager;
     private @Nullable HttpClient httpClient;
+    private int maxConcurrentRequests;
 
     @Override
     public String extensionName() {
@@ -51,12 +56,21 @@ final class TrivyVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConf
     @Override
     public void init(ServiceRegistry serviceRegistry) {
         configRegistry = serviceRegistry.require(ConfigRegistry.class);
+        cacheManager = serviceRegistry.require(CacheManager.class);
         httpClient = serviceRegistry.require(HttpClient.class);
+        maxConcurrentRequests = configRegistry.getDeploymentConfig()
+                .getOptionalValue("max-concurrent-requests", int.class)
+                .orElse(DEFAULT_MAX_CONCURRENT_REQUESTS);
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalStateException(
+                    "max-concurrent-requests must be positive, but was: " + maxConcurrentRequests);
+        }
     }
 
     @Override
     public VulnAnalyzer create() {
         requireNonNull(configRegistry);
+        requireNonNull(cacheManager);
         requireNonNull(httpClient);
 
         final var config = configRegistry.getRuntimeConfig(TrivyVulnAnalyzerConfigV1.class);
@@ -65,12 +79,14 @@ final class TrivyVulnAnalyzerFactory implements VulnAnalyzerFactory, RuntimeConf
         }
 
         return new TrivyVulnAnalyzer(
+                cacheManager.getCache("results"),
                 httpClient,
                 config.getApiUrl().toString(),
                 config.getApiToken(),
                 config.isIgnoreUnfixed(),
                 config.isScanLibrary(),
-                config.isScanOs());
+                config.isScanOs(),
+                maxConcurrentRequests);
     }
 
     @Override
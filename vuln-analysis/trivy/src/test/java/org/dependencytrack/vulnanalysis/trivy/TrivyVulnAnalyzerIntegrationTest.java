@@ -21,10 +21,13 @@ package org.dependencytrack.vulnanalysis.trivy;
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.CreateVolumeResponse;
 import com.github.dockerjava.api.model.Bind;
+import io.smallrye.config.SmallRyeConfigBuilder;
 import org.cyclonedx.proto.v1_7.Bom;
 import org.cyclonedx.proto.v1_7.Classification;
 import org.cyclonedx.proto.v1_7.Component;
 import org.cyclonedx.proto.v1_7.Property;
+import org.dependencytrack.cache.api.CacheManager;
+import org.dependencytrack.cache.memory.MemoryCacheProvider;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -51,6 +54,7 @@ class TrivyVulnAnalyzerIntegrationTest {
 
     private static String trivyCacheVolumeName;
     private GenericContainer<?> trivyContainer;
+    private CacheManager cacheManager;
     private TrivyVulnAnalyzer analyzer;
 
     static Collection<Arguments> trivyVersions() {
@@ -83,7 +87,10 @@ class TrivyVulnAnalyzerIntegrationTest {
                 .withEnv("TRIVY_JAVA_DB_REPOSITORY", "public.ecr.aws/aquasecurity/trivy-java-db:1");
         trivyContainer.start();
 
+        cacheManager = new MemoryCacheProvider(new SmallRyeConfigBuilder().build()).create();
+
         analyzer = new TrivyVulnAnalyzer(
+                cacheManager.getCache("results"),
                 HttpClient.newHttpClient(),
                 "http://%s:%d".formatted(
                         trivyContainer.getHost(),
@@ -91,14 +98,18 @@ class TrivyVulnAnalyzerIntegrationTest {
                 "TrivyToken",
                 false,
                 true,
-                true);
+                true,
+                4);
     }
 
     @AfterEach
-    void afterEach() {
+    void afterEach() throws Exception {
         if (trivyContainer != null) {
             trivyContainer.stop();
         }
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
     }
 
     @AfterAll
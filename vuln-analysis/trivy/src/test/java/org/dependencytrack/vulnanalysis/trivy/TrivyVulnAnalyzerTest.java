@@ -23,11 +23,15 @@ import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import com.google.protobuf.util.JsonFormat;
 import com.google.protobuf.util.Timestamps;
+import io.smallrye.config.SmallRyeConfigBuilder;
 import org.cyclonedx.proto.v1_7.Bom;
 import org.cyclonedx.proto.v1_7.Classification;
 import org.cyclonedx.proto.v1_7.Component;
 import org.cyclonedx.proto.v1_7.Property;
+import org.dependencytrack.cache.api.CacheManager;
+import org.dependencytrack.cache.memory.MemoryCacheProvider;
 import org.dependencytrack.vulnanalysis.api.RetryableVulnAnalysisException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import trivy.proto.cache.v1.PutBlobRequest;
@@ -47,6 +51,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.any;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
@@ -61,17 +66,29 @@ import static org.cyclonedx.proto.v1_7.Classification.CLASSIFICATION_LIBRARY;
 @WireMockTest
 class TrivyVulnAnalyzerTest {
 
+    private CacheManager cacheManager;
     private TrivyVulnAnalyzer analyzer;
 
     @BeforeEach
     void beforeEach(WireMockRuntimeInfo wmRuntimeInfo) {
+        cacheManager = new MemoryCacheProvider(new SmallRyeConfigBuilder().build()).create();
+
         analyzer = new TrivyVulnAnalyzer(
+                cacheManager.getCache("results"),
                 HttpClient.newHttpClient(),
                 wmRuntimeInfo.getHttpBaseUrl(),
                 "token",
                 false,
                 true,
-                false);
+                false,
+                4);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
     }
 
     @Test
@@ -314,12 +331,14 @@ class TrivyVulnAnalyzerTest {
     @Test
     void testAnalyzeIgnoresUnfixedWhenConfigured(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
         final var ignoreUnfixedAnalyzer = new TrivyVulnAnalyzer(
+                cacheManager.getCache("results"),
                 HttpClient.newHttpClient(),
                 wmRuntimeInfo.getHttpBaseUrl(),
                 "token",
                 true,  // ignoreUnfixed
                 true,
-                false);
+                false,
+                4);
 
         // Build a response with one fixed (status=3) and one unfixed (status=0) vulnerability.
         final ScanResponse scanResponse = ScanResponse.newBuilder()
@@ -463,6 +482,99 @@ class TrivyVulnAnalyzerTest {
                                 .isEqualTo("symfony/http-foundation")));
     }
 
+    @Test
+    void shouldServeCachedResultsForIdenticalPackageSets() throws Exception {
+        stubTrivyEndpoints(buildScanResponseWithVulnerability());
+
+        final Component woodstoxComponent = Component.newBuilder()
+                .setBomRef("1")
+                .setName("woodstox-core")
+                .setPurl("pkg:maven/com.fasterxml.woodstox/woodstox-core@5.0.0?foo=bar#baz")
+                .setType(CLASSIFICATION_LIBRARY)
+                .build();
+        final Component libComponent = Component.newBuilder()
+                .setBomRef("2")
+                .setName("lib")
+                .setPurl("pkg:maven/com.example/lib@1.0.0")
+                .setType(CLASSIFICATION_LIBRARY)
+                .build();
+
+        final Bom vdr = analyzer.analyze(Bom.newBuilder()
+                .addComponents(woodstoxComponent)
+                .addComponents(libComponent)
+                .build());
+        assertThat(vdr.getVulnerabilitiesList()).hasSize(1);
+
+        // The same packages in a different order, and with different BOM refs.
+        final Bom secondVdr = analyzer.analyze(Bom.newBuilder()
+                .addComponents(libComponent.toBuilder().setBomRef("b"))
+                .addComponents(woodstoxComponent.toBuilder().setBomRef("a"))
+                .build());
+        assertThat(secondVdr.getVulnerabilitiesList()).satisfiesExactly(vuln -> {
+            assertThat(vuln.getId()).isEqualTo("CVE-2022-40152");
+            assertThat(vuln.getAffectsList()).satisfiesExactly(
+                    affects -> assertThat(affects.getRef()).isEqualTo("a"));
+        });
+
+        verify(exactly(1), postRequestedFor(urlPathEqualTo("/twirp/trivy.cache.v1.Cache/PutBlob")));
+        verify(exactly(1), postRequestedFor(urlPathEqualTo("/twirp/trivy.scanner.v1.Scanner/Scan")));
+    }
+
+    @Test
+    void shouldScanBlobsConcurrently() throws Exception {
+        stubTrivyEndpoints(ScanResponse.getDefaultInstance());
+
+        // Delay scan responses, such that scans can only start
+        // within the delay of each other when they overlap.
+        final int scanDelayMillis = 1000;
+        stubFor(post(urlPathEqualTo("/twirp/trivy.scanner.v1.Scanner/Scan"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/protobuf")
+                        .withBody(ScanResponse.getDefaultInstance().toByteArray())
+                        .withFixedDelay(scanDelayMillis)));
+
+        final Bom bom = Bom.newBuilder()
+                .addComponents(Component.newBuilder()
+                        .setBomRef("1")
+                        .setName("libc6")
+                        .setPurl("pkg:deb/ubuntu/libc6@2.35-0ubuntu3.4?arch=amd64&distro=ubuntu-22.04")
+                        .setType(CLASSIFICATION_LIBRARY)
+                        .build())
+                .addComponents(Component.newBuilder()
+                        .setBomRef("2")
+                        .setName("musl")
+                        .setPurl("pkg:apk/alpine/musl@1.2.4-r2?arch=x86_64&distro=3.19.1")
+                        .setType(CLASSIFICATION_LIBRARY)
+                        .build())
+                .addComponents(Component.newBuilder()
+                        .setBomRef("3")
+                        .setName("lib")
+                        .setPurl("pkg:maven/com.example/lib@1.0.0")
+                        .setType(CLASSIFICATION_LIBRARY)
+                        .build())
+                .build();
+
+        final Bom vdr = analyzer.analyze(bom);
+        assertThat(vdr).isEqualTo(Bom.getDefaultInstance());
+
+        verify(exactly(3), postRequestedFor(urlPathEqualTo("/twirp/trivy.cache.v1.Cache/PutBlob")));
+        verify(exactly(3), postRequestedFor(urlPathEqualTo("/twirp/trivy.scanner.v1.Scanner/Scan")));
+        verify(exactly(3), postRequestedFor(urlPathEqualTo("/twirp/trivy.cache.v1.Cache/DeleteBlobs")));
+
+        final List<Long> scanRequestedAtMillis =
+                findAll(postRequestedFor(urlPathEqualTo("/twirp/trivy.scanner.v1.Scanner/Scan"))).stream()
+                        .map(request -> request.getLoggedDate().getTime())
+                        .sorted()
+                        .toList();
+        assertThat(scanRequestedAtMillis.getLast() - scanRequestedAtMillis.getFirst()).isLessThan(scanDelayMillis);
+
+        analyzer.analyze(bom);
+
+        // Blobs without results are cached, too.
+        verify(exactly(3), postRequestedFor(urlPathEqualTo("/twirp/trivy.scanner.v1.Scanner/Scan")));
+    }
+
     private void stubTrivyEndpoints(ScanResponse scanResponse) {
         stubFor(post(urlPathEqualTo("/twirp/trivy.cache.v1.Cache/PutBlob"))
                 .willReturn(aResponse()
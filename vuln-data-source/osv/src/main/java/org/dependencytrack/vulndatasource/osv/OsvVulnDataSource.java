@@ -45,16 +45,30 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 import static org.dependencytrack.vulndatasource.osv.CycloneDxPropertyNames.OSV_ECOSYSTEM;
 import static org.dependencytrack.vulndatasource.osv.OsvEcosystems.encodeEcosystem;
 
 /**
+ * A {@link VulnDataSource} yielding OSV advisories, one ecosystem after another.
+ * <p>
+ * When ecosystem parallelism is greater than {@code 1}, advisories of upcoming ecosystems
+ * are downloaded in the background while advisories of the current ecosystem are consumed.
+ * Advisories are still yielded one ecosystem at a time, such that watermarks of ecosystems
+ * can continue to be committed as soon as their ecosystem is completed.
+ *
  * @since 5.0.0
  */
 final class OsvVulnDataSource implements VulnDataSource {
@@ -69,6 +83,9 @@ final class OsvVulnDataSource implements VulnDataSource {
     private final Set<String> successfullyCompletedEcosystems;
     private final HttpClient httpClient;
     private final ModelConverter modelConverter;
+    private final int ecosystemParallelism;
+    private final @Nullable ExecutorService prefetchExecutor;
+    private final Map<Integer, Future<@Nullable OsvAdvisorySource>> prefetchedAdvisorySourceByEcosystemIndex;
     private @Nullable String currentEcosystem;
     private int currentEcosystemIndex;
     private int currentEcosystemAdvisoriesProcessed;
@@ -84,6 +101,21 @@ final class OsvVulnDataSource implements VulnDataSource {
             final Collection<String> ecosystems,
             final HttpClient httpClient,
             final boolean isAliasSyncEnabled) {
+        this(watermarkManager, objectMapper, dataUrl, ecosystems, httpClient, isAliasSyncEnabled, 1);
+    }
+
+    OsvVulnDataSource(
+            final @Nullable WatermarkManager watermarkManager,
+            final ObjectMapper objectMapper,
+            final String dataUrl,
+            final Collection<String> ecosystems,
+            final HttpClient httpClient,
+            final boolean isAliasSyncEnabled,
+            final int ecosystemParallelism) {
+        if (ecosystemParallelism <= 0) {
+            throw new IllegalArgumentException("ecosystemParallelism must be greater than 0");
+        }
+
         this.watermarkManager = watermarkManager;
         this.objectMapper = objectMapper;
         this.dataUrl = dataUrl;
@@ -92,6 +124,11 @@ final class OsvVulnDataSource implements VulnDataSource {
         this.successfullyCompletedEcosystems = new HashSet<>();
         this.httpClient = httpClient;
         this.modelConverter = new ModelConverter(objectMapper);
+        this.ecosystemParallelism = ecosystemParallelism;
+        this.prefetchExecutor = ecosystemParallelism > 1
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : null;
+        this.prefetchedAdvisorySourceByEcosystemIndex = new HashMap<>();
     }
 
     @Override
@@ -196,6 +233,7 @@ final class OsvVulnDataSource implements VulnDataSource {
             watermarkManager.maybeCommit(successfullyCompletedEcosystems);
         }
         closeCurrentEcosystem();
+        closePrefetchedEcosystems();
     }
 
     private @Nullable Bom readNextItem() {
@@ -225,18 +263,58 @@ final class OsvVulnDataSource implements VulnDataSource {
     private void openNextEcosystem() {
         currentEcosystem = ecosystems.get(currentEcosystemIndex);
         currentEcosystemAdvisoriesProcessed = 0;
-        currentAdvisorySource = openAdvisorySource(currentEcosystem);
+        currentAdvisorySource = prefetchExecutor != null
+                ? awaitPrefetchedAdvisorySource()
+                : openAdvisorySource(currentEcosystem, getWatermark(currentEcosystem));
 
         LOGGER.info("Processing ecosystem {}", currentEcosystem);
     }
 
-    private @Nullable OsvAdvisorySource openAdvisorySource(String ecosystem) {
+    private @Nullable OsvAdvisorySource awaitPrefetchedAdvisorySource() {
+        final ExecutorService executor = requireNonNull(prefetchExecutor, "prefetchExecutor must not be null");
+
+        // Keep the current ecosystem, and up to (parallelism - 1) upcoming ecosystems, in flight.
+        final int prefetchEndIndex = Math.min(ecosystems.size(), currentEcosystemIndex + ecosystemParallelism);
+        for (int i = currentEcosystemIndex; i < prefetchEndIndex; i++) {
+            final String ecosystem = ecosystems.get(i);
+
+            // NB: Watermarks must be read on the consuming thread, since they are not
+            // safe for concurrent access. Watermarks of an ecosystem only change once the
+            // ecosystem was completed, so reading them ahead of time is safe.
+            final Instant watermark = getWatermark(ecosystem);
+            prefetchedAdvisorySourceByEcosystemIndex.computeIfAbsent(
+                    i, _ -> executor.submit(() -> openAdvisorySource(ecosystem, watermark)));
+        }
+
+        final Future<@Nullable OsvAdvisorySource> future =
+                requireNonNull(prefetchedAdvisorySourceByEcosystemIndex.remove(currentEcosystemIndex));
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for advisories of ecosystem " + currentEcosystem, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof final RuntimeException re) {
+                throw re;
+            }
+
+            throw new IllegalStateException("Failed to open advisories of ecosystem " + currentEcosystem, e.getCause());
+        }
+    }
+
+    private @Nullable Instant getWatermark(String ecosystem) {
+        return watermarkManager != null
+                ? watermarkManager.getWatermark(ecosystem)
+                : null;
+    }
+
+    private @Nullable OsvAdvisorySource openAdvisorySource(String ecosystem, @Nullable Instant watermark) {
         if (watermarkManager == null) {
             LOGGER.debug("Incremental mirroring disabled; downloading all advisories");
             return downloadFullArchive(ecosystem, /* modifiedAdvisoryIds */ null);
         }
 
-        final Instant watermark = watermarkManager.getWatermark(ecosystem);
         if (watermark == null) {
             LOGGER.debug("No watermark found; Downloading all advisories");
             return downloadFullArchive(ecosystem, /* modifiedAdvisoryIds */ null);
@@ -322,6 +400,41 @@ final class OsvVulnDataSource implements VulnDataSource {
         currentEcosystem = null;
     }
 
+    private void closePrefetchedEcosystems() {
+        if (prefetchExecutor == null) {
+            return;
+        }
+
+        // Interrupt downloads that are still in progress. Interrupted downloads
+        // clean up after themselves, but completed ones hold temporary files
+        // that must be deleted by closing their advisory source.
+        prefetchExecutor.shutdownNow();
+        try {
+            if (!prefetchExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("Timed out while waiting for advisory downloads to terminate");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (final Future<@Nullable OsvAdvisorySource> future : prefetchedAdvisorySourceByEcosystemIndex.values()) {
+            if (future.state() != Future.State.SUCCESS) {
+                continue;
+            }
+
+            final OsvAdvisorySource advisorySource = future.resultNow();
+            if (advisorySource != null) {
+                try {
+                    advisorySource.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to close prefetched advisory source", e);
+                }
+            }
+        }
+
+        prefetchedAdvisorySourceByEcosystemIndex.clear();
+    }
+
     private Set<String> getModifiedAdvisoryIds(String ecosystem, Instant watermark) {
         final var request = HttpRequest.newBuilder()
                 .uri(URI.create("%s/%s/modified_id.csv".formatted(dataUrl, encodeEcosystem(ecosystem))))
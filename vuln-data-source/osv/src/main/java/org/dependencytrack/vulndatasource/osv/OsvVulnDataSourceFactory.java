@@ -77,7 +77,8 @@ final class OsvVulnDataSourceFactory implements VulnDataSourceFactory, RuntimeCo
                 .withEnabled(false)
                 .withAliasSyncEnabled(false)
                 .withDataUrl(URI.create("https://storage.googleapis.com/osv-vulnerabilities"))
-                .withEcosystems(Set.of("Go", "Maven", "npm", "NuGet", "PyPI"));
+                .withEcosystems(Set.of("Go", "Maven", "npm", "NuGet", "PyPI"))
+                .withEcosystemParallelism(1);
 
         return RuntimeConfigSpec.of(defaultConfig, config -> {
             if (!config.isEnabled()) {
@@ -120,7 +121,8 @@ final class OsvVulnDataSourceFactory implements VulnDataSourceFactory, RuntimeCo
                 config.getDataUrl().toString(),
                 config.getEcosystems(),
                 httpClient,
-                config.getAliasSyncEnabled());
+                config.getAliasSyncEnabled(),
+                config.getEcosystemParallelism());
     }
 
 }
\ No newline at end of file
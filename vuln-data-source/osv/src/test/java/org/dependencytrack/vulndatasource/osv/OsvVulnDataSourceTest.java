@@ -37,6 +37,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -733,4 +736,83 @@ class OsvVulnDataSourceTest {
 
         verify(1, getRequestedFor(urlPathMatching("/Red%20Hat/OSV-1\\.json")));
     }
+
+    @Test
+    void shouldPrefetchEcosystemsConcurrentlyWhenParallelismIsGreaterThanOne(
+            WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        for (final String ecosystem : List.of("maven", "npm", "pypi")) {
+            final var zipBytes = new ByteArrayOutputStream();
+            try (final var zos = new ZipOutputStream(zipBytes)) {
+                zos.putNextEntry(new ZipEntry("OSV-%s.json".formatted(ecosystem.toUpperCase())));
+                zos.write(/* language=JSON */ """
+                        {
+                          "id": "OSV-%s",
+                          "summary": "s",
+                          "affected": [],
+                          "modified": "2025-01-01T00:00:00Z"
+                        }
+                        """.formatted(ecosystem.toUpperCase()).getBytes());
+                zos.closeEntry();
+            }
+
+            stubFor(get(urlEqualTo("/" + ecosystem + "/all.zip"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withBody(zipBytes.toByteArray())
+                            .withHeader("Content-Type", "application/zip")));
+        }
+
+        // Hold back downloads until two of them are in flight,
+        // which is only possible when ecosystems are prefetched concurrently.
+        final HttpClient delegateHttpClient = HttpClient.newHttpClient();
+        final var concurrentDownloadsLatch = new CountDownLatch(2);
+        final var downloadsOverlapped = new ConcurrentLinkedQueue<Boolean>();
+        final var httpClientMock = mock(HttpClient.class);
+        when(httpClientMock.send(any(), any())).thenAnswer(invocation -> {
+            concurrentDownloadsLatch.countDown();
+            downloadsOverlapped.add(concurrentDownloadsLatch.await(5, TimeUnit.SECONDS));
+            return delegateHttpClient.send(invocation.getArgument(0), invocation.getArgument(1));
+        });
+
+        final var ids = new ArrayList<String>();
+        try (var dataSource = new OsvVulnDataSource(
+                watermarkManagerMock,
+                objectMapper,
+                wmRuntimeInfo.getHttpBaseUrl(),
+                List.of("maven", "npm", "pypi"),
+                httpClientMock,
+                false,
+                /* ecosystemParallelism */ 2)) {
+            while (dataSource.hasNext()) {
+                final Bom bov = dataSource.next();
+                ids.add(bov.getVulnerabilitiesList().getFirst().getId());
+                dataSource.markProcessed(bov);
+            }
+        }
+
+        // Advisories must still be yielded one ecosystem at a time,
+        // and watermarks be committed as soon as an ecosystem is completed.
+        assertThat(ids).containsExactly("OSV-MAVEN", "OSV-NPM", "OSV-PYPI");
+        verify(watermarkManagerMock).maybeCommit(List.of("maven"));
+        verify(watermarkManagerMock).maybeCommit(List.of("npm"));
+        verify(watermarkManagerMock).maybeCommit(List.of("pypi"));
+        verify(1, getRequestedFor(urlEqualTo("/maven/all.zip")));
+        verify(1, getRequestedFor(urlEqualTo("/npm/all.zip")));
+        verify(1, getRequestedFor(urlEqualTo("/pypi/all.zip")));
+        assertThat(downloadsOverlapped).containsExactly(true, true, true);
+    }
+
+    @Test
+    void shouldThrowWhenEcosystemParallelismIsZero() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new OsvVulnDataSource(
+                        watermarkManagerMock,
+                        objectMapper,
+                        "http://localhost",
+                        List.of("maven"),
+                        mock(HttpClient.class),
+                        false,
+                        /* ecosystemParallelism */ 0))
+                .withMessage("ecosystemParallelism must be greater than 0");
+    }
 }
\ No newline at end of file